@@ -0,0 +1,76 @@
+package com.example.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JSON result files written by {@link McpBenchmarks}, typically of two
+ * releases, printing the change of the score and of the normalized allocation rate
+ * ({@code gc.alloc.rate.norm}, bytes per operation) of every benchmark present in
+ * both.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.example.mcpserver.benchmark.BenchmarkComparison baseline.json candidate.json
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <candidate.json>");
+            System.exit(1);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        System.out.printf("%-90s %14s %14s %8s %12s %12s%n",
+            "Benchmark", "Baseline", "Candidate", "Change", "B/op before", "B/op after");
+        baseline.forEach((key, before) -> {
+            JsonNode after = candidate.get(key);
+            if (after == null) {
+                return;
+            }
+            double scoreBefore = before.path("primaryMetric").path("score").asDouble();
+            double scoreAfter = after.path("primaryMetric").path("score").asDouble();
+            System.out.printf("%-90s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%n", key, scoreBefore, scoreAfter,
+                (scoreAfter - scoreBefore) * 100 / scoreBefore, allocation(before), allocation(after));
+        });
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    /**
+     * The benchmark method with its mode and parameters, e.g. {@code ToolsBenchmark.add (avgt)}.
+     */
+    private static String key(JsonNode result) {
+        String benchmark = result.path("benchmark").asText();
+        StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+        Map<String, String> params = new LinkedHashMap<>();
+        result.path("params").fields().forEachRemaining(entry -> params.put(entry.getKey(), entry.getValue().asText()));
+        if (!params.isEmpty()) {
+            key.append(' ').append(params);
+        }
+        return key.append(" (").append(result.path("mode").asText()).append(')').toString();
+    }
+
+    private static double allocation(JsonNode result) {
+        return result.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+    }
+}
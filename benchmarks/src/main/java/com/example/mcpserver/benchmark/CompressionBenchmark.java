@@ -0,0 +1,92 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpCompressionProperties;
+import com.example.mcpserver.codec.McpContentEncoding;
+import com.example.mcpserver.codec.McpResponseCompressor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU cost of compressing {@code resources/read} responses of several sizes, with
+ * and without the cached compressed result. {@link CompressionReport} prints the
+ * matching compressed sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"1KB", "16KB", "256KB"})
+    public String size;
+
+    @Param({"GZIP", "ZSTD"})
+    public McpContentEncoding encoding;
+
+    @Param({"1", "3", "6", "9"})
+    public int level;
+
+    private byte[] body;
+
+    private McpResponseCompressor compressor;
+
+    @Setup
+    public void setUp() throws Exception {
+        body = resourceRead(DataSize.parse(size));
+        compressor = compressor();
+    }
+
+    @Benchmark
+    public byte[] compress() {
+        return compressor.compress(body, false, encoding, level);
+    }
+
+    @Benchmark
+    public byte[] compressWithCachedResult() {
+        return compressor.compress(body, true, encoding, level);
+    }
+
+    static McpResponseCompressor compressor() {
+        return new McpResponseCompressor(new McpCompressionProperties(true, DataSize.ofKilobytes(2),
+            List.of(McpContentEncoding.ZSTD, McpContentEncoding.GZIP), 6, 3, Map.of(), Map.of(),
+            DataSize.ofKilobytes(8), DataSize.ofMegabytes(32)));
+    }
+
+    /**
+     * A {@code resources/read} response of the API reference, repeated to roughly {@code size}.
+     */
+    static byte[] resourceRead(DataSize size) throws Exception {
+        String reference = McpPayloads.resources().getApiReference();
+        StringBuilder text = new StringBuilder((int) size.toBytes());
+        while (text.length() < size.toBytes()) {
+            text.append(reference);
+        }
+        text.setLength((int) size.toBytes());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0").put("id", 42);
+        response.putObject("result").putArray("contents").addObject()
+            .put("uri", "resource://api/reference")
+            .put("mimeType", "text/markdown")
+            .put("text", text.toString());
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpContentEncoding;
+import com.example.mcpserver.codec.McpResponseCompressor;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Prints the compressed size of {@code resources/read} responses for each coding and
+ * level, to put the {@link CompressionBenchmark} timings in relation to bytes saved.
+ */
+public final class CompressionReport {
+
+    private CompressionReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        McpResponseCompressor compressor = CompressionBenchmark.compressor();
+        System.out.printf("%-8s %-6s %5s %10s %10s %8s%n", "size", "coding", "level", "original", "compressed", "saved");
+        for (String size : new String[] {"1KB", "16KB", "256KB"}) {
+            byte[] body = CompressionBenchmark.resourceRead(DataSize.parse(size));
+            for (McpContentEncoding encoding : McpContentEncoding.values()) {
+                for (int level : new int[] {1, 3, 6, 9}) {
+                    int compressed = compressor.compress(body, false, encoding, level).length;
+                    System.out.printf("%-8s %-6s %5d %10d %10d %7.1f%%%n", size, encoding.token(), level,
+                        body.length, compressed, 100.0 * (body.length - compressed) / body.length);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.observability.McpMetricsInterceptor;
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.example.mcpserver.service.McpToolsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call overhead of the MCP metrics: a direct call of the {@code add} tool, a
+ * call through a proxy with a pass-through interceptor, and a call through the
+ * metrics interceptor recording into a Prometheus registry. The difference between
+ * the last two is the instrumentation cost, which should stay well under 1µs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private McpToolsService direct;
+
+    private McpToolsService proxied;
+
+    private McpToolsService instrumented;
+
+    private double operand;
+
+    @Setup
+    public void setUp() {
+        MeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        direct = new McpToolsService();
+        proxied = proxy(invocation -> invocation.proceed());
+        instrumented = proxy(new McpMetricsInterceptor(
+            new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class)));
+        operand = Math.random();
+    }
+
+    private static McpToolsService proxy(MethodInterceptor interceptor) {
+        ProxyFactory proxyFactory = new ProxyFactory(new McpToolsService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS, interceptor));
+        return (McpToolsService) proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public double direct() {
+        return direct.add(operand, 1);
+    }
+
+    @Benchmark
+    public double proxied() {
+        return proxied.add(operand, 1);
+    }
+
+    @Benchmark
+    public double instrumented() {
+        return instrumented.add(operand, 1);
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.idempotency.McpIdempotency;
+import com.example.mcpserver.limit.McpConcurrencyLimiter;
+import com.example.mcpserver.limit.McpLaneSchedulers;
+import com.example.mcpserver.limit.McpRateLimiter;
+import com.example.mcpserver.limit.McpRequestClassifier;
+import com.example.mcpserver.observability.McpCostProperties;
+import com.example.mcpserver.observability.McpCostTracker;
+import com.example.mcpserver.rpc.McpCallContext;
+import com.example.mcpserver.rpc.McpJsonRpcDispatcher;
+import com.example.mcpserver.rpc.McpMethodRegistry;
+import com.example.mcpserver.rpc.McpProgressProperties;
+import com.example.mcpserver.service.McpPromptsService;
+import com.example.mcpserver.service.McpResourcesService;
+import com.example.mcpserver.service.McpToolsService;
+import com.example.mcpserver.tracing.McpTracer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON-RPC handling of tool, resource and prompt requests through the
+ * {@link McpJsonRpcDispatcher}: decoding the request, dispatching it (which includes
+ * the hop to the bounded elastic scheduler), encoding the response, and decoding
+ * the response as a client would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcCodecBenchmark {
+
+    @Param({"add", "random_number", "get_current_time", "system/info", "docs/tools", "api/reference",
+        "code-review", "analyze-data"})
+    public String request;
+
+    private GenericApplicationContext applicationContext;
+
+    private McpJsonRpcDispatcher dispatcher;
+
+    private McpJsonMapper jsonMapper;
+
+    private ObjectMapper objectMapper;
+
+    private McpCallContext context;
+
+    private byte[] requestBytes;
+
+    private JsonNode requestNode;
+
+    private ObjectNode response;
+
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() throws IOException {
+        applicationContext = new GenericApplicationContext();
+        applicationContext.registerBean(McpToolsService.class, McpToolsService::new);
+        applicationContext.registerBean(McpResourcesService.class,
+            () -> new McpResourcesService(new McpCostTracker(new McpCostProperties(true, 10))));
+        applicationContext.registerBean(McpPromptsService.class, McpResponses::prompts);
+        applicationContext.refresh();
+
+        McpMethodRegistry registry = new McpMethodRegistry(applicationContext);
+        registry.afterSingletonsInstantiated();
+        jsonMapper = new McpJsonMapper(Jackson2ObjectMapperBuilder.json().modules(new BlackbirdModule()));
+        objectMapper = jsonMapper.mapper();
+        dispatcher = new McpJsonRpcDispatcher(registry, jsonMapper, applicationContext.getBeanProvider(McpTracer.class),
+            applicationContext.getBeanProvider(McpConcurrencyLimiter.class),
+            applicationContext.getBeanProvider(McpRateLimiter.class),
+            applicationContext.getBeanProvider(McpRequestClassifier.class),
+            applicationContext.getBeanProvider(McpLaneSchedulers.class),
+            applicationContext.getBeanProvider(McpIdempotency.class), new McpProgressProperties(10, true),
+            "spring-mcp-server", "1.0.0");
+        context = new McpCallContext("benchmark", "benchmark");
+
+        requestBytes = objectMapper.writeValueAsBytes(message(request));
+        requestNode = objectMapper.readTree(requestBytes);
+        response = dispatcher.dispatch(requestNode, context).block();
+        responseBytes = jsonMapper.writeValueAsBytes(response);
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationContext.close();
+    }
+
+    private static Map<String, Object> message(String request) {
+        return switch (request) {
+            case "add" -> message("tools/call", "add", Map.of("a", 40, "b", 2));
+            case "random_number" -> message("tools/call", "random_number", Map.of("min", 1, "max", 100));
+            case "get_current_time" -> message("tools/call", "get_current_time", Map.of("timezone", "UTC"));
+            case "system/info", "docs/tools", "api/reference" -> message("resources/read", Map.of("uri", "resource://" + request));
+            case "code-review" -> message("prompts/get", request, Map.of("language", "Java", "focusArea", "performance"));
+            case "analyze-data" -> message("prompts/get", request,
+                Map.of("dataType", "sales", "goal", "Find seasonal trends", "context", "Daily totals per region"));
+            default -> throw new IllegalArgumentException("Unknown request: " + request);
+        };
+    }
+
+    private static Map<String, Object> message(String method, String name, Map<String, Object> arguments) {
+        return message(method, Map.of("name", name, "arguments", arguments));
+    }
+
+    private static Map<String, Object> message(String method, Map<String, Object> params) {
+        return Map.of("jsonrpc", "2.0", "id", 42, "method", method, "params", params);
+    }
+
+    @Benchmark
+    public JsonNode decodeRequest() throws IOException {
+        return objectMapper.readTree(requestBytes);
+    }
+
+    @Benchmark
+    public ObjectNode dispatch() {
+        return dispatcher.dispatch(requestNode, context).block();
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public JsonNode decodeResponse() throws IOException {
+        return objectMapper.readTree(responseBytes);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() throws IOException {
+        return jsonMapper.writeValueAsBytes(dispatcher.dispatch(objectMapper.readTree(requestBytes), context).block());
+    }
+}
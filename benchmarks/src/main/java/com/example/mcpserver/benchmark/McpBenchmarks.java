@@ -0,0 +1,60 @@
+package com.example.mcpserver.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command line, but unless
+ * told otherwise also runs the GC profiler and writes the results as JSON to
+ * {@value #DEFAULT_RESULT_FILE}, so that every run produces a file that can be
+ * compared with {@link BenchmarkComparison}.
+ */
+public final class McpBenchmarks {
+
+    static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private McpBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine;
+        try {
+            commandLine = new CommandLineOptions(args);
+        }
+        catch (CommandLineOptionException ex) {
+            System.err.println("Error parsing command line: " + ex.getMessage());
+            System.exit(1);
+            return;
+        }
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        OptionsBuilder options = new OptionsBuilder();
+        options.parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+        try {
+            new Runner(options.build()).run();
+        }
+        catch (RunnerException ex) {
+            System.err.println("Benchmark run failed: " + ex.getMessage());
+            System.exit(1);
+        }
+    }
+}
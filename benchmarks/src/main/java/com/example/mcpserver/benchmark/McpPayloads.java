@@ -0,0 +1,91 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.observability.McpCostProperties;
+import com.example.mcpserver.observability.McpCostTracker;
+import com.example.mcpserver.service.McpResourcesService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Realistic JSON-RPC responses of the server, used as benchmark inputs.
+ */
+public final class McpPayloads {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private McpPayloads() {
+    }
+
+    /**
+     * Build the named payload: {@code tools-list}, {@code numeric-array},
+     * {@code system-info} or {@code docs-resource}.
+     */
+    public static ObjectNode create(String name) {
+        return switch (name) {
+            case "tools-list" -> response(toolsList());
+            case "numeric-array" -> response(numericArray(10_000));
+            case "system-info" -> response(resource("resource://system/info", "application/json",
+                writeValueAsString(resources().getSystemInfo())));
+            case "docs-resource" -> response(resource("resource://docs/getting-started", "text/markdown",
+                resources().getDocumentation("getting-started")));
+            default -> throw new IllegalArgumentException("Unknown payload: " + name);
+        };
+    }
+
+    static McpResourcesService resources() {
+        return new McpResourcesService(new McpCostTracker(new McpCostProperties(true, 10)));
+    }
+
+    private static ObjectNode response(ObjectNode result) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0").put("id", 42);
+        response.set("result", result);
+        return response;
+    }
+
+    private static ObjectNode toolsList() {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode tools = result.putArray("tools");
+        for (String name : new String[] {"add", "subtract", "multiply", "divide"}) {
+            ObjectNode schema = tools.addObject()
+                .put("name", name)
+                .put("description", "Calculator operation " + name)
+                .putObject("inputSchema").put("type", "object");
+            ObjectNode properties = schema.putObject("properties");
+            properties.putObject("a").put("type", "number").put("description", "First number");
+            properties.putObject("b").put("type", "number").put("description", "Second number");
+            schema.putArray("required").add("a").add("b");
+        }
+        tools.addObject().put("name", "echo").put("description", "Echo back the provided message")
+            .putObject("inputSchema").put("type", "object")
+            .putObject("properties").putObject("message").put("type", "string");
+        return result;
+    }
+
+    private static ObjectNode numericArray(int size) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode values = result.putArray("values");
+        for (int i = 0; i < size; i++) {
+            values.add(Math.sin(i) * 1000);
+        }
+        return result;
+    }
+
+    private static ObjectNode resource(String uri, String mimeType, String text) {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.putArray("contents").addObject()
+            .put("uri", uri)
+            .put("mimeType", mimeType)
+            .put("text", text);
+        return result;
+    }
+
+    private static String writeValueAsString(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        }
+        catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
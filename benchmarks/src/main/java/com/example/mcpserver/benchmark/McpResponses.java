@@ -0,0 +1,76 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.McpPromptsService;
+import com.example.mcpserver.prompt.ArgumentTruncator;
+import com.example.mcpserver.prompt.PromptArgumentProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed JSON-RPC responses for the list, call, read and get operations, mirroring
+ * the MCP schema, so that serializer (not tree) performance is measured.
+ */
+public final class McpResponses {
+
+    public record JsonRpcResponse(String jsonrpc, int id, Object result) {
+    }
+
+    public record InputSchema(String type, Map<String, Map<String, String>> properties, List<String> required) {
+    }
+
+    public record Tool(String name, String description, InputSchema inputSchema) {
+    }
+
+    public record ListToolsResult(List<Tool> tools) {
+    }
+
+    public record TextContent(String type, String text) {
+    }
+
+    public record CallToolResult(List<TextContent> content, boolean isError) {
+    }
+
+    public record ResourceContents(String uri, String mimeType, Object text) {
+    }
+
+    public record ReadResourceResult(List<ResourceContents> contents) {
+    }
+
+    public record PromptMessage(String role, TextContent content) {
+    }
+
+    public record GetPromptResult(String description, List<PromptMessage> messages) {
+    }
+
+    private McpResponses() {
+    }
+
+    /**
+     * Build the response for {@code tools/list}, {@code tools/call}, {@code resources/read} or {@code prompts/get}.
+     */
+    public static JsonRpcResponse create(String operation) {
+        Object result = switch (operation) {
+            case "tools/list" -> new ListToolsResult(List.of("add", "subtract", "multiply", "divide").stream()
+                .map(name -> new Tool(name, "Calculator operation " + name, new InputSchema("object",
+                    Map.of("a", Map.of("type", "number", "description", "First number"),
+                        "b", Map.of("type", "number", "description", "Second number")),
+                    List.of("a", "b"))))
+                .toList());
+            case "tools/call" -> new CallToolResult(List.of(new TextContent("text", "42.0")), false);
+            case "resources/read" -> new ReadResourceResult(List.of(new ResourceContents(
+                "resource://system/info", "application/json", McpPayloads.resources().getSystemInfo())));
+            case "prompts/get" -> new GetPromptResult("Generate a comprehensive code review prompt", List.of(
+                new PromptMessage("user", new TextContent("text", prompts().generateCodeReviewPrompt("Java", "performance")))));
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        };
+        return new JsonRpcResponse("2.0", 42, result);
+    }
+
+    static McpPromptsService prompts() {
+        return new McpPromptsService(new ArgumentTruncator(new PromptArgumentProperties(
+            DataSize.ofMegabytes(1), PromptArgumentProperties.TruncationStrategy.HEAD_TAIL, DataSize.ofKilobytes(16),
+            DataSize.ofMegabytes(16))));
+    }
+}
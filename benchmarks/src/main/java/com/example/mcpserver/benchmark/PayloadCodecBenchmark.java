@@ -0,0 +1,75 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpPayloadFormat;
+import com.example.mcpserver.codec.McpPayloadTranscoder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode throughput of JSON-RPC responses in each {@link McpPayloadFormat}.
+ * Run {@link PayloadSizeReport} for the corresponding payload sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadCodecBenchmark {
+
+    @Param({"tools-list", "numeric-array", "system-info", "docs-resource"})
+    public String payload;
+
+    @Param({"JSON", "CBOR", "MSGPACK"})
+    public McpPayloadFormat format;
+
+    private ObjectMapper mapper;
+
+    private JsonNode tree;
+
+    private byte[] encoded;
+
+    private byte[] json;
+
+    private McpPayloadTranscoder transcoder;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = new ObjectMapper(format.createFactory());
+        tree = McpPayloads.create(payload);
+        encoded = mapper.writeValueAsBytes(tree);
+        json = new ObjectMapper().writeValueAsBytes(tree);
+        transcoder = new McpPayloadTranscoder();
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return mapper.writeValueAsBytes(tree);
+    }
+
+    @Benchmark
+    public JsonNode decode() throws Exception {
+        return mapper.readTree(encoded);
+    }
+
+    /**
+     * Cost added by the {@code /mcp} content negotiation filter for a response.
+     */
+    @Benchmark
+    public byte[] transcodeFromJson() throws Exception {
+        return transcoder.transcode(json, McpPayloadFormat.JSON, format);
+    }
+}
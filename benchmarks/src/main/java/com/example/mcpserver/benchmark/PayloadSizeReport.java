@@ -0,0 +1,28 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpPayloadFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Prints the encoded size of each benchmark payload in each {@link McpPayloadFormat}.
+ */
+public final class PayloadSizeReport {
+
+    private PayloadSizeReport() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] payloads = {"tools-list", "numeric-array", "system-info", "docs-resource"};
+        System.out.printf("%-15s %10s %10s %10s%n", "payload", "JSON", "CBOR", "MSGPACK");
+        for (String payload : payloads) {
+            JsonNode tree = McpPayloads.create(payload);
+            System.out.printf("%-15s", payload);
+            for (McpPayloadFormat format : McpPayloadFormat.values()) {
+                int size = new ObjectMapper(format.createFactory()).writeValueAsBytes(tree).length;
+                System.out.printf(" %10d", size);
+            }
+            System.out.println();
+        }
+    }
+}
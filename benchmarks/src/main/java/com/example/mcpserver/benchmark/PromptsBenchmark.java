@@ -0,0 +1,74 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.McpPromptsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering cost of every {@link McpPromptsService} prompt, with all optional
+ * arguments supplied so that the longest template path is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptsBenchmark {
+
+    private McpPromptsService prompts;
+
+    private String context;
+
+    @Setup
+    public void setUp() {
+        prompts = McpResponses.prompts();
+        context = "Daily order totals per region, exported from the warehouse. ".repeat(20);
+    }
+
+    @Benchmark
+    public String greeting() {
+        return prompts.generateGreeting("Alice", "morning");
+    }
+
+    @Benchmark
+    public String codeReview() {
+        return prompts.generateCodeReviewPrompt("Java", "performance");
+    }
+
+    @Benchmark
+    public String dataAnalysis() {
+        return prompts.generateDataAnalysisPrompt("sales", "Find seasonal trends", context);
+    }
+
+    @Benchmark
+    public String meetingSummary() {
+        return prompts.generateMeetingSummaryPrompt("Release planning", "Alice, Bob, Carol, Dave");
+    }
+
+    @Benchmark
+    public String debug() {
+        return prompts.generateDebugPrompt("NullPointerException in OrderService", "Spring Boot 3.4, Java 17",
+            "Restarted the service, checked the logs");
+    }
+
+    @Benchmark
+    public String documentation() {
+        return prompts.generateDocumentationPrompt("McpJsonRpcDispatcher", "developers", "markdown");
+    }
+
+    @Benchmark
+    public String sqlHelper() {
+        return prompts.generateSqlHelperPrompt("Top 10 customers by revenue last quarter", "PostgreSQL", "use indexes");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.McpResourcesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct reads of every {@link McpResourcesService} resource, before the result is
+ * serialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResourcesBenchmark {
+
+    private McpResourcesService resources;
+
+    @Setup
+    public void setUp() {
+        resources = McpPayloads.resources();
+    }
+
+    @Benchmark
+    public String welcome() {
+        return resources.getWelcomeMessage();
+    }
+
+    @Benchmark
+    public Object systemInfo() {
+        return resources.getSystemInfo();
+    }
+
+    @Benchmark
+    public Object operationCost() {
+        return resources.getOperationCost();
+    }
+
+    @Benchmark
+    public Object serverConfig() {
+        return resources.getServerConfig();
+    }
+
+    @Benchmark
+    public String documentation(Documentation documentation) {
+        return resources.getDocumentation(documentation.topic);
+    }
+
+    @Benchmark
+    public String apiReference() {
+        return resources.getApiReference();
+    }
+
+    /**
+     * The documentation topic, kept in its own state so that only the
+     * {@code documentation} benchmark is run once per topic.
+     */
+    @State(Scope.Benchmark)
+    public static class Documentation {
+
+        @Param({"tools", "resources", "prompts", "getting-started"})
+        public String topic;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization cost of MCP responses: the previous pretty-printed configuration,
+ * a compact mapper, a compact mapper with Blackbird, and the protocol
+ * {@link McpJsonMapper} writing straight into pooled Netty buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"tools/list", "tools/call", "resources/read", "prompts/get"})
+    public String operation;
+
+    private Object response;
+
+    private ObjectMapper pretty;
+
+    private ObjectMapper compact;
+
+    private ObjectMapper blackbird;
+
+    private McpJsonMapper mcpJsonMapper;
+
+    private NettyDataBufferFactory pooledBuffers;
+
+    @Setup
+    public void setUp() {
+        response = McpResponses.create(operation);
+        pretty = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        compact = new ObjectMapper();
+        blackbird = new ObjectMapper().registerModule(new BlackbirdModule());
+        mcpJsonMapper = new McpJsonMapper(Jackson2ObjectMapperBuilder.json().modules(new BlackbirdModule()));
+        pooledBuffers = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    }
+
+    @Benchmark
+    public byte[] prettyPrinted() throws Exception {
+        return pretty.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] compact() throws Exception {
+        return compact.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] compactBlackbird() throws Exception {
+        return blackbird.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public int pooledDataBuffer() {
+        DataBuffer buffer = mcpJsonMapper.write(response, pooledBuffers);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
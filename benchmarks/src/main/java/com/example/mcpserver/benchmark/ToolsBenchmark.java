@@ -0,0 +1,93 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.McpToolsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Direct calls of every {@link McpToolsService} tool. Operands are read from fields
+ * so that the JIT cannot fold the calculator methods into constants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolsBenchmark {
+
+    private McpToolsService tools;
+
+    private double a;
+
+    private double b;
+
+    private String message;
+
+    private String timezone;
+
+    private int min;
+
+    private int max;
+
+    @Setup
+    public void setUp() {
+        tools = new McpToolsService();
+        a = 1 + Math.random();
+        b = 2 + Math.random();
+        message = "Hello, MCP!";
+        timezone = "Europe/Paris";
+        min = 1;
+        max = 100;
+    }
+
+    @Benchmark
+    public double add() {
+        return tools.add(a, b);
+    }
+
+    @Benchmark
+    public double subtract() {
+        return tools.subtract(a, b);
+    }
+
+    @Benchmark
+    public double multiply() {
+        return tools.multiply(a, b);
+    }
+
+    @Benchmark
+    public double divide() {
+        return tools.divide(a, b);
+    }
+
+    @Benchmark
+    public String echo() {
+        return tools.echo(message);
+    }
+
+    @Benchmark
+    public String getCurrentTime() {
+        return tools.getCurrentTime(null);
+    }
+
+    @Benchmark
+    public String getCurrentTimeWithTimezone() {
+        return tools.getCurrentTime(timezone);
+    }
+
+    @Benchmark
+    public int randomNumber() {
+        return tools.randomNumber(min, max);
+    }
+}
@@ -1,12 +1,24 @@
 package com.example.mcpserver;
 
+import com.example.mcpserver.transport.stdio.McpStdioTransport;
+import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class McpServerApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(McpServerApplication.class, args);
+        SpringApplication application = new SpringApplication(McpServerApplication.class);
+        if (McpStdioTransport.isRequested(args)) {
+            // stdio mode: no web server, and nothing but JSON-RPC may be written to stdout
+            application.setWebApplicationType(WebApplicationType.NONE);
+            application.setBannerMode(Banner.Mode.OFF);
+            application.setAdditionalProfiles(McpStdioTransport.PROFILE);
+        }
+        application.run(args);
     }
 }
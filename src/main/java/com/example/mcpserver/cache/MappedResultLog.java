@@ -0,0 +1,533 @@
+package com.example.mcpserver.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of cached results in memory-mapped segment files, with an
+ * {@link OffHeapIndex} from keys to their latest record.
+ *
+ * <p>A segment starts with a magic number and a format version, followed by records:
+ * <pre>
+ * [int length][int crc32c][long expiresAt][int keyLength][key][value]
+ * </pre>
+ * The checksum covers everything after it. Records are only ever appended to the
+ * last segment; once it is full a new one is started. A record reaches the file as
+ * soon as it is written to the mapping, so it survives a crash of the process; the
+ * segments are forced to disk when they are sealed and on {@link #close()}.
+ *
+ * <p>On open, the segments are scanned in order to rebuild the index. Scanning a
+ * segment stops at the first record that is incomplete or fails its checksum, which
+ * is where a crash interrupted a write; the rest of the last segment is cleared so
+ * that new records are appended there.
+ *
+ * <p>Each segment tracks the bytes of records the index still points to. When a
+ * sealed segment holds less than the compaction threshold of live data, its live
+ * records are copied to the end of the log and the file is deleted. When the log
+ * exceeds its maximum size, the oldest segment is deleted with its entries.
+ */
+final class MappedResultLog implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedResultLog.class);
+
+    private static final int MAGIC = 0x4d435243;
+
+    private static final int VERSION = 1;
+
+    private static final int SEGMENT_HEADER = 8;
+
+    private static final int RECORD_HEADER = 20;
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d{10})\\.log");
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long maxSize;
+
+    private final double compactionThreshold;
+
+    private final LongSupplier clock;
+
+    private final OffHeapIndex index;
+
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Segment active;
+
+    private long compactions;
+
+    private long evictedSegments;
+
+    /**
+     * Open the log in {@code directory}, recovering the segments already there.
+     *
+     * @param clock current time in epoch milliseconds, compared to record expiry
+     */
+    MappedResultLog(Path directory, int segmentSize, long maxSize, int maxEntries, double compactionThreshold,
+            LongSupplier clock) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        this.compactionThreshold = compactionThreshold;
+        this.clock = clock;
+        this.index = new OffHeapIndex(maxEntries);
+        try {
+            Files.createDirectories(directory);
+            recover();
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open result cache in " + directory, ex);
+        }
+    }
+
+    /**
+     * The value stored for {@code key}, or {@code null} if there is none that has not
+     * expired.
+     */
+    @Nullable
+    byte[] get(byte[] key) {
+        Stored stored = read(key);
+        return stored != null ? stored.value() : null;
+    }
+
+    /**
+     * The record stored for {@code key}, or {@code null} if there is none that has not
+     * expired.
+     */
+    @Nullable
+    Stored read(byte[] key) {
+        lock.readLock().lock();
+        try {
+            long location = index.get(fingerprint(key));
+            if (location == OffHeapIndex.NOT_FOUND) {
+                return null;
+            }
+            ByteBuffer buffer = segments.get(segmentId(location)).buffer;
+            int offset = offset(location);
+            int length = buffer.getInt(offset);
+            int keyLength = buffer.getInt(offset + 16);
+            long expiresAt = buffer.getLong(offset + 8);
+            if (expiresAt <= clock.getAsLong() || !keyEquals(buffer, offset + RECORD_HEADER, key, keyLength)) {
+                return null;
+            }
+            byte[] value = new byte[length - RECORD_HEADER - keyLength];
+            buffer.get(offset + RECORD_HEADER + keyLength, value);
+            return new Stored(value, expiresAt);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Append {@code value} as the latest record of {@code key}.
+     *
+     * @param expiresAt epoch milliseconds after which the record is no longer returned
+     * @return whether the value was stored; values that do not fit in a segment are not
+     */
+    boolean put(byte[] key, byte[] value, long expiresAt) {
+        int length = RECORD_HEADER + key.length + value.length;
+        if (length > segmentSize - SEGMENT_HEADER) {
+            return false;
+        }
+        ByteBuffer record = ByteBuffer.allocate(length)
+            .putInt(length)
+            .putInt(0)
+            .putLong(expiresAt)
+            .putInt(key.length)
+            .put(key)
+            .put(value);
+        CRC32C crc = new CRC32C();
+        crc.update(record.array(), 8, length - 8);
+        record.putInt(4, (int) crc.getValue());
+
+        lock.writeLock().lock();
+        try {
+            long location = append(record.array());
+            index(fingerprint(key), location, length);
+            maintain();
+            return true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keys in the index, some of which may have expired.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Bytes of the segment files.
+     */
+    long diskBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) segments.size() * segmentSize;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Segments compacted so far.
+     */
+    long compactions() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Segments deleted with their live records because the log grew beyond its maximum size.
+     */
+    long evictedSegments() {
+        lock.readLock().lock();
+        try {
+            return evictedSegments;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                segment.close();
+            }
+            segments.clear();
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches()).sorted().toList();
+        }
+        long start = System.nanoTime();
+        long records = 0;
+        for (Path file : files) {
+            Matcher name = SEGMENT_NAME.matcher(file.getFileName().toString());
+            name.matches();
+            Segment segment = Segment.open(file, Integer.parseInt(name.group(1)), segmentSize);
+            if (segment == null) {
+                logger.warn("Deleting result cache segment {} of another format or segment size", file);
+                Files.delete(file);
+                continue;
+            }
+            segments.put(segment.id, segment);
+            records += scan(segment);
+        }
+        if (!segments.isEmpty()) {
+            active = segments.lastEntry().getValue();
+            if (active.torn) {
+                active.clearFrom(active.position);
+            }
+        }
+        else {
+            active = newSegment(0);
+        }
+        logger.info("Recovered {} result cache records ({} keys) from {} segments in {} ms", records, index.size(),
+            segments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Index the valid records of {@code segment}, leaving its position after the last one.
+     */
+    private long scan(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int offset = SEGMENT_HEADER;
+        long records = 0;
+        while (offset + RECORD_HEADER <= segmentSize) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < RECORD_HEADER || length > segmentSize - offset || !checksumMatches(buffer, offset, length)) {
+                logger.warn("Result cache segment {} is truncated at offset {}", segment.path, offset);
+                segment.torn = true;
+                break;
+            }
+            byte[] key = new byte[buffer.getInt(offset + 16)];
+            buffer.get(offset + RECORD_HEADER, key);
+            index(fingerprint(key), location(segment.id, offset), length);
+            offset += length;
+            records++;
+        }
+        segment.position = offset;
+        return records;
+    }
+
+    private long append(byte[] record) {
+        if (active.position + record.length > segmentSize) {
+            active.buffer.force();
+            active = newSegment(active.id + 1);
+        }
+        int offset = active.position;
+        active.buffer.put(offset, record);
+        active.position += record.length;
+        return location(active.id, offset);
+    }
+
+    /**
+     * Point {@code fingerprint} to the record at {@code location}, moving the live
+     * bytes of the record it replaces to the segment of the new one.
+     */
+    private void index(long fingerprint, long location, int length) {
+        long previous = index.put(fingerprint, location);
+        if (previous == location) {
+            return;
+        }
+        segments.get(segmentId(location)).liveBytes += length;
+        if (previous != OffHeapIndex.NOT_FOUND) {
+            Segment segment = segments.get(segmentId(previous));
+            segment.liveBytes -= segment.buffer.getInt(offset(previous));
+        }
+    }
+
+    /**
+     * Delete the oldest segments while the log is too large, then compact the sealed
+     * segment with the least live data if it is below the threshold.
+     */
+    private void maintain() {
+        while ((long) segments.size() * segmentSize > maxSize && segments.size() > 1) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            index.removeIf(location -> segmentId(location) == oldest.id);
+            delete(oldest);
+            evictedSegments++;
+        }
+        Segment sparsest = null;
+        for (Segment segment : segments.values()) {
+            if (segment != active && (sparsest == null || segment.liveBytes < sparsest.liveBytes)) {
+                sparsest = segment;
+            }
+        }
+        if (sparsest != null && sparsest.liveBytes < (segmentSize - SEGMENT_HEADER) * compactionThreshold) {
+            compact(sparsest);
+        }
+    }
+
+    /**
+     * Copy the live, unexpired records of {@code segment} to the end of the log and
+     * delete it.
+     */
+    private void compact(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        long now = clock.getAsLong();
+        for (int offset = SEGMENT_HEADER; offset < segment.position; ) {
+            int length = buffer.getInt(offset);
+            byte[] key = new byte[buffer.getInt(offset + 16)];
+            buffer.get(offset + RECORD_HEADER, key);
+            long fingerprint = fingerprint(key);
+            long location = location(segment.id, offset);
+            if (index.get(fingerprint) == location) {
+                if (buffer.getLong(offset + 8) > now) {
+                    byte[] record = new byte[length];
+                    buffer.get(offset, record);
+                    index(fingerprint, append(record), length);
+                }
+                else {
+                    index.remove(fingerprint, location);
+                }
+            }
+            offset += length;
+        }
+        segments.remove(segment.id);
+        delete(segment);
+        compactions++;
+    }
+
+    private Segment newSegment(int id) {
+        try {
+            Segment segment = Segment.create(directory.resolve(String.format("segment-%010d.log", id)), id, segmentSize);
+            segments.put(id, segment);
+            return segment;
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create result cache segment in " + directory, ex);
+        }
+    }
+
+    private void delete(Segment segment) {
+        segment.close();
+        try {
+            Files.deleteIfExists(segment.path);
+        }
+        catch (IOException ex) {
+            logger.warn("Cannot delete result cache segment {}", segment.path, ex);
+        }
+    }
+
+    private static boolean checksumMatches(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + 8, length - 8));
+        return (int) crc.getValue() == buffer.getInt(offset + 4);
+    }
+
+    private static boolean keyEquals(ByteBuffer buffer, int offset, byte[] key, int keyLength) {
+        if (keyLength != key.length) {
+            return false;
+        }
+        byte[] stored = new byte[keyLength];
+        buffer.get(offset, stored);
+        return Arrays.equals(stored, key);
+    }
+
+    private static long location(int segmentId, int offset) {
+        return (long) segmentId << 32 | offset;
+    }
+
+    private static int segmentId(long location) {
+        return (int) (location >>> 32);
+    }
+
+    private static int offset(long location) {
+        return (int) location;
+    }
+
+    /**
+     * 64-bit FNV-1a with a final avalanche, so that the low bits used for the index
+     * slot are well mixed.
+     */
+    static long fingerprint(byte[] key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * One segment file, mapped in full.
+     */
+    private static final class Segment {
+
+        private final int id;
+
+        private final Path path;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        /** Offset at which the next record is appended. */
+        private int position = SEGMENT_HEADER;
+
+        /** Bytes of records the index points to. */
+        private long liveBytes;
+
+        /** Whether recovery found a partially written record at {@link #position}. */
+        private boolean torn;
+
+        private Segment(int id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path path, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC).putInt(4, VERSION);
+            return new Segment(id, path, channel, buffer);
+        }
+
+        /**
+         * Map an existing segment, or return {@code null} if it is not one of this format.
+         */
+        @Nullable
+        static Segment open(Path path, int id, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (channel.size() != size) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                channel.close();
+                return null;
+            }
+            return new Segment(id, path, channel, buffer);
+        }
+
+        /**
+         * Zero the bytes from {@code offset}, so that a partially written record left
+         * by a crash is not mistaken for data once new records are appended before it.
+         */
+        void clearFrom(int offset) {
+            byte[] zeros = new byte[Math.min(64 * 1024, buffer.capacity())];
+            for (int at = offset; at < buffer.capacity(); at += zeros.length) {
+                buffer.put(at, zeros, 0, Math.min(zeros.length, buffer.capacity() - at));
+            }
+        }
+
+        void close() {
+            buffer.force();
+            try {
+                channel.close();
+            }
+            catch (IOException ex) {
+                logger.warn("Cannot close result cache segment {}", path, ex);
+            }
+        }
+    }
+
+    /**
+     * A value read from the log.
+     *
+     * @param expiresAt epoch milliseconds after which the record is no longer returned
+     */
+    record Stored(byte[] value, long expiresAt) {
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.mcpserver.cache;
+
+import com.example.mcpserver.rpc.McpOperation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Two-tier cache of MCP method results: a bounded in-memory tier in front of a
+ * {@link MappedResultLog} on disk.
+ *
+ * <p>Every result is written to both tiers. A lookup that misses in memory falls
+ * through to disk and, on a hit there, puts the result in memory again until the
+ * disk record expires, so after a restart the in-memory tier warms up with the
+ * results actually asked for instead of starting cold or loading the whole disk
+ * tier. Results are keyed by the operation and its arguments serialized as JSON.
+ * Both tiers hold results serialized, so every hit decodes a copy of its own that
+ * callers are free to modify.
+ */
+public class McpResultCache implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpResultCache.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final MappedResultLog disk;
+
+    private final Map<String, Entry> memory = new LinkedHashMap<>(256, 0.75f, true);
+
+    private final int memoryEntries;
+
+    private final long ttlMillis;
+
+    private final LongSupplier clock;
+
+    private final LongAdder memoryHits = new LongAdder();
+
+    private final LongAdder diskHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public McpResultCache(McpResultCacheProperties properties, ObjectMapper objectMapper) {
+        this(properties, objectMapper, System::currentTimeMillis);
+    }
+
+    McpResultCache(McpResultCacheProperties properties, ObjectMapper objectMapper, LongSupplier clock) {
+        this.objectMapper = objectMapper;
+        this.disk = new MappedResultLog(properties.directory(), (int) properties.segmentSize().toBytes(),
+            properties.maxDiskSize().toBytes(), properties.diskEntries(), properties.compactionThreshold(), clock);
+        this.memoryEntries = properties.memoryEntries();
+        this.ttlMillis = properties.ttl().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * The key of a call of {@code operation} with {@code arguments}.
+     */
+    public String key(McpOperation operation, Object[] arguments) throws JsonProcessingException {
+        return operation.type().tagValue() + ':' + operation.name() + '\u0000' + objectMapper.writeValueAsString(arguments);
+    }
+
+    /**
+     * The cached result for {@code key}, read as {@code type}, or {@code null} if there
+     * is none.
+     */
+    @Nullable
+    public Object get(String key, Type type) {
+        long now = clock.getAsLong();
+        Entry entry;
+        synchronized (memory) {
+            entry = memory.get(key);
+        }
+        if (entry != null && entry.expiresAt > now) {
+            Object value = read(key, entry.value, type);
+            if (value != null) {
+                memoryHits.increment();
+                return value;
+            }
+        }
+        MappedResultLog.Stored stored = disk.read(key.getBytes(StandardCharsets.UTF_8));
+        if (stored != null) {
+            Object value = read(key, stored.value(), type);
+            if (value != null) {
+                remember(key, stored.value(), stored.expiresAt());
+                diskHits.increment();
+                return value;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache {@code value} as the result for {@code key} in both tiers.
+     */
+    public void put(String key, Object value) throws JsonProcessingException {
+        long expiresAt = clock.getAsLong() + ttlMillis;
+        byte[] serialized = objectMapper.writeValueAsBytes(value);
+        remember(key, serialized, expiresAt);
+        disk.put(key.getBytes(StandardCharsets.UTF_8), serialized, expiresAt);
+    }
+
+    @Nullable
+    private Object read(String key, byte[] value, Type type) {
+        try {
+            return objectMapper.readValue(value, objectMapper.constructType(type));
+        }
+        catch (IOException ex) {
+            logger.warn("Ignoring cached result of {} that cannot be read as {}", key, type, ex);
+            return null;
+        }
+    }
+
+    private void remember(String key, byte[] value, long expiresAt) {
+        synchronized (memory) {
+            memory.put(key, new Entry(value, expiresAt));
+            if (memory.size() > memoryEntries) {
+                memory.remove(memory.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Results held in memory.
+     */
+    public int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    /**
+     * Keys indexed on disk.
+     */
+    public int diskSize() {
+        return disk.size();
+    }
+
+    /**
+     * Bytes of the segment files on disk.
+     */
+    public long diskBytes() {
+        return disk.diskBytes();
+    }
+
+    /**
+     * Disk segments compacted so far.
+     */
+    public long compactions() {
+        return disk.compactions();
+    }
+
+    /**
+     * Lookups answered from memory.
+     */
+    public long memoryHits() {
+        return memoryHits.sum();
+    }
+
+    /**
+     * Lookups answered from disk.
+     */
+    public long diskHits() {
+        return diskHits.sum();
+    }
+
+    /**
+     * Lookups that found no result.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    @Override
+    public void close() {
+        disk.close();
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mcpserver.cache;
+
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Result cache for deterministic tools and prompts, in memory and in memory-mapped
+ * files that survive restarts. Enable with {@code mcp.result-cache.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.result-cache", name = "enabled")
+public class McpResultCacheConfiguration {
+
+    /**
+     * Inside request coalescing, so identical concurrent misses compute the result once,
+     * and outside cost accounting, which sees only calls that run the method.
+     */
+    static final int ORDER = 12;
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpResultCachePostProcessor(
+            ObjectProvider<McpResultCache> cache, ObjectProvider<McpResultCacheProperties> properties) {
+        return new McpOperationAdvisingPostProcessor(new McpResultCacheInterceptor(cache, properties), ORDER);
+    }
+
+    @Bean
+    public McpResultCache mcpResultCache(McpResultCacheProperties properties, ObjectMapper objectMapper) {
+        return new McpResultCache(properties, objectMapper);
+    }
+
+    @Bean
+    public McpResultCacheMetrics mcpResultCacheMetrics(McpResultCache cache) {
+        return new McpResultCacheMetrics(cache);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.mcpserver.cache;
+
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpOperation;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers calls of the tools and prompts listed in {@code mcp.result-cache.tools} and
+ * {@code mcp.result-cache.prompts} from the {@link McpResultCache}, and caches the
+ * results of the calls it does not answer. Exceptions and {@code null} results are
+ * not cached. Methods returning a {@code Mono} or {@code CompletableFuture} have the
+ * value they complete with cached; methods returning a {@code Flux} are not cached.
+ */
+public class McpResultCacheInterceptor implements MethodInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpResultCacheInterceptor.class);
+
+    private static final Cached NOT_CACHED = new Cached(null, null, null);
+
+    private final ObjectProvider<McpResultCache> cacheProvider;
+
+    private final ObjectProvider<McpResultCacheProperties> propertiesProvider;
+
+    /** Cached operation per method; methods that are not cached map to {@link #NOT_CACHED}. */
+    private final Map<Method, Cached> operations = new ConcurrentHashMap<>();
+
+    public McpResultCacheInterceptor(ObjectProvider<McpResultCache> cacheProvider,
+            ObjectProvider<McpResultCacheProperties> propertiesProvider) {
+        this.cacheProvider = cacheProvider;
+        this.propertiesProvider = propertiesProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Cached cached = cached(invocation);
+        if (cached == NOT_CACHED) {
+            return invocation.proceed();
+        }
+
+        McpResultCache cache = cacheProvider.getObject();
+        String key = cache.key(cached.operation(), invocation.getArguments());
+        Object value = cache.get(key, cached.type());
+        if (value != null) {
+            return switch (cached.result()) {
+                case VALUE -> value;
+                case MONO -> Mono.just(value);
+                case FUTURE -> CompletableFuture.completedFuture(value);
+            };
+        }
+        Object result = invocation.proceed();
+        if (McpAsyncResults.isAsync(result)) {
+            return McpAsyncResults.whenComplete(result, (completed, error) -> {
+                if (error == null && completed != null) {
+                    put(cache, key, completed);
+                }
+            });
+        }
+        if (result != null) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    private static void put(McpResultCache cache, String key, Object value) {
+        try {
+            cache.put(key, value);
+        }
+        catch (JsonProcessingException ex) {
+            logger.warn("Cannot cache result of {}", key, ex);
+        }
+    }
+
+    private Cached cached(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Cached cached = operations.get(method);
+        if (cached != null) {
+            return cached;
+        }
+        Object target = invocation.getThis();
+        McpOperation operation = McpOperation.of(target != null
+            ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method);
+        McpResultCacheProperties properties = propertiesProvider.getObject();
+        boolean eligible = operation != null && !Flux.class.isAssignableFrom(method.getReturnType())
+            && (operation.type() == McpOperationType.TOOL && properties.tools().contains(operation.name())
+                || operation.type() == McpOperationType.PROMPT && properties.prompts().contains(operation.name()));
+        return operations.computeIfAbsent(method, key -> eligible ? Cached.of(operation, method) : NOT_CACHED);
+    }
+
+    /**
+     * How a method delivers its result.
+     */
+    private enum Result {
+
+        VALUE, MONO, FUTURE
+    }
+
+    /**
+     * A cached operation, how it returns its result, and the type of the value that
+     * result carries, which is what is cached.
+     */
+    private record Cached(McpOperation operation, Type type, Result result) {
+
+        static Cached of(McpOperation operation, Method method) {
+            ResolvableType returnType = ResolvableType.forMethodReturnType(method);
+            Class<?> raw = returnType.toClass();
+            if (Mono.class.isAssignableFrom(raw)) {
+                return new Cached(operation, returnType.getGeneric(0).getType(), Result.MONO);
+            }
+            if (CompletionStage.class.isAssignableFrom(raw)) {
+                return new Cached(operation, returnType.as(CompletionStage.class).getGeneric(0).getType(), Result.FUTURE);
+            }
+            return new Cached(operation, returnType.getType(), Result.VALUE);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mcpserver.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the {@link McpResultCache}: lookups by outcome, entries per
+ * tier, disk usage and compactions.
+ */
+public class McpResultCacheMetrics implements MeterBinder {
+
+    private final McpResultCache cache;
+
+    public McpResultCacheMetrics(McpResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mcp.result.cache.gets", cache, McpResultCache::memoryHits)
+            .description("Result cache lookups, by outcome")
+            .tag("result", "memory-hit")
+            .register(registry);
+        FunctionCounter.builder("mcp.result.cache.gets", cache, McpResultCache::diskHits)
+            .description("Result cache lookups, by outcome")
+            .tag("result", "disk-hit")
+            .register(registry);
+        FunctionCounter.builder("mcp.result.cache.gets", cache, McpResultCache::misses)
+            .description("Result cache lookups, by outcome")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("mcp.result.cache.entries", cache, McpResultCache::memorySize)
+            .description("Results cached, by tier")
+            .tag("tier", "memory")
+            .register(registry);
+        Gauge.builder("mcp.result.cache.entries", cache, McpResultCache::diskSize)
+            .description("Results cached, by tier")
+            .tag("tier", "disk")
+            .register(registry);
+        Gauge.builder("mcp.result.cache.disk.size", cache, McpResultCache::diskBytes)
+            .description("Bytes of the result cache segment files")
+            .baseUnit(BaseUnits.BYTES)
+            .register(registry);
+        FunctionCounter.builder("mcp.result.cache.compactions", cache, McpResultCache::compactions)
+            .description("Result cache segments compacted")
+            .register(registry);
+    }
+}
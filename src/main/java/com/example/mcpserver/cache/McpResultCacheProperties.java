@@ -0,0 +1,51 @@
+package com.example.mcpserver.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings of the result cache for deterministic tools and prompts, kept in memory
+ * and in memory-mapped files that survive restarts.
+ *
+ * @param enabled whether results of the listed tools and prompts are cached
+ * @param tools names of tools whose result depends only on their arguments
+ * @param prompts names of prompts whose rendering depends only on their arguments
+ * @param ttl how long a result is served from the cache
+ * @param memoryEntries results kept in memory; the least recently used are dropped
+ * @param directory where the segment files of the disk tier are kept
+ * @param segmentSize size of each segment file
+ * @param maxDiskSize total size of the segment files; beyond, the oldest segment is deleted
+ * @param diskEntries keys indexed in the disk tier; further keys are cached in memory only
+ * @param compactionThreshold share of live data below which a segment is compacted
+ */
+@ConfigurationProperties(prefix = "mcp.result-cache")
+public record McpResultCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue Set<String> tools,
+        @DefaultValue Set<String> prompts,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int memoryEntries,
+        @DefaultValue("data/result-cache") Path directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("1GB") DataSize maxDiskSize,
+        @DefaultValue("1000000") int diskEntries,
+        @DefaultValue("0.5") double compactionThreshold) {
+
+    public McpResultCacheProperties {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE || maxDiskSize.toBytes() < segmentSize.toBytes()) {
+            throw new IllegalArgumentException(
+                "mcp.result-cache.segment-size must be below 2GB and no larger than max-disk-size");
+        }
+        if (diskEntries < 1 || diskEntries > (1 << 26)) {
+            throw new IllegalArgumentException("mcp.result-cache.disk-entries must be between 1 and 67108864");
+        }
+        if (compactionThreshold <= 0 || compactionThreshold >= 1) {
+            throw new IllegalArgumentException("mcp.result-cache.compaction-threshold must be between 0 and 1");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.mcpserver.cache;
+
+import java.nio.ByteBuffer;
+import java.util.function.LongPredicate;
+
+/**
+ * Open-addressing hash table from key fingerprints to record locations, held in one
+ * direct buffer so that a million entries cost neither heap nor garbage collection
+ * work. Not thread-safe; {@link MappedResultLog} guards it with its lock.
+ *
+ * <p>Each slot is a fingerprint and a location, 16 bytes. Fingerprint 0 marks an
+ * empty slot. Collisions are resolved by linear probing, and removal shifts the
+ * following entries back, so the table never fills up with tombstones.
+ */
+final class OffHeapIndex {
+
+    static final long NOT_FOUND = -1;
+
+    private static final int SLOT_SIZE = 16;
+
+    private final ByteBuffer slots;
+
+    private final int mask;
+
+    private final int maxEntries;
+
+    private int size;
+
+    OffHeapIndex(int maxEntries) {
+        // at most 75% full, so that probe sequences stay short
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries + maxEntries / 3) - 1) << 1;
+        this.slots = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * The location stored for {@code fingerprint}, or {@link #NOT_FOUND}.
+     */
+    long get(long fingerprint) {
+        long fp = nonZero(fingerprint);
+        for (int slot = home(fp); ; slot = (slot + 1) & mask) {
+            long stored = fingerprint(slot);
+            if (stored == fp) {
+                return location(slot);
+            }
+            if (stored == 0) {
+                return NOT_FOUND;
+            }
+        }
+    }
+
+    /**
+     * Store the location of {@code fingerprint}.
+     *
+     * @return the location it replaces, {@link #NOT_FOUND} if there was none, or
+     * {@code location} itself if the index is full and the entry was not added
+     */
+    long put(long fingerprint, long location) {
+        long fp = nonZero(fingerprint);
+        int slot = home(fp);
+        for (long stored = fingerprint(slot); stored != 0; stored = fingerprint(slot)) {
+            if (stored == fp) {
+                long previous = location(slot);
+                slots.putLong(slot * SLOT_SIZE + 8, location);
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size >= maxEntries) {
+            return location;
+        }
+        slots.putLong(slot * SLOT_SIZE, fp);
+        slots.putLong(slot * SLOT_SIZE + 8, location);
+        size++;
+        return NOT_FOUND;
+    }
+
+    /**
+     * Remove {@code fingerprint} if it is stored at {@code location}.
+     */
+    void remove(long fingerprint, long location) {
+        long fp = nonZero(fingerprint);
+        for (int slot = home(fp); ; slot = (slot + 1) & mask) {
+            long stored = fingerprint(slot);
+            if (stored == 0) {
+                return;
+            }
+            if (stored == fp) {
+                if (location(slot) == location) {
+                    removeAt(slot);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Remove every entry whose location matches {@code predicate}.
+     */
+    void removeIf(LongPredicate predicate) {
+        for (int slot = 0; slot <= mask; slot++) {
+            // an entry shifted back into this slot has to be checked as well
+            while (fingerprint(slot) != 0 && predicate.test(location(slot))) {
+                removeAt(slot);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    int maxEntries() {
+        return maxEntries;
+    }
+
+    private void removeAt(int slot) {
+        int hole = slot;
+        for (int next = (hole + 1) & mask; fingerprint(next) != 0; next = (next + 1) & mask) {
+            int home = home(fingerprint(next));
+            // the entry at next may move into the hole unless its home lies cyclically in (hole, next]
+            boolean stays = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (!stays) {
+                slots.putLong(hole * SLOT_SIZE, fingerprint(next));
+                slots.putLong(hole * SLOT_SIZE + 8, location(next));
+                hole = next;
+            }
+        }
+        slots.putLong(hole * SLOT_SIZE, 0);
+        slots.putLong(hole * SLOT_SIZE + 8, 0);
+        size--;
+    }
+
+    private long fingerprint(int slot) {
+        return slots.getLong(slot * SLOT_SIZE);
+    }
+
+    private long location(int slot) {
+        return slots.getLong(slot * SLOT_SIZE + 8);
+    }
+
+    private int home(long fingerprint) {
+        return (int) fingerprint & mask;
+    }
+
+    private static long nonZero(long fingerprint) {
+        return fingerprint != 0 ? fingerprint : 1;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.mcpserver.coalesce;
+
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Single-flight coalescing of identical concurrent resource reads and prompt gets,
+ * whichever transport invokes them. Disable with {@code mcp.coalescing.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.coalescing", name = "enabled", matchIfMissing = true)
+public class McpCoalescingConfiguration {
+
+    /**
+     * Inside metrics, events and tracing, which see every caller with its own latency,
+     * and outside cost accounting, which sees only the shared execution.
+     */
+    static final int ORDER = 15;
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpCoalescingPostProcessor(
+            ObjectProvider<McpCoalescingProperties> properties, ObjectProvider<ObjectMapper> objectMapper,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new McpOperationAdvisingPostProcessor(
+            new McpCoalescingInterceptor(properties, objectMapper, meterRegistry), ORDER);
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.mcpserver.coalesce;
+
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpOperation;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Lets identical concurrent resource reads and prompt gets share one execution.
+ *
+ * <p>The first call of a method with given arguments runs it; calls with equal
+ * arguments arriving while it runs wait for its outcome and return its result (or
+ * rethrow the same exception) instead of repeating the work. Waiting callers get
+ * their own copy of a mutable result, deserialized from the result serialized once
+ * with Jackson; strings, numbers and other immutable values are shared as they are.
+ * A caller waits at most {@code mcp.coalescing.max-wait}, then runs the method itself.
+ *
+ * <p>Nothing is kept once the call completes, so this is not a cache: a call that
+ * starts after the previous one finished always runs the method. Tools are never
+ * coalesced, as they may have side effects, and neither are the resources and
+ * prompts in {@code mcp.coalescing.exclude}. A {@code Mono}, {@code Flux} or
+ * {@code CompletableFuture} result is shared until it completes, and its value is
+ * produced once for all callers subscribing to it; waiting callers receive copies
+ * of its values.
+ */
+public class McpCoalescingInterceptor implements MethodInterceptor {
+
+    /** Counter of calls answered by another call's execution, tagged {@code type} and {@code name}. */
+    public static final String COALESCED = "mcp.operation.coalesced";
+
+    private static final Coalesced NOT_COALESCED = new Coalesced(null);
+
+    /** Outcome of a call whose result could not be serialized; waiting callers run the method themselves. */
+    private static final Object NOT_SHAREABLE = new Object();
+
+    private final ObjectProvider<McpCoalescingProperties> propertiesProvider;
+
+    private final ObjectProvider<ObjectMapper> objectMapperProvider;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    /** Coalesced operation per method; methods that are not coalesced map to {@link #NOT_COALESCED}. */
+    private final Map<Method, Coalesced> operations = new ConcurrentHashMap<>();
+
+    private final Map<Key, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder coalescedCalls = new LongAdder();
+
+    public McpCoalescingInterceptor(ObjectProvider<McpCoalescingProperties> propertiesProvider,
+            ObjectProvider<ObjectMapper> objectMapperProvider, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.propertiesProvider = propertiesProvider;
+        this.objectMapperProvider = objectMapperProvider;
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Coalesced operation = coalesced(invocation);
+        if (operation == NOT_COALESCED) {
+            return invocation.proceed();
+        }
+
+        Key key = new Key(invocation.getMethod(), Arrays.asList(invocation.getArguments()));
+        Flight flight = new Flight(Thread.currentThread());
+        Flight leader = inFlight.putIfAbsent(key, flight);
+        if (leader != null && leader.thread != flight.thread) {
+            return follow(invocation, operation, leader);
+        }
+        if (leader != null) {
+            // the method reads itself with the same arguments; waiting would never end
+            return invocation.proceed();
+        }
+        Object result;
+        try {
+            result = invocation.proceed();
+        }
+        catch (Throwable ex) {
+            inFlight.remove(key, flight);
+            flight.fail(ex);
+            throw ex;
+        }
+        if (McpAsyncResults.isAsync(result)) {
+            // the call lasts until the result completes; until then callers share one subscription to it
+            result = McpAsyncResults.whenComplete(McpAsyncResults.share(result),
+                (value, error) -> inFlight.remove(key, flight));
+        }
+        else {
+            inFlight.remove(key, flight);
+        }
+        flight.complete(result, this::serialize);
+        return result;
+    }
+
+    /**
+     * Calls currently executing on behalf of one or more callers.
+     */
+    public int inFlight() {
+        return inFlight.size();
+    }
+
+    /**
+     * Calls answered by another call's execution so far.
+     */
+    public long coalesced() {
+        return coalescedCalls.sum();
+    }
+
+    /**
+     * Wait for the call of {@code leader} and return a copy of its result, or run the
+     * method if the leader completed meanwhile, takes too long or has a result that
+     * cannot be copied.
+     */
+    private Object follow(MethodInvocation invocation, Coalesced operation, Flight leader) throws Throwable {
+        if (!leader.join()) {
+            // the call completed in the meantime, so this one starts after it
+            return invocation.proceed();
+        }
+        coalescedCalls.increment();
+        operation.increment();
+        Object outcome;
+        try {
+            outcome = leader.outcome.get(propertiesProvider.getObject().maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException ex) {
+            return invocation.proceed();
+        }
+        catch (ExecutionException ex) {
+            throw ex.getCause();
+        }
+        if (outcome == NOT_SHAREABLE) {
+            return invocation.proceed();
+        }
+        Method method = invocation.getMethod();
+        if (outcome instanceof Serialized serialized) {
+            return objectMapper().readValue(serialized.bytes(), objectMapper().constructType(method.getGenericReturnType()));
+        }
+        if (McpAsyncResults.isAsync(outcome)) {
+            // values of a shared result reach every subscriber, so each waiting caller copies its own
+            ResolvableType generic = ResolvableType.forMethodReturnType(method).getGeneric(0);
+            Type valueType = generic != ResolvableType.NONE ? generic.getType() : Object.class;
+            return McpAsyncResults.map(outcome, value -> copy(value, valueType));
+        }
+        return outcome;
+    }
+
+    /**
+     * The form of a synchronous {@code result} handed to waiting callers.
+     */
+    private Object serialize(Object result) {
+        if (McpAsyncResults.isAsync(result) || isImmutable(result)) {
+            return result;
+        }
+        try {
+            return new Serialized(objectMapper().writeValueAsBytes(result));
+        }
+        catch (JsonProcessingException ex) {
+            return NOT_SHAREABLE;
+        }
+    }
+
+    @Nullable
+    private Object copy(@Nullable Object value, Type type) {
+        if (isImmutable(value)) {
+            return value;
+        }
+        try {
+            ObjectMapper objectMapper = objectMapper();
+            return objectMapper.readValue(objectMapper.writeValueAsBytes(value), objectMapper.constructType(type));
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Could not copy the result of a coalesced call", ex);
+        }
+    }
+
+    private static boolean isImmutable(@Nullable Object value) {
+        return value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+            || value instanceof Character || value instanceof Enum<?>;
+    }
+
+    private ObjectMapper objectMapper() {
+        return objectMapperProvider.getObject();
+    }
+
+    private Coalesced coalesced(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        Coalesced coalesced = operations.get(method);
+        if (coalesced != null) {
+            return coalesced;
+        }
+        Object target = invocation.getThis();
+        McpOperation operation = McpOperation.of(target != null
+            ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method);
+        boolean eligible = operation != null && operation.type() != McpOperationType.TOOL
+            && !propertiesProvider.getObject().exclude().contains(operation.name());
+        return operations.computeIfAbsent(method, key -> eligible ? new Coalesced(counter(operation)) : NOT_COALESCED);
+    }
+
+    @Nullable
+    private Counter counter(McpOperation operation) {
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable();
+        if (registry == null) {
+            return null;
+        }
+        return Counter.builder(COALESCED)
+            .description("MCP resource reads and prompt gets answered by an identical call in flight")
+            .tags("type", operation.type().tagValue(), "name", operation.name())
+            .register(registry);
+    }
+
+    /**
+     * A call of {@code method} with {@code arguments}; arguments are compared with
+     * {@code equals}, so array arguments only match themselves.
+     */
+    private record Key(Method method, List<Object> arguments) {
+    }
+
+    /**
+     * The execution of a call, which other callers can join until it completes.
+     */
+    private static final class Flight {
+
+        private final Thread thread;
+
+        /** The result as handed to waiting callers, see {@link #serialize}. */
+        private final CompletableFuture<Object> outcome = new CompletableFuture<>();
+
+        private int followers;
+
+        private boolean done;
+
+        Flight(Thread thread) {
+            this.thread = thread;
+        }
+
+        /**
+         * Join the call, unless it has completed.
+         */
+        synchronized boolean join() {
+            if (done) {
+                return false;
+            }
+            followers++;
+            return true;
+        }
+
+        /**
+         * Complete the call; the result is only serialized if callers are waiting for it.
+         * Callers can join an asynchronous result until it completes.
+         */
+        void complete(Object result, Function<Object, Object> serializer) {
+            boolean shared;
+            synchronized (this) {
+                done = !McpAsyncResults.isAsync(result);
+                shared = followers > 0;
+            }
+            outcome.complete(shared ? serializer.apply(result) : result);
+        }
+
+        void fail(Throwable ex) {
+            synchronized (this) {
+                done = true;
+            }
+            outcome.completeExceptionally(ex);
+        }
+    }
+
+    /**
+     * A result serialized once for the callers waiting for it.
+     */
+    private record Serialized(byte[] bytes) {
+    }
+
+    /**
+     * A coalesced operation and its counter, if metrics are available.
+     */
+    private record Coalesced(@Nullable Counter counter) {
+
+        void increment() {
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+}
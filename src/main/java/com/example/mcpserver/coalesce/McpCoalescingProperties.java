@@ -0,0 +1,24 @@
+package com.example.mcpserver.coalesce;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings of single-flight coalescing of identical concurrent resource reads and
+ * prompt gets.
+ *
+ * @param enabled whether identical concurrent calls share one execution
+ * @param exclude resource URIs (as declared, e.g. {@code resource://docs/{topic}}) and
+ * prompt names whose content differs per call and must never be shared
+ * @param maxWait how long a call waits for an identical call in flight before running
+ * the method itself
+ */
+@ConfigurationProperties(prefix = "mcp.coalescing")
+public record McpCoalescingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Set<String> exclude,
+        @DefaultValue("10s") Duration maxWait) {
+}
@@ -0,0 +1,30 @@
+package com.example.mcpserver.codec;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Registers encoders for the binary {@link McpPayloadFormat}s, so that responses
+ * written through the WebFlux codecs are serialized directly as CBOR or MessagePack
+ * when {@link McpContentNegotiationFilter} negotiated one of them.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.codec", name = "binary-enabled", matchIfMissing = true)
+public class McpBinaryCodecConfiguration {
+
+    @Bean
+    public CodecCustomizer mcpBinaryCodecCustomizer(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        McpBinaryEncoder cbor = new McpBinaryEncoder(McpPayloadFormat.CBOR,
+            McpPayloadFormat.CBOR.createObjectMapper(builders.getObject()));
+        McpBinaryEncoder msgpack = new McpBinaryEncoder(McpPayloadFormat.MSGPACK,
+            McpPayloadFormat.MSGPACK.createObjectMapper(builders.getObject()));
+        return configurer -> {
+            configurer.customCodecs().register(cbor);
+            configurer.customCodecs().register(msgpack);
+        };
+    }
+}
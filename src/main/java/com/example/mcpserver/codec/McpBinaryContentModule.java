@@ -0,0 +1,73 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Writes the base64 {@code blob} of MCP resource contents as a native byte string,
+ * for mappers of the binary {@link McpPayloadFormat}s. JSON has no byte strings, so
+ * the protocol carries binary content in base64 text, a third larger than the bytes.
+ */
+final class McpBinaryContentModule extends SimpleModule {
+
+    /** Name of the property holding base64 binary content. */
+    static final String BLOB = "blob";
+
+    McpBinaryContentModule() {
+        super("McpBinaryContent");
+        setSerializerModifier(new BeanSerializerModifier() {
+
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                    List<BeanPropertyWriter> properties) {
+                for (BeanPropertyWriter property : properties) {
+                    if (BLOB.equals(property.getName()) && property.getType().hasRawClass(String.class)
+                            && !property.hasSerializer()) {
+                        property.assignSerializer(BlobSerializer.INSTANCE);
+                    }
+                }
+                return properties;
+            }
+        });
+    }
+
+    /**
+     * Write {@code base64} as the bytes it encodes, or as text if it is not valid base64.
+     */
+    static void writeBlob(String base64, JsonGenerator generator) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(base64);
+        }
+        catch (IllegalArgumentException ex) {
+            generator.writeString(base64);
+            return;
+        }
+        generator.writeBinary(bytes);
+    }
+
+    private static final class BlobSerializer extends StdSerializer<Object> {
+
+        static final JsonSerializer<Object> INSTANCE = new BlobSerializer();
+
+        private BlobSerializer() {
+            super(Object.class);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            writeBlob((String) value, generator);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.util.MimeType;
+
+/**
+ * Encodes response models straight to a binary {@link McpPayloadFormat}, so that a
+ * client asking for CBOR or MessagePack gets it without a JSON round trip.
+ */
+class McpBinaryEncoder extends AbstractJackson2Encoder {
+
+    McpBinaryEncoder(McpPayloadFormat format, ObjectMapper objectMapper) {
+        super(objectMapper, format.mediaTypes().toArray(new MimeType[0]));
+    }
+}
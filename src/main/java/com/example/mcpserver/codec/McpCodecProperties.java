@@ -0,0 +1,17 @@
+package com.example.mcpserver.codec;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Settings for binary payload encodings on {@code /mcp}.
+ *
+ * @param binaryEnabled whether clients may opt into CBOR or MessagePack
+ * @param maxPayloadSize largest request or response body that is transcoded
+ */
+@ConfigurationProperties(prefix = "mcp.codec")
+public record McpCodecProperties(
+        @DefaultValue("true") boolean binaryEnabled,
+        @DefaultValue("16MB") DataSize maxPayloadSize) {
+}
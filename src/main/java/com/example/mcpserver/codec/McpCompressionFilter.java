@@ -0,0 +1,113 @@
+package com.example.mcpserver.codec;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Compresses {@code /mcp} responses with gzip or zstd, as negotiated through
+ * {@code Accept-Encoding}.
+ *
+ * <p>Responses below {@code mcp.compression.min-response-size} are sent as-is, since
+ * compressing them costs more CPU than the bytes it saves. Streamed (SSE) responses
+ * are not compressed, and neither are responses declaring a length over
+ * {@code mcp.codec.max-payload-size}, the most that is buffered for compression.
+ */
+@Component
+public class McpCompressionFilter implements WebFilter, Ordered {
+
+    /** Runs outside the content negotiation filter, so binary encodings are compressed as well. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER - 5;
+
+    private final McpResponseCompressor compressor;
+
+    private final McpCompressionProperties properties;
+
+    private final int maxPayloadSize;
+
+    public McpCompressionFilter(McpResponseCompressor compressor, McpCompressionProperties properties,
+            McpCodecProperties codecProperties) {
+        this.compressor = compressor;
+        this.properties = properties;
+        this.maxPayloadSize = (int) codecProperties.maxPayloadSize().toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.enabled() || !"/mcp".equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        List<String> acceptEncoding = request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT_ENCODING);
+        McpContentEncoding encoding = McpContentEncoding.negotiate(acceptEncoding, properties.encodings());
+        if (encoding == null) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+            .response(new CompressingResponse(exchange.getResponse(), encoding))
+            .build());
+    }
+
+    /**
+     * Response that compresses a complete, non-streamed body.
+     */
+    private class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final McpContentEncoding encoding;
+
+        CompressingResponse(ServerHttpResponse delegate, McpContentEncoding encoding) {
+            super(delegate);
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            MediaType contentType = headers.getContentType();
+            if (contentType == null || MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                    || headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.getContentLength() > maxPayloadSize) {
+                return super.writeWith(body);
+            }
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            Mono<DataBuffer> joined = DataBufferUtils.join(body, maxPayloadSize)
+                .onErrorMap(DataBufferLimitException.class, ex -> new ResponseStatusException(
+                    HttpStatus.PAYLOAD_TOO_LARGE, "Response exceeds " + maxPayloadSize + " bytes", ex));
+            return joined.flatMap(buffer -> {
+                if (buffer.readableByteCount() < properties.minResponseSize().toBytes()) {
+                    return super.writeWith(Mono.just(buffer));
+                }
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                boolean json = MediaType.APPLICATION_JSON.isCompatibleWith(contentType);
+                byte[] compressed = compressor.compress(bytes, json, encoding, properties.level(encoding, contentType));
+                headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+                headers.setContentLength(compressed.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+            });
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mcpserver.codec;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings for response compression on {@code /mcp}.
+ *
+ * @param enabled whether responses are compressed for clients that accept it
+ * @param minResponseSize responses smaller than this are sent uncompressed
+ * @param encodings supported codings, in server preference order
+ * @param gzipLevel default gzip level (1-9)
+ * @param zstdLevel default zstd level (1-22)
+ * @param gzipLevels gzip level per response content type, e.g. {@code gzip-levels[application/cbor]=4}
+ * @param zstdLevels zstd level per response content type
+ * @param cacheMinSize smallest JSON-RPC result whose compressed form is cached
+ * @param cacheSize total size of cached compressed results
+ */
+@ConfigurationProperties(prefix = "mcp.compression")
+public record McpCompressionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2KB") DataSize minResponseSize,
+        @DefaultValue({"zstd", "gzip"}) List<McpContentEncoding> encodings,
+        @DefaultValue("6") int gzipLevel,
+        @DefaultValue("3") int zstdLevel,
+        Map<String, Integer> gzipLevels,
+        Map<String, Integer> zstdLevels,
+        @DefaultValue("8KB") DataSize cacheMinSize,
+        @DefaultValue("32MB") DataSize cacheSize) {
+
+    public McpCompressionProperties {
+        gzipLevels = gzipLevels != null ? Map.copyOf(gzipLevels) : Map.of();
+        zstdLevels = zstdLevels != null ? Map.copyOf(zstdLevels) : Map.of();
+    }
+
+    /**
+     * The compression level for a response of the given content type.
+     */
+    public int level(McpContentEncoding encoding, MediaType contentType) {
+        String key = contentType.getType() + "/" + contentType.getSubtype();
+        return switch (encoding) {
+            case GZIP -> gzipLevels.getOrDefault(key, gzipLevel);
+            case ZSTD -> zstdLevels.getOrDefault(key, zstdLevel);
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.mcpserver.codec;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HTTP content codings applied to {@code /mcp} responses.
+ */
+public enum McpContentEncoding {
+
+    GZIP("gzip"),
+
+    ZSTD("zstd");
+
+    private final String token;
+
+    McpContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * The value of the {@code Content-Encoding} header.
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Pick the coding to use from the {@code Accept-Encoding} header values. The
+     * client's quality values decide first, then the order of {@code preferences}.
+     * Returns {@code null} if the client accepts none of them.
+     */
+    public static McpContentEncoding negotiate(List<String> acceptEncoding, List<McpContentEncoding> preferences) {
+        McpContentEncoding selected = null;
+        double selectedQuality = 0;
+        for (McpContentEncoding candidate : preferences) {
+            double quality = quality(acceptEncoding, candidate.token);
+            if (quality > selectedQuality) {
+                selected = candidate;
+                selectedQuality = quality;
+            }
+        }
+        return selected;
+    }
+
+    private static double quality(List<String> acceptEncoding, String token) {
+        double wildcard = 0;
+        for (String header : acceptEncoding) {
+            for (String element : header.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        }
+                        catch (NumberFormatException ex) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (coding.equals(token)) {
+                    return quality;
+                }
+                if (coding.equals("*")) {
+                    wildcard = quality;
+                }
+            }
+        }
+        return wildcard;
+    }
+}
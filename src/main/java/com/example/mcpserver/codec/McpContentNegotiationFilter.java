@@ -0,0 +1,188 @@
+package com.example.mcpserver.codec;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Lets clients of {@code /mcp} opt into CBOR or MessagePack instead of JSON.
+ *
+ * <p>A binary request body (selected by {@code Content-Type}) is transcoded to JSON
+ * before it reaches the MCP server. The first binary format listed in {@code Accept}
+ * is passed on ahead of JSON, so responses written through the WebFlux codecs are
+ * serialized directly in that format (see {@link McpBinaryCodecConfiguration}); only
+ * responses written as JSON regardless, such as the rejections of the other
+ * {@code /mcp} filters, are transcoded. Clients that do not ask for a binary format
+ * are not affected. Streamed (SSE) responses are always left as JSON.
+ *
+ * <p>Bodies larger than {@code mcp.codec.max-payload-size} are rejected with
+ * {@code 413 Payload Too Large}.
+ */
+@Component
+public class McpContentNegotiationFilter implements WebFilter, Ordered {
+
+    /** Runs before the other {@code /mcp} filters so that they only ever see JSON. */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    private static final List<MediaType> DOWNSTREAM_ACCEPT = List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM);
+
+    private final McpPayloadTranscoder transcoder;
+
+    private final McpCodecProperties properties;
+
+    public McpContentNegotiationFilter(McpPayloadTranscoder transcoder, McpCodecProperties properties) {
+        this.transcoder = transcoder;
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.binaryEnabled() || !"/mcp".equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        McpPayloadFormat requestFormat = McpPayloadFormat.fromContentType(request.getHeaders().getContentType());
+        McpPayloadFormat responseFormat = McpPayloadFormat.fromAccept(request.getHeaders().getAccept());
+        if (requestFormat == McpPayloadFormat.JSON && responseFormat == McpPayloadFormat.JSON) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = responseFormat == McpPayloadFormat.JSON
+            ? exchange.getResponse()
+            : new TranscodingResponse(exchange.getResponse(), responseFormat);
+
+        List<MediaType> accept = responseFormat == McpPayloadFormat.JSON
+            ? DOWNSTREAM_ACCEPT
+            : List.of(responseFormat.mediaType(), MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM);
+        Mono<ServerHttpRequest> decoded = requestFormat == McpPayloadFormat.JSON
+            ? Mono.just(new NegotiatedRequest(request, null, accept))
+            : join(request.getBody()).map(body -> new NegotiatedRequest(request, decode(body, requestFormat), accept));
+
+        return decoded.flatMap(decodedRequest -> chain.filter(exchange.mutate()
+            .request(decodedRequest)
+            .response(response)
+            .build()));
+    }
+
+    private Mono<byte[]> join(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(body, (int) properties.maxPayloadSize().toBytes())
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                return bytes;
+            })
+            .defaultIfEmpty(new byte[0])
+            .onErrorMap(DataBufferLimitException.class, ex -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Payload exceeds " + properties.maxPayloadSize().toBytes() + " bytes", ex));
+    }
+
+    private byte[] decode(byte[] body, McpPayloadFormat format) {
+        try {
+            return transcoder.transcode(body, format, McpPayloadFormat.JSON);
+        }
+        catch (IOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Invalid %s payload", format.name().toLowerCase()), ex);
+        }
+    }
+
+    private byte[] encode(byte[] json, McpPayloadFormat format) {
+        try {
+            return transcoder.transcode(json, McpPayloadFormat.JSON, format);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Could not encode response as " + format.name().toLowerCase(), ex);
+        }
+    }
+
+    /**
+     * Request as seen by the MCP server: it accepts the negotiated format or JSON, and
+     * a binary body, if any, has been replaced by its JSON equivalent.
+     */
+    private static class NegotiatedRequest extends ServerHttpRequestDecorator {
+
+        @Nullable
+        private final byte[] body;
+
+        private final HttpHeaders headers;
+
+        NegotiatedRequest(ServerHttpRequest delegate, @Nullable byte[] body, List<MediaType> accept) {
+            super(delegate);
+            this.body = body;
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.setAccept(accept);
+            if (body != null) {
+                this.headers.setContentType(MediaType.APPLICATION_JSON);
+                this.headers.setContentLength(body.length);
+            }
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return body != null ? Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)) : super.getBody();
+        }
+    }
+
+    /**
+     * Response that transcodes a complete JSON body to the negotiated binary format.
+     * Bodies the codecs already encoded in that format are written as they are.
+     */
+    private class TranscodingResponse extends ServerHttpResponseDecorator {
+
+        private final McpPayloadFormat format;
+
+        TranscodingResponse(ServerHttpResponse delegate, McpPayloadFormat format) {
+            super(delegate);
+            this.format = format;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            if (contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+                return super.writeWith(body);
+            }
+            return join(body).flatMap(json -> {
+                byte[] encoded = json.length == 0 ? json : encode(json, format);
+                getHeaders().setContentType(format.mediaType());
+                getHeaders().setContentLength(encoded.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(encoded)));
+            });
+        }
+    }
+}
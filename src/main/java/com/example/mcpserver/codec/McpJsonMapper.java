@@ -0,0 +1,92 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Jackson mapper used for MCP protocol traffic on the transports implemented in
+ * this application. It is configured like the application's {@code ObjectMapper}
+ * (including registered modules such as Blackbird) but never pretty-prints,
+ * whatever {@code spring.jackson.serialization.indent-output} says.
+ *
+ * <p>Responses can be serialized straight into a {@link DataBuffer} from the
+ * transport's (pooled) buffer factory, which avoids an intermediate {@code String}
+ * or {@code byte[]} copy per message.
+ */
+@Component
+public class McpJsonMapper {
+
+    private static final int MIN_BUFFER_SIZE = 256;
+
+    private static final int MAX_INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter writer;
+
+    /** Size of recently written messages, used to size new buffers without growing them. */
+    private final AtomicInteger sizeEstimate = new AtomicInteger(MIN_BUFFER_SIZE);
+
+    public McpJsonMapper(Jackson2ObjectMapperBuilder builder) {
+        this.objectMapper = builder.build();
+        this.objectMapper.disable(SerializationFeature.INDENT_OUTPUT);
+        this.writer = objectMapper.writer();
+    }
+
+    /**
+     * The compact protocol {@code ObjectMapper}, e.g. for tree building and argument conversion.
+     */
+    public ObjectMapper mapper() {
+        return objectMapper;
+    }
+
+    public byte[] writeValueAsBytes(Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize MCP message", ex);
+        }
+    }
+
+    public String writeValueAsString(Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize MCP message", ex);
+        }
+    }
+
+    /**
+     * Serialize {@code value} into a buffer allocated from {@code bufferFactory}.
+     * The caller owns the returned buffer.
+     */
+    public DataBuffer write(Object value, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(sizeEstimate.get());
+        try (OutputStream out = buffer.asOutputStream()) {
+            writer.writeValue(out, value);
+        }
+        catch (IOException ex) {
+            DataBufferUtils.release(buffer);
+            throw new UncheckedIOException("Could not serialize MCP message", ex);
+        }
+        int size = buffer.readableByteCount();
+        // smoothed estimate, racy updates are harmless
+        int estimate = sizeEstimate.get();
+        sizeEstimate.lazySet(Math.max(MIN_BUFFER_SIZE, Math.min(MAX_INITIAL_BUFFER_SIZE, (estimate * 7 + size) / 8)));
+        return buffer;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Wire encodings supported for JSON-RPC payloads. All of them are read and written
+ * through Jackson, so the same data model is used regardless of the encoding.
+ */
+public enum McpPayloadFormat {
+
+    JSON(JsonFactory::new, MediaType.APPLICATION_JSON),
+
+    CBOR(CBORFactory::new, MediaType.parseMediaType("application/cbor")),
+
+    MSGPACK(MessagePackFactory::new, MediaType.parseMediaType("application/msgpack"),
+        MediaType.parseMediaType("application/x-msgpack"), MediaType.parseMediaType("application/vnd.msgpack"));
+
+    private final Supplier<JsonFactory> factorySupplier;
+
+    private final List<MediaType> mediaTypes;
+
+    McpPayloadFormat(Supplier<JsonFactory> factorySupplier, MediaType... mediaTypes) {
+        this.factorySupplier = factorySupplier;
+        this.mediaTypes = List.of(mediaTypes);
+    }
+
+    /**
+     * Create a new Jackson factory for this format.
+     */
+    public JsonFactory createFactory() {
+        return factorySupplier.get();
+    }
+
+    /**
+     * Create an {@code ObjectMapper} for this format, configured like the ones
+     * {@code builder} builds. Binary formats write {@code blob} content as byte strings.
+     */
+    public ObjectMapper createObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper objectMapper = builder.factory(createFactory()).build();
+        if (this != JSON) {
+            objectMapper.registerModule(new McpBinaryContentModule());
+        }
+        return objectMapper;
+    }
+
+    /**
+     * The primary media type, used for responses.
+     */
+    public MediaType mediaType() {
+        return mediaTypes.get(0);
+    }
+
+    /**
+     * All media types of this format, the primary one first.
+     */
+    public List<MediaType> mediaTypes() {
+        return mediaTypes;
+    }
+
+    /**
+     * The format of a request body, JSON if absent or not a binary format.
+     */
+    public static McpPayloadFormat fromContentType(MediaType contentType) {
+        if (contentType != null) {
+            for (McpPayloadFormat format : values()) {
+                if (format.matches(contentType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * The first binary format listed in the {@code Accept} header, JSON otherwise.
+     * Wildcards do not select a binary format, so existing clients keep getting JSON.
+     */
+    public static McpPayloadFormat fromAccept(List<MediaType> accept) {
+        for (MediaType mediaType : accept) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                continue;
+            }
+            for (McpPayloadFormat format : values()) {
+                if (format != JSON && format.matches(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    private boolean matches(MediaType mediaType) {
+        return mediaTypes.stream().anyMatch(candidate -> candidate.equalsTypeAndSubtype(mediaType));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Converts JSON-RPC payloads between {@link McpPayloadFormat}s by streaming Jackson
+ * tokens from a parser of one format into a generator of another, without building
+ * an intermediate tree. Base64 {@code blob} content becomes a native byte string in
+ * the binary formats, and byte strings become base64 again in JSON.
+ */
+@Component
+public class McpPayloadTranscoder {
+
+    private final Map<McpPayloadFormat, JsonFactory> factories = new EnumMap<>(McpPayloadFormat.class);
+
+    public McpPayloadTranscoder() {
+        for (McpPayloadFormat format : McpPayloadFormat.values()) {
+            factories.put(format, format.createFactory());
+        }
+    }
+
+    /**
+     * Transcode {@code length} bytes of {@code source}, starting at {@code offset}.
+     */
+    public byte[] transcode(byte[] source, int offset, int length, McpPayloadFormat from, McpPayloadFormat to)
+            throws IOException {
+        try (ByteArrayBuilder out = new ByteArrayBuilder(length)) {
+            try (JsonParser parser = factories.get(from).createParser(source, offset, length);
+                    JsonGenerator generator = factories.get(to).createGenerator(out)) {
+                boolean blobs = to != McpPayloadFormat.JSON;
+                while (parser.nextToken() != null) {
+                    if (blobs && parser.currentToken() == JsonToken.VALUE_STRING
+                            && McpBinaryContentModule.BLOB.equals(parser.currentName())) {
+                        McpBinaryContentModule.writeBlob(parser.getText(), generator);
+                    }
+                    else {
+                        generator.copyCurrentEvent(parser);
+                    }
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    public byte[] transcode(byte[] source, McpPayloadFormat from, McpPayloadFormat to) throws IOException {
+        return transcode(source, 0, source.length, from, to);
+    }
+}
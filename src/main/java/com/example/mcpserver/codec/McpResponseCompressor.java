@@ -0,0 +1,214 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.luben.zstd.Zstd;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses {@code /mcp} response bodies with gzip or zstd.
+ *
+ * <p>Reading the same resource or prompt twice yields the same {@code result} but a
+ * different JSON-RPC envelope (the request id differs). For large results the
+ * envelope and the result are therefore compressed as separate segments, and the
+ * compressed result is cached by content digest, so repeated reads only compress
+ * the few envelope bytes:
+ * <ul>
+ * <li>gzip: the segments are independent raw deflate streams, sync-flushed so they
+ * can be concatenated into a single gzip member whose trailer covers the whole body.</li>
+ * <li>zstd: each segment is a separate frame; a zstd stream may hold several frames.</li>
+ * </ul>
+ */
+@Component
+public class McpResponseCompressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final int cacheMinSize;
+
+    private final long cacheCapacity;
+
+    private final Map<CacheKey, byte[]> cache = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long cachedBytes;
+
+    public McpResponseCompressor(McpCompressionProperties properties) {
+        this.cacheMinSize = (int) properties.cacheMinSize().toBytes();
+        this.cacheCapacity = properties.cacheSize().toBytes();
+    }
+
+    /**
+     * Compress a complete response body. JSON bodies with a large {@code result}
+     * reuse its cached compressed form.
+     */
+    public byte[] compress(byte[] body, boolean json, McpContentEncoding encoding, int level) {
+        int[] result = json && body.length >= cacheMinSize ? resultRange(body) : null;
+        if (result != null && result[1] - result[0] < cacheMinSize) {
+            result = null;
+        }
+        return switch (encoding) {
+            case GZIP -> gzip(body, result, level);
+            case ZSTD -> zstd(body, result, level);
+        };
+    }
+
+    /**
+     * Number of compressed results currently cached.
+     */
+    public synchronized int cachedResults() {
+        return cache.size();
+    }
+
+    private byte[] gzip(byte[] body, int[] result, int level) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        out.writeBytes(GZIP_HEADER);
+        if (result == null) {
+            deflate(body, 0, body.length, level, true, out);
+        }
+        else {
+            deflate(body, 0, result[0], level, false, out);
+            out.writeBytes(cached(McpContentEncoding.GZIP, level, body, result[0], result[1], () -> {
+                ByteArrayOutputStream segment = new ByteArrayOutputStream((result[1] - result[0]) / 4 + 64);
+                deflate(body, result[0], result[1] - result[0], level, false, segment);
+                return segment.toByteArray();
+            }));
+            deflate(body, result[1], body.length - result[1], level, true, out);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, body.length);
+        return out.toByteArray();
+    }
+
+    private byte[] zstd(byte[] body, int[] result, int level) {
+        if (result == null) {
+            return Zstd.compress(body, level);
+        }
+        byte[] head = Zstd.compress(Arrays.copyOfRange(body, 0, result[0]), level);
+        byte[] middle = cached(McpContentEncoding.ZSTD, level, body, result[0], result[1],
+            () -> Zstd.compress(Arrays.copyOfRange(body, result[0], result[1]), level));
+        byte[] tail = Zstd.compress(Arrays.copyOfRange(body, result[1], body.length), level);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(head.length + middle.length + tail.length);
+        out.writeBytes(head);
+        out.writeBytes(middle);
+        out.writeBytes(tail);
+        return out.toByteArray();
+    }
+
+    /**
+     * Raw deflate of one segment. Non-final segments end with a sync flush, which
+     * byte-aligns the output so the next segment can follow directly.
+     */
+    private static void deflate(byte[] input, int offset, int length, int level, boolean last, ByteArrayOutputStream out) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input, offset, length);
+            byte[] chunk = new byte[Math.min(CHUNK_SIZE, Math.max(64, length))];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    out.write(chunk, 0, deflater.deflate(chunk));
+                }
+            }
+            else {
+                int count;
+                do {
+                    count = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+                    out.write(chunk, 0, count);
+                }
+                while (count == chunk.length);
+            }
+        }
+        finally {
+            deflater.end();
+        }
+    }
+
+    private byte[] cached(McpContentEncoding encoding, int level, byte[] body, int start, int end,
+            Supplier<byte[]> compressor) {
+        CacheKey key = new CacheKey(encoding, level, digest(body, start, end));
+        synchronized (this) {
+            byte[] compressed = cache.get(key);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        byte[] compressed = compressor.get();
+        synchronized (this) {
+            if (cache.putIfAbsent(key, compressed) == null) {
+                cachedBytes += compressed.length;
+                Iterator<byte[]> eldest = cache.values().iterator();
+                while (cachedBytes > cacheCapacity && eldest.hasNext()) {
+                    cachedBytes -= eldest.next().length;
+                    eldest.remove();
+                }
+            }
+        }
+        return compressed;
+    }
+
+    /**
+     * Byte range of the top-level {@code result} object, or {@code null} if there is none.
+     * The parser skips over string contents without decoding them.
+     */
+    private int[] resultRange(byte[] json) {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                JsonToken value = parser.nextToken();
+                if ("result".equals(parser.currentName()) && value.isStructStart()) {
+                    int start = (int) parser.currentTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    return new int[] {start, (int) parser.currentLocation().getByteOffset()};
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+        catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static String digest(byte[] body, int start, int end) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(body, start, end - start);
+            return HexFormat.of().formatHex(digest.digest());
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void writeIntLE(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private record CacheKey(McpContentEncoding encoding, int level, String digest) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mcpserver.config;
+
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+
+/**
+ * Netty configuration for the MCP Streamable HTTP transport.
+ * With h2c enabled, many concurrent MCP calls share a single TCP connection as
+ * HTTP/2 streams, and HTTP/1.1 clients keep their connections alive for reuse.
+ */
+@Configuration(proxyBeanMethods = false)
+public class HttpTransportConfiguration {
+
+    @Bean
+    public NettyServerCustomizer mcpHttpTransportCustomizer(McpHttpTransportProperties properties) {
+        return httpServer -> {
+            if (properties.h2c()) {
+                httpServer = httpServer
+                    .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                    .http2Settings(settings -> settings.maxConcurrentStreams(properties.maxConcurrentStreams()));
+            }
+            return httpServer
+                .idleTimeout(properties.idleTimeout())
+                .maxKeepAliveRequests(properties.maxKeepAliveRequests());
+        };
+    }
+}
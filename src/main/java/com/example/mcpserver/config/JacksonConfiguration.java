@@ -0,0 +1,40 @@
+package com.example.mcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.boot.actuate.endpoint.jackson.EndpointObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson setup: compact output for protocol traffic, pretty-printed output for actuator.
+ *
+ * <p>The application {@code ObjectMapper} no longer indents its output, because it
+ * also serializes MCP responses. Blackbird replaces reflective property access with
+ * generated lambdas for every mapper built by Spring Boot, including
+ * {@link com.example.mcpserver.codec.McpJsonMapper}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class JacksonConfiguration {
+
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Isolated mapper for actuator endpoints, the only human-facing JSON this server produces.
+     */
+    @Bean
+    public EndpointObjectMapper endpointObjectMapper() {
+        var objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .indentOutput(true)
+            .build();
+        return () -> objectMapper;
+    }
+}
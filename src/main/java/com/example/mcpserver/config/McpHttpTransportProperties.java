@@ -0,0 +1,22 @@
+package com.example.mcpserver.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for the Streamable HTTP transport served at {@code /mcp}.
+ *
+ * @param h2c accept cleartext HTTP/2 (prior knowledge and upgrade) next to HTTP/1.1
+ * @param maxConcurrentStreams maximum number of in-flight requests multiplexed over one HTTP/2 connection
+ * @param idleTimeout how long an idle connection is kept open for reuse
+ * @param maxKeepAliveRequests maximum number of requests served over one HTTP/1.1 connection, -1 for unlimited
+ */
+@ConfigurationProperties(prefix = "mcp.transport.http")
+public record McpHttpTransportProperties(
+        @DefaultValue("true") boolean h2c,
+        @DefaultValue("1000") long maxConcurrentStreams,
+        @DefaultValue("60s") Duration idleTimeout,
+        @DefaultValue("-1") int maxKeepAliveRequests) {
+}
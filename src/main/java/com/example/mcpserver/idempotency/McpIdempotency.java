@@ -0,0 +1,212 @@
+package com.example.mcpserver.idempotency;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.TextNode;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executes a tool call at most once per idempotency key while its result is stored.
+ *
+ * <p>A retry finds the stored result and gets it back without running the tool. A
+ * duplicate arriving while the first call is still running waits for that call
+ * instead of starting another. If the first call fails, or its result cannot be
+ * stored, nothing is remembered and a waiting duplicate executes in its place.
+ *
+ * <p>Keys are scoped by the client identity, so one client can't replay another's
+ * results by guessing its keys, and a key reused with different arguments is an
+ * error rather than a replay of an unrelated result.
+ */
+public class McpIdempotency {
+
+    private final McpResultStore store;
+
+    private final String metaKey;
+
+    private final Map<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+
+    private final LongAdder replayed = new LongAdder();
+
+    private final LongAdder joined = new LongAdder();
+
+    public McpIdempotency(McpResultStore store, McpIdempotencyProperties properties) {
+        this.store = store;
+        this.metaKey = properties.metaKey();
+    }
+
+    /**
+     * The {@code _meta} member holding the idempotency key.
+     */
+    public String metaKey() {
+        return metaKey;
+    }
+
+    /**
+     * The result of calling {@code tool} with {@code key} on behalf of {@code client}:
+     * the stored one, the one of a call in flight, or the one produced by
+     * {@code execution}. Keys are scoped by client and tool; a key that was used with
+     * other arguments is rejected with an {@code INVALID_PARAMS} error.
+     *
+     * @param client the client identity, see {@link com.example.mcpserver.limit.McpClientIdentity}
+     * @param arguments the arguments of the call
+     * @param execution runs the tool and yields its serialized JSON-RPC {@code result}
+     */
+    public Mono<byte[]> execute(String client, String tool, String key, JsonNode arguments,
+            Supplier<Mono<byte[]>> execution) {
+        return execute(client, tool, key, argumentsHash(arguments), execution);
+    }
+
+    private Mono<byte[]> execute(String client, String tool, String key, long arguments,
+            Supplier<Mono<byte[]>> execution) {
+        return Mono.defer(() -> {
+            McpResultStore.Entry stored = store.get(client, tool, key);
+            if (stored != null) {
+                return replay(stored, key, arguments);
+            }
+            String flightKey = client + '\u0000' + tool + '\u0000' + key;
+            Flight flight = new Flight(arguments, new CompletableFuture<>());
+            Flight leader = inFlight.putIfAbsent(flightKey, flight);
+            if (leader != null) {
+                if (leader.arguments() != arguments) {
+                    return Mono.error(reused(key));
+                }
+                joined.increment();
+                return Mono.fromFuture(leader.result(), true)
+                    .onErrorResume(ex -> execute(client, tool, key, arguments, execution));
+            }
+            // the previous call may have completed between the lookup and taking the lead
+            stored = store.get(client, tool, key);
+            if (stored != null) {
+                inFlight.remove(flightKey, flight);
+                flight.result().complete(stored.result());
+                return replay(stored, key, arguments);
+            }
+            executed.increment();
+            CompletableFuture<byte[]> future = flight.result();
+            return execution.get()
+                .doOnNext(result -> {
+                    if (store.put(client, tool, key, arguments, result)) {
+                        future.complete(result);
+                    }
+                    else {
+                        future.completeExceptionally(new IllegalStateException("Result too large to store"));
+                    }
+                    inFlight.remove(flightKey, flight);
+                })
+                .doOnError(ex -> finish(flightKey, flight, ex))
+                .doOnCancel(() -> finish(flightKey, flight, new CancellationException("Tool call cancelled")))
+                .doOnSuccess(result -> {
+                    if (result == null) {
+                        finish(flightKey, flight, new IllegalStateException("No result to store"));
+                    }
+                });
+        });
+    }
+
+    private Mono<byte[]> replay(McpResultStore.Entry stored, String key, long arguments) {
+        if (stored.arguments() != arguments) {
+            return Mono.error(reused(key));
+        }
+        replayed.increment();
+        return Mono.just(stored.result());
+    }
+
+    private void finish(String flightKey, Flight flight, Throwable ex) {
+        inFlight.remove(flightKey, flight);
+        flight.result().completeExceptionally(ex);
+    }
+
+    private static McpJsonRpcException reused(String key) {
+        return new McpJsonRpcException(McpJsonRpcException.INVALID_PARAMS,
+            String.format("Idempotency key '%s' was already used with different arguments", key));
+    }
+
+    /**
+     * Hash of the canonical form of {@code arguments}: object members are taken in name
+     * order, so the order a client happens to serialize them in does not matter. Missing
+     * and {@code null} arguments hash like an empty object.
+     */
+    static long argumentsHash(JsonNode arguments) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        boolean absent = arguments.isMissingNode() || arguments.isNull();
+        canonicalize(absent ? JsonNodeFactory.instance.objectNode() : arguments, digest);
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static void canonicalize(JsonNode node, MessageDigest digest) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            digest.update((byte) '{');
+            for (String name : names) {
+                digest.update(TextNode.valueOf(name).toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) ':');
+                canonicalize(node.get(name), digest);
+                digest.update((byte) ',');
+            }
+            digest.update((byte) '}');
+        }
+        else if (node.isArray()) {
+            digest.update((byte) '[');
+            for (JsonNode element : node) {
+                canonicalize(element, digest);
+                digest.update((byte) ',');
+            }
+            digest.update((byte) ']');
+        }
+        else {
+            digest.update(node.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Keyed calls that ran the tool.
+     */
+    public long executed() {
+        return executed.sum();
+    }
+
+    /**
+     * Keyed calls answered with a stored result.
+     */
+    public long replayed() {
+        return replayed.sum();
+    }
+
+    /**
+     * Keyed calls that waited for an identical call in flight.
+     */
+    public long joined() {
+        return joined.sum();
+    }
+
+    /**
+     * A call in flight and the hash of its arguments.
+     */
+    private record Flight(long arguments, CompletableFuture<byte[]> result) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.mcpserver.idempotency;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.limit.McpClientIdentity;
+import com.example.mcpserver.limit.McpRateLimitProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Replay of tool call results by idempotency key, on {@code /mcp} and on the WebSocket
+ * and stdio transports. Disable with {@code mcp.idempotency.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.idempotency", name = "enabled", matchIfMissing = true)
+public class McpIdempotencyConfiguration {
+
+    @Bean
+    public McpResultStore mcpResultStore(McpIdempotencyProperties properties) {
+        return new McpResultStore(properties);
+    }
+
+    @Bean
+    public McpIdempotency mcpIdempotency(McpResultStore store, McpIdempotencyProperties properties) {
+        return new McpIdempotency(store, properties);
+    }
+
+    @Bean
+    public McpIdempotencyMetrics mcpIdempotencyMetrics(McpIdempotency idempotency, McpResultStore store) {
+        return new McpIdempotencyMetrics(idempotency, store);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public McpIdempotencyFilter mcpIdempotencyFilter(McpIdempotency idempotency,
+            McpRateLimitProperties rateLimitProperties, ObjectMapper objectMapper, McpCodecProperties codecProperties) {
+        return new McpIdempotencyFilter(idempotency, new McpClientIdentity(rateLimitProperties), objectMapper,
+            codecProperties);
+    }
+}
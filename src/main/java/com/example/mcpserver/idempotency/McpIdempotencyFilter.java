@@ -0,0 +1,180 @@
+package com.example.mcpserver.idempotency;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.codec.McpContentNegotiationFilter;
+import com.example.mcpserver.codec.McpPayloadFormat;
+import com.example.mcpserver.limit.McpClientIdentity;
+import com.example.mcpserver.limit.McpRequestMessages;
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Honors idempotency keys of {@code tools/call} requests posted to {@code /mcp}.
+ *
+ * <p>The first call with a key is passed to the MCP server, and the {@code result} of
+ * its JSON response is stored. Retries and concurrent duplicates from the same client
+ * (see {@link McpClientIdentity}) are answered from that result, with their own
+ * request id and an {@code Idempotent-Replayed: true} header. A key reused with other
+ * arguments is answered with {@code 422 Unprocessable Entity} and an
+ * {@code INVALID_PARAMS} error. Results written in a binary encoding are stored as JSON and replayed in the
+ * encoding each retry negotiates. Responses that are not plain JSON results (JSON-RPC errors, SSE streams)
+ * are not stored.
+ */
+public class McpIdempotencyFilter implements WebFilter, Ordered {
+
+    /** Innermost of the {@code /mcp} filters, so replays are still traced and limited like any request. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER + 5;
+
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final McpIdempotency idempotency;
+
+    private final McpClientIdentity clientIdentity;
+
+    private final ObjectMapper objectMapper;
+
+    /** Readers of responses the codecs wrote in a binary format; results are stored as JSON. */
+    private final Map<McpPayloadFormat, ObjectMapper> readers = new EnumMap<>(McpPayloadFormat.class);
+
+    private final int maxPayloadSize;
+
+    public McpIdempotencyFilter(McpIdempotency idempotency, McpClientIdentity clientIdentity, ObjectMapper objectMapper,
+            McpCodecProperties codecProperties) {
+        this.idempotency = idempotency;
+        this.clientIdentity = clientIdentity;
+        this.objectMapper = objectMapper;
+        this.maxPayloadSize = (int) codecProperties.maxPayloadSize().toBytes();
+        for (McpPayloadFormat format : McpPayloadFormat.values()) {
+            readers.put(format, format == McpPayloadFormat.JSON ? objectMapper : new ObjectMapper(format.createFactory()));
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!McpRequestMessages.isMcpPost(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        return McpRequestMessages.read(exchange, objectMapper, maxPayloadSize).flatMap(buffered -> {
+            JsonNode message = McpRequestMessages.message(buffered);
+            JsonNode params = message.path("params");
+            String key = params.path("_meta").path(idempotency.metaKey()).asText(null);
+            String tool = params.path("name").asText(null);
+            if (!"tools/call".equals(message.path("method").asText()) || !message.has("id")
+                    || key == null || key.isEmpty() || tool == null) {
+                return chain.filter(buffered);
+            }
+
+            String client = clientIdentity.of(buffered.getRequest());
+            AtomicBoolean executed = new AtomicBoolean();
+            return idempotency.execute(client, tool, key, params.path("arguments"), () -> {
+                    executed.set(true);
+                    ResultCapturingResponse response = new ResultCapturingResponse(buffered.getResponse());
+                    return chain.filter(buffered.mutate().response(response).build()).then(response.result());
+                })
+                .flatMap(result -> executed.get() ? Mono.<Void>empty() : replay(buffered, message.get("id"), result))
+                // the response has been written; it just was not one to store
+                .onErrorResume(NotStorableException.class, ex -> Mono.empty())
+                .onErrorResume(McpJsonRpcException.class, ex -> McpRequestMessages.error(buffered, objectMapper,
+                    message.get("id"), ex, HttpStatus.UNPROCESSABLE_ENTITY));
+        });
+    }
+
+    private Mono<Void> replay(ServerWebExchange exchange, JsonNode id, byte[] result) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(result.length + 64);
+        try {
+            body.write("{\"jsonrpc\":\"2.0\",\"id\":".getBytes(StandardCharsets.UTF_8));
+            body.write(objectMapper.writeValueAsBytes(id));
+            body.write(",\"result\":".getBytes(StandardCharsets.UTF_8));
+            body.write(result);
+            body.write('}');
+        }
+        catch (IOException ex) {
+            return Mono.error(ex);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(REPLAYED_HEADER, "true");
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.toByteArray())));
+    }
+
+    /**
+     * Response that keeps the serialized {@code result} of a JSON-RPC response body.
+     */
+    private class ResultCapturingResponse extends ServerHttpResponseDecorator {
+
+        private volatile byte[] result;
+
+        ResultCapturingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            MediaType contentType = getHeaders().getContentType();
+            if (contentType == null || !MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                    && McpPayloadFormat.fromContentType(contentType) == McpPayloadFormat.JSON) {
+                return super.writeWith(body);
+            }
+            ObjectMapper reader = readers.get(McpPayloadFormat.fromContentType(contentType));
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                capture(reader, bytes);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+
+        private void capture(ObjectMapper reader, byte[] bytes) {
+            try {
+                JsonNode response = reader.readTree(bytes);
+                if (response != null && response.has("result")) {
+                    result = objectMapper.writeValueAsBytes(response.get("result"));
+                }
+            }
+            catch (IOException ex) {
+                // not a JSON-RPC response; passed on as it is
+            }
+        }
+
+        Mono<byte[]> result() {
+            return Mono.defer(() -> result != null ? Mono.just(result) : Mono.error(new NotStorableException()));
+        }
+    }
+
+    /**
+     * The response of a keyed call could not be stored for replay.
+     */
+    private static class NotStorableException extends RuntimeException {
+
+        NotStorableException() {
+            super("Response is not a JSON-RPC result", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mcpserver.idempotency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the idempotency cache: keyed tool calls by outcome, stored
+ * results, bytes of the result log in use, and results evicted before they expired.
+ */
+public class McpIdempotencyMetrics implements MeterBinder {
+
+    private final McpIdempotency idempotency;
+
+    private final McpResultStore store;
+
+    public McpIdempotencyMetrics(McpIdempotency idempotency, McpResultStore store) {
+        this.idempotency = idempotency;
+        this.store = store;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("mcp.idempotency.requests", idempotency, McpIdempotency::executed)
+            .description("Tool calls with an idempotency key, by outcome")
+            .tag("outcome", "executed")
+            .register(registry);
+        FunctionCounter.builder("mcp.idempotency.requests", idempotency, McpIdempotency::replayed)
+            .description("Tool calls with an idempotency key, by outcome")
+            .tag("outcome", "replayed")
+            .register(registry);
+        FunctionCounter.builder("mcp.idempotency.requests", idempotency, McpIdempotency::joined)
+            .description("Tool calls with an idempotency key, by outcome")
+            .tag("outcome", "joined")
+            .register(registry);
+        Gauge.builder("mcp.idempotency.entries", store, McpResultStore::size)
+            .description("Idempotency keys with a stored result that has not expired")
+            .register(registry);
+        Gauge.builder("mcp.idempotency.store.used", store, McpResultStore::usedBytes)
+            .description("Bytes of the idempotency result log in use")
+            .baseUnit(BaseUnits.BYTES)
+            .register(registry);
+        FunctionCounter.builder("mcp.idempotency.evictions", store, McpResultStore::evictions)
+            .description("Stored results replaced by newer keys before they expired")
+            .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mcpserver.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings of the replay cache for tool calls carrying an idempotency key in
+ * {@code params._meta}.
+ *
+ * @param enabled whether idempotency keys are honored
+ * @param metaKey the {@code _meta} member holding the key
+ * @param ttl how long a result is replayed for retries of its key
+ * @param maxEntries keys remembered at once; beyond, the entries closest to expiry are replaced
+ * @param storeSize bytes of the result log; the oldest results are overwritten once it is full
+ * @param offHeap whether the result log is allocated outside the Java heap
+ * @param maxResultSize largest result stored; larger results are not replayed
+ */
+@ConfigurationProperties(prefix = "mcp.idempotency")
+public record McpIdempotencyProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("idempotencyKey") String metaKey,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("100000") int maxEntries,
+        @DefaultValue("64MB") DataSize storeSize,
+        @DefaultValue("false") boolean offHeap,
+        @DefaultValue("1MB") DataSize maxResultSize) {
+
+    public McpIdempotencyProperties {
+        if (storeSize.toBytes() > Integer.MAX_VALUE || maxResultSize.toBytes() > storeSize.toBytes() / 4) {
+            throw new IllegalArgumentException("mcp.idempotency.store-size must be below 2GB and at least 4 times max-result-size");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("mcp.idempotency.max-entries must be at least 1");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.mcpserver.idempotency;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, expiring store of tool results by client, tool name and idempotency key.
+ * Each result is stored with a hash of the arguments of the call that produced it,
+ * so that a key reused with other arguments can be told apart from a retry.
+ *
+ * <p>Results live in a {@link ResultLog}, found through a {@link ResultIndex}; both
+ * are allocated up front, so the store's memory use is fixed however many keys it
+ * sees. An entry is gone once it expires, once its index slot is taken by a newer key,
+ * or once the log has wrapped around over its record, whichever comes first.
+ */
+public class McpResultStore {
+
+    private final ResultLog log;
+
+    private final ResultIndex index;
+
+    private final int ttlSeconds;
+
+    private final int maxResultSize;
+
+    private final LongSupplier clock;
+
+    private final long start;
+
+    public McpResultStore(McpIdempotencyProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    McpResultStore(McpIdempotencyProperties properties, LongSupplier clock) {
+        this.log = new ResultLog((int) properties.storeSize().toBytes(), properties.offHeap());
+        this.index = new ResultIndex(properties.maxEntries());
+        this.ttlSeconds = (int) Math.max(1, properties.ttl().toSeconds());
+        this.maxResultSize = (int) properties.maxResultSize().toBytes();
+        this.clock = clock;
+        this.start = clock.getAsLong();
+    }
+
+    /**
+     * The stored result of the call of {@code tool} by {@code client} with {@code key}, if any.
+     */
+    @Nullable
+    public Entry get(String client, String tool, String key) {
+        byte[] id = id(client, tool, key);
+        ResultIndex.Location location = index.get(fingerprint(id), now());
+        byte[] value = location != null ? log.read(location.position(), location.length(), id) : null;
+        if (value == null) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        long arguments = buffer.getLong();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return new Entry(arguments, result);
+    }
+
+    /**
+     * Store the result of the call of {@code tool} by {@code client} with {@code key}.
+     *
+     * @param arguments hash of the arguments of the call
+     * @return whether the result was stored; results over the maximum size are not
+     */
+    public boolean put(String client, String tool, String key, long arguments, byte[] result) {
+        if (result.length > maxResultSize) {
+            return false;
+        }
+        byte[] id = id(client, tool, key);
+        byte[] value = ByteBuffer.allocate(Long.BYTES + result.length).putLong(arguments).put(result).array();
+        long position = log.append(id, value);
+        int now = now();
+        index.put(fingerprint(id), position, ResultLog.recordLength(id, value), now + ttlSeconds, now);
+        return true;
+    }
+
+    /**
+     * Keys with a result that has not expired (some of which may have been overwritten
+     * in the log).
+     */
+    public int size() {
+        return index.size(now());
+    }
+
+    /**
+     * Bytes of the result log in use.
+     */
+    public long usedBytes() {
+        return log.usedBytes();
+    }
+
+    /**
+     * Unexpired keys forgotten to make room for newer ones.
+     */
+    public long evictions() {
+        return index.evictions();
+    }
+
+    /** Seconds since the store was created, from 1 so that 0 can mark empty index slots. */
+    private int now() {
+        return (int) TimeUnit.NANOSECONDS.toSeconds(clock.getAsLong() - start) + 1;
+    }
+
+    private static byte[] id(String client, String tool, String key) {
+        return (client + '\u0000' + tool + '\u0000' + key).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 64-bit FNV-1a with a final avalanche, so that both halves of the fingerprint are
+     * well mixed for segment and slot selection.
+     */
+    static long fingerprint(byte[] id) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : id) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * A stored result.
+     *
+     * @param arguments hash of the arguments of the call that produced it
+     * @param result the serialized JSON-RPC {@code result}
+     */
+    public record Entry(long arguments, byte[] result) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.mcpserver.idempotency;
+
+import org.springframework.lang.Nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Index from key fingerprints to records of the {@link ResultLog}, held in primitive
+ * arrays so that millions of entries cost no objects for the garbage collector to
+ * trace.
+ *
+ * <p>The index is split into segments, each guarded by its own lock. A key lives in
+ * a short window of slots from its fingerprint; a new key takes the window's empty
+ * or expired slot, or else the one closest to expiry. Fingerprints may collide, which
+ * is harmless because the log verifies the key of every record it returns.
+ */
+final class ResultIndex {
+
+    private static final int PROBES = 8;
+
+    private static final int MAX_SEGMENTS = 64;
+
+    private final Segment[] segments;
+
+    private final LongAdder evictions = new LongAdder();
+
+    ResultIndex(int maxEntries) {
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maxEntries / 1024)));
+        int segmentCapacity = Math.max(PROBES * 2, Integer.highestOneBit(Math.max(1, maxEntries / segmentCount - 1)) << 1);
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    void put(long fingerprint, long position, int length, int expiresAt, int now) {
+        segment(fingerprint).put(fingerprint, position, length, expiresAt, now);
+    }
+
+    /**
+     * The record of {@code fingerprint}, or {@code null} if there is none that is not
+     * expired at {@code now}.
+     */
+    @Nullable
+    Location get(long fingerprint, int now) {
+        return segment(fingerprint).get(fingerprint, now);
+    }
+
+    /**
+     * Entries that have not expired at {@code now}.
+     */
+    int size(int now) {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size(now);
+        }
+        return size;
+    }
+
+    /**
+     * Live entries replaced because their window was full.
+     */
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private Segment segment(long fingerprint) {
+        return segments[(int) (fingerprint >>> 40) & (segments.length - 1)];
+    }
+
+    /**
+     * Where a record is stored in the log.
+     */
+    record Location(long position, int length) {
+    }
+
+    private final class Segment {
+
+        private final long[] fingerprints;
+
+        private final long[] positions;
+
+        private final int[] lengths;
+
+        /** Expiry in store seconds; 0 marks an empty slot. */
+        private final int[] expiries;
+
+        private final int mask;
+
+        Segment(int capacity) {
+            this.fingerprints = new long[capacity];
+            this.positions = new long[capacity];
+            this.lengths = new int[capacity];
+            this.expiries = new int[capacity];
+            this.mask = capacity - 1;
+        }
+
+        synchronized void put(long fingerprint, long position, int length, int expiresAt, int now) {
+            int start = (int) fingerprint;
+            int victim = -1;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int i = (start + probe) & mask;
+                if (fingerprints[i] == fingerprint && expiries[i] > now) {
+                    victim = i;
+                    break;
+                }
+                if (victim < 0 || expiries[i] < expiries[victim]) {
+                    victim = i;
+                }
+            }
+            if (expiries[victim] > now && fingerprints[victim] != fingerprint) {
+                evictions.increment();
+            }
+            fingerprints[victim] = fingerprint;
+            positions[victim] = position;
+            lengths[victim] = length;
+            expiries[victim] = expiresAt;
+        }
+
+        @Nullable
+        synchronized Location get(long fingerprint, int now) {
+            int start = (int) fingerprint;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int i = (start + probe) & mask;
+                if (fingerprints[i] == fingerprint && expiries[i] > now) {
+                    return new Location(positions[i], lengths[i]);
+                }
+            }
+            return null;
+        }
+
+        synchronized int size(int now) {
+            int size = 0;
+            for (int expiry : expiries) {
+                if (expiry > now) {
+                    size++;
+                }
+            }
+            return size;
+        }
+    }
+}
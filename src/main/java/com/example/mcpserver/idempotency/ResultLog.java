@@ -0,0 +1,94 @@
+package com.example.mcpserver.idempotency;
+
+import org.springframework.lang.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size circular log of stored results, in one heap or direct buffer.
+ *
+ * <p>A record is its key and value, each preceded by its length. Appending reserves
+ * the next bytes by advancing the tail, so concurrent appends write disjoint regions
+ * without locking, and the oldest records are overwritten as the log wraps around.
+ * Records are addressed by their position in the unbounded sequence of appended
+ * bytes; a reader copies a record out and then checks that the tail has not moved
+ * so far that the record was overwritten meanwhile.
+ */
+final class ResultLog {
+
+    private final ByteBuffer buffer;
+
+    private final int capacity;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    ResultLog(int capacity, boolean offHeap) {
+        this.buffer = offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Append a record.
+     *
+     * @return the position of the record
+     */
+    long append(byte[] key, byte[] value) {
+        byte[] record = ByteBuffer.allocate(recordLength(key, value))
+            .putInt(key.length).put(key)
+            .putInt(value.length).put(value)
+            .array();
+        long position = tail.getAndAdd(record.length);
+        int offset = (int) (position % capacity);
+        int first = Math.min(record.length, capacity - offset);
+        buffer.put(offset, record, 0, first);
+        if (first < record.length) {
+            buffer.put(0, record, first, record.length - first);
+        }
+        return position;
+    }
+
+    /**
+     * The value of the record at {@code position}, or {@code null} if it has been
+     * overwritten or belongs to another key.
+     */
+    @Nullable
+    byte[] read(long position, int length, byte[] key) {
+        if (isOverwritten(position)) {
+            return null;
+        }
+        byte[] record = new byte[length];
+        int offset = (int) (position % capacity);
+        int first = Math.min(length, capacity - offset);
+        buffer.get(offset, record, 0, first);
+        if (first < length) {
+            buffer.get(0, record, first, length - first);
+        }
+        if (isOverwritten(position)) {
+            return null;
+        }
+        ByteBuffer view = ByteBuffer.wrap(record);
+        int keyLength = view.getInt();
+        if (keyLength != key.length || !Arrays.equals(record, 4, 4 + keyLength, key, 0, key.length)) {
+            return null;
+        }
+        int valueLength = view.getInt(4 + keyLength);
+        return Arrays.copyOfRange(record, 8 + keyLength, 8 + keyLength + valueLength);
+    }
+
+    static int recordLength(byte[] key, byte[] value) {
+        return 8 + key.length + value.length;
+    }
+
+    /**
+     * Bytes currently holding records.
+     */
+    long usedBytes() {
+        return Math.min(tail.get(), capacity);
+    }
+
+    private boolean isOverwritten(long position) {
+        return tail.get() - position > capacity;
+    }
+}
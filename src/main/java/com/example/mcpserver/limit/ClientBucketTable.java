@@ -0,0 +1,123 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpOperationType;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, lock-free table of the token buckets of rate-limited clients.
+ *
+ * <p>A client is looked up in a short window of slots starting at its hash. If it is
+ * not there, it takes the window's empty or idle slot, or failing that the least
+ * recently seen client's slot, by compare-and-set. Memory therefore stays flat however
+ * many distinct clients show up; a forgotten client simply starts again with full
+ * buckets. Two requests of a new client racing for different slots may briefly get
+ * separate buckets, which only errs on the side of allowing a request.
+ */
+final class ClientBucketTable {
+
+    private static final int PROBES = 8;
+
+    private static final int OPERATION_TYPES = McpOperationType.values().length;
+
+    private final AtomicReferenceArray<ClientBuckets> slots;
+
+    private final int mask;
+
+    private final long idleNanos;
+
+    private final LongAdder evictions = new LongAdder();
+
+    ClientBucketTable(int maxClients, long idleNanos) {
+        int capacity = Integer.highestOneBit(Math.max(PROBES, maxClients - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.idleNanos = idleNanos;
+    }
+
+    /**
+     * The buckets of {@code clientId}, created if the client is not tracked.
+     */
+    ClientBuckets get(String clientId, long now) {
+        int start = spread(clientId.hashCode());
+        for (int attempt = 0; attempt < PROBES; attempt++) {
+            int victim = -1;
+            ClientBuckets victimEntry = null;
+            for (int probe = 0; probe < PROBES; probe++) {
+                int index = (start + probe) & mask;
+                ClientBuckets entry = slots.get(index);
+                if (entry == null) {
+                    if (victim < 0 || victimEntry != null) {
+                        victim = index;
+                        victimEntry = null;
+                    }
+                }
+                else if (entry.clientId.equals(clientId)) {
+                    entry.lastAccess = now;
+                    return entry;
+                }
+                else if (victim < 0 || (victimEntry != null && entry.lastAccess - victimEntry.lastAccess < 0)) {
+                    victim = index;
+                    victimEntry = entry;
+                }
+            }
+            ClientBuckets created = new ClientBuckets(clientId, now);
+            if (slots.compareAndSet(victim, victimEntry, created)) {
+                if (victimEntry != null && now - victimEntry.lastAccess < idleNanos) {
+                    evictions.increment();
+                }
+                return created;
+            }
+            // another client took the slot; look again, this client may have been added meanwhile
+        }
+        return new ClientBuckets(clientId, now);
+    }
+
+    /**
+     * Clients seen within the idle timeout.
+     */
+    int activeClients(long now) {
+        int active = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            ClientBuckets entry = slots.get(i);
+            if (entry != null && now - entry.lastAccess < idleNanos) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Clients forgotten while still active because the table was full around them.
+     */
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    /**
+     * The buckets of one client: the theoretical arrival time of the next request of each
+     * operation type (GCRA), in {@code nanoTime} units.
+     */
+    static final class ClientBuckets {
+
+        final String clientId;
+
+        final AtomicLongArray arrival = new AtomicLongArray(OPERATION_TYPES);
+
+        volatile long lastAccess;
+
+        ClientBuckets(String clientId, long now) {
+            this.clientId = clientId;
+            this.lastAccess = now;
+            for (int i = 0; i < OPERATION_TYPES; i++) {
+                arrival.set(i, Long.MIN_VALUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.mcpserver.limit;
+
+/**
+ * Gradient concurrency limit algorithm, after Netflix's {@code Gradient2Limit}.
+ *
+ * <p>A short-term and a long-term exponential average of request latency are
+ * tracked. While recent requests are about as fast as the long-term average the
+ * limit grows by roughly its square root per sample; once they are more than
+ * {@code tolerance} times slower, the limit shrinks in proportion (by at most half).
+ * Growth is only allowed while at least half of the limit is in use, so that an
+ * idle server does not drift to the maximum.
+ *
+ * <p>Not thread-safe; the {@link McpConcurrencyLimiter} calls it under its lock.
+ */
+final class GradientLimit {
+
+    private static final double SHORT_SMOOTHING = 2.0 / (10 + 1);
+
+    private static final double LONG_SMOOTHING = 2.0 / (600 + 1);
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private double limit;
+
+    private double shortRtt;
+
+    private double longRtt;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    /**
+     * Account for a request that completed after {@code rttNanos} while
+     * {@code inFlight} requests (including it) were running.
+     *
+     * @return the new limit
+     */
+    int update(long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        }
+        else {
+            shortRtt += (rttNanos - shortRtt) * SHORT_SMOOTHING;
+            longRtt += (rttNanos - longRtt) * LONG_SMOOTHING;
+        }
+        // after an overload the long-term average is inflated; let it recover quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return limit();
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + estimate * smoothing));
+        return limit();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.lang.Nullable;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Tells the clients of HTTP requests and WebSocket handshakes apart, as configured by
+ * {@code mcp.rate-limit.identify-by}. Rate limits and idempotency keys are scoped by
+ * this identity.
+ *
+ * <p>The API key header is trusted, not validated: a client could send a new key with
+ * every request to get fresh buckets, so {@code api-key} is only listed where an
+ * authenticating proxy has checked the key. API keys are only kept as a short SHA-256
+ * fingerprint, so they never show up in memory dumps or metric tags.
+ */
+public class McpClientIdentity {
+
+    static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private final List<McpRateLimitProperties.ClientIdentity> identifyBy;
+
+    private final String apiKeyHeader;
+
+    public McpClientIdentity(McpRateLimitProperties properties) {
+        this.identifyBy = properties.identifyBy();
+        this.apiKeyHeader = properties.apiKeyHeader();
+    }
+
+    /**
+     * The identity of the client sending {@code request}, prefixed with its source.
+     */
+    public String of(ServerHttpRequest request) {
+        return of(request.getHeaders(), request.getRemoteAddress());
+    }
+
+    /**
+     * The identity of the client sending a request with {@code headers} from
+     * {@code remoteAddress}, prefixed with its source.
+     */
+    public String of(HttpHeaders headers, @Nullable InetSocketAddress remoteAddress) {
+        for (McpRateLimitProperties.ClientIdentity identity : identifyBy) {
+            switch (identity) {
+                case API_KEY -> {
+                    String key = headers.getFirst(apiKeyHeader);
+                    if (key == null) {
+                        key = headers.getFirst(HttpHeaders.AUTHORIZATION);
+                    }
+                    if (key != null && !key.isBlank()) {
+                        return "key:" + fingerprint(key);
+                    }
+                }
+                case SESSION -> {
+                    String session = headers.getFirst(SESSION_HEADER);
+                    if (session != null && !session.isBlank()) {
+                        return "session:" + session;
+                    }
+                }
+                case REMOTE_ADDRESS -> {
+                    if (remoteAddress != null && remoteAddress.getAddress() != null) {
+                        return "ip:" + remoteAddress.getAddress().getHostAddress();
+                    }
+                }
+            }
+        }
+        return "anonymous";
+    }
+
+    private static String fingerprint(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adaptive concurrency limiting and load shedding of MCP requests, on {@code /mcp}
+ * and on the transports served by the JSON-RPC dispatcher.
+ * Disable with {@code mcp.concurrency-limit.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.concurrency-limit", name = "enabled", matchIfMissing = true)
+public class McpConcurrencyLimitConfiguration {
+
+    @Bean
+    public McpConcurrencyLimiter mcpConcurrencyLimiter(McpConcurrencyLimitProperties properties,
+            McpPriorityProperties priorities) {
+        return new McpConcurrencyLimiter(properties, priorities);
+    }
+
+    @Bean
+    public McpConcurrencyLimitMetrics mcpConcurrencyLimitMetrics(McpConcurrencyLimiter limiter) {
+        return new McpConcurrencyLimitMetrics(limiter);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public McpConcurrencyLimitFilter mcpConcurrencyLimitFilter(McpConcurrencyLimiter limiter,
+            ObjectProvider<McpRequestClassifier> classifier, ObjectMapper objectMapper, McpCodecProperties codecProperties) {
+        return new McpConcurrencyLimitFilter(limiter, classifier.getIfAvailable(), objectMapper, codecProperties);
+    }
+}
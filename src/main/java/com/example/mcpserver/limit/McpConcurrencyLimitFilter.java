@@ -0,0 +1,77 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.codec.McpContentNegotiationFilter;
+import com.example.mcpserver.pipeline.McpPipelineService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the {@link McpConcurrencyLimiter} to JSON-RPC requests posted to
+ * {@code /mcp}, in the lane assigned by the {@link McpRequestClassifier}.
+ *
+ * <p>Notifications and responses (messages without an {@code id} or
+ * {@code method}) are not limited, and neither are pipeline calls, whose steps each
+ * take a permit. A shed request is answered right away with
+ * {@code 503 Service Unavailable}, a {@code Retry-After} header and a JSON-RPC
+ * {@code SERVER_OVERLOADED} error carrying the request id.
+ */
+public class McpConcurrencyLimitFilter implements WebFilter, Ordered {
+
+    /** After request tracing and per-client rate limiting, so throttled clients never occupy the queue. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER + 3;
+
+    private final McpConcurrencyLimiter limiter;
+
+    @Nullable
+    private final McpRequestClassifier classifier;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxPayloadSize;
+
+    public McpConcurrencyLimitFilter(McpConcurrencyLimiter limiter, @Nullable McpRequestClassifier classifier,
+            ObjectMapper objectMapper, McpCodecProperties codecProperties) {
+        this.limiter = limiter;
+        this.classifier = classifier;
+        this.objectMapper = objectMapper;
+        this.maxPayloadSize = (int) codecProperties.maxPayloadSize().toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!McpRequestMessages.isMcpPost(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        return McpRequestMessages.read(exchange, objectMapper, maxPayloadSize).flatMap(buffered -> {
+            JsonNode message = McpRequestMessages.message(buffered);
+            if (McpRequestMessages.isNotificationOrResponse(message)) {
+                return chain.filter(buffered);
+            }
+            // batches are limited as one request
+            String method = message.path("method").asText(null);
+            if ("tools/call".equals(method) && McpPipelineService.steps(message.path("params")) > 0) {
+                // each step of a pipeline is limited instead, see McpPipelineService
+                return chain.filter(buffered);
+            }
+            McpLane lane = classifier != null
+                ? classifier.classify(method, message.path("params").path("name").asText(null)) : McpLane.DEFAULT;
+            return limiter.limit(method, lane, chain.filter(buffered))
+                .onErrorResume(McpOverloadedException.class, ex -> McpRequestMessages.reject(buffered, objectMapper,
+                    message.path("id"), ex, HttpStatus.SERVICE_UNAVAILABLE, ex.getRetryAfter()));
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.mcpserver.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the {@link McpConcurrencyLimiter}: the current limit,
+ * requests in flight and queued per lane, how often the limit moved, and shed requests.
+ */
+public class McpConcurrencyLimitMetrics implements MeterBinder {
+
+    private final McpConcurrencyLimiter limiter;
+
+    public McpConcurrencyLimitMetrics(McpConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.concurrency.limit", limiter, McpConcurrencyLimiter::limit)
+            .description("Current adaptive concurrency limit of MCP requests")
+            .register(registry);
+        Gauge.builder("mcp.concurrency.in.flight", limiter, McpConcurrencyLimiter::inFlight)
+            .description("MCP requests holding a permit")
+            .register(registry);
+        for (McpLane lane : McpLane.values()) {
+            Gauge.builder("mcp.concurrency.queue.size", limiter, l -> l.queueSize(lane))
+                .description("MCP requests waiting for a permit")
+                .tag("lane", lane.tagValue())
+                .register(registry);
+            Gauge.builder("mcp.concurrency.overloaded", limiter, l -> l.overloaded(lane) ? 1 : 0)
+                .description("1 while the lane's request queue is standing and queued requests are shed early")
+                .tag("lane", lane.tagValue())
+                .register(registry);
+            FunctionCounter.builder("mcp.concurrency.rejected", limiter, l -> l.rejectedQueueFull(lane))
+                .description("MCP requests shed by the concurrency limiter")
+                .tags("lane", lane.tagValue(), "reason", "queue-full")
+                .register(registry);
+            FunctionCounter.builder("mcp.concurrency.rejected", limiter, l -> l.rejectedQueueTimeout(lane))
+                .description("MCP requests shed by the concurrency limiter")
+                .tags("lane", lane.tagValue(), "reason", "queue-timeout")
+                .register(registry);
+        }
+        FunctionCounter.builder("mcp.concurrency.limit.changes", limiter, McpConcurrencyLimiter::limitIncreases)
+            .description("Changes of the concurrency limit")
+            .tag("direction", "increase")
+            .register(registry);
+        FunctionCounter.builder("mcp.concurrency.limit.changes", limiter, McpConcurrencyLimiter::limitDecreases)
+            .description("Changes of the concurrency limit")
+            .tag("direction", "decrease")
+            .register(registry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Settings of the adaptive concurrency limit in front of the MCP dispatcher.
+ *
+ * @param enabled whether MCP requests are limited
+ * @param initialLimit concurrent requests allowed at startup
+ * @param minLimit lowest limit the algorithm may settle on
+ * @param maxLimit highest limit the algorithm may settle on
+ * @param rttTolerance how much slower than the long-term latency a request may get
+ * before the limit is reduced, e.g. 1.5 for 50% slower
+ * @param smoothing weight of each new limit estimate, between 0 and 1
+ * @param maxQueueSize requests waiting in a lane's queue beyond which new ones are rejected
+ * @param queueTarget queueing delay CoDel tolerates as a standing queue
+ * @param queueInterval CoDel window; also the longest wait while the queue is healthy
+ * @param exemptMethods JSON-RPC methods that are never limited or shed
+ */
+@ConfigurationProperties(prefix = "mcp.concurrency-limit")
+public record McpConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("1.5") double rttTolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("100") int maxQueueSize,
+        @DefaultValue("5ms") Duration queueTarget,
+        @DefaultValue("100ms") Duration queueInterval,
+        @DefaultValue("initialize,ping") Set<String> exemptMethods) {
+
+    public McpConcurrencyLimitProperties {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= initial-limit <= max-limit");
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.example.mcpserver.limit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Adaptive concurrency limit with CoDel queue management for MCP requests.
+ *
+ * <p>Up to {@link #limit()} requests run concurrently; the limit follows observed
+ * latency through a {@link GradientLimit}. Requests beyond it wait in the queue of
+ * their {@link McpLane lane}, each managed like CoDel in Facebook's server variant:
+ * if the shortest queueing delay of a lane over a {@code queue-interval} stayed
+ * above {@code queue-target}, its queue is standing rather than absorbing a burst,
+ * and its waiting requests are shed after {@code queue-target} instead of
+ * {@code queue-interval}. A full lane queue rejects new requests immediately. Shed
+ * requests fail fast with a {@link McpOverloadedException}.
+ *
+ * <p>Freed permits go to the lanes by weighted fair queueing: every queued request
+ * gets a virtual finish time of {@code 1 / weight} after its lane's previous one,
+ * and the earliest finish time is served first. A busy heavy lane thus gets its
+ * share without delaying discovery and health traffic by more than a few requests.
+ *
+ * <p>Methods listed in {@code exempt-methods} ({@code initialize} and {@code ping} by
+ * default) bypass the limiter entirely, so sessions can always be set up and kept
+ * alive.
+ */
+public class McpConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpConcurrencyLimiter.class);
+
+    private final McpConcurrencyLimitProperties properties;
+
+    private final GradientLimit algorithm;
+
+    private final long queueTarget;
+
+    private final long queueInterval;
+
+    private final Map<McpLane, Lane> lanes = new EnumMap<>(McpLane.class);
+
+    private int limit;
+
+    private int inFlight;
+
+    /** Virtual time of weighted fair queueing: the finish time of the last admitted request. */
+    private double virtualTime;
+
+    private final LongAdder limitIncreases = new LongAdder();
+
+    private final LongAdder limitDecreases = new LongAdder();
+
+    public McpConcurrencyLimiter(McpConcurrencyLimitProperties properties, McpPriorityProperties priorities) {
+        this.properties = properties;
+        this.algorithm = new GradientLimit(properties.initialLimit(), properties.minLimit(), properties.maxLimit(),
+            properties.rttTolerance(), properties.smoothing());
+        this.limit = algorithm.limit();
+        this.queueTarget = properties.queueTarget().toNanos();
+        this.queueInterval = properties.queueInterval().toNanos();
+        for (McpLane lane : McpLane.values()) {
+            lanes.put(lane, new Lane(lane, priorities.weights().get(lane)));
+        }
+    }
+
+    /**
+     * Run {@code work} for a request to {@code method} once a permit is available in
+     * {@code lane}, releasing the permit when it terminates or is cancelled.
+     */
+    public <T> Mono<T> limit(String method, McpLane lane, Mono<T> work) {
+        if (method != null && properties.exemptMethods().contains(method)) {
+            return work;
+        }
+        return acquire(lanes.get(lane)).flatMap(permit -> work.doFinally(permit::release));
+    }
+
+    private Mono<Permit> acquire(Lane lane) {
+        return Mono.defer(() -> {
+            long now = System.nanoTime();
+            Waiter waiter;
+            Duration timeout;
+            synchronized (this) {
+                if (inFlight < limit) {
+                    inFlight++;
+                    lane.recordQueueDelay(0, now);
+                    return Mono.just(new Permit(now));
+                }
+                if (lane.queue.size() >= properties.maxQueueSize()) {
+                    lane.rejectedQueueFull.increment();
+                    return Mono.error(new McpOverloadedException("queue full", properties.queueInterval()));
+                }
+                lane.lastFinish = Math.max(virtualTime, lane.lastFinish) + 1.0 / lane.weight;
+                waiter = new Waiter(now, lane.lastFinish);
+                lane.queue.addLast(waiter);
+                timeout = Duration.ofNanos(lane.overloaded ? queueTarget : queueInterval);
+            }
+            return waiter.permit.asMono()
+                .timeout(timeout, Mono.defer(() -> {
+                    if (abandon(lane, waiter)) {
+                        lane.rejectedQueueTimeout.increment();
+                        return Mono.error(new McpOverloadedException("queue timeout", properties.queueInterval()));
+                    }
+                    // granted while timing out
+                    return waiter.permit.asMono();
+                }))
+                .doOnCancel(() -> {
+                    if (!abandon(lane, waiter)) {
+                        waiter.permit.asMono().subscribe(permit -> permit.release(SignalType.CANCEL));
+                    }
+                });
+        });
+    }
+
+    private synchronized boolean abandon(Lane lane, Waiter waiter) {
+        return lane.queue.remove(waiter);
+    }
+
+    private void release(Permit permit, SignalType signal) {
+        long now = System.nanoTime();
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            if (signal == SignalType.ON_COMPLETE) {
+                updateLimit(now - permit.start, inFlight + 1);
+            }
+            Lane next;
+            while (inFlight < limit && (next = nextLane()) != null) {
+                Waiter waiter = next.queue.pollFirst();
+                inFlight++;
+                virtualTime = waiter.finish;
+                next.recordQueueDelay(now - waiter.enqueued, now);
+                granted.add(waiter);
+            }
+        }
+        for (Waiter waiter : granted) {
+            waiter.permit.tryEmitValue(new Permit(now));
+        }
+    }
+
+    /**
+     * The lane whose head request has the earliest virtual finish time.
+     */
+    private Lane nextLane() {
+        Lane next = null;
+        for (Lane lane : lanes.values()) {
+            Waiter head = lane.queue.peekFirst();
+            if (head != null && (next == null || head.finish < next.queue.peekFirst().finish)) {
+                next = lane;
+            }
+        }
+        return next;
+    }
+
+    private void updateLimit(long rttNanos, int concurrency) {
+        int previous = limit;
+        limit = algorithm.update(rttNanos, concurrency);
+        if (limit != previous) {
+            (limit > previous ? limitIncreases : limitDecreases).increment();
+            logger.debug("MCP concurrency limit changed from {} to {}", previous, limit);
+        }
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queueSize(McpLane lane) {
+        return lanes.get(lane).queue.size();
+    }
+
+    /**
+     * Whether CoDel currently considers the queue of {@code lane} standing and sheds early.
+     */
+    public synchronized boolean overloaded(McpLane lane) {
+        return lanes.get(lane).overloaded;
+    }
+
+    public long rejectedQueueFull(McpLane lane) {
+        return lanes.get(lane).rejectedQueueFull.sum();
+    }
+
+    public long rejectedQueueTimeout(McpLane lane) {
+        return lanes.get(lane).rejectedQueueTimeout.sum();
+    }
+
+    public long limitIncreases() {
+        return limitIncreases.sum();
+    }
+
+    public long limitDecreases() {
+        return limitDecreases.sum();
+    }
+
+    /**
+     * Queue and CoDel state of one lane, guarded by the limiter's lock.
+     */
+    private final class Lane {
+
+        private final McpLane lane;
+
+        private final int weight;
+
+        private final Deque<Waiter> queue = new ArrayDeque<>();
+
+        private double lastFinish;
+
+        private long intervalStart = System.nanoTime();
+
+        private long minQueueDelay = Long.MAX_VALUE;
+
+        private boolean overloaded;
+
+        private final LongAdder rejectedQueueFull = new LongAdder();
+
+        private final LongAdder rejectedQueueTimeout = new LongAdder();
+
+        Lane(McpLane lane, int weight) {
+            this.lane = lane;
+            this.weight = weight;
+        }
+
+        /**
+         * CoDel: a queue whose minimum delay stays above target for a whole interval
+         * is standing, and waiting requests are then shed early.
+         */
+        void recordQueueDelay(long delay, long now) {
+            minQueueDelay = Math.min(minQueueDelay, delay);
+            if (now - intervalStart >= queueInterval) {
+                boolean standing = minQueueDelay > queueTarget;
+                if (standing != overloaded) {
+                    logger.info("MCP {} request queue {}", lane.tagValue(),
+                        standing ? "is standing, shedding queued requests early" : "drained");
+                }
+                overloaded = standing;
+                minQueueDelay = Long.MAX_VALUE;
+                intervalStart = now;
+            }
+        }
+    }
+
+    /**
+     * Permission to run one request, released exactly once.
+     */
+    private final class Permit {
+
+        private final long start;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long start) {
+            this.start = start;
+        }
+
+        void release(SignalType signal) {
+            if (released.compareAndSet(false, true)) {
+                McpConcurrencyLimiter.this.release(this, signal);
+            }
+        }
+    }
+
+    /**
+     * A request waiting in a lane queue for a permit.
+     */
+    private static final class Waiter {
+
+        private final long enqueued;
+
+        /** Virtual finish time for weighted fair queueing. */
+        private final double finish;
+
+        private final Sinks.One<Permit> permit = Sinks.one();
+
+        Waiter(long enqueued, double finish) {
+            this.enqueued = enqueued;
+            this.finish = finish;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.mcpserver.limit;
+
+import java.util.Locale;
+
+/**
+ * Priority lane of an MCP request. Lanes are served by weighted fair queueing when
+ * requests wait for a concurrency permit, and light lanes run annotated methods on
+ * their own scheduler, so that discovery and health traffic is not stuck behind
+ * expensive tool calls.
+ */
+public enum McpLane {
+
+    /** Session setup, health checks and discovery: {@code initialize}, {@code ping} and the list methods. */
+    CONTROL,
+
+    /** Ordinary requests such as resource reads and prompt rendering. */
+    DEFAULT,
+
+    /** Expensive work, tool calls unless configured otherwise. */
+    HEAVY;
+
+    /**
+     * The lane name used in configuration and as a metric tag.
+     */
+    public String tagValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Schedulers running annotated MCP methods per lane: heavy work stays on Reactor's
+ * shared bounded elastic scheduler, while control and default lane methods get a
+ * scheduler of their own, so they never queue behind saturated heavy workers.
+ */
+public class McpLaneSchedulers implements DisposableBean {
+
+    private final Scheduler light;
+
+    public McpLaneSchedulers(McpPriorityProperties properties) {
+        this.light = Schedulers.newBoundedElastic(properties.lightThreads(), Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+            "mcp-light");
+    }
+
+    public Scheduler scheduler(McpLane lane) {
+        return lane == McpLane.HEAVY ? Schedulers.boundedElastic() : light;
+    }
+
+    @Override
+    public void destroy() {
+        light.dispose();
+    }
+}
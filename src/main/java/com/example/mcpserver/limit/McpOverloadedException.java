@@ -0,0 +1,26 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * A request shed by the {@link McpConcurrencyLimiter}. Sent to the client as a
+ * {@link McpJsonRpcException#SERVER_OVERLOADED} error whose {@code data} marks it as
+ * retryable and suggests when to retry.
+ */
+public class McpOverloadedException extends McpJsonRpcException {
+
+    private final Duration retryAfter;
+
+    public McpOverloadedException(String reason, Duration retryAfter) {
+        super(SERVER_OVERLOADED, "Server overloaded (" + reason + "), retry later",
+            Map.of("retryable", true, "retryAfterMs", retryAfter.toMillis()));
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Priority lanes for MCP requests: classification by method and tool name, and
+ * separate schedulers for light and heavy lanes. The lanes are also used by the
+ * concurrency limiter's queue, if enabled.
+ * Disable with {@code mcp.priority.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.priority", name = "enabled", matchIfMissing = true)
+public class McpPriorityConfiguration {
+
+    @Bean
+    public McpRequestClassifier mcpRequestClassifier(McpPriorityProperties properties) {
+        return new McpRequestClassifier(properties);
+    }
+
+    @Bean
+    public McpLaneSchedulers mcpLaneSchedulers(McpPriorityProperties properties) {
+        return new McpLaneSchedulers(properties);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Classification of MCP requests into {@link McpLane lanes} and the share of
+ * capacity each lane gets under contention. Method names contain slashes, so map
+ * keys are written in brackets:
+ *
+ * <pre>
+ * mcp.priority.methods[resources/read]=control
+ * mcp.priority.tools.echo=default
+ * mcp.priority.weights.heavy=1
+ * </pre>
+ *
+ * @param enabled whether requests are classified; otherwise all use the default lane
+ * @param methods lane per JSON-RPC method, merged over the built-in defaults
+ * @param tools lane per tool name, overriding the lane of {@code tools/call}
+ * @param weights relative share of queued requests admitted per lane, merged over the defaults
+ * @param lightThreads thread cap of the scheduler running control and default lane methods
+ */
+@ConfigurationProperties(prefix = "mcp.priority")
+public record McpPriorityProperties(
+        @DefaultValue("true") boolean enabled,
+        Map<String, McpLane> methods,
+        Map<String, McpLane> tools,
+        Map<McpLane, Integer> weights,
+        @DefaultValue("8") int lightThreads) {
+
+    private static final Map<String, McpLane> DEFAULT_METHODS = Map.of(
+        "initialize", McpLane.CONTROL,
+        "ping", McpLane.CONTROL,
+        "tools/list", McpLane.CONTROL,
+        "resources/list", McpLane.CONTROL,
+        "resources/templates/list", McpLane.CONTROL,
+        "prompts/list", McpLane.CONTROL,
+        "tools/call", McpLane.HEAVY);
+
+    private static final Map<McpLane, Integer> DEFAULT_WEIGHTS = Map.of(
+        McpLane.CONTROL, 8,
+        McpLane.DEFAULT, 4,
+        McpLane.HEAVY, 1);
+
+    public McpPriorityProperties {
+        methods = merge(new HashMap<>(DEFAULT_METHODS), methods);
+        tools = tools != null ? Map.copyOf(tools) : Map.of();
+        weights = merge(new EnumMap<>(DEFAULT_WEIGHTS), weights);
+        if (weights.values().stream().anyMatch(weight -> weight < 1)) {
+            throw new IllegalArgumentException("Lane weights must be at least 1");
+        }
+    }
+
+    private static <K, V> Map<K, V> merge(Map<K, V> defaults, Map<K, V> overrides) {
+        if (overrides != null) {
+            defaults.putAll(overrides);
+        }
+        return Map.copyOf(defaults);
+    }
+}
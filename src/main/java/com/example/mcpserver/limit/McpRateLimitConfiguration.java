@@ -0,0 +1,41 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-client rate limiting of MCP tool calls, resource reads and prompt gets, on
+ * {@code /mcp} and on WebSocket sessions. Enable with {@code mcp.rate-limit.enabled=true}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.rate-limit", name = "enabled")
+public class McpRateLimitConfiguration {
+
+    @Bean
+    public McpRateLimiter mcpRateLimiter(McpRateLimitProperties properties) {
+        return new McpRateLimiter(properties);
+    }
+
+    @Bean
+    public McpRateLimitMetrics mcpRateLimitMetrics(McpRateLimiter limiter) {
+        return new McpRateLimitMetrics(limiter);
+    }
+
+    @Bean
+    public MeterFilter mcpRateLimitClientLimit(McpRateLimitProperties properties) {
+        return MeterFilter.maximumAllowableTags(McpRateLimitMetrics.THROTTLED, "client", properties.maxClientTags(),
+            MeterFilter.deny());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public McpRateLimitFilter mcpRateLimitFilter(McpRateLimiter limiter, McpRateLimitProperties properties,
+            ObjectMapper objectMapper, McpCodecProperties codecProperties) {
+        return new McpRateLimitFilter(limiter, new McpClientIdentity(properties), objectMapper, codecProperties);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.codec.McpContentNegotiationFilter;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies the {@link McpRateLimiter} to tool calls, resource reads and prompt gets
+ * posted to {@code /mcp}.
+ *
+ * <p>The client is identified by the {@link McpClientIdentity}, as configured by
+ * {@code mcp.rate-limit.identify-by}. A pipeline is charged one tool call per step.
+ * Limited requests carry {@code RateLimit-Limit},
+ * {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers; a throttled request
+ * is answered with {@code 429 Too Many Requests}, a {@code Retry-After} header and a
+ * JSON-RPC {@code RATE_LIMITED} error.
+ */
+public class McpRateLimitFilter implements WebFilter, Ordered {
+
+    /** After request tracing, so that throttled requests are traced. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER + 2;
+
+    private final McpRateLimiter limiter;
+
+    private final McpClientIdentity clientIdentity;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxPayloadSize;
+
+    public McpRateLimitFilter(McpRateLimiter limiter, McpClientIdentity clientIdentity, ObjectMapper objectMapper,
+            McpCodecProperties codecProperties) {
+        this.limiter = limiter;
+        this.clientIdentity = clientIdentity;
+        this.objectMapper = objectMapper;
+        this.maxPayloadSize = (int) codecProperties.maxPayloadSize().toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!McpRequestMessages.isMcpPost(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+
+        return McpRequestMessages.read(exchange, objectMapper, maxPayloadSize).flatMap(buffered -> {
+            JsonNode message = McpRequestMessages.message(buffered);
+            McpOperationType type = McpRateLimiter.operationType(message.path("method").asText(null));
+            if (type == null || !message.has("id")) {
+                return chain.filter(buffered);
+            }
+            McpRateLimiter.Decision decision = limiter.tryAcquire(clientIdentity.of(buffered.getRequest()), type,
+                McpRateLimiter.permits(type, message.path("params")));
+            HttpHeaders headers = buffered.getResponse().getHeaders();
+            headers.set("RateLimit-Limit", String.valueOf(decision.limit()));
+            headers.set("RateLimit-Remaining", String.valueOf(decision.remaining()));
+            headers.set("RateLimit-Reset", String.valueOf(McpRequestMessages.seconds(decision.reset())));
+            if (decision.allowed()) {
+                return chain.filter(buffered);
+            }
+            return McpRequestMessages.reject(buffered, objectMapper, message.path("id"),
+                new McpRateLimitedException(decision), HttpStatus.TOO_MANY_REQUESTS, decision.retryAfter());
+        });
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpOperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the state of the {@link McpRateLimiter}: throttled requests per client and
+ * operation type, tracked clients, and clients forgotten early.
+ */
+public class McpRateLimitMetrics implements MeterBinder {
+
+    /** Counter of throttled requests, tagged {@code client} and {@code operation}. */
+    public static final String THROTTLED = "mcp.ratelimit.throttled";
+
+    private final McpRateLimiter limiter;
+
+    public McpRateLimitMetrics(McpRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.ratelimit.clients", limiter, McpRateLimiter::activeClients)
+            .description("Clients seen within the rate limit idle timeout")
+            .register(registry);
+        FunctionCounter.builder("mcp.ratelimit.clients.evicted", limiter, McpRateLimiter::evictedClients)
+            .description("Active clients whose rate limit buckets were reclaimed because too many clients were tracked")
+            .register(registry);
+        limiter.onThrottled((clientId, type) -> throttled(registry, clientId, type));
+    }
+
+    private static void throttled(MeterRegistry registry, String clientId, McpOperationType type) {
+        Counter.builder(THROTTLED)
+            .description("MCP requests rejected by per-client rate limiting")
+            .tags("client", clientId, "operation", type.tagValue())
+            .register(registry)
+            .increment();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpOperationType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of per-client token-bucket rate limiting of MCP tool calls, resource reads
+ * and prompt gets. Each client gets one bucket per operation type:
+ *
+ * <pre>
+ * mcp.rate-limit.tools.rate=10
+ * mcp.rate-limit.tools.burst=20
+ * </pre>
+ *
+ * @param enabled whether MCP requests are rate limited; off by default, since clients
+ * behind one proxy or NAT share a remote address and would share its budget
+ * @param identifyBy how clients are told apart on {@code /mcp} and WebSocket handshakes,
+ * in order of preference, for rate limits and idempotency keys; the remote address by
+ * default. API keys and Streamable HTTP session ids are taken as sent by the client,
+ * so list them only when an authenticating proxy in front of the server has
+ * validated the key, or the ids are issued by the server
+ * @param apiKeyHeader header carrying the client's API key; {@code Authorization} is
+ * used if it is absent. Its value is trusted, not validated
+ * @param tools budget of {@code tools/call} requests
+ * @param resources budget of {@code resources/read} requests
+ * @param prompts budget of {@code prompts/get} requests
+ * @param maxClients clients tracked at once; the least recently seen are forgotten beyond
+ * @param idleTimeout time after which an idle client's buckets may be reclaimed
+ * @param maxClientTags distinct clients tagged on the throttling counter
+ */
+@ConfigurationProperties(prefix = "mcp.rate-limit")
+public record McpRateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("remote-address") List<ClientIdentity> identifyBy,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        Budget tools,
+        Budget resources,
+        Budget prompts,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("1000") int maxClientTags) {
+
+    public McpRateLimitProperties {
+        tools = tools != null ? tools : new Budget(10, 20);
+        resources = resources != null ? resources : new Budget(50, 100);
+        prompts = prompts != null ? prompts : new Budget(10, 20);
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("max-clients must be at least 1");
+        }
+    }
+
+    /**
+     * The budget of requests of {@code type}.
+     */
+    public Budget budget(McpOperationType type) {
+        return switch (type) {
+            case TOOL -> tools;
+            case RESOURCE -> resources;
+            case PROMPT -> prompts;
+        };
+    }
+
+    /**
+     * A token bucket.
+     *
+     * @param rate tokens added per second
+     * @param burst bucket capacity, i.e. requests a client may send at once after being idle
+     */
+    public record Budget(double rate, int burst) {
+
+        public Budget {
+            if (rate <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate limit budgets need a positive rate and a burst of at least 1");
+            }
+        }
+    }
+
+    /**
+     * Sources of the client identity of an HTTP request.
+     */
+    public enum ClientIdentity {
+
+        /**
+         * A fingerprint of the API key or {@code Authorization} header, trusted as sent;
+         * only for keys validated before the request reaches the server.
+         */
+        API_KEY,
+
+        /** The {@code Mcp-Session-Id} header. */
+        SESSION,
+
+        /** The remote IP address. */
+        REMOTE_ADDRESS
+    }
+}
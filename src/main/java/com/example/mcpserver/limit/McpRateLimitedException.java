@@ -0,0 +1,28 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+
+import java.util.Map;
+
+/**
+ * A request throttled by the {@link McpRateLimiter}. Sent to the client as a
+ * {@link McpJsonRpcException#RATE_LIMITED} error whose {@code data} marks it as
+ * retryable and says when to retry.
+ */
+public class McpRateLimitedException extends McpJsonRpcException {
+
+    private final McpRateLimiter.Decision decision;
+
+    public McpRateLimitedException(McpRateLimiter.Decision decision) {
+        super(RATE_LIMITED, "Rate limit exceeded for " + decision.type().tagValue() + " requests, retry later",
+            Map.of("retryable", true,
+                "retryAfterMs", Math.max(1, decision.retryAfter().toMillis()),
+                "limit", decision.limit(),
+                "operation", decision.type().tagValue()));
+        this.decision = decision;
+    }
+
+    public McpRateLimiter.Decision getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.pipeline.McpPipelineService;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token-bucket rate limiting of MCP tool calls, resource reads and prompt
+ * gets, each with its own budget.
+ *
+ * <p>Buckets follow the generic cell rate algorithm: instead of a token count and a
+ * refill timestamp, a bucket is a single {@code long}, the time at which it will be
+ * full again, advanced by compare-and-set. Taking a token needs no lock and no
+ * background refill; the same value yields how long a throttled client has to wait.
+ * Clients live in a {@link ClientBucketTable} of fixed size.
+ */
+public class McpRateLimiter {
+
+    private static final McpOperationType[] TYPES = McpOperationType.values();
+
+    private final ClientBucketTable clients;
+
+    /** Nanoseconds per token, by operation type. */
+    private final long[] intervals = new long[TYPES.length];
+
+    /** Nanoseconds a bucket takes to fill up, by operation type. */
+    private final long[] capacities = new long[TYPES.length];
+
+    private final int[] bursts = new int[TYPES.length];
+
+    private final LongAdder[] throttled = new LongAdder[TYPES.length];
+
+    private final LongSupplier clock;
+
+    private volatile BiConsumer<String, McpOperationType> throttleListener = (clientId, type) -> {
+    };
+
+    public McpRateLimiter(McpRateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    McpRateLimiter(McpRateLimitProperties properties, LongSupplier clock) {
+        this.clients = new ClientBucketTable(properties.maxClients(), properties.idleTimeout().toNanos());
+        this.clock = clock;
+        for (McpOperationType type : TYPES) {
+            McpRateLimitProperties.Budget budget = properties.budget(type);
+            int i = type.ordinal();
+            intervals[i] = Math.max(1, Math.round(1e9 / budget.rate()));
+            capacities[i] = intervals[i] * budget.burst();
+            bursts[i] = budget.burst();
+            throttled[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The rate-limited operation type of a JSON-RPC method, or {@code null} if the
+     * method is not rate limited.
+     */
+    @Nullable
+    public static McpOperationType operationType(@Nullable String method) {
+        if (method == null) {
+            return null;
+        }
+        return switch (method) {
+            case "tools/call" -> McpOperationType.TOOL;
+            case "resources/read" -> McpOperationType.RESOURCE;
+            case "prompts/get" -> McpOperationType.PROMPT;
+            default -> null;
+        };
+    }
+
+    /**
+     * The tokens a request of {@code type} with {@code params} takes: one, or one per
+     * step for a call of the pipeline tool, which runs a tool call per step.
+     */
+    public static int permits(McpOperationType type, JsonNode params) {
+        return type == McpOperationType.TOOL ? Math.max(1, McpPipelineService.steps(params)) : 1;
+    }
+
+    /**
+     * Take a token from the bucket of {@code clientId} for operations of {@code type}.
+     */
+    public Decision tryAcquire(String clientId, McpOperationType type) {
+        return tryAcquire(clientId, type, 1);
+    }
+
+    /**
+     * Take {@code permits} tokens at once from the bucket of {@code clientId} for
+     * operations of {@code type}, or none if there are fewer left. More permits than
+     * the burst take a full bucket, so that a large pipeline can still be admitted.
+     */
+    public Decision tryAcquire(String clientId, McpOperationType type, int permits) {
+        int i = type.ordinal();
+        long capacity = capacities[i];
+        long cost = Math.min(capacity, intervals[i] * Math.max(1, permits));
+        long now = clock.getAsLong();
+        AtomicLongArray arrival = clients.get(clientId, now).arrival;
+        while (true) {
+            long full = arrival.get(i);
+            long next = Math.max(full, now) - now + cost;
+            if (next > capacity) {
+                throttled[i].increment();
+                throttleListener.accept(clientId, type);
+                return new Decision(false, type, bursts[i], 0, Duration.ofNanos(next - capacity),
+                    Duration.ofNanos(next - cost));
+            }
+            if (arrival.compareAndSet(i, full, now + next)) {
+                return new Decision(true, type, bursts[i], (int) ((capacity - next) / intervals[i]), Duration.ZERO,
+                    Duration.ofNanos(next));
+            }
+        }
+    }
+
+    /**
+     * Clients that sent a rate-limited request within the idle timeout.
+     */
+    public int activeClients() {
+        return clients.activeClients(clock.getAsLong());
+    }
+
+    /**
+     * Clients forgotten while still active because too many clients were tracked.
+     */
+    public long evictedClients() {
+        return clients.evictions();
+    }
+
+    /**
+     * Requests of {@code type} throttled so far.
+     */
+    public long throttled(McpOperationType type) {
+        return throttled[type.ordinal()].sum();
+    }
+
+    /**
+     * Be told about every throttled request, with the client and operation type.
+     */
+    public void onThrottled(BiConsumer<String, McpOperationType> listener) {
+        this.throttleListener = listener;
+    }
+
+    /**
+     * The outcome of {@link #tryAcquire}, with the values of the {@code RateLimit}
+     * response headers.
+     *
+     * @param allowed whether the request may proceed
+     * @param type the operation type whose bucket was used
+     * @param limit the bucket capacity
+     * @param remaining tokens left in the bucket
+     * @param retryAfter how long until the next token, if throttled
+     * @param reset how long until the bucket is full again
+     */
+    public record Decision(boolean allowed, McpOperationType type, int limit, int remaining, Duration retryAfter,
+            Duration reset) {
+    }
+}
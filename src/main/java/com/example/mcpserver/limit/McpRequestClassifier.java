@@ -0,0 +1,33 @@
+package com.example.mcpserver.limit;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Assigns MCP requests to {@link McpLane lanes}: by tool name for
+ * {@code tools/call} if the tool is configured, otherwise by JSON-RPC method,
+ * falling back to {@link McpLane#DEFAULT}.
+ */
+public class McpRequestClassifier {
+
+    private final McpPriorityProperties properties;
+
+    public McpRequestClassifier(McpPriorityProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * The lane of a request to {@code method}; {@code name} is the tool name of a tool call.
+     */
+    public McpLane classify(@Nullable String method, @Nullable String name) {
+        if (method == null) {
+            return McpLane.DEFAULT;
+        }
+        if (name != null && "tools/call".equals(method)) {
+            McpLane lane = properties.tools().get(name);
+            if (lane != null) {
+                return lane;
+            }
+        }
+        return properties.methods().getOrDefault(method, McpLane.DEFAULT);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Reads the JSON-RPC message posted to {@code /mcp} once for the tracing, admission
+ * and idempotency filters. The body is buffered and replayed to the MCP server, and the
+ * parsed message is kept as an exchange attribute, so that later filters neither
+ * re-read nor re-parse it. Rejected requests are answered with a JSON-RPC error
+ * through {@link #reject}.
+ */
+public final class McpRequestMessages {
+
+    private static final String ATTRIBUTE = McpRequestMessages.class.getName() + ".message";
+
+    private McpRequestMessages() {
+    }
+
+    public static boolean isMcpPost(ServerHttpRequest request) {
+        return request.getMethod() == HttpMethod.POST && "/mcp".equals(request.getPath().pathWithinApplication().value());
+    }
+
+    /**
+     * An exchange whose request body can be read again, with the parsed message
+     * available through {@link #message}. A body larger than {@code maxPayloadSize}
+     * fails with {@code 413 Payload Too Large}.
+     */
+    public static Mono<ServerWebExchange> read(ServerWebExchange exchange, ObjectMapper objectMapper,
+            int maxPayloadSize) {
+        if (exchange.getAttribute(ATTRIBUTE) != null) {
+            return Mono.just(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        return DataBufferUtils.join(request.getBody(), maxPayloadSize)
+            .onErrorMap(DataBufferLimitException.class, ex -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request body exceeds " + maxPayloadSize + " bytes", ex))
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                return bytes;
+            })
+            .defaultIfEmpty(new byte[0])
+            .map(body -> {
+                ServerWebExchange buffered = exchange.mutate().request(new BufferedRequest(request, body)).build();
+                buffered.getAttributes().put(ATTRIBUTE, parse(objectMapper, body));
+                return buffered;
+            });
+    }
+
+    /**
+     * The message read by {@link #read}; a {@code NullNode} if the body was empty or
+     * not JSON.
+     */
+    public static JsonNode message(ServerWebExchange exchange) {
+        return exchange.getAttributeOrDefault(ATTRIBUTE, NullNode.getInstance());
+    }
+
+    /**
+     * Whether the message is a notification or a response, which are never limited.
+     */
+    static boolean isNotificationOrResponse(JsonNode message) {
+        return message.isObject() && (!message.has("id") || !message.has("method"));
+    }
+
+    /**
+     * Answer the request with {@code status}, a {@code Retry-After} header and a JSON-RPC
+     * error carrying the request id.
+     */
+    static Mono<Void> reject(ServerWebExchange exchange, ObjectMapper objectMapper, JsonNode id,
+            McpJsonRpcException ex, HttpStatus status, Duration retryAfter) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(retryAfter)));
+        return error(exchange, objectMapper, id, ex, status);
+    }
+
+    /**
+     * Answer the request with {@code status} and a JSON-RPC error carrying the request id.
+     */
+    public static Mono<Void> error(ServerWebExchange exchange, ObjectMapper objectMapper, JsonNode id,
+            McpJsonRpcException ex, HttpStatus status) {
+        ObjectNode error = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        error.set("id", id.isMissingNode() ? NullNode.getInstance() : id);
+        error.putObject("error")
+            .put("code", ex.getCode())
+            .put("message", ex.getMessage())
+            .set("data", objectMapper.valueToTree(ex.getData()));
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(objectMapper.writeValueAsBytes(error))));
+        }
+        catch (IOException writeFailure) {
+            return Mono.error(writeFailure);
+        }
+    }
+
+    /**
+     * Whole seconds, rounded up, as used by {@code Retry-After} and the {@code RateLimit}
+     * headers.
+     */
+    static long seconds(Duration duration) {
+        return Math.max(1, (duration.toMillis() + 999) / 1000);
+    }
+
+    private static JsonNode parse(ObjectMapper objectMapper, byte[] body) {
+        try {
+            JsonNode message = body.length > 0 ? objectMapper.readTree(body) : null;
+            return message != null ? message : NullNode.getInstance();
+        }
+        catch (IOException ex) {
+            // invalid JSON is reported by the MCP server
+            return NullNode.getInstance();
+        }
+    }
+
+    /**
+     * Request whose body has already been read into memory.
+     */
+    private static class BufferedRequest extends ServerHttpRequestDecorator {
+
+        private final byte[] body;
+
+        BufferedRequest(ServerHttpRequest delegate, byte[] body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body));
+        }
+    }
+}
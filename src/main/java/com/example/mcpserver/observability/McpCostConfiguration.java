@@ -0,0 +1,24 @@
+package com.example.mcpserver.observability;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Per-call CPU time and allocation accounting of MCP tool, resource and prompt
+ * calls, published as {@code resource://system/cost}.
+ * Disable with {@code mcp.cost.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.cost", name = "enabled", matchIfMissing = true)
+public class McpCostConfiguration {
+
+    /** Innermost, so that only the method itself is measured. */
+    static final int ORDER = 10;
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpCostPostProcessor(ObjectProvider<McpCostTracker> tracker) {
+        return new McpOperationAdvisingPostProcessor(new McpCostInterceptor(tracker), ORDER);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpOperation;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the CPU time and the bytes allocated by the calling thread during each
+ * MCP method call and adds them to the {@link McpCostTracker}.
+ *
+ * <p>Thread CPU time and allocation counters are per platform thread. On a virtual
+ * thread the JVM reports them as unavailable ({@code -1}), and since a virtual
+ * thread can move between carriers the carrier's counters would be wrong anyway;
+ * such calls are counted as unmeasured instead of being attributed incorrectly.
+ *
+ * <p>For methods returning a {@code Mono}, {@code Flux} or {@code CompletableFuture}
+ * only the work done before the method returns is measured; the work completing the
+ * result runs on other threads and is not attributed.
+ */
+public class McpCostInterceptor implements MethodInterceptor {
+
+    private final McpOperationResolver operations = new McpOperationResolver();
+
+    private final ObjectProvider<McpCostTracker> trackerProvider;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private volatile McpCostTracker tracker;
+
+    public McpCostInterceptor(ObjectProvider<McpCostTracker> trackerProvider) {
+        this.trackerProvider = trackerProvider;
+        if (threads.isCurrentThreadCpuTimeSupported() && !threads.isThreadCpuTimeEnabled()) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+        if (threads instanceof com.sun.management.ThreadMXBean extended && extended.isThreadAllocatedMemorySupported()) {
+            if (!extended.isThreadAllocatedMemoryEnabled()) {
+                extended.setThreadAllocatedMemoryEnabled(true);
+            }
+            this.allocations = extended;
+        }
+        else {
+            this.allocations = null;
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        McpOperation operation = operations.resolve(invocation);
+        if (operation == null) {
+            return invocation.proceed();
+        }
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        long allocatedStart = allocatedBytes();
+        try {
+            return invocation.proceed();
+        }
+        finally {
+            long cpuEnd = threads.getCurrentThreadCpuTime();
+            long allocatedEnd = allocatedBytes();
+            if (cpuStart < 0 || cpuEnd < 0 || allocatedStart < 0 || allocatedEnd < 0) {
+                tracker().recordUnmeasured(operation);
+            }
+            else {
+                tracker().record(operation, cpuEnd - cpuStart, allocatedEnd - allocatedStart);
+            }
+        }
+    }
+
+    private long allocatedBytes() {
+        return allocations != null ? allocations.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private McpCostTracker tracker() {
+        McpCostTracker current = tracker;
+        if (current == null) {
+            current = trackerProvider.getObject();
+            tracker = current;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.mcpserver.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for per-call CPU time and allocation accounting.
+ *
+ * @param enabled whether MCP method calls are measured
+ * @param top number of operations listed in each ranking of {@code resource://system/cost}
+ */
+@ConfigurationProperties(prefix = "mcp.cost")
+public record McpCostProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10") int top) {
+}
@@ -0,0 +1,112 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Aggregates the CPU time and allocated bytes of MCP method calls per operation.
+ *
+ * <p>Totals are kept in {@link LongAdder}s, which stripe updates across cells under
+ * contention, so concurrent calls of the same tool never contend on a lock or a
+ * single CAS location. Reading a report sums the cells and is not atomic across
+ * counters, which is fine for rankings.
+ */
+@Component
+public class McpCostTracker {
+
+    private final Map<McpOperation, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+    private final McpCostProperties properties;
+
+    private final Instant since = Instant.now();
+
+    public McpCostTracker(McpCostProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Add one measured call.
+     */
+    public void record(McpOperation operation, long cpuTimeNanos, long allocatedBytes) {
+        Accumulator accumulator = accumulator(operation);
+        accumulator.calls.increment();
+        accumulator.cpuTimeNanos.add(cpuTimeNanos);
+        accumulator.allocatedBytes.add(allocatedBytes);
+    }
+
+    /**
+     * Add one call whose cost could not be measured, e.g. one that ran on a virtual
+     * thread, for which the JVM does not report thread CPU time.
+     */
+    public void recordUnmeasured(McpOperation operation) {
+        accumulator(operation).unmeasuredCalls.increment();
+    }
+
+    private Accumulator accumulator(McpOperation operation) {
+        Accumulator accumulator = accumulators.get(operation);
+        return accumulator != null ? accumulator : accumulators.computeIfAbsent(operation, key -> new Accumulator());
+    }
+
+    /**
+     * Current totals, with the most expensive operations by CPU time and by allocation.
+     */
+    public CostReport report() {
+        List<OperationCost> costs = accumulators.entrySet().stream()
+            .map(entry -> entry.getValue().snapshot(entry.getKey()))
+            .toList();
+        return new CostReport(since.toString(),
+            top(costs, OperationCost::cpuTimeNanos),
+            top(costs, OperationCost::allocatedBytes));
+    }
+
+    private List<OperationCost> top(List<OperationCost> costs, ToLongFunction<OperationCost> key) {
+        return costs.stream()
+            .sorted(Comparator.comparingLong(key).reversed())
+            .limit(properties.top())
+            .toList();
+    }
+
+    /**
+     * Published as {@code resource://system/cost}.
+     *
+     * @param since when accounting started
+     * @param topByCpuTime operations with the highest total CPU time
+     * @param topByAllocatedBytes operations with the highest total allocation
+     */
+    public record CostReport(String since, List<OperationCost> topByCpuTime, List<OperationCost> topByAllocatedBytes) {
+    }
+
+    /**
+     * Totals of one operation.
+     */
+    public record OperationCost(String type, String name, long calls, long unmeasuredCalls,
+            long cpuTimeNanos, long allocatedBytes, long avgCpuTimeNanos, long avgAllocatedBytes) {
+    }
+
+    private static final class Accumulator {
+
+        private final LongAdder calls = new LongAdder();
+
+        private final LongAdder unmeasuredCalls = new LongAdder();
+
+        private final LongAdder cpuTimeNanos = new LongAdder();
+
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        OperationCost snapshot(McpOperation operation) {
+            long callCount = calls.sum();
+            long cpu = cpuTimeNanos.sum();
+            long allocated = allocatedBytes.sum();
+            return new OperationCost(operation.type().tagValue(), operation.name(), callCount, unmeasuredCalls.sum(),
+                cpu, allocated, callCount > 0 ? cpu / callCount : 0, callCount > 0 ? allocated / callCount : 0);
+        }
+    }
+}
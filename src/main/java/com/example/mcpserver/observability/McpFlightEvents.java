@@ -0,0 +1,149 @@
+package com.example.mcpserver.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+
+/**
+ * JDK Flight Recorder events for the lifecycle of an MCP request: receive, decode,
+ * dispatch, method execution, serialize and write.
+ *
+ * <p>All events are disabled unless a recording enables them explicitly (see
+ * {@link McpFlightRecorderEndpoint}). Call sites check {@link Event#isEnabled()}
+ * before filling in fields, so a disabled event costs no more than the check,
+ * which the JIT folds away.
+ */
+public final class McpFlightEvents {
+
+    /** Name prefix of all MCP events. */
+    public static final String PREFIX = "com.example.mcp.";
+
+    private McpFlightEvents() {
+    }
+
+    /**
+     * The event types, for enabling them in a recording.
+     */
+    public static List<Class<? extends Event>> types() {
+        return List.of(Receive.class, Decode.class, Dispatch.class, Execute.class, Serialize.class, Write.class);
+    }
+
+    /**
+     * Record an instant {@link Receive} event for a message of {@code bytes} bytes.
+     */
+    public static void received(String transport, String sessionId, long bytes) {
+        Receive event = new Receive();
+        if (event.isEnabled()) {
+            event.transport = transport;
+            event.sessionId = sessionId;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /**
+     * Commit a begun {@link Decode}, {@link Serialize} or {@link Write} event if the
+     * recording wants it, filling in the common fields first.
+     */
+    public static void commit(McpEvent event, String transport, String sessionId) {
+        if (event.shouldCommit()) {
+            event.transport = transport;
+            event.sessionId = sessionId;
+            event.commit();
+        }
+    }
+
+    @Category("MCP")
+    @Enabled(false)
+    @StackTrace(false)
+    public abstract static class McpEvent extends Event {
+
+        @Label("Transport")
+        public String transport;
+
+        @Label("Session Id")
+        public String sessionId;
+    }
+
+    @Name(PREFIX + "Receive")
+    @Label("MCP Receive")
+    @Description("A JSON-RPC message was received")
+    public static class Receive extends McpEvent {
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name(PREFIX + "Decode")
+    @Label("MCP Decode")
+    @Description("A JSON-RPC message was parsed")
+    public static class Decode extends McpEvent {
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name(PREFIX + "Dispatch")
+    @Label("MCP Dispatch")
+    @Description("A JSON-RPC request was handled, from dispatch to response")
+    public static class Dispatch extends McpEvent {
+
+        @Label("Method")
+        public String method;
+
+        @Label("Name")
+        @Description("Tool or prompt name, or resource URI")
+        public String name;
+    }
+
+    @Name(PREFIX + "Execute")
+    @Label("MCP Execute")
+    @Description("An annotated tool, resource or prompt method was executed")
+    public static class Execute extends McpEvent {
+
+        @Label("Type")
+        public String type;
+
+        @Label("Name")
+        public String name;
+
+        @Label("Response Size")
+        @Description("Characters of a text response")
+        public long responseSize;
+
+        @Label("Error")
+        public String error;
+    }
+
+    @Name(PREFIX + "Serialize")
+    @Label("MCP Serialize")
+    @Description("A JSON-RPC response was serialized")
+    public static class Serialize extends McpEvent {
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name(PREFIX + "Write")
+    @Label("MCP Write")
+    @Description("Responses were written to the transport")
+    public static class Write extends McpEvent {
+
+        @Label("Size")
+        @DataAmount
+        public long bytes;
+
+        @Label("Messages")
+        public int messages;
+    }
+}
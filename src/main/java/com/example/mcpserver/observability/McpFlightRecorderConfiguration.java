@@ -0,0 +1,41 @@
+package com.example.mcpserver.observability;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Flight Recorder instrumentation of MCP requests. The events themselves are off
+ * until a recording enables them, e.g. through the {@code jfr} actuator endpoint.
+ * Remove the instrumentation entirely with {@code mcp.jfr.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.jfr", name = "enabled", matchIfMissing = true)
+public class McpFlightRecorderConfiguration {
+
+    /** Inside the metrics advice, outside cost accounting. */
+    static final int ORDER = 20;
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpFlightRecorderPostProcessor() {
+        return new McpOperationAdvisingPostProcessor(new McpFlightRecorderInterceptor(), ORDER);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public McpFlightRecorderFilter mcpFlightRecorderFilter() {
+        return new McpFlightRecorderFilter();
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public McpFlightRecorderEndpoint mcpFlightRecorderEndpoint(
+            @Value("${mcp.jfr.dump-file:${java.io.tmpdir}/mcp-recording.jfr}") Path dumpFile) {
+        return new McpFlightRecorderEndpoint(dumpFile);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.mcpserver.observability;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/jfr}) that starts a Flight Recorder recording
+ * with the MCP events enabled and dumps it on demand:
+ * <ul>
+ * <li>{@code POST /actuator/jfr} starts a recording, optionally with {@code settings}
+ * ({@code default} or {@code profile}), {@code maxAge} and {@code maxSize}</li>
+ * <li>{@code GET /actuator/jfr} describes the current recording</li>
+ * <li>{@code GET /actuator/jfr/dump} downloads what has been recorded so far</li>
+ * <li>{@code DELETE /actuator/jfr} stops and discards the recording</li>
+ * </ul>
+ */
+@Endpoint(id = "jfr")
+public class McpFlightRecorderEndpoint {
+
+    private static final String RECORDING_NAME = "mcp";
+
+    private final Path dumpFile;
+
+    @Nullable
+    private Recording recording;
+
+    public McpFlightRecorderEndpoint(Path dumpFile) {
+        this.dumpFile = dumpFile;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        return describe();
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable String settings, @Nullable Duration maxAge,
+            @Nullable Long maxSize) {
+        close();
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        }
+        catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Unknown JFR settings '" + settings + "'", ex);
+        }
+        Recording newRecording = new Recording(configuration);
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge != null ? maxAge : Duration.ofMinutes(10));
+        newRecording.setMaxSize(maxSize != null ? maxSize : 64L * 1024 * 1024);
+        for (Class<? extends Event> type : McpFlightEvents.types()) {
+            newRecording.enable(type).withoutThreshold();
+        }
+        newRecording.start();
+        recording = newRecording;
+        return describe();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    @Nullable
+    public synchronized Resource dump(@Selector String action) {
+        if (!"dump".equals(action) || recording == null || recording.getState() != RecordingState.RUNNING) {
+            return null;
+        }
+        try {
+            Files.createDirectories(dumpFile.toAbsolutePath().getParent());
+            recording.dump(dumpFile);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException("Could not dump JFR recording", ex);
+        }
+        return new FileSystemResource(dumpFile);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        close();
+        return describe();
+    }
+
+    private void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : RecordingState.CLOSED.name());
+        if (recording != null) {
+            status.put("id", recording.getId());
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", recording.getMaxAge());
+            status.put("maxSize", recording.getMaxSize());
+            status.put("events", McpFlightEvents.types().stream().map(type -> EventType.getEventType(type).getName()).toList());
+        }
+        return status;
+    }
+}
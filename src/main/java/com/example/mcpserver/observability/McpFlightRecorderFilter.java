@@ -0,0 +1,82 @@
+package com.example.mcpserver.observability;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Emits {@link McpFlightEvents.Receive} and {@link McpFlightEvents.Write} events for
+ * the Streamable HTTP transport on {@code /mcp}. Decoding, dispatch and
+ * serialization happen inside the Spring AI server there; method execution is
+ * covered by {@link McpFlightRecorderInterceptor}.
+ */
+public class McpFlightRecorderFilter implements WebFilter, Ordered {
+
+    /** Outermost filter, so the written size includes compression. */
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    private static final String TRANSPORT = "http";
+
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        McpFlightEvents.Receive receive = new McpFlightEvents.Receive();
+        if (!receive.isEnabled() || !"/mcp".equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        String sessionId = request.getHeaders().getFirst(SESSION_HEADER);
+        if (sessionId == null) {
+            sessionId = request.getId();
+        }
+        receive.transport = TRANSPORT;
+        receive.sessionId = sessionId;
+        receive.bytes = Math.max(0, request.getHeaders().getContentLength());
+        receive.commit();
+
+        return chain.filter(exchange.mutate()
+            .response(new RecordingResponse(exchange.getResponse(), sessionId))
+            .build());
+    }
+
+    /**
+     * Response recording one write event for the whole body.
+     */
+    private static class RecordingResponse extends ServerHttpResponseDecorator {
+
+        private final String sessionId;
+
+        RecordingResponse(ServerHttpResponse delegate, String sessionId) {
+            super(delegate);
+            this.sessionId = sessionId;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            McpFlightEvents.Write event = new McpFlightEvents.Write();
+            event.transport = TRANSPORT;
+            event.sessionId = sessionId;
+            return super.writeWith(Flux.from(body)
+                    .doOnSubscribe(subscription -> event.begin())
+                    .doOnNext(buffer -> {
+                        event.bytes += buffer.readableByteCount();
+                        event.messages++;
+                    }))
+                .doFinally(signal -> event.commit());
+        }
+    }
+}
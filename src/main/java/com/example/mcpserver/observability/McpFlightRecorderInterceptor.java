@@ -0,0 +1,58 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpCallContext;
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpOperation;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.lang.Nullable;
+
+/**
+ * Emits an {@link McpFlightEvents.Execute} event around every MCP method call while
+ * a recording has the event enabled. For methods returning a {@code Mono},
+ * {@code Flux} or {@code CompletableFuture} the event lasts until the result completes.
+ */
+public class McpFlightRecorderInterceptor implements MethodInterceptor {
+
+    private final McpOperationResolver operations = new McpOperationResolver();
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        McpFlightEvents.Execute event = new McpFlightEvents.Execute();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        McpOperation operation = operations.resolve(invocation);
+        event.type = operation != null ? operation.type().tagValue() : null;
+        event.name = operation != null ? operation.name() : invocation.getMethod().getName();
+        McpCallContext context = McpCallContext.current();
+        if (context != null) {
+            event.transport = context.transport();
+            event.sessionId = context.sessionId();
+        }
+        event.begin();
+        Object result;
+        try {
+            result = invocation.proceed();
+        }
+        catch (Throwable ex) {
+            commit(event, null, ex);
+            throw ex;
+        }
+        if (McpAsyncResults.isAsync(result)) {
+            return McpAsyncResults.whenComplete(result, (value, error) -> commit(event, value, error));
+        }
+        commit(event, result, null);
+        return result;
+    }
+
+    private static void commit(McpFlightEvents.Execute event, @Nullable Object result, @Nullable Throwable ex) {
+        if (result instanceof CharSequence text) {
+            event.responseSize = text.length();
+        }
+        if (ex != null) {
+            event.error = ex.getClass().getName();
+        }
+        event.commit();
+    }
+}
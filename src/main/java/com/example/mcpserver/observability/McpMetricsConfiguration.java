@@ -0,0 +1,33 @@
+package com.example.mcpserver.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Micrometer instrumentation of MCP tool, resource and prompt calls.
+ * Disable with {@code mcp.metrics.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.metrics", name = "enabled", matchIfMissing = true)
+public class McpMetricsConfiguration {
+
+    /** Around the Flight Recorder and cost accounting advice. */
+    static final int ORDER = 30;
+
+    /** Upper bound on distinct operation names, in case names are ever derived from request data. */
+    private static final int MAX_OPERATION_NAMES = 500;
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new McpOperationAdvisingPostProcessor(new McpMetricsInterceptor(meterRegistry), ORDER);
+    }
+
+    @Bean
+    public MeterFilter mcpOperationNameLimit() {
+        return MeterFilter.maximumAllowableTags("mcp.operation", "name", MAX_OPERATION_NAMES, MeterFilter.deny());
+    }
+}
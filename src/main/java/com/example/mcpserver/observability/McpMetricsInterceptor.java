@@ -0,0 +1,146 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpOperation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records a timer, an error counter and a response size distribution for every MCP
+ * method call, tagged with the operation type and name.
+ *
+ * <p>Meters are resolved once per method and cached, so a call only costs two
+ * {@code nanoTime} reads, a map lookup and the meter updates. Resource meters are
+ * tagged with the declared URI template, never with the requested URI. Methods
+ * returning a {@code Mono}, {@code Flux} or {@code CompletableFuture} are timed until
+ * the result completes.
+ */
+public class McpMetricsInterceptor implements MethodInterceptor {
+
+    /** Timer of MCP method calls, tagged {@code type}, {@code name} and {@code outcome}. */
+    public static final String CALLS = "mcp.operation";
+
+    /** Counter of failed MCP method calls, tagged {@code type}, {@code name} and {@code exception}. */
+    public static final String ERRORS = "mcp.operation.errors";
+
+    /** Distribution of text response sizes in characters, tagged {@code type} and {@code name}. */
+    public static final String RESPONSE_SIZE = "mcp.operation.response.size";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final Map<Method, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    private volatile MeterRegistry meterRegistry;
+
+    public McpMetricsInterceptor(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        OperationMeters operationMeters = meters(invocation);
+        if (operationMeters == null) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        }
+        catch (Throwable ex) {
+            record(operationMeters, start, null, ex);
+            throw ex;
+        }
+        if (McpAsyncResults.isAsync(result)) {
+            return McpAsyncResults.whenComplete(result, (value, error) -> record(operationMeters, start, value, error));
+        }
+        record(operationMeters, start, result, null);
+        return result;
+    }
+
+    private void record(OperationMeters operationMeters, long start, @Nullable Object result, @Nullable Throwable ex) {
+        long duration = System.nanoTime() - start;
+        if (ex == null) {
+            operationMeters.success.record(duration, TimeUnit.NANOSECONDS);
+            if (result instanceof CharSequence text) {
+                operationMeters.responseSize.record(text.length());
+            }
+            return;
+        }
+        operationMeters.failure.record(duration, TimeUnit.NANOSECONDS);
+        Counter.builder(ERRORS)
+            .tags(operationMeters.tags)
+            .tag("exception", ex.getClass().getSimpleName())
+            .register(registry())
+            .increment();
+    }
+
+    private OperationMeters meters(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        OperationMeters operationMeters = meters.get(method);
+        if (operationMeters != null) {
+            return operationMeters;
+        }
+        Object target = invocation.getThis();
+        McpOperation operation = McpOperation.of(target != null
+            ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method);
+        if (operation == null) {
+            return null;
+        }
+        return meters.computeIfAbsent(method, key -> new OperationMeters(registry(), operation));
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            registry = meterRegistryProvider.getObject();
+            meterRegistry = registry;
+        }
+        return registry;
+    }
+
+    private static final class OperationMeters {
+
+        private final Tags tags;
+
+        private final Timer success;
+
+        private final Timer failure;
+
+        private final DistributionSummary responseSize;
+
+        OperationMeters(MeterRegistry registry, McpOperation operation) {
+            this.tags = Tags.of("type", operation.type().tagValue(), "name", operation.name());
+            this.success = timer(registry, "success");
+            this.failure = timer(registry, "error");
+            this.responseSize = DistributionSummary.builder(RESPONSE_SIZE)
+                .description("Size of text responses of MCP methods")
+                .baseUnit("characters")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+
+        private Timer timer(MeterRegistry registry, String outcome) {
+            return Timer.builder(CALLS)
+                .description("Execution time of MCP tool, resource and prompt methods")
+                .tags(tags)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mcpserver.observability;
+
+import org.aopalliance.aop.Advice;
+import org.springframework.ai.mcp.server.McpPrompt;
+import org.springframework.ai.mcp.server.McpResource;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+
+/**
+ * Applies an advice to every {@code @McpTool}, {@code @McpResource} and
+ * {@code @McpPrompt} method, whichever transport invokes it (the Spring AI server,
+ * WebSocket or stdio).
+ */
+public class McpOperationAdvisingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    /** Matches the annotated MCP methods. */
+    public static final Pointcut MCP_METHODS = new ComposablePointcut(AnnotationMatchingPointcut.forMethodAnnotation(McpTool.class))
+        .union(AnnotationMatchingPointcut.forMethodAnnotation(McpResource.class))
+        .union(AnnotationMatchingPointcut.forMethodAnnotation(McpPrompt.class));
+
+    /**
+     * Create a post-processor for {@code advice}. Post-processors run in ascending
+     * {@code order} and each one wraps the advice added before, so a higher order
+     * means an outer advice: cost accounting sits closest to the method, then the
+     * result cache, request coalescing, Flight Recorder events and metrics, and the
+     * tracing span around everything else.
+     */
+    public McpOperationAdvisingPostProcessor(Advice advice, int order) {
+        this.advisor = new DefaultPointcutAdvisor(MCP_METHODS, advice);
+        // the advice is added to an existing proxy rather than creating a second one
+        setBeforeExistingAdvisors(true);
+        setOrder(order);
+    }
+}
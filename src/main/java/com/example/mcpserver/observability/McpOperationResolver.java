@@ -0,0 +1,34 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpOperation;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves and caches the {@link McpOperation} of intercepted methods, so that
+ * interceptors only pay for annotation lookup on the first call of each method.
+ */
+class McpOperationResolver {
+
+    private final Map<Method, McpOperation> operations = new ConcurrentHashMap<>();
+
+    @Nullable
+    McpOperation resolve(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        McpOperation operation = operations.get(method);
+        if (operation == null) {
+            Object target = invocation.getThis();
+            operation = McpOperation.of(target != null
+                ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method);
+            if (operation != null) {
+                operations.put(method, operation);
+            }
+        }
+        return operation;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mcpserver.pipeline;
+
+/**
+ * A pipeline step failed, so the pipeline stopped.
+ */
+public class McpPipelineException extends RuntimeException {
+
+    private final String stepId;
+
+    public McpPipelineException(String stepId, String tool, Throwable cause) {
+        super(String.format("Step '%s' (%s) failed: %s", stepId, tool, cause.getMessage()), cause);
+        this.stepId = stepId;
+    }
+
+    /**
+     * The id of the step that failed.
+     */
+    public String getStepId() {
+        return stepId;
+    }
+}
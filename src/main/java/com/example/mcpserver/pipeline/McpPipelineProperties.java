@@ -0,0 +1,22 @@
+package com.example.mcpserver.pipeline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@code pipeline} tool.
+ *
+ * @param enabled whether the {@code pipeline} tool is registered
+ * @param maxSteps most steps a single pipeline may have
+ * @param threads threads running pipeline steps, shared by all pipelines
+ * @param timeout how long a pipeline may run before it fails
+ */
+@ConfigurationProperties(prefix = "mcp.pipeline")
+public record McpPipelineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("32") int maxSteps,
+        @DefaultValue("8") int threads,
+        @DefaultValue("30s") Duration timeout) {
+}
@@ -0,0 +1,257 @@
+package com.example.mcpserver.pipeline;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.limit.McpConcurrencyLimiter;
+import com.example.mcpserver.limit.McpLane;
+import com.example.mcpserver.limit.McpOverloadedException;
+import com.example.mcpserver.limit.McpRequestClassifier;
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpMethod;
+import com.example.mcpserver.rpc.McpMethodRegistry;
+import com.example.mcpserver.tracing.McpSpan;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * MCP tool running several tool calls in one request.
+ *
+ * <p>A pipeline is a list of steps, each calling an {@code @McpTool} by name. An
+ * argument {@code {"$ref": "<id>"}} passes the result of an earlier step, which makes
+ * the steps a DAG: a step starts as soon as the steps it refers to have completed, so
+ * independent branches run in parallel. The first failing step fails the pipeline and
+ * cancels the steps still running.
+ *
+ * <p>Steps call the tools through their beans, so metrics, tracing, cost accounting
+ * and caching apply to each step as to a call made by a client. Limits apply to the
+ * steps too: the rate limiters charge a pipeline request one tool call per step (see
+ * {@link #steps}), and each step waits for a permit of the concurrency limiter in its
+ * own lane, while the pipeline request itself holds none.
+ *
+ * <p>A step returning text passes it on as text: a {@code $ref} to it is the string
+ * the tool returned, and as the last step it is the pipeline's result as is.
+ */
+@Service
+@ConditionalOnProperty(prefix = "mcp.pipeline", name = "enabled", matchIfMissing = true)
+public class McpPipelineService implements DisposableBean {
+
+    static final String NAME = "pipeline";
+
+    private static final String TOOLS_CALL = "tools/call";
+
+    private final McpMethodRegistry registry;
+
+    private final ObjectMapper objectMapper;
+
+    private final McpPipelineProperties properties;
+
+    @Nullable
+    private final McpConcurrencyLimiter limiter;
+
+    @Nullable
+    private final McpRequestClassifier classifier;
+
+    private final Scheduler scheduler;
+
+    public McpPipelineService(McpMethodRegistry registry, McpJsonMapper jsonMapper, McpPipelineProperties properties,
+            ObjectProvider<McpConcurrencyLimiter> limiter, ObjectProvider<McpRequestClassifier> classifier) {
+        this.registry = registry;
+        this.objectMapper = jsonMapper.mapper();
+        this.properties = properties;
+        this.limiter = limiter.getIfAvailable();
+        this.classifier = classifier.getIfAvailable();
+        this.scheduler = Schedulers.newBoundedElastic(properties.threads(), Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+            "mcp-pipeline");
+    }
+
+    @McpTool(name = NAME, description = "Run several tool calls in one request. An argument {\"$ref\": \"<step id>\"} "
+        + "passes the result of an earlier step; steps that do not depend on each other run in parallel, and the "
+        + "first failing step stops the pipeline.")
+    public Mono<Object> pipeline(
+            @McpToolParam(description = "Steps to run, each an object with an 'id', a 'tool' name and 'arguments'", required = true) List<PipelineStep> steps,
+            @McpToolParam(description = "'final' for the result of the last step (default), 'all' for the results of every step by id", required = false) String output) {
+
+        boolean all = all(output);
+        Map<String, McpMethod> tools = validate(steps);
+        McpSpan parent = McpSpan.current();
+
+        Map<String, Mono<JsonNode>> results = new LinkedHashMap<>();
+        for (PipelineStep step : steps) {
+            results.put(step.id(), step(step, tools.get(step.id()), results, parent).cache());
+        }
+
+        return Flux.fromIterable(results.entrySet())
+            .flatMapSequential(entry -> entry.getValue().map(value -> Map.entry(entry.getKey(), value)), results.size())
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+            .timeout(properties.timeout())
+            .onErrorMap(TimeoutException.class, ex -> new IllegalStateException(
+                String.format("Pipeline did not complete within %s", properties.timeout())))
+            .map(values -> {
+                if (!all) {
+                    // a text result is returned as is, not as a quoted JSON string
+                    JsonNode last = values.get(steps.get(steps.size() - 1).id());
+                    return last.isTextual() ? last.textValue() : last;
+                }
+                ObjectNode result = objectMapper.createObjectNode();
+                values.forEach(result::set);
+                return result;
+            });
+    }
+
+    /**
+     * The number of steps of a {@code tools/call} of the pipeline tool with
+     * {@code params}, or zero if it calls another tool. The rate limiters charge a
+     * pipeline as this many tool calls.
+     */
+    public static int steps(JsonNode params) {
+        if (!NAME.equals(params.path("name").asText(null))) {
+            return 0;
+        }
+        JsonNode steps = params.path("arguments").path("steps");
+        return steps.isArray() ? steps.size() : 0;
+    }
+
+    /**
+     * The result of {@code step}, once the results it refers to are available.
+     */
+    private Mono<JsonNode> step(PipelineStep step, McpMethod tool, Map<String, Mono<JsonNode>> results,
+            @Nullable McpSpan parent) {
+        Map<String, JsonNode> arguments = step.arguments() != null ? step.arguments() : Map.of();
+        List<String> names = new ArrayList<>();
+        List<Mono<JsonNode>> references = new ArrayList<>();
+        arguments.forEach((name, argument) -> {
+            String reference = PipelineStep.reference(argument);
+            if (reference != null) {
+                names.add(name);
+                references.add(results.get(reference));
+            }
+        });
+        Mono<Map<String, JsonNode>> resolved = references.isEmpty() ? Mono.just(arguments)
+            : Mono.zip(references, values -> {
+                Map<String, JsonNode> resolvedArguments = new HashMap<>(arguments);
+                for (int i = 0; i < values.length; i++) {
+                    resolvedArguments.put(names.get(i), (JsonNode) values[i]);
+                }
+                return resolvedArguments;
+            });
+        McpLane lane = classifier != null ? classifier.classify(TOOLS_CALL, step.tool()) : McpLane.DEFAULT;
+        return resolved.flatMap(values -> {
+            Mono<JsonNode> invocation = Mono.fromCallable(() -> invoke(tool, values, parent))
+                .subscribeOn(scheduler)
+                .flatMap(this::resolve);
+            return (limiter != null ? limiter.limit(TOOLS_CALL, lane, invocation) : invocation)
+                // a shed step sheds the pipeline, as it would a tool call of the client
+                .onErrorMap(ex -> !(ex instanceof McpOverloadedException),
+                    ex -> new McpPipelineException(step.id(), step.tool(), ex));
+        });
+    }
+
+    private Object invoke(McpMethod tool, Map<String, JsonNode> arguments, @Nullable McpSpan parent)
+            throws Exception {
+        McpSpan previous = parent != null ? parent.makeCurrent() : null;
+        try {
+            Object value = tool.invoke(arguments, objectMapper);
+            return value != null ? value : NullNode.getInstance();
+        }
+        catch (Exception | Error ex) {
+            throw ex;
+        }
+        catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+        finally {
+            if (parent != null) {
+                McpSpan.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * The result of a step as JSON: the value itself, the value a {@code Mono} or
+     * {@code CompletableFuture} completes with, or the items of a {@code Flux} as an
+     * array, as the dispatcher resolves the results of tool calls.
+     */
+    private Mono<JsonNode> resolve(Object value) {
+        if (value instanceof Flux<?> flux) {
+            return flux.collectList().<JsonNode>map(objectMapper::valueToTree);
+        }
+        Mono<Object> result = McpAsyncResults.isAsync(value) ? McpAsyncResults.toMono(value) : Mono.just(value);
+        return result.<JsonNode>map(objectMapper::valueToTree).defaultIfEmpty(NullNode.getInstance());
+    }
+
+    /**
+     * Check the steps and resolve their tools.
+     *
+     * @throws IllegalArgumentException if a step is invalid
+     */
+    private Map<String, McpMethod> validate(List<PipelineStep> steps) {
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("A pipeline needs at least one step");
+        }
+        if (steps.size() > properties.maxSteps()) {
+            throw new IllegalArgumentException(
+                String.format("A pipeline has at most %d steps, got %d", properties.maxSteps(), steps.size()));
+        }
+        Map<String, McpMethod> tools = new HashMap<>();
+        for (PipelineStep step : steps) {
+            if (step.id() == null || step.id().isBlank()) {
+                throw new IllegalArgumentException("Every pipeline step needs an 'id'");
+            }
+            if (tools.containsKey(step.id())) {
+                throw new IllegalArgumentException(String.format("Duplicate step id '%s'", step.id()));
+            }
+            if (NAME.equals(step.tool())) {
+                throw new IllegalArgumentException(String.format("Step '%s' cannot run a pipeline", step.id()));
+            }
+            McpMethod tool = step.tool() != null ? registry.tool(step.tool()).orElse(null) : null;
+            if (tool == null) {
+                throw new IllegalArgumentException(String.format("Step '%s' calls unknown tool '%s'", step.id(), step.tool()));
+            }
+            if (step.arguments() != null) {
+                for (JsonNode argument : step.arguments().values()) {
+                    String reference = PipelineStep.reference(argument);
+                    if (reference != null && !tools.containsKey(reference)) {
+                        throw new IllegalArgumentException(String.format(
+                            "Step '%s' refers to '%s', which is not an earlier step", step.id(), reference));
+                    }
+                }
+            }
+            tools.put(step.id(), tool);
+        }
+        return tools;
+    }
+
+    private static boolean all(@Nullable String output) {
+        if (output == null || output.isEmpty() || "final".equals(output)) {
+            return false;
+        }
+        if ("all".equals(output)) {
+            return true;
+        }
+        throw new IllegalArgumentException(String.format("Unknown output '%s', expected 'final' or 'all'", output));
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.mcpserver.pipeline;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One tool invocation of a pipeline.
+ *
+ * @param id the name later steps use to refer to this step's result
+ * @param tool the name of the {@code @McpTool} to call
+ * @param arguments the tool arguments; an argument {@code {"$ref": "<id>"}} is
+ * replaced by the result of the earlier step {@code <id>}
+ */
+public record PipelineStep(String id, String tool, Map<String, JsonNode> arguments) {
+
+    /** Member of an argument object referring to an earlier step. */
+    static final String REF = "$ref";
+
+    /**
+     * The step referred to by {@code argument}, or {@code null} if it is a plain value.
+     */
+    static String reference(JsonNode argument) {
+        return argument != null && argument.isObject() && argument.size() == 1 && argument.path(REF).isTextual()
+            ? argument.get(REF).asText() : null;
+    }
+}
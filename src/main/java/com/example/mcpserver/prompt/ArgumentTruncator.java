@@ -0,0 +1,127 @@
+package com.example.mcpserver.prompt;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.CharBuffer;
+
+/**
+ * Applies the configured {@link PromptArgumentProperties} to prompt arguments.
+ * The kept parts are returned as {@link CharBuffer} views over the original
+ * string, so truncation never copies the argument content.
+ */
+@Component
+public class ArgumentTruncator {
+
+    private final PromptArgumentProperties properties;
+
+    public ArgumentTruncator(PromptArgumentProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Append {@code value} to {@code segments}, truncated according to the policy.
+     */
+    public void append(PromptSegments segments, @Nullable String value) {
+        long maxBytes = properties.maxBytes().toBytes();
+        PromptArgumentProperties.TruncationStrategy strategy = properties.strategy();
+
+        if (value == null || strategy == PromptArgumentProperties.TruncationStrategy.NONE
+                || !exceeds(value, maxBytes)) {
+            segments.text(value);
+            return;
+        }
+
+        switch (strategy) {
+            case HEAD -> {
+                int end = headEnd(value, maxBytes);
+                segments.text(CharBuffer.wrap(value, 0, end));
+                segments.text(omitted(value.length() - end));
+            }
+            case TAIL -> {
+                int start = tailStart(value, maxBytes);
+                segments.text(omitted(start));
+                segments.text(CharBuffer.wrap(value, start, value.length()));
+            }
+            case HEAD_TAIL -> {
+                int end = headEnd(value, maxBytes / 2);
+                int start = Math.max(end, tailStart(value, maxBytes - maxBytes / 2));
+                segments.text(CharBuffer.wrap(value, 0, end));
+                segments.text(omitted(start - end));
+                segments.text(CharBuffer.wrap(value, start, value.length()));
+            }
+            default -> segments.text(value);
+        }
+    }
+
+    /**
+     * Whether the UTF-8 encoding of {@code value} is larger than {@code maxBytes}.
+     * Stops scanning as soon as the limit is crossed.
+     */
+    static boolean exceeds(String value, long maxBytes) {
+        if (value.length() <= maxBytes / 3) {
+            return false;
+        }
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            bytes += utf8Length(value.charAt(i));
+            if (bytes > maxBytes) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Exclusive end index of the longest prefix fitting in {@code budget} bytes.
+     */
+    static int headEnd(String value, long budget) {
+        long bytes = 0;
+        int i = 0;
+        while (i < value.length()) {
+            bytes += utf8Length(value.charAt(i));
+            if (bytes > budget) {
+                break;
+            }
+            i++;
+        }
+        if (i > 0 && i < value.length() && Character.isHighSurrogate(value.charAt(i - 1))) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Start index of the longest suffix fitting in {@code budget} bytes.
+     */
+    static int tailStart(String value, long budget) {
+        long bytes = 0;
+        int i = value.length();
+        while (i > 0) {
+            bytes += utf8Length(value.charAt(i - 1));
+            if (bytes > budget) {
+                break;
+            }
+            i--;
+        }
+        if (i > 0 && i < value.length() && Character.isLowSurrogate(value.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int utf8Length(char c) {
+        if (c < 0x80) {
+            return 1;
+        }
+        if (c < 0x800) {
+            return 2;
+        }
+        // a surrogate pair encodes to 4 bytes, i.e. 2 per char
+        return Character.isSurrogate(c) ? 2 : 3;
+    }
+
+    private static String omitted(int chars) {
+        return "\n[... " + chars + " characters omitted ...]\n";
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mcpserver.prompt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Limits applied to free-text prompt arguments before they are rendered.
+ * Large arguments (logs, datasets) are cut down to {@code maxBytes} of UTF-8
+ * so that the memory held per prompt request stays bounded.
+ *
+ * @param maxBytes maximum UTF-8 size of a single argument after truncation
+ * @param strategy which part of an oversized argument is kept
+ * @param chunkSize most UTF-8 bytes per buffer written by the streaming renderer
+ * @param maxRequestSize largest request body the streaming renderer accepts; larger
+ * bodies are rejected before any argument is decoded
+ */
+@ConfigurationProperties(prefix = "mcp.prompts.arguments")
+public record PromptArgumentProperties(
+        @DefaultValue("1MB") DataSize maxBytes,
+        @DefaultValue("none") TruncationStrategy strategy,
+        @DefaultValue("16KB") DataSize chunkSize,
+        @DefaultValue("16MB") DataSize maxRequestSize) {
+
+    /**
+     * How an argument larger than {@code maxBytes} is shortened.
+     */
+    public enum TruncationStrategy {
+        /** Keep the argument as-is, regardless of size. */
+        NONE,
+        /** Keep the beginning of the argument. */
+        HEAD,
+        /** Keep the end of the argument (usually the most recent log lines). */
+        TAIL,
+        /** Keep the beginning and the end, eliding the middle. */
+        HEAD_TAIL
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.mcpserver.prompt;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A rendered prompt kept as a list of text segments instead of one string.
+ * Argument values are referenced, not copied, until the prompt is either
+ * materialized once with {@link #toString()} or streamed in chunks with
+ * {@link #encode(DataBufferFactory, int)}.
+ */
+public class PromptSegments {
+
+    private final List<CharSequence> segments = new ArrayList<>();
+
+    private int length;
+
+    /**
+     * Append a literal or argument segment. An absent argument is rendered as
+     * {@code "null"}, as {@link String#format} does.
+     */
+    public PromptSegments text(@Nullable CharSequence text) {
+        if (text == null) {
+            text = "null";
+        }
+        if (text.length() > 0) {
+            segments.add(text);
+            length += text.length();
+        }
+        return this;
+    }
+
+    /**
+     * Total length of the prompt in chars.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Encode the prompt as UTF-8 buffers of at most {@code chunkBytes} bytes each,
+     * never splitting a character. Chunks are encoded lazily as the subscriber
+     * requests more data, so at most one chunk is held in memory in addition to the
+     * source arguments.
+     */
+    public Flux<DataBuffer> encode(DataBufferFactory bufferFactory, int chunkBytes) {
+        // room for the longest UTF-8 sequence, so that every chunk makes progress
+        int capacity = Math.max(4, chunkBytes);
+        return Flux.generate(() -> new Encoding(segments), (encoding, sink) -> {
+            ByteBuffer chunk = encoding.next(capacity);
+            if (chunk == null) {
+                sink.complete();
+            }
+            else {
+                sink.next(bufferFactory.wrap(chunk));
+            }
+            return encoding;
+        });
+    }
+
+    /**
+     * Position of an {@link #encode} subscription within the segments.
+     */
+    private static final class Encoding {
+
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        private final Iterator<CharSequence> segments;
+
+        private CharBuffer segment;
+
+        Encoding(List<CharSequence> segments) {
+            this.segments = segments.iterator();
+        }
+
+        /**
+         * The next chunk of at most {@code capacity} bytes, or {@code null} at the end.
+         */
+        ByteBuffer next(int capacity) {
+            ByteBuffer out = ByteBuffer.allocate(capacity);
+            while (true) {
+                if (segment == null) {
+                    if (!segments.hasNext()) {
+                        return out.position() > 0 ? out.flip() : null;
+                    }
+                    segment = CharBuffer.wrap(segments.next());
+                    encoder.reset();
+                }
+                CoderResult result = encoder.encode(segment, out, true);
+                if (result.isOverflow()) {
+                    return out.flip();
+                }
+                // UTF-8 has no trailing state, so flushing writes nothing
+                encoder.flush(out);
+                segment = null;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder prompt = new StringBuilder(length);
+        for (CharSequence segment : segments) {
+            prompt.append(segment);
+        }
+        return prompt.toString();
+    }
+}
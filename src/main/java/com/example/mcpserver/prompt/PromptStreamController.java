@@ -0,0 +1,96 @@
+package com.example.mcpserver.prompt;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.service.McpPromptsService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Streaming rendering endpoint for prompts that accept very large free-text arguments.
+ * The MCP {@code prompts/get} response has to carry the prompt as a single message;
+ * this endpoint instead writes the rendered prompt to the response in chunks so that
+ * no full copy of the prompt is built on the server.
+ *
+ * <p>The request body is limited to {@code mcp.prompts.arguments.max-request-size}:
+ * a larger body is rejected with 413 as soon as the limit is crossed, before any
+ * argument is decoded.
+ */
+@RestController
+public class PromptStreamController {
+
+    private static final TypeReference<Map<String, String>> ARGUMENTS = new TypeReference<>() {
+    };
+
+    private final McpPromptsService promptsService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int chunkBytes;
+
+    private final int maxRequestSize;
+
+    public PromptStreamController(McpPromptsService promptsService, McpJsonMapper jsonMapper,
+            PromptArgumentProperties properties) {
+        this.promptsService = promptsService;
+        this.objectMapper = jsonMapper.mapper();
+        this.chunkBytes = (int) Math.max(1, properties.chunkSize().toBytes());
+        this.maxRequestSize = (int) Math.min(Integer.MAX_VALUE, properties.maxRequestSize().toBytes());
+    }
+
+    @PostMapping(path = "/prompts/{name}/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = MediaType.TEXT_PLAIN_VALUE)
+    public Flux<DataBuffer> stream(@PathVariable String name, @RequestBody Flux<DataBuffer> body) {
+        return arguments(body).flatMapMany(arguments -> {
+            PromptSegments prompt = switch (name) {
+                case "analyze-data" -> promptsService.renderDataAnalysisPrompt(
+                    required(arguments, "dataType"), required(arguments, "goal"), arguments.get("context"));
+                case "debug-helper" -> promptsService.renderDebugPrompt(
+                    required(arguments, "issue"), required(arguments, "stack"), arguments.get("attemptedSolutions"));
+                default -> throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    String.format("Prompt '%s' does not support streaming rendering", name));
+            };
+            return prompt.encode(DefaultDataBufferFactory.sharedInstance, chunkBytes);
+        });
+    }
+
+    private Mono<Map<String, String>> arguments(Flux<DataBuffer> body) {
+        return DataBufferUtils.join(body, maxRequestSize)
+            .onErrorMap(DataBufferLimitException.class, ex -> new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                String.format("Request body exceeds %d bytes", maxRequestSize), ex))
+            .map(buffer -> {
+                try (InputStream in = buffer.asInputStream(true)) {
+                    return objectMapper.readValue(in, ARGUMENTS);
+                }
+                catch (IOException ex) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid prompt arguments", ex);
+                }
+            })
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing prompt arguments")));
+    }
+
+    private static String required(Map<String, String> arguments, String name) {
+        String value = arguments.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                String.format("Missing required argument '%s'", name));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Support for MCP methods that return a {@link Mono}, a {@link Flux} or a
+ * {@link CompletionStage} (such as a {@code CompletableFuture}) instead of a value.
+ *
+ * <p>Such a method returns as soon as its work is set up; the call is over only when
+ * the result completes. Interceptors that observe calls use {@link #whenComplete} to
+ * act at that point rather than when the method returns.
+ */
+public final class McpAsyncResults {
+
+    private McpAsyncResults() {
+    }
+
+    /**
+     * Whether {@code result} is an asynchronous result rather than the value itself.
+     */
+    public static boolean isAsync(@Nullable Object result) {
+        return result instanceof Mono<?> || result instanceof Flux<?> || result instanceof CompletionStage<?>;
+    }
+
+    /**
+     * Call {@code listener} once when the asynchronous {@code result} completes, fails
+     * or is cancelled.
+     *
+     * @return the result to return to the caller in place of {@code result}, of the same type
+     */
+    public static Object whenComplete(Object result, Completion listener) {
+        AtomicBoolean done = new AtomicBoolean();
+        Completion once = (value, error) -> {
+            if (done.compareAndSet(false, true)) {
+                listener.complete(value, error);
+            }
+        };
+        if (result instanceof Mono<?> mono) {
+            return mono
+                .doOnSuccess(value -> once.complete(value, null))
+                .doOnError(error -> once.complete(null, error))
+                .doOnCancel(() -> once.complete(null, new CancellationException("Subscription cancelled")));
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux
+                .doOnComplete(() -> once.complete(null, null))
+                .doOnError(error -> once.complete(null, error))
+                .doOnCancel(() -> once.complete(null, new CancellationException("Subscription cancelled")));
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            // the stage is returned as it is, so the caller gets the declared future type
+            stage.whenComplete((value, error) -> once.complete(value, unwrap(error)));
+            return result;
+        }
+        throw new IllegalArgumentException("Not an asynchronous result: " + result);
+    }
+
+    /**
+     * An asynchronous result that several callers can subscribe to while the work
+     * behind it runs once. A {@code CompletionStage} already is.
+     */
+    public static Object share(Object result) {
+        if (result instanceof Mono<?> mono) {
+            return mono.cache();
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.cache();
+        }
+        return result;
+    }
+
+    /**
+     * An asynchronous result of the same type as {@code result}, whose values are
+     * transformed by {@code mapper}.
+     */
+    public static Object map(Object result, Function<Object, Object> mapper) {
+        if (result instanceof Mono<?> mono) {
+            return mono.map(mapper);
+        }
+        if (result instanceof Flux<?> flux) {
+            return flux.map(mapper);
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.thenApply(mapper);
+        }
+        throw new IllegalArgumentException("Not an asynchronous result: " + result);
+    }
+
+    /**
+     * The value of a single-valued asynchronous result.
+     */
+    @SuppressWarnings("unchecked")
+    public static Mono<Object> toMono(Object result) {
+        if (result instanceof Mono<?> mono) {
+            return (Mono<Object>) mono;
+        }
+        if (result instanceof CompletionStage<?> stage) {
+            return Mono.fromCompletionStage((CompletionStage<Object>) stage);
+        }
+        throw new IllegalArgumentException("Not a single-valued asynchronous result: " + result);
+    }
+
+    @Nullable
+    private static Throwable unwrap(@Nullable Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Listener for the completion of an asynchronous result.
+     */
+    @FunctionalInterface
+    public interface Completion {
+
+        /**
+         * @param value the value of a {@code Mono} or {@code CompletionStage}; {@code null}
+         * for a {@code Flux}, an empty {@code Mono} or a failure
+         * @param error the failure, or {@code null} if the result completed normally
+         */
+        void complete(@Nullable Object value, @Nullable Throwable error);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpAsyncServer;
+import org.springframework.ai.mcp.server.McpServerFeatures;
+import org.springframework.ai.mcp.spec.McpSchema;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Applies the changes made to the {@link McpMethodRegistry} at runtime to the Spring AI
+ * async server behind the HTTP endpoint, so that its clients see the same tools,
+ * resources and prompts as those of the WebSocket and stdio transports.
+ *
+ * <p>The methods found at startup are registered with the Spring AI server by its own
+ * annotation scanning; later registrations are added with {@code addTool},
+ * {@code addResource}, {@code addResourceTemplate} and {@code addPrompt}, and removals
+ * removed, in the order they were made. Calls of the added methods are handled by the
+ * {@link McpJsonRpcDispatcher}, so they return the same results on every transport;
+ * the HTTP filters limit them like any request to the endpoint. The server's
+ * {@code list_changed} notifications are sent with those of the other transports,
+ * see {@link McpListChangedNotifier}. Without a Spring AI server (stdio) this does nothing.
+ */
+@Component
+public class McpAsyncServerRegistrar implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpAsyncServerRegistrar.class);
+
+    private static final String TRANSPORT = "http";
+
+    /** Calls are not tied to a session of the Spring AI server. */
+    private static final String SESSION_ID = "spring-ai";
+
+    private final McpJsonRpcDispatcher dispatcher;
+
+    private final ObjectMapper objectMapper;
+
+    private final Disposable subscription;
+
+    public McpAsyncServerRegistrar(McpMethodRegistry registry, McpJsonRpcDispatcher dispatcher,
+            McpJsonMapper jsonMapper, McpListChangedNotifier listChangedNotifier,
+            ObjectProvider<McpAsyncServer> server) {
+        this.dispatcher = dispatcher;
+        // results carry fields, such as _meta, that the schema types do not declare
+        this.objectMapper = jsonMapper.mapper().copy()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        McpAsyncServer asyncServer = server.getIfAvailable();
+        if (asyncServer == null) {
+            this.subscription = Disposables.disposed();
+            return;
+        }
+        Disposable changes = registry.changedMethods()
+            .onBackpressureBuffer()
+            .concatMap(change -> apply(asyncServer, change)
+                .onErrorResume(ex -> {
+                    logger.warn("Cannot apply a registry change to the Spring AI server", ex);
+                    return Mono.empty();
+                }))
+            .subscribe();
+        Disposable notifications = listChangedNotifier.connect(notification -> notify(asyncServer, notification));
+        this.subscription = Disposables.composite(changes, notifications);
+    }
+
+    private Mono<Void> apply(McpAsyncServer server, McpMethodRegistry.Change change) {
+        Flux<Void> removals = Flux.fromIterable(change.removed()).concatMap(method -> remove(server, method));
+        Flux<Void> additions = Flux.fromIterable(change.added()).concatMap(method -> add(server, method));
+        return removals.thenMany(additions).then();
+    }
+
+    private Mono<Void> remove(McpAsyncServer server, McpMethod method) {
+        return switch (method.type()) {
+            case TOOL -> server.removeTool(method.name());
+            case RESOURCE -> method.isTemplate() ? server.removeResourceTemplate(method.name())
+                : server.removeResource(method.name());
+            case PROMPT -> server.removePrompt(method.name());
+        };
+    }
+
+    private Mono<Void> add(McpAsyncServer server, McpMethod method) {
+        JsonNode entry = dispatcher.listEntry(method);
+        if (entry == null) {
+            // removed again before the change was applied
+            return Mono.empty();
+        }
+        return switch (method.type()) {
+            case TOOL -> server.addTool(new McpServerFeatures.AsyncToolSpecification(
+                convert(entry, McpSchema.Tool.class),
+                (exchange, arguments) -> call("tools/call", params(method.name(), arguments),
+                    McpSchema.CallToolResult.class)));
+            case RESOURCE -> method.isTemplate()
+                ? server.addResourceTemplate(new McpServerFeatures.AsyncResourceTemplateSpecification(
+                    convert(entry, McpSchema.ResourceTemplate.class),
+                    (exchange, request) -> read(request)))
+                : server.addResource(new McpServerFeatures.AsyncResourceSpecification(
+                    convert(entry, McpSchema.Resource.class),
+                    (exchange, request) -> read(request)));
+            case PROMPT -> server.addPrompt(new McpServerFeatures.AsyncPromptSpecification(
+                convert(entry, McpSchema.Prompt.class),
+                (exchange, request) -> call("prompts/get", params(method.name(), request.arguments()),
+                    McpSchema.GetPromptResult.class)));
+        };
+    }
+
+    private Mono<McpSchema.ReadResourceResult> read(McpSchema.ReadResourceRequest request) {
+        return call("resources/read", objectMapper.createObjectNode().put("uri", request.uri()),
+            McpSchema.ReadResourceResult.class);
+    }
+
+    private ObjectNode params(String name, @Nullable Map<String, ?> arguments) {
+        ObjectNode params = objectMapper.createObjectNode().put("name", name);
+        params.set("arguments", objectMapper.valueToTree(arguments != null ? arguments : Map.of()));
+        return params;
+    }
+
+    private <T> Mono<T> call(String method, JsonNode params, Class<T> type) {
+        return dispatcher.call(method, params, new McpCallContext(SESSION_ID, TRANSPORT))
+            .map(result -> convert(result, type));
+    }
+
+    private <T> T convert(JsonNode node, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(node, type);
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Cannot convert " + node + " to " + type.getSimpleName(), ex);
+        }
+    }
+
+    private static void notify(McpAsyncServer server, ObjectNode notification) {
+        Mono<Void> sent = switch (notification.path("method").asText()) {
+            case "notifications/tools/list_changed" -> server.notifyToolsListChanged();
+            case "notifications/resources/list_changed" -> server.notifyResourcesListChanged();
+            case "notifications/prompts/list_changed" -> server.notifyPromptsListChanged();
+            default -> Mono.empty();
+        };
+        sent.subscribe(null, ex -> logger.warn("Cannot send {} to the Spring AI server sessions",
+            notification.path("method").asText(), ex));
+    }
+
+    @Override
+    public void destroy() {
+        subscription.dispose();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.limit.McpLane;
+import com.example.mcpserver.tracing.McpSpan;
+import org.springframework.lang.Nullable;
+
+/**
+ * Per-request context handed from a transport to the {@link McpJsonRpcDispatcher}.
+ * While an annotated method executes, the context is also available to
+ * instrumentation through {@link #current()}.
+ *
+ * @param sessionId the transport session (connection) the request arrived on
+ * @param transport the transport name, e.g. {@code websocket} or {@code stdio}
+ * @param clientId the identity of the client, by which rate limits and idempotency
+ * keys are scoped
+ * @param span the span of the request, if it is sampled
+ * @param lane the priority lane of the request
+ * @param notifier sends notifications to the client, if the transport can
+ * @param progress reports the progress of the request, if the client asked for it
+ */
+public record McpCallContext(String sessionId, String transport, String clientId, @Nullable McpSpan span,
+        McpLane lane, @Nullable McpNotifier notifier, McpProgress progress) {
+
+    public McpCallContext(String sessionId, String transport) {
+        this(sessionId, transport, null);
+    }
+
+    /**
+     * A context for a session that is its own client.
+     */
+    public McpCallContext(String sessionId, String transport, @Nullable McpNotifier notifier) {
+        this(sessionId, transport, "session:" + sessionId, notifier);
+    }
+
+    public McpCallContext(String sessionId, String transport, String clientId, @Nullable McpNotifier notifier) {
+        this(sessionId, transport, clientId, null, McpLane.DEFAULT, notifier, McpProgress.none());
+    }
+
+    /**
+     * A copy of this context for a request traced by {@code span}.
+     */
+    McpCallContext withSpan(McpSpan span) {
+        return new McpCallContext(sessionId, transport, clientId, span, lane, notifier, progress);
+    }
+
+    /**
+     * A copy of this context for a request in {@code lane}.
+     */
+    McpCallContext withLane(McpLane lane) {
+        return new McpCallContext(sessionId, transport, clientId, span, lane, notifier, progress);
+    }
+
+    /**
+     * A copy of this context for a request reporting its progress to {@code progress}.
+     */
+    McpCallContext withProgress(McpProgress progress) {
+        return new McpCallContext(sessionId, transport, clientId, span, lane, notifier, progress);
+    }
+
+    private static final ThreadLocal<McpCallContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * The context of the MCP method executing on the current thread, or {@code null}
+     * if there is none (for instance for calls made through the Spring AI server).
+     */
+    @Nullable
+    public static McpCallContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make this the current context, returning the previous one for {@link #restore}.
+     */
+    McpCallContext bind() {
+        McpCallContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void restore(@Nullable McpCallContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,582 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.idempotency.McpIdempotency;
+import com.example.mcpserver.limit.McpConcurrencyLimiter;
+import com.example.mcpserver.limit.McpLane;
+import com.example.mcpserver.limit.McpLaneSchedulers;
+import com.example.mcpserver.limit.McpRateLimitedException;
+import com.example.mcpserver.limit.McpRateLimiter;
+import com.example.mcpserver.limit.McpRequestClassifier;
+import com.example.mcpserver.observability.McpFlightEvents;
+import com.example.mcpserver.pipeline.McpPipelineService;
+import com.example.mcpserver.tracing.McpSpan;
+import com.example.mcpserver.tracing.McpTracer;
+import com.example.mcpserver.tracing.TraceParent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Dispatches MCP JSON-RPC messages to the methods in the {@link McpMethodRegistry}.
+ * Used by the transports that carry JSON-RPC frames themselves (WebSocket, stdio);
+ * annotated methods are invoked on the scheduler of the request's priority lane
+ * (bounded elastic) so that blocking implementations never run on a transport thread.
+ *
+ * <p>Methods may return a {@code Mono}, a {@code Flux} or a {@code CompletableFuture};
+ * the response is sent when it completes, without a thread waiting for it. The items
+ * of a {@code Flux} become one content entry each. If the request carries a
+ * {@code _meta.progressToken}, methods can report progress through {@link McpProgress}
+ * and the items of a {@code Flux} are counted as progress. A {@code tools/call} that
+ * also sets {@code _meta.partialResults} receives the items of a {@code Flux} as
+ * {@code notifications/partial_result} messages, requested one at a time as the
+ * transport has room for them, and a response without content, so that the result is
+ * never held in memory as a whole.
+ */
+@Component
+public class McpJsonRpcDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpJsonRpcDispatcher.class);
+
+    static final String PROTOCOL_VERSION = "2025-06-18";
+
+    private final McpMethodRegistry registry;
+
+    private final McpJsonMapper jsonMapper;
+
+    private final ObjectMapper objectMapper;
+
+    @Nullable
+    private final McpTracer tracer;
+
+    @Nullable
+    private final McpConcurrencyLimiter limiter;
+
+    @Nullable
+    private final McpRateLimiter rateLimiter;
+
+    @Nullable
+    private final McpRequestClassifier classifier;
+
+    @Nullable
+    private final McpLaneSchedulers schedulers;
+
+    @Nullable
+    private final McpIdempotency idempotency;
+
+    private final McpProgressProperties progressProperties;
+
+    @Nullable
+    private volatile Lists lists;
+
+    private final String serverName;
+
+    private final String serverVersion;
+
+    public McpJsonRpcDispatcher(McpMethodRegistry registry, McpJsonMapper jsonMapper, ObjectProvider<McpTracer> tracer,
+            ObjectProvider<McpConcurrencyLimiter> limiter, ObjectProvider<McpRateLimiter> rateLimiter,
+            ObjectProvider<McpRequestClassifier> classifier, ObjectProvider<McpLaneSchedulers> schedulers,
+            ObjectProvider<McpIdempotency> idempotency, McpProgressProperties progressProperties,
+            @Value("${spring.ai.mcp.server.name:spring-mcp-server}") String serverName,
+            @Value("${spring.ai.mcp.server.version:1.0.0}") String serverVersion) {
+        this.registry = registry;
+        this.tracer = tracer.getIfAvailable();
+        this.limiter = limiter.getIfAvailable();
+        this.rateLimiter = rateLimiter.getIfAvailable();
+        this.classifier = classifier.getIfAvailable();
+        this.schedulers = schedulers.getIfAvailable();
+        this.idempotency = idempotency.getIfAvailable();
+        this.progressProperties = progressProperties;
+        this.jsonMapper = jsonMapper;
+        this.objectMapper = jsonMapper.mapper();
+        this.serverName = serverName;
+        this.serverVersion = serverVersion;
+    }
+
+    /**
+     * Handle one JSON-RPC message.
+     *
+     * @return the response, or an empty {@code Mono} for notifications and responses
+     */
+    public Mono<ObjectNode> dispatch(JsonNode message, McpCallContext context) {
+        JsonNode id = message.get("id");
+        JsonNode methodNode = message.get("method");
+        if (methodNode == null || !methodNode.isTextual()) {
+            return id == null ? Mono.empty()
+                : Mono.just(error(id, McpJsonRpcException.INVALID_REQUEST, "Missing method"));
+        }
+
+        String method = methodNode.asText();
+        JsonNode params = message.path("params");
+
+        if (id == null) {
+            logger.debug("Ignoring notification '{}' on {} session {}", method, context.transport(), context.sessionId());
+            return Mono.empty();
+        }
+
+        McpSpan span = tracer != null
+            ? tracer.startRequestSpan("mcp.request", TraceParent.parse(params.path("_meta").path(TraceParent.HEADER).asText(null)))
+            : null;
+        McpLane lane = classifier != null ? classifier.classify(method, params.path("name").asText(null)) : McpLane.DEFAULT;
+        McpCallContext callContext = (span != null ? context.withSpan(span) : context).withLane(lane)
+            .withProgress(progress(params.path("_meta"), context));
+
+        Mono<JsonNode> handled = Mono.defer(() -> handle(method, params, callContext));
+        McpRateLimitedException throttled = rateLimit(method, params, context);
+        if (throttled != null) {
+            handled = Mono.error(throttled);
+        }
+        else if (limiter != null && !isPipeline(method, params)) {
+            // the steps of a pipeline are limited one by one, see McpPipelineService
+            handled = limiter.limit(method, lane, handled);
+        }
+        Mono<ObjectNode> response = handled
+            .map(value -> result(id, value))
+            .onErrorResume(McpJsonRpcException.class, ex -> Mono.just(error(id, ex)))
+            .onErrorResume(ex -> !(ex instanceof McpJsonRpcException), ex -> {
+                logger.warn("Error handling '{}' on {} session {}", method, context.transport(), context.sessionId(), ex);
+                return Mono.just(error(id, McpJsonRpcException.INTERNAL_ERROR, ex.getMessage()));
+            });
+        if (span != null) {
+            span.attribute("mcp.method", method)
+                .attribute("mcp.name", params.hasNonNull("name") ? params.get("name").asText() : params.path("uri").asText(null))
+                .attribute("mcp.transport", context.transport())
+                .attribute("mcp.session.id", context.sessionId());
+            response = response
+                .doOnNext(value -> {
+                    if (value.has("error")) {
+                        span.attribute("rpc.error.code", value.path("error").path("code").asText());
+                    }
+                })
+                .doFinally(signal -> span.end());
+        }
+        return recordDispatch(response, method, params, context);
+    }
+
+    /**
+     * Take rate limit tokens for the client, one per step for a pipeline, returning the
+     * error to send if it is throttled. The stdio transport serves a single local client
+     * and is not limited.
+     */
+    @Nullable
+    private McpRateLimitedException rateLimit(String method, JsonNode params, McpCallContext context) {
+        McpOperationType type = McpRateLimiter.operationType(method);
+        if (rateLimiter == null || type == null || "stdio".equals(context.transport())) {
+            return null;
+        }
+        McpRateLimiter.Decision decision = rateLimiter.tryAcquire(context.clientId(), type,
+            McpRateLimiter.permits(type, params));
+        return decision.allowed() ? null : new McpRateLimitedException(decision);
+    }
+
+    private static boolean isPipeline(String method, JsonNode params) {
+        return "tools/call".equals(method) && McpPipelineService.steps(params) > 0;
+    }
+
+    private static Mono<ObjectNode> recordDispatch(Mono<ObjectNode> response, String method, JsonNode params,
+            McpCallContext context) {
+        McpFlightEvents.Dispatch event = new McpFlightEvents.Dispatch();
+        if (!event.isEnabled()) {
+            return response;
+        }
+        event.transport = context.transport();
+        event.sessionId = context.sessionId();
+        event.method = method;
+        event.name = params.hasNonNull("name") ? params.get("name").asText() : params.path("uri").asText(null);
+        return response
+            .doOnSubscribe(subscription -> event.begin())
+            .doFinally(signal -> event.commit());
+    }
+
+    /**
+     * Handle a {@code tools/call}, {@code resources/read} or {@code prompts/get} for a
+     * transport that applies limits, tracing and errors itself, such as the Spring AI
+     * server, on the scheduler of the request's lane.
+     *
+     * @return the result of the response
+     */
+    Mono<JsonNode> call(String method, JsonNode params, McpCallContext context) {
+        McpLane lane = classifier != null ? classifier.classify(method, params.path("name").asText(null)) : McpLane.DEFAULT;
+        return Mono.defer(() -> handle(method, params, context.withLane(lane)));
+    }
+
+    /**
+     * The entry of {@code method} in the list results of the current registry snapshot,
+     * as {@code tools/list}, {@code resources/list}, {@code resources/templates/list} or
+     * {@code prompts/list} return it, or {@code null} if it is not registered.
+     */
+    @Nullable
+    JsonNode listEntry(McpMethod method) {
+        Lists lists = lists();
+        JsonNode entries = switch (method.type()) {
+            case TOOL -> lists.tools().path("tools");
+            case RESOURCE -> method.isTemplate() ? lists.resourceTemplates().path("resourceTemplates")
+                : lists.resources().path("resources");
+            case PROMPT -> lists.prompts().path("prompts");
+        };
+        String key = method.type() != McpOperationType.RESOURCE ? "name" : method.isTemplate() ? "uriTemplate" : "uri";
+        for (JsonNode entry : entries) {
+            if (entry.path(key).asText().equals(method.name())) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private Mono<JsonNode> handle(String method, JsonNode params, McpCallContext context) {
+        return switch (method) {
+            case "initialize" -> Mono.just(initialize());
+            case "ping" -> Mono.just(objectMapper.createObjectNode());
+            case "tools/list" -> Mono.just(lists().tools());
+            case "tools/call" -> callTool(params, context);
+            case "resources/list" -> Mono.just(lists().resources());
+            case "resources/templates/list" -> Mono.just(lists().resourceTemplates());
+            case "resources/read" -> readResource(params, context);
+            case "prompts/list" -> Mono.just(lists().prompts());
+            case "prompts/get" -> getPrompt(params, context);
+            default -> Mono.error(new McpJsonRpcException(McpJsonRpcException.METHOD_NOT_FOUND,
+                String.format("Method '%s' not found", method)));
+        };
+    }
+
+    private JsonNode initialize() {
+        ObjectNode result = objectMapper.createObjectNode();
+        result.put("protocolVersion", PROTOCOL_VERSION);
+        ObjectNode capabilities = result.putObject("capabilities");
+        capabilities.putObject("tools").put("listChanged", true);
+        capabilities.putObject("resources").put("listChanged", true);
+        capabilities.putObject("prompts").put("listChanged", true);
+        capabilities.putObject("logging");
+        result.putObject("serverInfo")
+            .put("name", serverName)
+            .put("version", serverVersion);
+        return result;
+    }
+
+    /**
+     * The list results of the current registry snapshot. They are built once per
+     * snapshot and shared by all list requests until the registry changes; the results
+     * are never modified after they are built.
+     */
+    private Lists lists() {
+        McpMethodRegistry.Snapshot snapshot = registry.snapshot();
+        Lists current = lists;
+        if (current == null || current.snapshot() != snapshot) {
+            // concurrent requests may build the same lists, the last one built is kept
+            current = new Lists(snapshot, listTools(snapshot), listResources(snapshot, false),
+                listResources(snapshot, true), listPrompts(snapshot));
+            lists = current;
+        }
+        return current;
+    }
+
+    private JsonNode listTools(McpMethodRegistry.Snapshot snapshot) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode tools = result.putArray("tools");
+        for (McpMethod tool : snapshot.tools()) {
+            ObjectNode node = tools.addObject()
+                .put("name", tool.name())
+                .put("description", tool.description());
+            ObjectNode schema = node.putObject("inputSchema").put("type", "object");
+            ObjectNode properties = schema.putObject("properties");
+            ArrayNode required = schema.putArray("required");
+            for (McpMethodParameter parameter : tool.parameters()) {
+                properties.putObject(parameter.name())
+                    .put("type", parameter.jsonType())
+                    .put("description", parameter.description());
+                if (parameter.required()) {
+                    required.add(parameter.name());
+                }
+            }
+        }
+        return result;
+    }
+
+    private JsonNode listResources(McpMethodRegistry.Snapshot snapshot, boolean templates) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode resources = result.putArray(templates ? "resourceTemplates" : "resources");
+        for (McpMethod resource : snapshot.resources()) {
+            if (resource.isTemplate() != templates) {
+                continue;
+            }
+            resources.addObject()
+                .put(templates ? "uriTemplate" : "uri", resource.name())
+                .put("name", resource.title())
+                .put("description", resource.description())
+                .put("mimeType", resource.mimeType());
+        }
+        return result;
+    }
+
+    private JsonNode listPrompts(McpMethodRegistry.Snapshot snapshot) {
+        ObjectNode result = objectMapper.createObjectNode();
+        ArrayNode prompts = result.putArray("prompts");
+        for (McpMethod prompt : snapshot.prompts()) {
+            ObjectNode node = prompts.addObject()
+                .put("name", prompt.name())
+                .put("description", prompt.description());
+            ArrayNode arguments = node.putArray("arguments");
+            for (McpMethodParameter parameter : prompt.parameters()) {
+                arguments.addObject()
+                    .put("name", parameter.name())
+                    .put("description", parameter.description())
+                    .put("required", parameter.required());
+            }
+        }
+        return result;
+    }
+
+    private Mono<JsonNode> callTool(JsonNode params, McpCallContext context) {
+        String name = requiredText(params, "name");
+        McpMethod tool = registry.tool(name).orElseThrow(() -> new McpJsonRpcException(
+            McpJsonRpcException.INVALID_PARAMS, String.format("Unknown tool '%s'", name)));
+
+        String key = idempotency != null ? params.path("_meta").path(idempotency.metaKey()).asText(null) : null;
+        if (key == null || key.isEmpty()) {
+            return Mono.defer(() -> invokeTool(tool, params, context, context.progress().isPartialResults()));
+        }
+        // a replayed response has to carry the whole result, so it is never sent in chunks
+        Mono<JsonNode> call = Mono.defer(() -> invokeTool(tool, params, context, false));
+        return idempotency.execute(context.clientId(), name, key, params.path("arguments"),
+            () -> call.map(jsonMapper::writeValueAsBytes))
+            .map(bytes -> {
+                try {
+                    return objectMapper.readTree(bytes);
+                }
+                catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+    }
+
+    private Mono<JsonNode> invokeTool(McpMethod tool, JsonNode params, McpCallContext context, boolean chunked) {
+        return invoke(tool, arguments(params), context, chunked)
+            .map(value -> {
+                ObjectNode result = objectMapper.createObjectNode();
+                ArrayNode content = result.putArray("content");
+                if (value instanceof Chunked sent) {
+                    result.putObject("_meta").put("partialResults", sent.chunks());
+                }
+                else {
+                    for (Object item : items(value)) {
+                        content.addObject().put("type", "text").put("text", asText(item));
+                    }
+                }
+                result.put("isError", false);
+                return (JsonNode) result;
+            })
+            .onErrorResume(ex -> !(ex instanceof McpJsonRpcException), ex -> {
+                // Tool failures are reported in the result so that the model can see them
+                ObjectNode result = objectMapper.createObjectNode();
+                result.putArray("content").addObject().put("type", "text").put("text", String.valueOf(ex.getMessage()));
+                result.put("isError", true);
+                return Mono.just(result);
+            });
+    }
+
+    private Mono<JsonNode> readResource(JsonNode params, McpCallContext context) {
+        String uri = requiredText(params, "uri");
+        McpMethod resource = registry.resource(uri).orElseThrow(() -> new McpJsonRpcException(
+            McpJsonRpcException.RESOURCE_NOT_FOUND, String.format("Resource '%s' not found", uri)));
+
+        return invoke(resource, resource.match(uri), context, false)
+            .map(value -> {
+                ObjectNode result = objectMapper.createObjectNode();
+                ArrayNode contents = result.putArray("contents");
+                for (Object item : items(value)) {
+                    contents.addObject()
+                        .put("uri", uri)
+                        .put("mimeType", resource.mimeType())
+                        .put("text", asText(item));
+                }
+                return result;
+            });
+    }
+
+    private Mono<JsonNode> getPrompt(JsonNode params, McpCallContext context) {
+        String name = requiredText(params, "name");
+        McpMethod prompt = registry.prompt(name).orElseThrow(() -> new McpJsonRpcException(
+            McpJsonRpcException.INVALID_PARAMS, String.format("Unknown prompt '%s'", name)));
+
+        return invoke(prompt, arguments(params), context, false)
+            .map(value -> {
+                ObjectNode result = objectMapper.createObjectNode();
+                result.put("description", prompt.description());
+                ArrayNode messages = result.putArray("messages");
+                for (Object item : items(value)) {
+                    ObjectNode message = messages.addObject().put("role", "user");
+                    message.putObject("content").put("type", "text").put("text", asText(item));
+                }
+                return result;
+            });
+    }
+
+    private Mono<Object> invoke(McpMethod method, Map<String, ?> arguments, McpCallContext context, boolean chunked) {
+        return Mono.<Object>fromCallable(() -> {
+                McpCallContext previous = context.bind();
+                McpSpan previousSpan = context.span() != null ? context.span().makeCurrent() : null;
+                try {
+                    // an empty Mono would swallow the response, so null results become empty text
+                    return Objects.requireNonNullElse(method.invoke(arguments, objectMapper), "");
+                }
+                catch (Exception | Error ex) {
+                    throw ex;
+                }
+                catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+                finally {
+                    if (context.span() != null) {
+                        McpSpan.restore(previousSpan);
+                    }
+                    McpCallContext.restore(previous);
+                }
+            })
+            .subscribeOn(scheduler(context))
+            .flatMap(value -> resolve(value, context, chunked));
+    }
+
+    private Scheduler scheduler(McpCallContext context) {
+        return schedulers != null ? schedulers.scheduler(context.lane()) : Schedulers.boundedElastic();
+    }
+
+    /**
+     * The value of a method result: the value a {@code Mono} or {@code CompletableFuture}
+     * completes with, or for a {@code Flux} either its {@link Streamed} items, each
+     * counted as progress, or if {@code chunked} the number of {@link Chunked} items sent
+     * to the client as partial results.
+     */
+    private Mono<Object> resolve(Object value, McpCallContext context, boolean chunked) {
+        if (value instanceof Flux<?> flux) {
+            McpProgress progress = context.progress();
+            if (chunked) {
+                // one chunk at a time, each once the transport has room for it, so the
+                // items are requested at the pace of the client, on the lane's scheduler
+                // rather than the transport thread that made room
+                return flux
+                    .subscribeOn(scheduler(context))
+                    .concatMap(item -> {
+                        ArrayNode content = objectMapper.createArrayNode();
+                        content.addObject().put("type", "text").put("text", asText(item));
+                        return progress.partialResult(content);
+                    }, 0)
+                    .count()
+                    .map(Chunked::new);
+            }
+            AtomicLong received = new AtomicLong();
+            return flux
+                .doOnNext(item -> progress.report(received.incrementAndGet(), null, null))
+                .collectList()
+                .map(Streamed::new);
+        }
+        if (McpAsyncResults.isAsync(value)) {
+            return McpAsyncResults.toMono(value).defaultIfEmpty("");
+        }
+        return Mono.just(value);
+    }
+
+    private static List<?> items(Object value) {
+        return value instanceof Streamed streamed ? streamed.items() : List.of(value);
+    }
+
+    /**
+     * The progress handle of a request with the given {@code _meta}.
+     */
+    private McpProgress progress(JsonNode meta, McpCallContext context) {
+        return McpProgress.of(context.notifier(), meta.get("progressToken"), progressProperties.maxRate(),
+            progressProperties.partialResults() && meta.path("partialResults").asBoolean(false));
+    }
+
+    private Map<String, Object> arguments(JsonNode params) {
+        JsonNode arguments = params.path("arguments");
+        if (!arguments.isObject()) {
+            return Map.of();
+        }
+        Map<String, Object> result = new HashMap<>();
+        arguments.fields().forEachRemaining(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private String asText(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            return value.toString();
+        }
+        return jsonMapper.writeValueAsString(value);
+    }
+
+    private static String requiredText(JsonNode params, String field) {
+        JsonNode value = params.get(field);
+        if (value == null || !value.isTextual()) {
+            throw new McpJsonRpcException(McpJsonRpcException.INVALID_PARAMS,
+                String.format("Missing required parameter '%s'", field));
+        }
+        return value.asText();
+    }
+
+    private ObjectNode result(JsonNode id, JsonNode result) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.set("result", result);
+        return response;
+    }
+
+    /**
+     * Build a JSON-RPC error response.
+     */
+    public ObjectNode error(JsonNode id, int code, String message) {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0");
+        response.set("id", id);
+        response.putObject("error").put("code", code).put("message", message);
+        return response;
+    }
+
+    private ObjectNode error(JsonNode id, McpJsonRpcException ex) {
+        ObjectNode response = error(id, ex.getCode(), ex.getMessage());
+        if (ex.getData() != null) {
+            ((ObjectNode) response.get("error")).set("data", objectMapper.valueToTree(ex.getData()));
+        }
+        return response;
+    }
+
+    /**
+     * The items a {@code Flux} returned by a method emitted.
+     */
+    private record Streamed(List<?> items) {
+    }
+
+    /**
+     * The number of items a {@code Flux} returned by a method emitted, already sent to
+     * the client as partial results.
+     */
+    private record Chunked(long chunks) {
+    }
+
+    /**
+     * The list results of a registry snapshot.
+     */
+    private record Lists(McpMethodRegistry.Snapshot snapshot, JsonNode tools, JsonNode resources,
+            JsonNode resourceTemplates, JsonNode prompts) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+
+/**
+ * A JSON-RPC error to be returned to the client in place of a result.
+ */
+public class McpJsonRpcException extends RuntimeException {
+
+    public static final int PARSE_ERROR = -32700;
+
+    public static final int INVALID_REQUEST = -32600;
+
+    public static final int METHOD_NOT_FOUND = -32601;
+
+    public static final int INVALID_PARAMS = -32602;
+
+    public static final int INTERNAL_ERROR = -32603;
+
+    /** MCP error code for a resource URI that no resource serves. */
+    public static final int RESOURCE_NOT_FOUND = -32002;
+
+    /** Server error code for a request shed under overload; the client may retry it later. */
+    public static final int SERVER_OVERLOADED = -32000;
+
+    /** Server error code for a request over the client's rate limit; the client may retry it later. */
+    public static final int RATE_LIMITED = -32029;
+
+    private final int code;
+
+    @Nullable
+    private final Map<String, Object> data;
+
+    public McpJsonRpcException(int code, String message) {
+        this(code, message, null);
+    }
+
+    public McpJsonRpcException(int code, String message, @Nullable Map<String, Object> data) {
+        super(message);
+        this.code = code;
+        this.data = data;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Additional information sent as the {@code data} member of the error, if any.
+     */
+    @Nullable
+    public Map<String, Object> getData() {
+        return data;
+    }
+}
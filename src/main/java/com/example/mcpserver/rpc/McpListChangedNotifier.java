@@ -0,0 +1,70 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Sends {@code notifications/tools/list_changed}, {@code notifications/resources/list_changed}
+ * and {@code notifications/prompts/list_changed} to the connected sessions of the
+ * WebSocket and stdio transports, and through the Spring AI server to those of the
+ * HTTP endpoint (see {@link McpAsyncServerRegistrar}), when the {@link McpMethodRegistry}
+ * changes.
+ *
+ * <p>Changes are debounced: the notifications go out once the registry has not changed
+ * for {@code mcp.registry.list-changed-delay}, one per operation type that changed.
+ */
+@Component
+public class McpListChangedNotifier implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpListChangedNotifier.class);
+
+    private final Set<McpNotifier> sessions = ConcurrentHashMap.newKeySet();
+
+    private final Disposable subscription;
+
+    public McpListChangedNotifier(McpMethodRegistry registry, McpRegistryProperties properties) {
+        this.subscription = registry.changes()
+            .publish(changes -> changes.buffer(changes.debounce(properties.listChangedDelay())))
+            .map(EnumSet::copyOf)
+            .flatMapIterable(types -> types)
+            .subscribe(this::notifySessions);
+    }
+
+    /**
+     * Send notifications to {@code session} until the returned handle is disposed,
+     * which the transport does when the session closes.
+     */
+    public Disposable connect(McpNotifier session) {
+        sessions.add(session);
+        return () -> sessions.remove(session);
+    }
+
+    private void notifySessions(McpOperationType type) {
+        ObjectNode notification = JsonNodeFactory.instance.objectNode()
+            .put("jsonrpc", "2.0")
+            .put("method", "notifications/" + type.tagValue() + "s/list_changed");
+        logger.debug("Sending {} to {} sessions", notification.get("method").asText(), sessions.size());
+        for (McpNotifier session : sessions) {
+            try {
+                session.send(notification);
+            }
+            catch (RuntimeException ex) {
+                logger.warn("Cannot send {} to a session", notification.get("method").asText(), ex);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscription.dispose();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.util.UriTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An MCP-annotated bean method: a tool, a resource or a prompt.
+ *
+ * @param type the operation type
+ * @param name the tool name, resource URI (template) or prompt name
+ * @param title the resource display name, {@code null} for tools and prompts
+ * @param description the operation description
+ * @param mimeType the resource MIME type, {@code null} for tools and prompts
+ * @param bean the bean to invoke the method on (the proxy, if the bean is advised)
+ * @param method the annotated method
+ * @param parameters the method parameters in declaration order
+ * @param uriTemplate the compiled URI template of a {@linkplain #isTemplate() template}
+ * resource, {@code null} otherwise
+ */
+public record McpMethod(
+        McpOperationType type,
+        String name,
+        String title,
+        String description,
+        String mimeType,
+        Object bean,
+        Method method,
+        List<McpMethodParameter> parameters,
+        @Nullable UriTemplate uriTemplate) {
+
+    public McpMethod(McpOperationType type, String name, String title, String description, String mimeType,
+            Object bean, Method method, List<McpMethodParameter> parameters) {
+        this(type, name, title, description, mimeType, bean, method, parameters,
+            type == McpOperationType.RESOURCE && name.contains("{") ? new UriTemplate(name) : null);
+    }
+
+    /**
+     * Whether this is a resource whose URI contains {@code {variables}}.
+     */
+    public boolean isTemplate() {
+        return uriTemplate != null;
+    }
+
+    /**
+     * Match a concrete resource URI against this resource's URI template.
+     *
+     * @return the extracted URI variables, or {@code null} if the URI does not match
+     */
+    public Map<String, String> match(String uri) {
+        if (uriTemplate == null) {
+            return name.equals(uri) ? Map.of() : null;
+        }
+        return uriTemplate.matches(uri) ? uriTemplate.match(uri) : null;
+    }
+
+    /**
+     * Invoke the method, converting each named argument to its parameter type.
+     *
+     * @throws McpJsonRpcException with {@link McpJsonRpcException#INVALID_PARAMS} if a
+     * required argument is missing or cannot be converted
+     */
+    public Object invoke(Map<String, ?> arguments, ObjectMapper objectMapper) throws Throwable {
+        Object[] args = new Object[parameters.size()];
+        for (int i = 0; i < args.length; i++) {
+            McpMethodParameter parameter = parameters.get(i);
+            Object value = arguments != null ? arguments.get(parameter.name()) : null;
+            if (value == null && parameter.required()) {
+                throw new McpJsonRpcException(McpJsonRpcException.INVALID_PARAMS,
+                    String.format("Missing required argument '%s'", parameter.name()));
+            }
+            args[i] = value != null ? convert(parameter, value, objectMapper) : defaultValue(method.getParameterTypes()[i]);
+        }
+
+        ReflectionUtils.makeAccessible(method);
+        try {
+            return method.invoke(bean, args);
+        }
+        catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private static Object convert(McpMethodParameter parameter, Object value, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.convertValue(value, objectMapper.constructType(parameter.type()));
+        }
+        catch (IllegalArgumentException ex) {
+            throw new McpJsonRpcException(McpJsonRpcException.INVALID_PARAMS,
+                String.format("Invalid argument '%s': %s", parameter.name(), ex.getMessage()));
+        }
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.core.ResolvableType;
+
+import java.lang.reflect.Type;
+
+/**
+ * A parameter of an MCP-annotated method, as declared by its {@code @McpToolParam},
+ * {@code @McpResourceParam} or {@code @McpPromptParam} annotation.
+ *
+ * @param name the argument name used on the wire
+ * @param type the generic Java type the argument is converted to
+ * @param description the parameter description
+ * @param required whether the argument must be present
+ */
+public record McpMethodParameter(String name, Type type, String description, boolean required) {
+
+    /**
+     * JSON schema type for this parameter.
+     */
+    public String jsonType() {
+        Class<?> raw = ResolvableType.forType(type).toClass();
+        if (raw == double.class || raw == float.class || raw == Double.class || raw == Float.class) {
+            return "number";
+        }
+        if (raw == int.class || raw == long.class || raw == short.class
+                || raw == Integer.class || raw == Long.class || raw == Short.class) {
+            return "integer";
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return "boolean";
+        }
+        if (CharSequence.class.isAssignableFrom(raw)) {
+            return "string";
+        }
+        if (raw.isArray() || Iterable.class.isAssignableFrom(raw)) {
+            return "array";
+        }
+        return "object";
+    }
+}
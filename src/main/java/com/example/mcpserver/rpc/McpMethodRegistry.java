@@ -0,0 +1,358 @@
+package com.example.mcpserver.rpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.server.McpPrompt;
+import org.springframework.ai.mcp.server.McpPromptParam;
+import org.springframework.ai.mcp.server.McpResource;
+import org.springframework.ai.mcp.server.McpResourceParam;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Registry of the {@code @McpTool}, {@code @McpResource} and {@code @McpPrompt} methods
+ * declared on application beans. It backs the transports that dispatch JSON-RPC
+ * in-process (WebSocket, stdio) rather than through the Spring AI server, which
+ * {@link McpAsyncServerRegistrar} keeps up to date with the changes made at runtime.
+ *
+ * <p>Beans found at startup are registered then; further beans can be registered and
+ * unregistered at runtime with {@link #register(Object)}. The registered methods are
+ * held in an immutable {@link Snapshot} that every change replaces as a whole, so
+ * lookups read a single volatile field and never lock, while changes are serialized.
+ * Changes are published on {@link #changes()} and {@link #changedMethods()}.
+ */
+@Component
+@Lazy(false)
+public class McpMethodRegistry implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpMethodRegistry.class);
+
+    private final ApplicationContext applicationContext;
+
+    private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+    private final Sinks.Many<Change> changes = Sinks.many().multicast().directBestEffort();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public McpMethodRegistry(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<McpMethod> methods = new ArrayList<>();
+        for (String beanName : applicationContext.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> beanType = applicationContext.getType(beanName, false);
+            if (beanType == null || beanType.getName().startsWith("org.springframework.")
+                    || !hasMcpMethods(ClassUtils.getUserClass(beanType))) {
+                continue;
+            }
+            // only beans declaring MCP methods are instantiated here, which keeps lazy initialization effective
+            methods.addAll(introspect(applicationContext.getBean(beanName)));
+        }
+        synchronized (this) {
+            snapshot = snapshot.with(methods);
+        }
+        logger.debug("Registered {} tools, {} resources and {} prompts",
+            snapshot.tools.size(), snapshot.resources.size(), snapshot.prompts.size());
+    }
+
+    /**
+     * Register the MCP methods declared on {@code bean}, all or none of them. For the
+     * calls to be instrumented like those of the beans found at startup, pass an
+     * advised bean of the application context.
+     *
+     * @return a handle that unregisters exactly the methods registered here
+     * @throws IllegalArgumentException if {@code bean} declares no MCP methods
+     * @throws IllegalStateException if a tool, resource or prompt of the same name is registered
+     */
+    public Disposable register(Object bean) {
+        List<McpMethod> methods = introspect(bean);
+        if (methods.isEmpty()) {
+            throw new IllegalArgumentException("No MCP methods declared on " + AopUtils.getTargetClass(bean).getName());
+        }
+        synchronized (this) {
+            snapshot = snapshot.with(methods);
+            publish(new Change(methods, List.of()));
+        }
+        logger.debug("Registered {} MCP methods of {}", methods.size(), AopUtils.getTargetClass(bean).getName());
+        return () -> remove(methods::contains);
+    }
+
+    /**
+     * Unregister the tool, resource (by URI or URI template) or prompt {@code name}.
+     *
+     * @return whether it was registered
+     */
+    public boolean unregister(McpOperationType type, String name) {
+        return remove(method -> method.type() == type && method.name().equals(name));
+    }
+
+    private synchronized boolean remove(Predicate<McpMethod> filter) {
+        List<McpMethod> removed = snapshot.all().stream().filter(filter).toList();
+        if (removed.isEmpty()) {
+            return false;
+        }
+        snapshot = snapshot.without(removed);
+        publish(new Change(List.of(), removed));
+        logger.debug("Unregistered {} MCP methods", removed.size());
+        return true;
+    }
+
+    private void publish(Change change) {
+        // called while holding the lock, which serializes the emissions
+        changes.tryEmitNext(change);
+    }
+
+    /**
+     * The types of the operations each registry change after startup added or removed,
+     * one signal per type and change.
+     */
+    public Flux<McpOperationType> changes() {
+        return changes.asFlux().flatMapIterable(Change::types);
+    }
+
+    /**
+     * The methods each registry change after startup added or removed, in the order
+     * the changes were made.
+     */
+    public Flux<Change> changedMethods() {
+        return changes.asFlux();
+    }
+
+    /**
+     * The registered methods at this point; later changes produce a new snapshot.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private List<McpMethod> introspect(Object bean) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        return List.copyOf(MethodIntrospector.selectMethods(targetClass, (MethodIntrospector.MetadataLookup<McpMethod>)
+            method -> introspect(bean, method)).values());
+    }
+
+    private static boolean hasMcpMethods(Class<?> type) {
+        return !MethodIntrospector.selectMethods(type, (ReflectionUtils.MethodFilter) method ->
+            AnnotatedElementUtils.hasAnnotation(method, McpTool.class)
+                || AnnotatedElementUtils.hasAnnotation(method, McpResource.class)
+                || AnnotatedElementUtils.hasAnnotation(method, McpPrompt.class)).isEmpty();
+    }
+
+    private McpMethod introspect(Object bean, Method method) {
+        McpTool tool = AnnotatedElementUtils.findMergedAnnotation(method, McpTool.class);
+        if (tool != null) {
+            return new McpMethod(McpOperationType.TOOL, tool.name(), null, tool.description(), null,
+                bean, method, parameters(method));
+        }
+        McpResource resource = AnnotatedElementUtils.findMergedAnnotation(method, McpResource.class);
+        if (resource != null) {
+            return new McpMethod(McpOperationType.RESOURCE, resource.uri(), resource.name(), resource.description(),
+                resource.mimeType(), bean, method, parameters(method));
+        }
+        McpPrompt prompt = AnnotatedElementUtils.findMergedAnnotation(method, McpPrompt.class);
+        if (prompt != null) {
+            return new McpMethod(McpOperationType.PROMPT, prompt.name(), null, prompt.description(), null,
+                bean, method, parameters(method));
+        }
+        return null;
+    }
+
+    private List<McpMethodParameter> parameters(Method method) {
+        String[] names = parameterNameDiscoverer.getParameterNames(method);
+        Parameter[] parameters = method.getParameters();
+        List<McpMethodParameter> result = new ArrayList<>(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            String name = names != null ? names[i] : parameter.getName();
+            String description = "";
+            boolean required = true;
+
+            McpToolParam toolParam = parameter.getAnnotation(McpToolParam.class);
+            McpPromptParam promptParam = parameter.getAnnotation(McpPromptParam.class);
+            McpResourceParam resourceParam = parameter.getAnnotation(McpResourceParam.class);
+            if (toolParam != null) {
+                description = toolParam.description();
+                required = toolParam.required();
+            }
+            else if (promptParam != null) {
+                description = promptParam.description();
+                required = promptParam.required();
+            }
+            else if (resourceParam != null) {
+                description = resourceParam.description();
+            }
+            result.add(new McpMethodParameter(name, parameter.getParameterizedType(), description, required));
+        }
+        return List.copyOf(result);
+    }
+
+    public Collection<McpMethod> tools() {
+        return snapshot.tools();
+    }
+
+    public Collection<McpMethod> resources() {
+        return snapshot.resources();
+    }
+
+    public Collection<McpMethod> prompts() {
+        return snapshot.prompts();
+    }
+
+    public Optional<McpMethod> tool(String name) {
+        return snapshot.tool(name);
+    }
+
+    public Optional<McpMethod> prompt(String name) {
+        return snapshot.prompt(name);
+    }
+
+    /**
+     * Find the resource serving {@code uri}, preferring an exact URI over a template match.
+     */
+    public Optional<McpMethod> resource(String uri) {
+        return snapshot.resource(uri);
+    }
+
+    /**
+     * A change of the registry: the methods it added, or the methods it removed.
+     */
+    public record Change(List<McpMethod> added, List<McpMethod> removed) {
+
+        /**
+         * The types of the operations added or removed.
+         */
+        public List<McpOperationType> types() {
+            return Stream.concat(added.stream(), removed.stream()).map(McpMethod::type).distinct().toList();
+        }
+    }
+
+    /**
+     * An immutable view of the registered methods, in registration order.
+     */
+    public static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        private final Map<String, McpMethod> tools;
+
+        private final Map<String, McpMethod> resources;
+
+        private final List<McpMethod> templates;
+
+        private final Map<String, McpMethod> prompts;
+
+        private Snapshot(Map<String, McpMethod> tools, Map<String, McpMethod> resources,
+                Map<String, McpMethod> prompts) {
+            this.tools = tools;
+            this.resources = resources;
+            this.templates = resources.values().stream().filter(McpMethod::isTemplate).toList();
+            this.prompts = prompts;
+        }
+
+        Snapshot with(List<McpMethod> added) {
+            Map<McpOperationType, Map<String, McpMethod>> maps = copy(method -> false);
+            for (McpMethod mcpMethod : added) {
+                McpMethod existing = maps.get(mcpMethod.type()).putIfAbsent(mcpMethod.name(), mcpMethod);
+                if (existing != null) {
+                    throw new IllegalStateException(String.format("Duplicate MCP %s '%s' declared on %s and %s",
+                        mcpMethod.type().tagValue(), mcpMethod.name(), existing.method(), mcpMethod.method()));
+                }
+            }
+            return of(maps);
+        }
+
+        Snapshot without(List<McpMethod> removed) {
+            return of(copy(removed::contains));
+        }
+
+        private Map<McpOperationType, Map<String, McpMethod>> copy(Predicate<McpMethod> exclude) {
+            Map<McpOperationType, Map<String, McpMethod>> maps = Map.of(McpOperationType.TOOL, new LinkedHashMap<>(),
+                McpOperationType.RESOURCE, new LinkedHashMap<>(), McpOperationType.PROMPT, new LinkedHashMap<>());
+            for (McpMethod mcpMethod : all()) {
+                if (!exclude.test(mcpMethod)) {
+                    maps.get(mcpMethod.type()).put(mcpMethod.name(), mcpMethod);
+                }
+            }
+            return maps;
+        }
+
+        private static Snapshot of(Map<McpOperationType, Map<String, McpMethod>> maps) {
+            return new Snapshot(Collections.unmodifiableMap(maps.get(McpOperationType.TOOL)),
+                Collections.unmodifiableMap(maps.get(McpOperationType.RESOURCE)),
+                Collections.unmodifiableMap(maps.get(McpOperationType.PROMPT)));
+        }
+
+        List<McpMethod> all() {
+            List<McpMethod> all = new ArrayList<>(tools.size() + resources.size() + prompts.size());
+            all.addAll(tools.values());
+            all.addAll(resources.values());
+            all.addAll(prompts.values());
+            return all;
+        }
+
+        public Collection<McpMethod> tools() {
+            return tools.values();
+        }
+
+        public Collection<McpMethod> resources() {
+            return resources.values();
+        }
+
+        public Collection<McpMethod> prompts() {
+            return prompts.values();
+        }
+
+        public Optional<McpMethod> tool(String name) {
+            return Optional.ofNullable(tools.get(name));
+        }
+
+        public Optional<McpMethod> prompt(String name) {
+            return Optional.ofNullable(prompts.get(name));
+        }
+
+        /**
+         * Find the resource serving {@code uri}, preferring an exact URI over a template match.
+         */
+        public Optional<McpMethod> resource(String uri) {
+            McpMethod exact = resources.get(uri);
+            if (exact != null) {
+                return Optional.of(exact);
+            }
+            for (McpMethod template : templates) {
+                if (template.match(uri) != null) {
+                    return Optional.of(template);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+}
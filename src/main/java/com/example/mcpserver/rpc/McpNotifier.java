@@ -0,0 +1,29 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends JSON-RPC notifications to the client of a transport session, in between the
+ * responses to its requests.
+ */
+@FunctionalInterface
+public interface McpNotifier {
+
+    /**
+     * Send {@code notification}; may be called from any thread.
+     */
+    void send(ObjectNode notification);
+
+    /**
+     * Send {@code notification} once the transport has room for it, so that a sender
+     * of many notifications keeps pace with the client instead of filling the queue
+     * of the session. By default sent right away, for transports whose
+     * {@link #send} already waits for room.
+     *
+     * @return completes when the notification is queued
+     */
+    default Mono<Void> sendWhenReady(ObjectNode notification) {
+        return Mono.fromRunnable(() -> send(notification));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.ai.mcp.server.McpPrompt;
+import org.springframework.ai.mcp.server.McpResource;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Method;
+
+/**
+ * Identity of an annotated MCP method, as used in metrics, events and traces.
+ * Resources are identified by their declared URI, so templated resources such as
+ * {@code resource://docs/{topic}} stay a single, low-cardinality name.
+ *
+ * @param type the kind of operation
+ * @param name the tool or prompt name, or the resource URI (template)
+ */
+public record McpOperation(McpOperationType type, String name) {
+
+    /**
+     * The operation declared by {@code method}, or {@code null} if it is not an MCP method.
+     */
+    @Nullable
+    public static McpOperation of(Method method) {
+        McpTool tool = AnnotatedElementUtils.findMergedAnnotation(method, McpTool.class);
+        if (tool != null) {
+            return new McpOperation(McpOperationType.TOOL, tool.name());
+        }
+        McpResource resource = AnnotatedElementUtils.findMergedAnnotation(method, McpResource.class);
+        if (resource != null) {
+            return new McpOperation(McpOperationType.RESOURCE, resource.uri());
+        }
+        McpPrompt prompt = AnnotatedElementUtils.findMergedAnnotation(method, McpPrompt.class);
+        if (prompt != null) {
+            return new McpOperation(McpOperationType.PROMPT, prompt.name());
+        }
+        return null;
+    }
+}
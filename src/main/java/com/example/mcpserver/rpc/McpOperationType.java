@@ -0,0 +1,23 @@
+package com.example.mcpserver.rpc;
+
+/**
+ * The kinds of operations exposed through MCP annotations.
+ */
+public enum McpOperationType {
+
+    /** A method annotated with {@code @McpTool}. */
+    TOOL,
+
+    /** A method annotated with {@code @McpResource}. */
+    RESOURCE,
+
+    /** A method annotated with {@code @McpPrompt}. */
+    PROMPT;
+
+    /**
+     * Lower-case name used in metric tags, logs and error messages.
+     */
+    public String tagValue() {
+        return name().toLowerCase();
+    }
+}
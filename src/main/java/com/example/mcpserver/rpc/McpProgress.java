@@ -0,0 +1,187 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reports the progress of a long-running MCP method to the client, as
+ * {@code notifications/progress} messages for the request's {@code _meta.progressToken}.
+ *
+ * <pre>
+ * McpProgress progress = McpProgress.current();
+ * for (int i = 0; i &lt; files.size(); i++) {
+ *     scan(files.get(i));
+ *     progress.report(i + 1, files.size(), files.get(i).getName());
+ * }
+ * </pre>
+ *
+ * Reports are throttled to {@code mcp.progress.max-rate} notifications per second and
+ * request: reports arriving sooner after the previous notification are dropped, except
+ * the one reaching the total. Reports that do not increase the progress are dropped as
+ * well, as the protocol requires progress to increase. When the client did not ask for
+ * progress, or the transport cannot send notifications (the Spring AI HTTP endpoint),
+ * every report is a no-op.
+ *
+ * <p>The handle may be used from any thread, so methods that hand their work to other
+ * threads should look it up with {@link #current()} before doing so.
+ */
+public final class McpProgress {
+
+    /** Method of progress notifications. */
+    static final String PROGRESS = "notifications/progress";
+
+    /** Method of notifications carrying a chunk of a tool result, see {@link #partialResult}. */
+    static final String PARTIAL_RESULT = "notifications/partial_result";
+
+    private static final McpProgress NONE = new McpProgress(null, null, 0, false);
+
+    @Nullable
+    private final McpNotifier notifier;
+
+    @Nullable
+    private final JsonNode progressToken;
+
+    private final long minIntervalNanos;
+
+    private final boolean partialResults;
+
+    private double lastProgress = Double.NEGATIVE_INFINITY;
+
+    private long lastSent;
+
+    private boolean sent;
+
+    private long chunks;
+
+    private McpProgress(@Nullable McpNotifier notifier, @Nullable JsonNode progressToken, long minIntervalNanos,
+            boolean partialResults) {
+        this.notifier = notifier;
+        this.progressToken = progressToken;
+        this.minIntervalNanos = minIntervalNanos;
+        this.partialResults = partialResults;
+    }
+
+    /**
+     * A handle reporting progress for {@code progressToken}, or a no-op handle if there
+     * is no notifier or token.
+     *
+     * @param maxRate most notifications per second; zero or less for no limit
+     * @param partialResults whether the client asked for tool results in chunks
+     */
+    static McpProgress of(@Nullable McpNotifier notifier, @Nullable JsonNode progressToken, double maxRate,
+            boolean partialResults) {
+        if (notifier == null || progressToken == null || progressToken.isNull()) {
+            return NONE;
+        }
+        long minIntervalNanos = maxRate > 0 ? (long) (1_000_000_000L / maxRate) : 0;
+        return new McpProgress(notifier, progressToken, minIntervalNanos, partialResults);
+    }
+
+    /**
+     * The progress handle of the MCP method executing on the current thread; a no-op
+     * handle if there is none or the client did not ask for progress.
+     */
+    public static McpProgress current() {
+        McpCallContext context = McpCallContext.current();
+        return context != null ? context.progress() : NONE;
+    }
+
+    static McpProgress none() {
+        return NONE;
+    }
+
+    /**
+     * Whether reports reach the client. Methods can skip computing progress when not.
+     */
+    public boolean isEnabled() {
+        return notifier != null;
+    }
+
+    /**
+     * Whether the client asked for the content of a tool result in chunks, as
+     * {@code notifications/partial_result} messages, rather than in the response.
+     */
+    boolean isPartialResults() {
+        return partialResults;
+    }
+
+    /**
+     * Report {@code progress} out of {@code total}.
+     */
+    public void report(double progress, double total) {
+        report(progress, total, null);
+    }
+
+    /**
+     * Report {@code progress} with a human-readable {@code message}.
+     *
+     * @param progress the progress so far, increasing with every report
+     * @param total the progress at completion, if known
+     * @param message a description of the current step, if any
+     * @return whether a notification was sent rather than dropped
+     */
+    public boolean report(double progress, @Nullable Double total, @Nullable String message) {
+        if (notifier == null) {
+            return false;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            boolean last = total != null && progress >= total;
+            if (progress <= lastProgress || !last && sent && now - lastSent < minIntervalNanos) {
+                return false;
+            }
+            lastProgress = progress;
+            lastSent = now;
+            sent = true;
+            ObjectNode notification = notification(PROGRESS);
+            ObjectNode params = (ObjectNode) notification.get("params");
+            params.put("progress", progress);
+            if (total != null) {
+                params.put("total", total);
+            }
+            if (message != null) {
+                params.put("message", message);
+            }
+            // sent under the lock, so that notifications arrive with increasing progress
+            notifier.send(notification);
+        }
+        return true;
+    }
+
+    /**
+     * Send one chunk of the content of a tool result once the transport has room for
+     * it. Chunks are numbered from zero when subscribed to and are never throttled,
+     * since they carry the result; the next chunk is subscribed to once the previous
+     * one completed, so that chunks arrive in the order they are numbered.
+     *
+     * @return the number of the chunk, once it is queued
+     */
+    Mono<Long> partialResult(ArrayNode content) {
+        if (notifier == null) {
+            throw new IllegalStateException("Partial results were not requested");
+        }
+        return Mono.defer(() -> {
+            ObjectNode notification = notification(PARTIAL_RESULT);
+            ObjectNode params = (ObjectNode) notification.get("params");
+            long chunk;
+            synchronized (this) {
+                chunk = chunks++;
+            }
+            params.put("chunk", chunk);
+            params.set("content", content);
+            return notifier.sendWhenReady(notification).thenReturn(chunk);
+        });
+    }
+
+    private ObjectNode notification(String method) {
+        ObjectNode notification = JsonNodeFactory.instance.objectNode()
+            .put("jsonrpc", "2.0")
+            .put("method", method);
+        notification.putObject("params").set("progressToken", progressToken);
+        return notification;
+    }
+}
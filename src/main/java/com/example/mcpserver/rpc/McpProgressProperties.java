@@ -0,0 +1,19 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of progress notifications and partial results of the WebSocket and stdio
+ * transports.
+ *
+ * @param maxRate most {@code notifications/progress} messages per second and request;
+ * zero or less for no limit
+ * @param partialResults whether clients may ask for tool results streamed in chunks
+ * with {@code _meta.partialResults}
+ */
+@ConfigurationProperties(prefix = "mcp.progress")
+public record McpProgressProperties(
+        @DefaultValue("10") double maxRate,
+        @DefaultValue("true") boolean partialResults) {
+}
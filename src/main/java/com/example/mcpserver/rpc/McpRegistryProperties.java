@@ -0,0 +1,17 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the {@link McpMethodRegistry} at runtime.
+ *
+ * @param listChangedDelay how long the registry has to stay unchanged before clients
+ * are sent {@code list_changed} notifications, so that a burst of changes is announced once
+ */
+@ConfigurationProperties(prefix = "mcp.registry")
+public record McpRegistryProperties(
+        @DefaultValue("200ms") Duration listChangedDelay) {
+}
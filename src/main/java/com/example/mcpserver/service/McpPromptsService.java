@@ -1,5 +1,7 @@
 package com.example.mcpserver.service;
 
+import com.example.mcpserver.prompt.ArgumentTruncator;
+import com.example.mcpserver.prompt.PromptSegments;
 import org.springframework.ai.mcp.server.McpPrompt;
 import org.springframework.ai.mcp.server.McpPromptParam;
 import org.springframework.stereotype.Service;
@@ -16,6 +18,12 @@ import java.util.Map;
 @Service
 public class McpPromptsService {
 
+    private final ArgumentTruncator argumentTruncator;
+
+    public McpPromptsService(ArgumentTruncator argumentTruncator) {
+        this.argumentTruncator = argumentTruncator;
+    }
+
     /**
      * Example 1: Simple greeting prompt
      * Name: greeting
@@ -80,22 +88,34 @@ public class McpPromptsService {
             @McpPromptParam(description = "The analysis goal or question", required = true) String goal,
             @McpPromptParam(description = "Additional context about the data", required = false) String context) {
 
-        StringBuilder prompt = new StringBuilder();
-        prompt.append(String.format("Analyze the following %s data:\n\n", dataType));
+        return renderDataAnalysisPrompt(dataType, goal, context).toString();
+    }
+
+    /**
+     * Render the analyze-data prompt without materializing it.
+     * {@code context} is referenced rather than copied and is truncated per the argument policy.
+     */
+    public PromptSegments renderDataAnalysisPrompt(String dataType, String goal, String context) {
+        PromptSegments prompt = new PromptSegments();
+        prompt.text("Analyze the following ").text(dataType).text(" data:\n\n");
 
         if (context != null && !context.isEmpty()) {
-            prompt.append(String.format("Context: %s\n\n", context));
+            prompt.text("Context: ");
+            argumentTruncator.append(prompt, context);
+            prompt.text("\n\n");
         }
 
-        prompt.append(String.format("Analysis Goal: %s\n\n", goal));
-        prompt.append("Please provide:\n");
-        prompt.append("1. Summary statistics and key findings\n");
-        prompt.append("2. Patterns or trends identified\n");
-        prompt.append("3. Anomalies or outliers (if any)\n");
-        prompt.append("4. Insights and recommendations\n");
-        prompt.append("5. Suggested visualizations\n");
-
-        return prompt.toString();
+        prompt.text("Analysis Goal: ").text(goal).text("\n\n");
+        prompt.text("""
+            Please provide:
+            1. Summary statistics and key findings
+            2. Patterns or trends identified
+            3. Anomalies or outliers (if any)
+            4. Insights and recommendations
+            5. Suggested visualizations
+            """);
+
+        return prompt;
     }
 
     /**
@@ -146,23 +166,37 @@ public class McpPromptsService {
             @McpPromptParam(description = "The technology stack or environment", required = true) String stack,
             @McpPromptParam(description = "What has been tried already", required = false) String attemptedSolutions) {
 
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("Help me debug the following issue:\n\n");
-        prompt.append(String.format("**Issue:** %s\n\n", issue));
-        prompt.append(String.format("**Stack:** %s\n\n", stack));
+        return renderDebugPrompt(issue, stack, attemptedSolutions).toString();
+    }
+
+    /**
+     * Render the debug-helper prompt without materializing it.
+     * {@code issue} and {@code attemptedSolutions} are truncated per the argument policy.
+     */
+    public PromptSegments renderDebugPrompt(String issue, String stack, String attemptedSolutions) {
+        PromptSegments prompt = new PromptSegments();
+        prompt.text("Help me debug the following issue:\n\n");
+        prompt.text("**Issue:** ");
+        argumentTruncator.append(prompt, issue);
+        prompt.text("\n\n");
+        prompt.text("**Stack:** ").text(stack).text("\n\n");
 
         if (attemptedSolutions != null && !attemptedSolutions.isEmpty()) {
-            prompt.append(String.format("**Already Tried:** %s\n\n", attemptedSolutions));
+            prompt.text("**Already Tried:** ");
+            argumentTruncator.append(prompt, attemptedSolutions);
+            prompt.text("\n\n");
         }
 
-        prompt.append("Please provide:\n");
-        prompt.append("1. Possible root causes\n");
-        prompt.append("2. Step-by-step debugging approach\n");
-        prompt.append("3. Specific things to check or test\n");
-        prompt.append("4. Recommended fixes or workarounds\n");
-        prompt.append("5. How to prevent this issue in the future\n");
+        prompt.text("""
+            Please provide:
+            1. Possible root causes
+            2. Step-by-step debugging approach
+            3. Specific things to check or test
+            4. Recommended fixes or workarounds
+            5. How to prevent this issue in the future
+            """);
 
-        return prompt.toString();
+        return prompt;
     }
 
     /**
@@ -1,12 +1,12 @@
 package com.example.mcpserver.service;
 
+import com.example.mcpserver.observability.McpCostTracker;
 import org.springframework.ai.mcp.server.McpResource;
 import org.springframework.ai.mcp.server.McpResourceParam;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -17,6 +17,51 @@ import java.util.Map;
 @Service
 public class McpResourcesService {
 
+    private static final ServerConfig SERVER_CONFIG = new ServerConfig(
+        "spring-mcp-server",
+        "STATELESS",
+        Map.of(
+            "tools", true,
+            "resources", true,
+            "prompts", true,
+            "logging", true
+        ),
+        Map.of(
+            "mcp", "/mcp",
+            "health", "/actuator/health"
+        ));
+
+    private final McpCostTracker costTracker;
+
+    public McpResourcesService(McpCostTracker costTracker) {
+        this.costTracker = costTracker;
+    }
+
+    /**
+     * Payload of {@code resource://system/info}.
+     */
+    public record SystemInfo(
+            String timestamp,
+            String serverName,
+            String version,
+            String javaVersion,
+            String osName,
+            String osVersion,
+            int availableProcessors,
+            long freeMemory,
+            long totalMemory) {
+    }
+
+    /**
+     * Payload of {@code resource://config/server}.
+     */
+    public record ServerConfig(
+            String name,
+            String protocol,
+            Map<String, Boolean> capabilities,
+            Map<String, String> endpoints) {
+    }
+
     /**
      * Example 1: Simple static text resource
      * URI: resource://welcome
@@ -41,20 +86,32 @@ public class McpResourcesService {
         description = "Current system information including time and runtime details",
         mimeType = "application/json"
     )
-    public Map<String, Object> getSystemInfo() {
-        Map<String, Object> info = new HashMap<>();
-
-        info.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        info.put("serverName", "Spring MCP Server");
-        info.put("version", "1.0.0");
-        info.put("javaVersion", System.getProperty("java.version"));
-        info.put("osName", System.getProperty("os.name"));
-        info.put("osVersion", System.getProperty("os.version"));
-        info.put("availableProcessors", Runtime.getRuntime().availableProcessors());
-        info.put("freeMemory", Runtime.getRuntime().freeMemory());
-        info.put("totalMemory", Runtime.getRuntime().totalMemory());
-
-        return info;
+    public SystemInfo getSystemInfo() {
+        Runtime runtime = Runtime.getRuntime();
+        return new SystemInfo(
+            LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME),
+            "Spring MCP Server",
+            "1.0.0",
+            System.getProperty("java.version"),
+            System.getProperty("os.name"),
+            System.getProperty("os.version"),
+            runtime.availableProcessors(),
+            runtime.freeMemory(),
+            runtime.totalMemory());
+    }
+
+    /**
+     * Example 2b: Per-operation CPU time and allocation, ranked
+     * URI: resource://system/cost
+     */
+    @McpResource(
+        uri = "resource://system/cost",
+        name = "Operation Cost",
+        description = "CPU time and allocated bytes per tool, resource and prompt, with top-N rankings",
+        mimeType = "application/json"
+    )
+    public McpCostTracker.CostReport getOperationCost() {
+        return costTracker.report();
     }
 
     /**
@@ -67,23 +124,8 @@ public class McpResourcesService {
         description = "Current server configuration and capabilities",
         mimeType = "application/json"
     )
-    public Map<String, Object> getServerConfig() {
-        Map<String, Object> config = new HashMap<>();
-
-        config.put("name", "spring-mcp-server");
-        config.put("protocol", "STATELESS");
-        config.put("capabilities", Map.of(
-            "tools", true,
-            "resources", true,
-            "prompts", true,
-            "logging", true
-        ));
-        config.put("endpoints", Map.of(
-            "mcp", "/mcp",
-            "health", "/actuator/health"
-        ));
-
-        return config;
+    public ServerConfig getServerConfig() {
+        return SERVER_CONFIG;
     }
 
     /**
@@ -108,6 +150,7 @@ public class McpResourcesService {
                 ## Available Tools
                 - Calculator operations (add, subtract, multiply, divide)
                 - Utility functions (echo, get_current_time, random_number)
+                - pipeline, which runs several tool calls in one request
 
                 ## Usage
                 Tools can be called by MCP clients with the appropriate parameters.
@@ -121,6 +164,7 @@ public class McpResourcesService {
                 ## Available Resources
                 - resource://welcome - Welcome message
                 - resource://system/info - System information
+                - resource://system/cost - CPU time and allocation per operation
                 - resource://config/server - Server configuration
                 - resource://docs/{topic} - Documentation
 
@@ -192,10 +236,12 @@ public class McpResourcesService {
             - echo(message): Echo back a message
             - get_current_time(timezone): Get current date/time
             - random_number(min, max): Generate random number
+            - pipeline(steps, output): Run several tool calls, passing results with {"$ref": "<step id>"}
 
             RESOURCES:
             - resource://welcome: Welcome message
             - resource://system/info: System information (JSON)
+            - resource://system/cost: CPU time and allocation per operation (JSON)
             - resource://config/server: Server configuration (JSON)
             - resource://docs/{topic}: Documentation by topic
             - resource://api/reference: This API reference
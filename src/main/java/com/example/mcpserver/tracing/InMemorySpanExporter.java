@@ -0,0 +1,58 @@
+package com.example.mcpserver.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the most recent ended spans in a fixed-size ring buffer, so traces can be
+ * inspected through the {@code spans} actuator endpoint without a collector.
+ * Exporting is lock-free: a writer claims a slot with one atomic increment and
+ * overwrites the oldest span.
+ */
+public class InMemorySpanExporter implements Consumer<SpanData> {
+
+    private final AtomicReferenceArray<SpanData> buffer;
+
+    private final AtomicLong next = new AtomicLong();
+
+    public InMemorySpanExporter(int capacity) {
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void accept(SpanData span) {
+        buffer.set((int) (next.getAndIncrement() % buffer.length()), span);
+    }
+
+    /**
+     * The buffered spans, most recent first.
+     */
+    public List<SpanData> spans() {
+        long end = next.get();
+        long start = Math.max(0, end - buffer.length());
+        List<SpanData> spans = new ArrayList<>((int) (end - start));
+        for (long i = end - 1; i >= start; i--) {
+            SpanData span = buffer.get((int) (i % buffer.length()));
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    /**
+     * The buffered spans of one trace, most recent first.
+     */
+    public List<SpanData> trace(String traceId) {
+        return spans().stream().filter(span -> span.traceId().equals(traceId)).toList();
+    }
+
+    public void clear() {
+        for (int i = 0; i < buffer.length(); i++) {
+            buffer.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.mcpserver.tracing;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A sampled span in progress. Unsampled requests never create one, which is what
+ * keeps their tracing overhead close to zero.
+ *
+ * <p>The span of the work running on the current thread is available through
+ * {@link #current()}; it is carried across Reactor thread hops by context
+ * propagation under {@link #CONTEXT_KEY}.
+ */
+public final class McpSpan {
+
+    /** Reactor context key of the current span. */
+    public static final String CONTEXT_KEY = "mcp.span";
+
+    private static final ThreadLocal<McpSpan> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+
+    private final String spanId;
+
+    @Nullable
+    private final String parentSpanId;
+
+    private final String name;
+
+    private final Instant start = Instant.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+
+    private final Consumer<SpanData> exporter;
+
+    @Nullable
+    private String error;
+
+    private boolean ended;
+
+    McpSpan(String traceId, String spanId, @Nullable String parentSpanId, String name, Consumer<SpanData> exporter) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.exporter = exporter;
+    }
+
+    @Nullable
+    public static McpSpan current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make {@code span} the current span, or clear it if {@code null}.
+     */
+    public static void restore(@Nullable McpSpan span) {
+        if (span == null) {
+            CURRENT.remove();
+        }
+        else {
+            CURRENT.set(span);
+        }
+    }
+
+    /**
+     * Make this the current span, returning the previous one to {@link #restore}.
+     */
+    @Nullable
+    public McpSpan makeCurrent() {
+        McpSpan previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    /**
+     * The {@code traceparent} identifying this span as the parent of downstream work.
+     */
+    public TraceParent traceParent() {
+        return new TraceParent(traceId, spanId, true);
+    }
+
+    public synchronized McpSpan attribute(String key, @Nullable String value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public synchronized void recordError(Throwable ex) {
+        error = ex.getClass().getName();
+    }
+
+    /**
+     * End the span and hand it to the exporter. Only the first call has an effect.
+     */
+    public void end() {
+        SpanData data;
+        synchronized (this) {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            data = new SpanData(traceId, spanId, parentSpanId, name, start, System.nanoTime() - startNanos,
+                error, Map.copyOf(attributes));
+        }
+        exporter.accept(data);
+    }
+}
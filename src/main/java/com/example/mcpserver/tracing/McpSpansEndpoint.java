@@ -0,0 +1,39 @@
+package com.example.mcpserver.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/spans}) over the {@link InMemorySpanExporter}:
+ * {@code GET /actuator/spans} lists the recent spans, {@code GET /actuator/spans/{traceId}}
+ * the spans of one trace, and {@code DELETE /actuator/spans} clears the buffer.
+ */
+@Endpoint(id = "spans")
+public class McpSpansEndpoint {
+
+    private final InMemorySpanExporter exporter;
+
+    public McpSpansEndpoint(InMemorySpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public Map<String, List<SpanData>> spans() {
+        return Map.of("spans", exporter.spans());
+    }
+
+    @ReadOperation
+    public Map<String, List<SpanData>> trace(@Selector String traceId) {
+        return Map.of("spans", exporter.trace(traceId));
+    }
+
+    @DeleteOperation
+    public void clear() {
+        exporter.clear();
+    }
+}
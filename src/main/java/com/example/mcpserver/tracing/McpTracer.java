@@ -0,0 +1,71 @@
+package com.example.mcpserver.tracing;
+
+import org.springframework.lang.Nullable;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Starts spans for MCP requests with parent-based head sampling: a request carrying
+ * a {@code traceparent} follows the caller's sampling decision, any other request
+ * is sampled with probability {@code mcp.tracing.sample-rate}. The decision is made
+ * once, when the request is dispatched; nothing is allocated for unsampled requests.
+ */
+public class McpTracer {
+
+    private final McpTracingProperties properties;
+
+    private final InMemorySpanExporter exporter;
+
+    public McpTracer(McpTracingProperties properties, InMemorySpanExporter exporter) {
+        this.properties = properties;
+        this.exporter = exporter;
+    }
+
+    /**
+     * Start the span of a request, or return {@code null} if it is not sampled.
+     */
+    @Nullable
+    public McpSpan startRequestSpan(String name, @Nullable TraceParent parent) {
+        return sample(parent) ? startSampledRequestSpan(name, parent) : null;
+    }
+
+    /**
+     * The head-sampling decision for a request: the caller's if there is a
+     * {@code parent}, otherwise a draw at {@code mcp.tracing.sample-rate}.
+     */
+    public boolean sample(@Nullable TraceParent parent) {
+        if (!properties.enabled()) {
+            return false;
+        }
+        if (parent != null) {
+            return parent.sampled();
+        }
+        return ThreadLocalRandom.current().nextDouble() < properties.sampleRate();
+    }
+
+    /**
+     * Start the span of a request that {@link #sample} has selected.
+     */
+    public McpSpan startSampledRequestSpan(String name, @Nullable TraceParent parent) {
+        return parent != null
+            ? new McpSpan(parent.traceId(), newSpanId(), parent.parentId(), name, exporter)
+            : new McpSpan(newTraceId(), newSpanId(), null, name, exporter);
+    }
+
+    /**
+     * Start a child of {@code parent}.
+     */
+    public McpSpan startChildSpan(McpSpan parent, String name) {
+        return new McpSpan(parent.traceId(), newSpanId(), parent.spanId(), name, exporter);
+    }
+
+    private static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong() | 1);
+    }
+
+    private static String newSpanId() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong() | 1);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.mcpserver.tracing;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.context.ContextRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Tracing of MCP requests: request spans started from the caller's W3C trace
+ * context (or head sampling), child spans around every annotated method, and an
+ * in-memory exporter served by the {@code spans} actuator endpoint.
+ * Disable with {@code mcp.tracing.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.tracing", name = "enabled", matchIfMissing = true)
+public class McpTracingConfiguration {
+
+    /** Outermost MCP method advice, so the method span covers the other instrumentation too. */
+    static final int ORDER = 40;
+
+    static {
+        // lets Reactor context propagation carry the current span across thread hops
+        ContextRegistry.getInstance().registerThreadLocalAccessor(McpSpan.CONTEXT_KEY,
+            McpSpan::current, McpSpan::restore, () -> McpSpan.restore(null));
+    }
+
+    @Bean
+    public InMemorySpanExporter mcpSpanExporter(McpTracingProperties properties) {
+        return new InMemorySpanExporter(properties.bufferSize());
+    }
+
+    @Bean
+    public McpTracer mcpTracer(McpTracingProperties properties, InMemorySpanExporter exporter) {
+        return new McpTracer(properties, exporter);
+    }
+
+    @Bean
+    public static McpOperationAdvisingPostProcessor mcpTracingPostProcessor(ObjectProvider<McpTracer> tracer) {
+        return new McpOperationAdvisingPostProcessor(new McpTracingInterceptor(tracer), ORDER);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public McpTracingFilter mcpTracingFilter(McpTracer tracer, ObjectMapper objectMapper,
+            McpCodecProperties codecProperties) {
+        return new McpTracingFilter(tracer, objectMapper, codecProperties);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public McpSpansEndpoint mcpSpansEndpoint(InMemorySpanExporter exporter) {
+        return new McpSpansEndpoint(exporter);
+    }
+}
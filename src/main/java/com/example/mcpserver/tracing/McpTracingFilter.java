@@ -0,0 +1,82 @@
+package com.example.mcpserver.tracing;
+
+import com.example.mcpserver.codec.McpCodecProperties;
+import com.example.mcpserver.codec.McpContentNegotiationFilter;
+import com.example.mcpserver.limit.McpRequestMessages;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Starts the request span of Streamable HTTP requests on {@code /mcp}.
+ *
+ * <p>The head-sampling decision is made from the {@code traceparent} header, or at
+ * {@code mcp.tracing.sample-rate} without one, before the body is touched, so
+ * unsampled requests pass through untouched. For sampled requests the message is
+ * read through {@link McpRequestMessages}, which shares it with the admission and
+ * idempotency filters, and a {@code params._meta.traceparent} in it takes precedence
+ * over the header as the span's parent. The span is put into the Reactor context,
+ * from which context propagation restores it on the threads running the annotated
+ * methods.
+ */
+public class McpTracingFilter implements WebFilter, Ordered {
+
+    /** After content negotiation, so that binary request bodies have been turned into JSON. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER + 1;
+
+    private final McpTracer tracer;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxPayloadSize;
+
+    public McpTracingFilter(McpTracer tracer, ObjectMapper objectMapper, McpCodecProperties codecProperties) {
+        this.tracer = tracer;
+        this.objectMapper = objectMapper;
+        this.maxPayloadSize = (int) codecProperties.maxPayloadSize().toBytes();
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!McpRequestMessages.isMcpPost(request)) {
+            return chain.filter(exchange);
+        }
+        TraceParent header = TraceParent.parse(request.getHeaders().getFirst(TraceParent.HEADER));
+        if (!tracer.sample(header)) {
+            return chain.filter(exchange);
+        }
+
+        return McpRequestMessages.read(exchange, objectMapper, maxPayloadSize).flatMap(buffered -> {
+            JsonNode message = McpRequestMessages.message(buffered);
+            JsonNode params = message.path("params");
+            TraceParent meta = TraceParent.parse(params.path("_meta").path(TraceParent.HEADER).asText(null));
+            if (meta != null && !meta.sampled()) {
+                return chain.filter(buffered);
+            }
+
+            McpSpan span = tracer.startSampledRequestSpan("mcp.request", meta != null ? meta : header);
+            if (message.isObject()) {
+                span.attribute("mcp.method", message.path("method").asText(null))
+                    .attribute("mcp.name", params.hasNonNull("name") ? params.get("name").asText() : params.path("uri").asText(null));
+            }
+            span.attribute("mcp.transport", "http")
+                .attribute("mcp.session.id", request.getHeaders().getFirst("Mcp-Session-Id"));
+
+            return chain.filter(buffered)
+                .doOnError(span::recordError)
+                .doFinally(signal -> span.end())
+                .contextWrite(context -> context.put(McpSpan.CONTEXT_KEY, span));
+        });
+    }
+}
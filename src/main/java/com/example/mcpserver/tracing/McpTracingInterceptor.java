@@ -0,0 +1,70 @@
+package com.example.mcpserver.tracing;
+
+import com.example.mcpserver.rpc.McpAsyncResults;
+import com.example.mcpserver.rpc.McpOperation;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps each MCP method call of a sampled request in a child span. Without a
+ * current span (the request was not sampled) the call proceeds untouched. The span
+ * of a method returning a {@code Mono}, {@code Flux} or {@code CompletableFuture}
+ * ends when the result completes.
+ */
+public class McpTracingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<McpTracer> tracerProvider;
+
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    public McpTracingInterceptor(ObjectProvider<McpTracer> tracerProvider) {
+        this.tracerProvider = tracerProvider;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        McpSpan parent = McpSpan.current();
+        if (parent == null) {
+            return invocation.proceed();
+        }
+        McpSpan span = tracerProvider.getObject().startChildSpan(parent, spanName(invocation));
+        McpSpan previous = span.makeCurrent();
+        Object result;
+        try {
+            result = invocation.proceed();
+        }
+        catch (Throwable ex) {
+            span.recordError(ex);
+            span.end();
+            throw ex;
+        }
+        finally {
+            McpSpan.restore(previous);
+        }
+        if (McpAsyncResults.isAsync(result)) {
+            return McpAsyncResults.whenComplete(result, (value, error) -> {
+                if (error != null) {
+                    span.recordError(error);
+                }
+                span.end();
+            });
+        }
+        span.end();
+        return result;
+    }
+
+    private String spanName(MethodInvocation invocation) {
+        return spanNames.computeIfAbsent(invocation.getMethod(), method -> {
+            Object target = invocation.getThis();
+            McpOperation operation = McpOperation.of(target != null
+                ? AopUtils.getMostSpecificMethod(method, AopUtils.getTargetClass(target)) : method);
+            return operation != null ? operation.type().tagValue() + " " + operation.name() : method.getName();
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.mcpserver.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for tracing MCP requests.
+ *
+ * @param enabled whether requests are traced at all
+ * @param sampleRate fraction of requests without a caller {@code traceparent} that are
+ * sampled; requests with one follow the caller's decision
+ * @param bufferSize number of ended spans kept in memory
+ */
+@ConfigurationProperties(prefix = "mcp.tracing")
+public record McpTracingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.1") double sampleRate,
+        @DefaultValue("1024") int bufferSize) {
+}
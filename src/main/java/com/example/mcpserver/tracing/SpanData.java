@@ -0,0 +1,20 @@
+package com.example.mcpserver.tracing;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * An ended span, as kept by the {@link InMemorySpanExporter}.
+ *
+ * @param traceId the trace the span belongs to
+ * @param spanId the span's own id
+ * @param parentSpanId the parent span, or {@code null} for a root span
+ * @param name the span name
+ * @param start when the span started
+ * @param durationNanos how long the span lasted
+ * @param error the exception class if the operation failed, otherwise {@code null}
+ * @param attributes span attributes
+ */
+public record SpanData(String traceId, String spanId, String parentSpanId, String name, Instant start,
+        long durationNanos, String error, Map<String, String> attributes) {
+}
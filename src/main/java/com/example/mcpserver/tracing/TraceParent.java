@@ -0,0 +1,57 @@
+package com.example.mcpserver.tracing;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * A W3C Trace Context {@code traceparent} value:
+ * {@code 00-<trace-id>-<parent-id>-<flags>}.
+ *
+ * @param traceId 32 lower-case hex characters
+ * @param parentId 16 lower-case hex characters
+ * @param sampled whether the caller sampled the trace
+ */
+public record TraceParent(String traceId, String parentId, boolean sampled) {
+
+    /** The HTTP header and {@code _meta} key carrying the value. */
+    public static final String HEADER = "traceparent";
+
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+
+    private static final String INVALID_PARENT_ID = "0".repeat(16);
+
+    /**
+     * Parse a {@code traceparent} value, returning {@code null} if it is absent or invalid.
+     */
+    @Nullable
+    public static TraceParent parse(@Nullable String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.trim().split("-");
+        if (parts.length < 4 || parts[0].length() != 2 || "ff".equals(parts[0])
+                || parts[1].length() != 32 || parts[2].length() != 16 || parts[3].length() != 2
+                || !isHex(parts[0]) || !isHex(parts[1]) || !isHex(parts[2]) || !isHex(parts[3])
+                || INVALID_TRACE_ID.equals(parts[1]) || INVALID_PARENT_ID.equals(parts[2])) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 0x01) != 0;
+        return new TraceParent(parts[1], parts[2], sampled);
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Format as a version {@code 00} header value.
+     */
+    public String format() {
+        return "00-" + traceId + "-" + parentId + (sampled ? "-01" : "-00");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.mcpserver.transport.sse;
+
+import com.example.mcpserver.codec.McpContentNegotiationFilter;
+import org.reactivestreams.Publisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes {@code text/event-stream} responses through a bounded
+ * {@link SseOutboundBuffer} per stream. Only requests that accept SSE are decorated;
+ * other responses, and SSE responses of clients that keep up, pass through unchanged
+ * apart from the batching of queued events.
+ */
+public class McpSseBackpressureFilter implements WebFilter, Ordered {
+
+    /** Closest to the MCP server of the {@code /mcp} filters, so it sees events as they are produced. */
+    public static final int ORDER = McpContentNegotiationFilter.ORDER + 4;
+
+    static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private final McpSseProperties properties;
+
+    private final McpSseStreams streams;
+
+    public McpSseBackpressureFilter(McpSseProperties properties, McpSseStreams streams) {
+        this.properties = properties;
+        this.streams = streams;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        boolean acceptsEventStream = request.getHeaders().getAccept().stream()
+            .anyMatch(type -> type.isCompatibleWith(MediaType.TEXT_EVENT_STREAM) && !type.isWildcardType());
+        if (!acceptsEventStream) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate()
+            .response(new BufferedEventStreamResponse(exchange.getResponse(), request))
+            .build());
+    }
+
+    /**
+     * Response whose event stream, if it turns out to be one, goes through a bounded buffer.
+     */
+    private class BufferedEventStreamResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+
+        BufferedEventStreamResponse(ServerHttpResponse delegate, ServerHttpRequest request) {
+            super(delegate);
+            this.request = request;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            if (!isEventStream()) {
+                return super.writeWith(body);
+            }
+            return super.writeWith(buffer().bound(body));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            if (!isEventStream()) {
+                return super.writeAndFlushWith(body);
+            }
+            // every event arrives as its own group; each batch of whole events is written and flushed at once
+            return super.writeAndFlushWith(buffer().boundGroups(body).map(Mono::just));
+        }
+
+        private boolean isEventStream() {
+            MediaType contentType = getHeaders().getContentType();
+            return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+        }
+
+        private SseOutboundBuffer buffer() {
+            String sessionId = getHeaders().getFirst(SESSION_HEADER);
+            if (sessionId == null) {
+                sessionId = request.getHeaders().getFirst(SESSION_HEADER);
+            }
+            return new SseOutboundBuffer(sessionId != null ? sessionId : request.getId(), properties, bufferFactory(),
+                streams, System::nanoTime);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.mcpserver.transport.sse;
+
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Slow-consumer protection of SSE responses: bounded per-stream buffers, event
+ * batching, metrics and the {@code /actuator/sse} endpoint.
+ * Disable with {@code mcp.transport.sse.enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "mcp.transport.sse", name = "enabled", matchIfMissing = true)
+public class McpSseConfiguration {
+
+    @Bean
+    public McpSseStreams mcpSseStreams() {
+        return new McpSseStreams();
+    }
+
+    @Bean
+    public McpSseBackpressureFilter mcpSseBackpressureFilter(McpSseProperties properties, McpSseStreams streams) {
+        return new McpSseBackpressureFilter(properties, streams);
+    }
+
+    @Bean
+    public McpSseMetrics mcpSseMetrics(McpSseStreams streams) {
+        return new McpSseMetrics(streams);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public McpSseEndpoint mcpSseEndpoint(McpSseStreams streams, McpSseProperties properties) {
+        return new McpSseEndpoint(streams, properties);
+    }
+}
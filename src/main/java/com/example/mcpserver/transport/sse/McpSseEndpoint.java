@@ -0,0 +1,43 @@
+package com.example.mcpserver.transport.sse;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint ({@code /actuator/sse}) listing the open SSE streams with their
+ * buffered bytes against the per-stream cap.
+ */
+@Endpoint(id = "sse")
+public class McpSseEndpoint {
+
+    private final McpSseStreams streams;
+
+    private final McpSseProperties properties;
+
+    public McpSseEndpoint(McpSseStreams streams, McpSseProperties properties) {
+        this.streams = streams;
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public SseReport streams() {
+        return new SseReport(properties.maxBufferSize().toBytes(), properties.policy().name().toLowerCase(),
+            streams.bufferedBytes(), streams.droppedEvents(), streams.disconnects(), streams.stats());
+    }
+
+    /**
+     * The SSE buffer limits and the open streams.
+     *
+     * @param maxBufferSize the cap on buffered bytes per stream
+     * @param policy the slow consumer policy
+     * @param bufferedBytes bytes buffered across all streams
+     * @param droppedEvents events discarded so far
+     * @param disconnects consumers disconnected so far
+     * @param streams the open streams
+     */
+    public record SseReport(long maxBufferSize, String policy, long bufferedBytes, long droppedEvents, long disconnects,
+            List<McpSseStreams.StreamStats> streams) {
+    }
+}
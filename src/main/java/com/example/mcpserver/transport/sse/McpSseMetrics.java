@@ -0,0 +1,35 @@
+package com.example.mcpserver.transport.sse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes open SSE streams, their buffered bytes, and what happened to slow consumers.
+ */
+public class McpSseMetrics implements MeterBinder {
+
+    private final McpSseStreams streams;
+
+    public McpSseMetrics(McpSseStreams streams) {
+        this.streams = streams;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mcp.sse.streams", streams, McpSseStreams::size)
+            .description("Open SSE streams")
+            .register(registry);
+        Gauge.builder("mcp.sse.buffered", streams, McpSseStreams::bufferedBytes)
+            .description("Event bytes buffered for SSE consumers")
+            .baseUnit("bytes")
+            .register(registry);
+        FunctionCounter.builder("mcp.sse.events.dropped", streams, McpSseStreams::droppedEvents)
+            .description("SSE events discarded for slow consumers")
+            .register(registry);
+        FunctionCounter.builder("mcp.sse.disconnects", streams, McpSseStreams::disconnects)
+            .description("Slow SSE consumers disconnected")
+            .register(registry);
+    }
+}
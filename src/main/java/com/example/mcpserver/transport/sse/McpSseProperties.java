@@ -0,0 +1,49 @@
+package com.example.mcpserver.transport.sse;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Outbound buffering of SSE streams, so that a client reading slowly cannot make the
+ * server buffer without limit.
+ *
+ * @param enabled whether SSE responses are written through a bounded buffer
+ * @param maxBufferSize most event bytes buffered for one stream; never exceeded
+ * @param highWatermark buffered bytes above which the consumer counts as slow
+ * @param lowWatermark buffered bytes at or below which a slow consumer has caught up
+ * @param slowConsumerTimeout how long a consumer may stay slow before the policy applies
+ * @param policy what happens to a consumer that stays slow or fills the buffer
+ * @param maxBatchSize most bytes of queued events combined into one write
+ */
+@ConfigurationProperties(prefix = "mcp.transport.sse")
+public record McpSseProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1MB") DataSize maxBufferSize,
+        @DefaultValue("256KB") DataSize highWatermark,
+        @DefaultValue("64KB") DataSize lowWatermark,
+        @DefaultValue("10s") Duration slowConsumerTimeout,
+        @DefaultValue("disconnect") SlowConsumerPolicy policy,
+        @DefaultValue("16KB") DataSize maxBatchSize) {
+
+    public McpSseProperties {
+        if (lowWatermark.toBytes() >= highWatermark.toBytes() || highWatermark.toBytes() > maxBufferSize.toBytes()) {
+            throw new IllegalArgumentException("SSE buffer sizes must satisfy low-watermark < high-watermark <= max-buffer-size");
+        }
+    }
+
+    /**
+     * Handling of consumers that stay above the high watermark for longer than the
+     * slow consumer timeout, or whose buffer is full.
+     */
+    public enum SlowConsumerPolicy {
+
+        /** End the stream and close the connection; the client reconnects and resumes. */
+        DISCONNECT,
+
+        /** Discard new events until the consumer is back at the low watermark. */
+        DROP
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mcpserver.transport.sse;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The open SSE streams and their outbound buffers, for metrics and the
+ * {@code /actuator/sse} endpoint.
+ */
+public class McpSseStreams {
+
+    private final Set<SseOutboundBuffer> streams = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private final LongAdder disconnects = new LongAdder();
+
+    void register(SseOutboundBuffer stream) {
+        streams.add(stream);
+    }
+
+    void unregister(SseOutboundBuffer stream) {
+        streams.remove(stream);
+    }
+
+    void dropped() {
+        droppedEvents.increment();
+    }
+
+    void disconnected() {
+        disconnects.increment();
+    }
+
+    /**
+     * Open SSE streams.
+     */
+    public int size() {
+        return streams.size();
+    }
+
+    /**
+     * Event bytes buffered across all streams.
+     */
+    public long bufferedBytes() {
+        long total = 0;
+        for (SseOutboundBuffer stream : streams) {
+            total += stream.bufferedBytes();
+        }
+        return total;
+    }
+
+    /**
+     * Events discarded for slow consumers so far.
+     */
+    public long droppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Slow consumers disconnected so far.
+     */
+    public long disconnects() {
+        return disconnects.sum();
+    }
+
+    /**
+     * The state of every open stream.
+     */
+    public List<StreamStats> stats() {
+        return streams.stream().map(SseOutboundBuffer::stats).toList();
+    }
+
+    /**
+     * The state of one SSE stream.
+     *
+     * @param sessionId the MCP session, or the request id for streams outside a session
+     * @param bufferedBytes event bytes waiting for the connection
+     * @param peakBytes the most bytes that were buffered at once
+     * @param queuedEvents events waiting for the connection
+     * @param slow whether the consumer is above the high watermark
+     * @param events events accepted from the server
+     * @param writes writes to the connection, each carrying one or more events
+     * @param droppedEvents events discarded because the consumer was too slow
+     */
+    public record StreamStats(String sessionId, long bufferedBytes, long peakBytes, int queuedEvents, boolean slow,
+            long events, long writes, long droppedEvents) {
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.mcpserver.transport.sse;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.util.context.Context;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded outbound buffer of one SSE stream.
+ *
+ * <p>Events are accepted from the producer as fast as it emits them and held until the
+ * connection asks for more, up to {@code max-buffer-size} bytes. Whatever has queued up
+ * by the time the connection is ready is combined into one write of at most
+ * {@code max-batch-size} bytes, so a burst of small events costs a few writes and
+ * flushes rather than one each. A consumer whose buffer stays above the high watermark
+ * for longer than the slow consumer timeout, or fills it, is disconnected or has new
+ * events dropped until it is back at the low watermark.
+ */
+final class SseOutboundBuffer {
+
+    private static final long NOT_SLOW = Long.MIN_VALUE;
+
+    private final String sessionId;
+
+    private final McpSseProperties properties;
+
+    private final DataBufferFactory bufferFactory;
+
+    private final McpSseStreams streams;
+
+    private final LongSupplier clock;
+
+    private final long maxBufferSize;
+
+    private final long highWatermark;
+
+    private final long lowWatermark;
+
+    private final long slowConsumerNanos;
+
+    private final int maxBatchSize;
+
+    private final Inbound inbound = new Inbound();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    // guarded by this
+    private final ArrayDeque<DataBuffer> queue = new ArrayDeque<>();
+
+    private long bufferedBytes;
+
+    private long slowSince = NOT_SLOW;
+
+    private boolean dropping;
+
+    private boolean terminated;
+
+    private volatile long peakBytes;
+
+    private volatile long events;
+
+    private volatile long writes;
+
+    private volatile long droppedEvents;
+
+    private volatile boolean upstreamDone;
+
+    private Throwable upstreamError;
+
+    private volatile FluxSink<DataBuffer> sink;
+
+    SseOutboundBuffer(String sessionId, McpSseProperties properties, DataBufferFactory bufferFactory,
+            McpSseStreams streams, LongSupplier clock) {
+        this.sessionId = sessionId;
+        this.properties = properties;
+        this.bufferFactory = bufferFactory;
+        this.streams = streams;
+        this.clock = clock;
+        this.maxBufferSize = properties.maxBufferSize().toBytes();
+        this.highWatermark = properties.highWatermark().toBytes();
+        this.lowWatermark = properties.lowWatermark().toBytes();
+        this.slowConsumerNanos = properties.slowConsumerTimeout().toNanos();
+        this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE, properties.maxBatchSize().toBytes());
+    }
+
+    /**
+     * The events of {@code source}, buffered and batched for the connection.
+     */
+    Flux<DataBuffer> bound(Publisher<? extends DataBuffer> source) {
+        return Flux.create(sink -> {
+            this.sink = sink;
+            streams.register(this);
+            sink.onDispose(this::dispose);
+            sink.onRequest(n -> drain());
+            Flux.<DataBuffer>from(source).subscribe(inbound);
+        });
+    }
+
+    /**
+     * The events of {@code source}, one per flush group, buffered and batched for the
+     * connection. Each group is joined into one buffer, so that an event is queued,
+     * dropped and batched whole and is never split across writes.
+     */
+    Flux<DataBuffer> boundGroups(Publisher<? extends Publisher<? extends DataBuffer>> source) {
+        return bound(Flux.from(source).concatMap(group -> DataBufferUtils.join(group)));
+    }
+
+    private void onNext(DataBuffer event) {
+        boolean disconnect = false;
+        synchronized (this) {
+            if (terminated) {
+                DataBufferUtils.release(event);
+                return;
+            }
+            long now = clock.getAsLong();
+            int size = event.readableByteCount();
+            if (dropping || bufferedBytes + size > maxBufferSize) {
+                if (properties.policy() == McpSseProperties.SlowConsumerPolicy.DISCONNECT) {
+                    disconnect = true;
+                }
+                else {
+                    droppedEvents++;
+                    streams.dropped();
+                }
+                DataBufferUtils.release(event);
+            }
+            else {
+                queue.add(event);
+                bufferedBytes += size;
+                events++;
+                peakBytes = Math.max(peakBytes, bufferedBytes);
+            }
+            if (bufferedBytes > highWatermark) {
+                if (slowSince == NOT_SLOW) {
+                    slowSince = now;
+                }
+                else if (now - slowSince > slowConsumerNanos) {
+                    disconnect |= properties.policy() == McpSseProperties.SlowConsumerPolicy.DISCONNECT;
+                    dropping = true;
+                }
+            }
+        }
+        if (disconnect) {
+            disconnect();
+        }
+        else {
+            drain();
+        }
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            FluxSink<DataBuffer> target = sink;
+            while (target.requestedFromDownstream() > 0) {
+                DataBuffer batch = pollBatch();
+                if (batch == null) {
+                    break;
+                }
+                target.next(batch);
+            }
+            if (upstreamDone && isEmpty()) {
+                if (upstreamError != null) {
+                    target.error(upstreamError);
+                }
+                else {
+                    target.complete();
+                }
+            }
+            missed = wip.addAndGet(-missed);
+        }
+        while (missed != 0);
+    }
+
+    /**
+     * Remove the next write from the queue: one event, or several small ones combined.
+     */
+    private synchronized DataBuffer pollBatch() {
+        DataBuffer first = queue.poll();
+        if (first == null) {
+            return null;
+        }
+        int size = first.readableByteCount();
+        DataBuffer next = queue.peek();
+        if (next == null || size + next.readableByteCount() > maxBatchSize) {
+            written(size);
+            return first;
+        }
+        List<DataBuffer> parts = new ArrayList<>();
+        parts.add(first);
+        while (next != null && size + next.readableByteCount() <= maxBatchSize) {
+            parts.add(queue.poll());
+            size += next.readableByteCount();
+            next = queue.peek();
+        }
+        DataBuffer batch = bufferFactory.allocateBuffer(size);
+        for (DataBuffer part : parts) {
+            batch.write(part);
+            DataBufferUtils.release(part);
+        }
+        written(size);
+        return batch;
+    }
+
+    // called with the lock held
+    private void written(int size) {
+        bufferedBytes -= size;
+        writes++;
+        if (bufferedBytes <= lowWatermark) {
+            slowSince = NOT_SLOW;
+            dropping = false;
+        }
+    }
+
+    private synchronized boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    private void disconnect() {
+        streams.disconnected();
+        sink.error(new SlowConsumerException(sessionId, properties.policy()));
+    }
+
+    private void dispose() {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            DataBuffer buffer;
+            while ((buffer = queue.poll()) != null) {
+                DataBufferUtils.release(buffer);
+            }
+            bufferedBytes = 0;
+        }
+        inbound.dispose();
+        streams.unregister(this);
+    }
+
+    /**
+     * Current state of the stream, as reported by the actuator endpoint.
+     */
+    synchronized McpSseStreams.StreamStats stats() {
+        return new McpSseStreams.StreamStats(sessionId, bufferedBytes, peakBytes, queue.size(), slowSince != NOT_SLOW,
+            events, writes, droppedEvents);
+    }
+
+    synchronized long bufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Subscriber to the producer's events, requesting them without limit.
+     */
+    private final class Inbound extends BaseSubscriber<DataBuffer> {
+
+        @Override
+        public Context currentContext() {
+            return Context.of(sink.contextView());
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        protected void hookOnNext(DataBuffer event) {
+            onNext(event);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            upstreamDone = true;
+            drain();
+        }
+
+        @Override
+        protected void hookOnError(Throwable error) {
+            upstreamError = error;
+            upstreamDone = true;
+            drain();
+        }
+    }
+
+    /**
+     * Ends the stream of a consumer that could not keep up.
+     */
+    static final class SlowConsumerException extends RuntimeException {
+
+        SlowConsumerException(String sessionId, McpSseProperties.SlowConsumerPolicy policy) {
+            super("SSE consumer of session " + sessionId + " is too slow (" + policy.name().toLowerCase() + ")");
+        }
+    }
+}
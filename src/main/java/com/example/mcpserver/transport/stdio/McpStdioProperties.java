@@ -0,0 +1,24 @@
+package com.example.mcpserver.transport.stdio;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Settings for the stdio transport.
+ *
+ * @param readBufferSize size of the direct buffer used to read stdin
+ * @param maxMessageSize largest accepted JSON-RPC message; larger lines are rejected
+ * @param outboundQueueSize most messages waiting for stdout; producers wait while it is full
+ * @param shutdownTimeout how long to wait, once stdin is closed, for in-flight requests to
+ * complete and their responses to be written
+ */
+@ConfigurationProperties(prefix = "mcp.transport.stdio")
+public record McpStdioProperties(
+        @DefaultValue("64KB") DataSize readBufferSize,
+        @DefaultValue("16MB") DataSize maxMessageSize,
+        @DefaultValue("1024") int outboundQueueSize,
+        @DefaultValue("30s") Duration shutdownTimeout) {
+}
@@ -0,0 +1,279 @@
+package com.example.mcpserver.transport.stdio;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.observability.McpFlightEvents;
+import com.example.mcpserver.rpc.McpCallContext;
+import com.example.mcpserver.rpc.McpJsonRpcDispatcher;
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.example.mcpserver.rpc.McpListChangedNotifier;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * MCP transport over the process's stdin and stdout, for running the server as a
+ * local subprocess of a desktop agent. Messages are newline-delimited JSON-RPC.
+ *
+ * <p>A dedicated reader thread reads stdin through a direct buffer and hands each
+ * message to the {@link McpJsonRpcDispatcher}, which executes it off the reader
+ * thread. Responses are queued and written by a single writer thread, which batches
+ * queued messages into one gathering write. The queue is bounded, so producers wait
+ * while stdout is slower than they are.
+ *
+ * <p>When stdin is closed, the transport waits for the requests still in flight, then
+ * closes the queue and lets the writer flush it before the application exits.
+ */
+@Component
+@Profile(McpStdioTransport.PROFILE)
+public class McpStdioTransport implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpStdioTransport.class);
+
+    /** Profile activated by the stdio run mode. */
+    public static final String PROFILE = "stdio";
+
+    /** Command-line flag selecting the stdio run mode. */
+    public static final String RUN_MODE_ARGUMENT = "--stdio";
+
+    private static final int MAX_WRITE_BATCH = 64;
+
+    private static final byte[] NEWLINE = {'\n'};
+
+    /** Marks the end of the outbound queue. */
+    private static final byte[] END = new byte[0];
+
+    private final McpJsonRpcDispatcher dispatcher;
+
+    private final McpJsonMapper jsonMapper;
+
+    private final McpStdioProperties properties;
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    private final McpListChangedNotifier listChangedNotifier;
+
+    private final McpCallContext context = new McpCallContext(PROFILE, PROFILE, this::enqueue);
+
+    private final BlockingQueue<byte[]> outbound;
+
+    /** The reader and one party per request in flight. */
+    private final Phaser inFlight = new Phaser(1);
+
+    private volatile boolean closed;
+
+    public McpStdioTransport(McpJsonRpcDispatcher dispatcher, McpJsonMapper jsonMapper,
+            McpStdioProperties properties, ConfigurableApplicationContext applicationContext,
+            McpListChangedNotifier listChangedNotifier) {
+        this.dispatcher = dispatcher;
+        // compact output, so every message fits on one line
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.applicationContext = applicationContext;
+        this.listChangedNotifier = listChangedNotifier;
+        this.outbound = new ArrayBlockingQueue<>(properties.outboundQueueSize());
+    }
+
+    /**
+     * Whether the command line selects the stdio run mode.
+     */
+    public static boolean isRequested(String[] args) {
+        return Arrays.asList(args).contains(RUN_MODE_ARGUMENT);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Thread writer = new Thread(this::writeLoop, "mcp-stdio-writer");
+        writer.setDaemon(true);
+        writer.start();
+        // the single stdio session lasts as long as stdin is open
+        Disposable listChanged = listChangedNotifier.connect(context.notifier());
+
+        Thread reader = new Thread(() -> {
+            readLoop();
+            listChanged.dispose();
+            shutdown(writer);
+        }, "mcp-stdio-reader");
+        reader.start();
+
+        logger.info("MCP stdio transport ready in {} ms", ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private void readLoop() {
+        int maxMessageSize = (int) properties.maxMessageSize().toBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect((int) properties.readBufferSize().toBytes());
+        byte[] line = new byte[8192];
+        int length = 0;
+        boolean discarding = false;
+
+        try (FileChannel in = new FileInputStream(FileDescriptor.in).getChannel()) {
+            while (in.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        if (discarding) {
+                            enqueue(dispatcher.error(NullNode.getInstance(), McpJsonRpcException.INVALID_REQUEST,
+                                "Message exceeds " + maxMessageSize + " bytes"));
+                        }
+                        else if (length > 0) {
+                            handle(line, length);
+                        }
+                        length = 0;
+                        discarding = false;
+                        continue;
+                    }
+                    if (discarding) {
+                        continue;
+                    }
+                    if (length == maxMessageSize) {
+                        discarding = true;
+                        continue;
+                    }
+                    if (length == line.length) {
+                        line = Arrays.copyOf(line, Math.min(maxMessageSize, line.length * 2));
+                    }
+                    line[length++] = b;
+                }
+                buffer.clear();
+            }
+        }
+        catch (IOException ex) {
+            logger.error("Failed to read stdin", ex);
+        }
+    }
+
+    private void shutdown(Thread writer) {
+        long timeout = properties.shutdownTimeout().toMillis();
+        long deadline = System.currentTimeMillis() + timeout;
+        logger.info("stdin closed, waiting for {} requests in flight", inFlight.getRegisteredParties() - 1);
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arriveAndDeregister(), timeout, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException ex) {
+            logger.warn("{} requests still in flight after {} ms", inFlight.getRegisteredParties(), timeout);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        closed = true;
+        try {
+            if (!outbound.offer(END, Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS)) {
+                writer.interrupt();
+            }
+            writer.join(Math.max(1, deadline - System.currentTimeMillis()));
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("{} messages not written to stdout", outbound.size());
+        }
+
+        logger.info("stdio transport closed, shutting down");
+        SpringApplication.exit(applicationContext);
+    }
+
+    private void handle(byte[] line, int length) {
+        McpFlightEvents.received(PROFILE, PROFILE, length);
+        JsonNode message;
+        McpFlightEvents.Decode decode = new McpFlightEvents.Decode();
+        decode.begin();
+        try {
+            message = jsonMapper.mapper().readTree(line, 0, length);
+            decode.bytes = length;
+            McpFlightEvents.commit(decode, PROFILE, PROFILE);
+        }
+        catch (IOException ex) {
+            enqueue(dispatcher.error(NullNode.getInstance(), McpJsonRpcException.PARSE_ERROR, "Invalid JSON"));
+            return;
+        }
+        inFlight.register();
+        dispatcher.dispatch(message, context)
+            .doFinally(signal -> inFlight.arriveAndDeregister())
+            .subscribe(this::enqueue, ex -> logger.error("Failed to dispatch stdio message", ex));
+    }
+
+    private void enqueue(JsonNode message) {
+        McpFlightEvents.Serialize serialize = new McpFlightEvents.Serialize();
+        serialize.begin();
+        byte[] bytes = jsonMapper.writeValueAsBytes(message);
+        serialize.bytes = bytes.length;
+        McpFlightEvents.commit(serialize, PROFILE, PROFILE);
+        if (closed) {
+            logger.debug("Dropping message sent after the transport closed");
+            return;
+        }
+        try {
+            outbound.put(bytes);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<byte[]> batch = new ArrayList<>(MAX_WRITE_BATCH);
+        try (FileChannel out = new FileOutputStream(FileDescriptor.out).getChannel()) {
+            boolean end = false;
+            while (!end) {
+                batch.add(outbound.take());
+                outbound.drainTo(batch, MAX_WRITE_BATCH - 1);
+                end = batch.remove(END);
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                McpFlightEvents.Write write = new McpFlightEvents.Write();
+                write.begin();
+                ByteBuffer[] buffers = new ByteBuffer[batch.size() * 2];
+                for (int i = 0; i < batch.size(); i++) {
+                    buffers[2 * i] = ByteBuffer.wrap(batch.get(i));
+                    buffers[2 * i + 1] = ByteBuffer.wrap(NEWLINE);
+                    write.bytes += batch.get(i).length + NEWLINE.length;
+                }
+                while (buffers[buffers.length - 1].hasRemaining()) {
+                    out.write(buffers);
+                }
+                write.messages = batch.size();
+                McpFlightEvents.commit(write, PROFILE, PROFILE);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (IOException ex) {
+            logger.error("Failed to write stdout", ex);
+        }
+        finally {
+            // release producers waiting for room that will never be written
+            closed = true;
+            outbound.clear();
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.mcpserver.transport.websocket;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.limit.McpClientIdentity;
+import com.example.mcpserver.observability.McpFlightEvents;
+import com.example.mcpserver.rpc.McpCallContext;
+import com.example.mcpserver.rpc.McpJsonRpcDispatcher;
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.example.mcpserver.rpc.McpListChangedNotifier;
+import com.example.mcpserver.rpc.McpNotifier;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.socket.CloseStatus;
+import org.springframework.web.reactive.socket.HandshakeInfo;
+import org.springframework.web.reactive.socket.WebSocketHandler;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.WebSocketSession;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MCP transport carrying JSON-RPC messages as WebSocket text frames over one
+ * persistent connection.
+ *
+ * <p>Each connection has a bounded outbound queue; a client that stops reading
+ * until the queue fills up is disconnected instead of buffering without limit.
+ * Partial results wait while the queue is half full, so a tool streaming its result
+ * keeps pace with the client and leaves room for the responses to other requests.
+ * Inbound requests are executed with a per-connection concurrency limit, so a
+ * single busy connection cannot take over the shared workers while the others wait.
+ * The server pings idle connections and closes those that stop answering. The client
+ * is identified from the handshake request, like requests posted to {@code /mcp}.
+ */
+public class McpWebSocketHandler implements WebSocketHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpWebSocketHandler.class);
+
+    private static final String TRANSPORT = "websocket";
+
+    static final CloseStatus OUTBOUND_QUEUE_FULL = new CloseStatus(1013, "Outbound queue full");
+
+    static final CloseStatus IDLE_TIMEOUT = CloseStatus.GOING_AWAY.withReason("Idle timeout");
+
+    private final McpJsonRpcDispatcher dispatcher;
+
+    private final McpJsonMapper jsonMapper;
+
+    private final McpWebSocketProperties properties;
+
+    private final McpListChangedNotifier listChangedNotifier;
+
+    private final McpClientIdentity clientIdentity;
+
+    public McpWebSocketHandler(McpJsonRpcDispatcher dispatcher, McpJsonMapper jsonMapper,
+            McpWebSocketProperties properties, McpListChangedNotifier listChangedNotifier,
+            McpClientIdentity clientIdentity) {
+        this.dispatcher = dispatcher;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+        this.listChangedNotifier = listChangedNotifier;
+        this.clientIdentity = clientIdentity;
+    }
+
+    @Override
+    public Mono<Void> handle(WebSocketSession session) {
+        Outbound outbound = new Outbound(properties.outboundQueueSize());
+        HandshakeInfo handshake = session.getHandshakeInfo();
+        McpCallContext context = new McpCallContext(session.getId(), TRANSPORT,
+            clientIdentity.of(handshake.getHeaders(), handshake.getRemoteAddress()), new McpNotifier() {
+
+                @Override
+                public void send(ObjectNode notification) {
+                    McpWebSocketHandler.this.send(session, outbound, notification);
+                }
+
+                @Override
+                public Mono<Void> sendWhenReady(ObjectNode notification) {
+                    return Mono.defer(() -> outbound.emitWhenRoom(frame(session, notification)))
+                        .doOnNext(result -> closeIfFull(session, result))
+                        .then();
+                }
+            });
+        Disposable listChanges = listChangedNotifier.connect(context.notifier());
+        Sinks.Empty<Void> closed = Sinks.empty();
+        AtomicLong lastSeen = new AtomicLong(System.nanoTime());
+
+        Mono<Void> input = session.receive()
+            .doOnNext(message -> lastSeen.set(System.nanoTime()))
+            .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+            .map(message -> {
+                McpFlightEvents.received(TRANSPORT, session.getId(), message.getPayload().readableByteCount());
+                return message.getPayloadAsText();
+            })
+            .flatMap(text -> handleFrame(text, context), properties.maxInFlight())
+            .doOnNext(response -> send(session, outbound, response))
+            .doFinally(signal -> {
+                listChanges.dispose();
+                outbound.complete();
+                closed.tryEmitEmpty();
+            })
+            .then();
+
+        long idleTimeoutNanos = properties.idleTimeout().toNanos();
+        Flux<WebSocketMessage> pings = Flux.interval(properties.pingInterval())
+            .flatMap(tick -> {
+                if (System.nanoTime() - lastSeen.get() > idleTimeoutNanos) {
+                    logger.debug("Closing idle WebSocket session {}", session.getId());
+                    return session.close(IDLE_TIMEOUT).then(Mono.<WebSocketMessage>empty());
+                }
+                return Mono.just(session.pingMessage(factory -> factory.wrap(new byte[0])));
+            })
+            .takeUntilOther(closed.asMono());
+
+        Mono<Void> output = session.send(Flux.merge(outbound.frames().doOnNext(frame -> {
+            // the frame is handed to the connection, which writes and flushes it
+            McpFlightEvents.Write write = new McpFlightEvents.Write();
+            write.bytes = frame.getPayload().readableByteCount();
+            write.messages = 1;
+            McpFlightEvents.commit(write, TRANSPORT, session.getId());
+        }), pings));
+
+        return Mono.when(input, output);
+    }
+
+    /**
+     * Queue a response or notification for the connection, closing the connection if
+     * the queue is full.
+     */
+    private void send(WebSocketSession session, Outbound outbound, ObjectNode message) {
+        WebSocketMessage frame = frame(session, message);
+        Sinks.EmitResult result = outbound.emit(frame);
+        closeIfFull(session, result);
+        if (result.isFailure()) {
+            DataBufferUtils.release(frame.getPayload());
+        }
+    }
+
+    private WebSocketMessage frame(WebSocketSession session, ObjectNode message) {
+        // serialized straight into a (pooled) buffer of the connection, without a String copy
+        McpFlightEvents.Serialize serialize = new McpFlightEvents.Serialize();
+        serialize.begin();
+        WebSocketMessage frame = new WebSocketMessage(WebSocketMessage.Type.TEXT,
+            jsonMapper.write(message, session.bufferFactory()));
+        serialize.bytes = frame.getPayload().readableByteCount();
+        McpFlightEvents.commit(serialize, TRANSPORT, session.getId());
+        return frame;
+    }
+
+    /**
+     * Close the connection if a frame did not fit in its queue.
+     */
+    private static void closeIfFull(WebSocketSession session, Sinks.EmitResult result) {
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_TERMINATED) {
+            logger.warn("Closing WebSocket session {}: {}", session.getId(), result);
+            session.close(OUTBOUND_QUEUE_FULL).subscribe();
+        }
+    }
+
+    private Mono<ObjectNode> handleFrame(String text, McpCallContext context) {
+        JsonNode message;
+        McpFlightEvents.Decode decode = new McpFlightEvents.Decode();
+        decode.begin();
+        try {
+            message = jsonMapper.mapper().readTree(text);
+            decode.bytes = text.length();
+            McpFlightEvents.commit(decode, TRANSPORT, context.sessionId());
+        }
+        catch (JsonProcessingException ex) {
+            return Mono.just(dispatcher.error(NullNode.getInstance(), McpJsonRpcException.PARSE_ERROR,
+                "Invalid JSON: " + ex.getOriginalMessage()));
+        }
+        return dispatcher.dispatch(message, context);
+    }
+
+    /**
+     * The bounded queue of frames waiting to be written to a connection. Frames are
+     * emitted under its lock, since responses and notifications are sent from the
+     * threads of the methods producing them.
+     */
+    private static final class Outbound {
+
+        private final Sinks.Many<WebSocketMessage> sink;
+
+        /** Frames queued at most before {@link #emitWhenRoom} waits. */
+        private final int waitLimit;
+
+        private int queued;
+
+        private boolean completed;
+
+        /** Completed when a frame leaves the queue, if a sender is waiting for room. */
+        @Nullable
+        private Sinks.Empty<Void> room;
+
+        Outbound(int size) {
+            this.sink = Sinks.many().unicast().onBackpressureBuffer(Queues.<WebSocketMessage>get(size).get());
+            this.waitLimit = Math.max(1, size / 2);
+        }
+
+        Flux<WebSocketMessage> frames() {
+            return sink.asFlux().doOnNext(frame -> taken());
+        }
+
+        synchronized Sinks.EmitResult emit(WebSocketMessage frame) {
+            queued++;
+            Sinks.EmitResult result = sink.tryEmitNext(frame);
+            if (result.isFailure()) {
+                queued--;
+            }
+            return result;
+        }
+
+        /**
+         * Emit {@code frame} once less than half of the queue is taken. The frame is
+         * released if it is not emitted.
+         */
+        Mono<Sinks.EmitResult> emitWhenRoom(WebSocketMessage frame) {
+            AtomicBoolean handled = new AtomicBoolean();
+            return waitForRoom(frame, handled)
+                .doOnNext(result -> {
+                    if (result.isFailure()) {
+                        DataBufferUtils.release(frame.getPayload());
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (handled.compareAndSet(false, true)) {
+                        DataBufferUtils.release(frame.getPayload());
+                    }
+                });
+        }
+
+        private Mono<Sinks.EmitResult> waitForRoom(WebSocketMessage frame, AtomicBoolean handled) {
+            return Mono.defer(() -> {
+                Mono<Void> taken;
+                synchronized (this) {
+                    if (queued < waitLimit || completed) {
+                        // unless the wait was cancelled meanwhile
+                        return handled.compareAndSet(false, true) ? Mono.just(emit(frame)) : Mono.empty();
+                    }
+                    if (room == null) {
+                        room = Sinks.empty();
+                    }
+                    taken = room.asMono();
+                }
+                return taken.then(waitForRoom(frame, handled));
+            });
+        }
+
+        void complete() {
+            Sinks.Empty<Void> waiting;
+            synchronized (this) {
+                completed = true;
+                sink.tryEmitComplete();
+                waiting = room;
+                room = null;
+            }
+            if (waiting != null) {
+                waiting.tryEmitEmpty();
+            }
+        }
+
+        private void taken() {
+            Sinks.Empty<Void> waiting;
+            synchronized (this) {
+                queued--;
+                waiting = room;
+                room = null;
+            }
+            if (waiting != null) {
+                waiting.tryEmitEmpty();
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.mcpserver.transport.websocket;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the optional WebSocket transport.
+ *
+ * @param enabled whether the WebSocket endpoint is registered
+ * @param path the endpoint path
+ * @param outboundQueueSize maximum number of frames queued for one connection before it is closed;
+ * partial results wait while half of it is taken
+ * @param maxInFlight maximum number of requests of one connection executed concurrently
+ * @param pingInterval interval between server pings
+ * @param idleTimeout time without any inbound frame (including pongs) after which the connection is closed
+ */
+@ConfigurationProperties(prefix = "mcp.transport.websocket")
+public record McpWebSocketProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("/mcp/ws") String path,
+        @DefaultValue("256") int outboundQueueSize,
+        @DefaultValue("16") int maxInFlight,
+        @DefaultValue("15s") Duration pingInterval,
+        @DefaultValue("45s") Duration idleTimeout) {
+}
@@ -0,0 +1,36 @@
+package com.example.mcpserver.transport.websocket;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.limit.McpClientIdentity;
+import com.example.mcpserver.limit.McpRateLimitProperties;
+import com.example.mcpserver.rpc.McpJsonRpcDispatcher;
+import com.example.mcpserver.rpc.McpListChangedNotifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.handler.SimpleUrlHandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Registers the WebSocket transport endpoint next to {@code /mcp}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "mcp.transport.websocket", name = "enabled", havingValue = "true")
+public class WebSocketTransportConfiguration {
+
+    @Bean
+    public McpWebSocketHandler mcpWebSocketHandler(McpJsonRpcDispatcher dispatcher, McpJsonMapper jsonMapper,
+            McpWebSocketProperties properties, McpListChangedNotifier listChangedNotifier,
+            McpRateLimitProperties rateLimitProperties) {
+        return new McpWebSocketHandler(dispatcher, jsonMapper, properties, listChangedNotifier,
+            new McpClientIdentity(rateLimitProperties));
+    }
+
+    @Bean
+    public HandlerMapping mcpWebSocketHandlerMapping(McpWebSocketHandler handler, McpWebSocketProperties properties) {
+        return new SimpleUrlHandlerMapping(Map.of(properties.path(), handler), Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.mcpserver.cache;
+
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.example.mcpserver.rpc.McpOperation;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the two-tier result cache and its memory-mapped disk log.
+ */
+class McpResultCacheTest {
+
+    private static final long FOREVER = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private McpResultCacheProperties properties() {
+        return new McpResultCacheProperties(true, Set.of("add"), Set.of(), Duration.ofHours(1), 100,
+            directory, DataSize.ofKilobytes(64), DataSize.ofMegabytes(1), 1000, 0.5);
+    }
+
+    private McpResultCache cache() {
+        return new McpResultCache(properties(), new ObjectMapper(), clock::get);
+    }
+
+    private AsyncTools cached(AsyncTools target, McpResultCache cache) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of(
+            "cache", cache, "properties", properties()));
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS,
+            new McpResultCacheInterceptor(beans.getBeanProvider(McpResultCache.class),
+                beans.getBeanProvider(McpResultCacheProperties.class))));
+        return (AsyncTools) proxyFactory.getProxy();
+    }
+
+    private MappedResultLog log(int segmentSize, long maxSize) {
+        return new MappedResultLog(directory, segmentSize, maxSize, 1000, 0.5, clock::get);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    @Test
+    void testResultSurvivesRestartAndWarmsMemoryTier() throws Exception {
+        McpOperation add = new McpOperation(McpOperationType.TOOL, "add");
+        try (McpResultCache cache = cache()) {
+            cache.put(cache.key(add, new Object[] {1.0, 2.0}), 3.0);
+        }
+
+        try (McpResultCache cache = cache()) {
+            String key = cache.key(add, new Object[] {1.0, 2.0});
+            assertThat(cache.memorySize()).isZero();
+
+            assertThat(cache.get(key, double.class)).isEqualTo(3.0);
+            assertThat(cache.get(key, double.class)).isEqualTo(3.0);
+            assertThat(cache.get(cache.key(add, new Object[] {2.0, 2.0}), double.class)).isNull();
+
+            assertThat(cache.diskHits()).isEqualTo(1);
+            assertThat(cache.memoryHits()).isEqualTo(1);
+            assertThat(cache.misses()).isEqualTo(1);
+            assertThat(cache.memorySize()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testExpiredResultIsNotReturned() throws Exception {
+        try (McpResultCache cache = cache()) {
+            cache.put("tool:add\u0000[1.0,2.0]", 3.0);
+
+            clock.addAndGet(Duration.ofHours(1).toMillis());
+
+            assertThat(cache.get("tool:add\u0000[1.0,2.0]", double.class)).isNull();
+        }
+    }
+
+    @Test
+    void testDiskHitExpiresWithItsRecord() throws Exception {
+        String key = "tool:add\u0000[1.0,2.0]";
+        try (McpResultCache cache = cache()) {
+            cache.put(key, 3.0);
+        }
+        clock.addAndGet(Duration.ofMinutes(50).toMillis());
+
+        try (McpResultCache cache = cache()) {
+            assertThat(cache.get(key, double.class)).isEqualTo(3.0);
+
+            clock.addAndGet(Duration.ofMinutes(10).toMillis());
+
+            assertThat(cache.get(key, double.class)).as("memory copy of an expired disk record").isNull();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEveryHitGetsItsOwnCopy() throws Exception {
+        String key = "tool:split\u0000[\"a\"]";
+        try (McpResultCache cache = cache()) {
+            cache.put(key, new ArrayList<>(List.of("a")));
+
+            List<String> first = (List<String>) cache.get(key, List.class);
+            first.add("changed");
+
+            assertThat(cache.get(key, List.class)).isEqualTo(List.of("a")).isNotSameAs(first);
+            assertThat(cache.memoryHits()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testValueOfAsyncResultIsCachedAndReplayedAsync() throws Exception {
+        try (McpResultCache cache = cache()) {
+            AsyncTools target = new AsyncTools();
+            AsyncTools tools = cached(target, cache);
+
+            StepVerifier.create(tools.add(1.0, 2.0)).expectNext(3.0).verifyComplete();
+            StepVerifier.create(tools.add(1.0, 2.0)).expectNext(3.0).verifyComplete();
+
+            assertThat(target.calls).hasValue(1);
+            assertThat(cache.memoryHits()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void testRecoveryStopsAtTornRecord() throws Exception {
+        try (MappedResultLog log = log(4096, 1 << 20)) {
+            log.put(bytes("first"), bytes("one"), FOREVER);
+            log.put(bytes("second"), bytes("two"), FOREVER);
+        }
+        // damage the value of the second record, which starts after the segment header and the first record
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("segment-0000000000.log").toFile(), "rw")) {
+            file.seek(8 + (20 + 5 + 3) + 20 + 6);
+            file.write('x');
+        }
+
+        try (MappedResultLog log = log(4096, 1 << 20)) {
+            assertThat(log.get(bytes("first"))).isEqualTo(bytes("one"));
+            assertThat(log.get(bytes("second"))).isNull();
+            log.put(bytes("third"), bytes("three"), FOREVER);
+        }
+        try (MappedResultLog log = log(4096, 1 << 20)) {
+            assertThat(log.get(bytes("first"))).isEqualTo(bytes("one"));
+            assertThat(log.get(bytes("third"))).isEqualTo(bytes("three"));
+            assertThat(log.size()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testSegmentsOfSupersededRecordsAreCompacted() throws Exception {
+        try (MappedResultLog log = log(4096, 1 << 20)) {
+            for (int i = 0; i < 100; i++) {
+                log.put(bytes("key"), bytes(String.format("%03d", i).repeat(200).substring(0, 500)), FOREVER);
+            }
+
+            assertThat(log.compactions()).isPositive();
+            assertThat(segmentFiles()).isLessThanOrEqualTo(2);
+            assertThat(log.size()).isEqualTo(1);
+        }
+        try (MappedResultLog log = log(4096, 1 << 20)) {
+            assertThat(log.get(bytes("key"))).isEqualTo(bytes("099".repeat(200).substring(0, 500)));
+        }
+    }
+
+    @Test
+    void testOldestSegmentIsDeletedBeyondMaxSize() throws Exception {
+        try (MappedResultLog log = log(4096, 3 * 4096)) {
+            for (int i = 0; i < 20; i++) {
+                log.put(bytes("key-" + (char) ('a' + i)), new byte[1000], FOREVER);
+            }
+
+            assertThat(log.diskBytes()).isLessThanOrEqualTo(3 * 4096);
+            assertThat(segmentFiles()).isLessThanOrEqualTo(3);
+            assertThat(log.get(bytes("key-a"))).isNull();
+            assertThat(log.get(bytes("key-t"))).hasSize(1000);
+        }
+    }
+
+    static class AsyncTools {
+
+        final AtomicInteger calls = new AtomicInteger();
+
+        @McpTool(name = "add", description = "Add two numbers later")
+        public Mono<Double> add(@McpToolParam(description = "First number", required = true) double a,
+                @McpToolParam(description = "Second number", required = true) double b) {
+            calls.incrementAndGet();
+            return Mono.fromSupplier(() -> a + b);
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.mcpserver.coalesce;
+
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.server.McpResource;
+import org.springframework.ai.mcp.server.McpResourceParam;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for single-flight coalescing of identical concurrent MCP calls.
+ */
+class McpCoalescingInterceptorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    private McpCoalescingInterceptor interceptor;
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private SlowResources coalesced(SlowResources target, Set<String> exclude) {
+        return coalesced(target, exclude, Duration.ofSeconds(5));
+    }
+
+    private SlowResources coalesced(SlowResources target, Set<String> exclude, Duration maxWait) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of(
+            "meterRegistry", registry, "objectMapper", new ObjectMapper(),
+            "properties", new McpCoalescingProperties(true, exclude, maxWait)));
+        interceptor = new McpCoalescingInterceptor(beans.getBeanProvider(McpCoalescingProperties.class),
+            beans.getBeanProvider(ObjectMapper.class), beans.getBeanProvider(MeterRegistry.class));
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS, interceptor));
+        return (SlowResources) proxyFactory.getProxy();
+    }
+
+    private List<Future<String>> readConcurrently(SlowResources resources, String topic, int callers) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> resources.read(topic)));
+        }
+        return results;
+    }
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExecution() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of());
+
+        List<Future<String>> results = readConcurrently(resources, "tools", 4);
+        awaitCondition(() -> interceptor.coalesced() == 3);
+        target.release.countDown();
+
+        String first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+        }
+        assertThat(target.reads).hasValue(1);
+        assertThat(interceptor.inFlight()).isZero();
+        assertThat(registry.get(McpCoalescingInterceptor.COALESCED)
+            .tags("type", "resource", "name", "resource://slow/{topic}").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testDifferentArgumentsAndLaterCallsRunSeparately() throws Exception {
+        SlowResources target = new SlowResources();
+        target.release.countDown();
+        SlowResources resources = coalesced(target, Set.of());
+
+        assertThat(resources.read("tools")).isEqualTo("tools");
+        assertThat(resources.read("tools")).isEqualTo("tools");
+        assertThat(resources.read("prompts")).isEqualTo("prompts");
+
+        assertThat(target.reads).hasValue(3);
+        assertThat(interceptor.coalesced()).isZero();
+    }
+
+    @Test
+    void testExcludedResourcesAreNotCoalesced() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of("resource://slow/{topic}"));
+
+        List<Future<String>> results = readConcurrently(resources, "tools", 2);
+        awaitCondition(() -> target.reads.get() == 2);
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("tools");
+        }
+        assertThat(interceptor.coalesced()).isZero();
+    }
+
+    @Test
+    void testFailureIsSharedWithWaitingCallers() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of());
+
+        List<Future<String>> results = readConcurrently(resources, "unknown", 2);
+        awaitCondition(() -> interceptor.coalesced() == 1);
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(target.reads).hasValue(1);
+    }
+
+    @Test
+    void testWaitingCallersGetTheirOwnCopyOfMutableResults() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of());
+
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> resources.lines("tools")));
+        }
+        awaitCondition(() -> interceptor.coalesced() == 2);
+        target.release.countDown();
+
+        List<List<String>> lines = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            lines.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(lines).allSatisfy(copy -> assertThat(copy).containsExactly("tools", "done"));
+        assertThat(lines.get(1)).isNotSameAs(lines.get(0));
+        assertThat(lines.get(2)).isNotSameAs(lines.get(0)).isNotSameAs(lines.get(1));
+        assertThat(target.reads).hasValue(1);
+    }
+
+    @Test
+    void testAsyncResultIsSubscribedOnceAndCopiedForWaitingCallers() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of());
+
+        List<Mono<List<String>>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(executor.submit(() -> resources.later("tools")).get(5, TimeUnit.SECONDS));
+        }
+        assertThat(interceptor.coalesced()).isEqualTo(2);
+        assertThat(interceptor.inFlight()).isOne();
+
+        List<CompletableFuture<List<String>>> subscribed = results.stream().map(Mono::toFuture).toList();
+        target.ready.tryEmitValue("done");
+
+        List<List<String>> lines = new ArrayList<>();
+        for (CompletableFuture<List<String>> result : subscribed) {
+            lines.add(result.get(5, TimeUnit.SECONDS));
+        }
+        assertThat(lines).allSatisfy(copy -> assertThat(copy).containsExactly("tools", "done"));
+        assertThat(lines.get(1)).isNotSameAs(lines.get(0));
+        assertThat(lines.get(2)).isNotSameAs(lines.get(0)).isNotSameAs(lines.get(1));
+        assertThat(target.reads).hasValue(1);
+        assertThat(target.subscriptions).hasValue(1);
+        assertThat(interceptor.inFlight()).isZero();
+    }
+
+    @Test
+    void testCallersStopWaitingAfterMaxWait() throws Exception {
+        SlowResources target = new SlowResources();
+        SlowResources resources = coalesced(target, Set.of(), Duration.ofMillis(50));
+
+        List<Future<String>> results = readConcurrently(resources, "tools", 2);
+        awaitCondition(() -> target.reads.get() == 2);
+        target.release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("tools");
+        }
+        assertThat(interceptor.inFlight()).isZero();
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    static class SlowResources {
+
+        final AtomicInteger reads = new AtomicInteger();
+
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final AtomicInteger subscriptions = new AtomicInteger();
+
+        final Sinks.One<String> ready = Sinks.one();
+
+        @McpResource(uri = "resource://slow/{topic}", name = "Slow", description = "Blocks until released",
+            mimeType = "text/plain")
+        public String read(@McpResourceParam(description = "The topic") String topic) throws InterruptedException {
+            reads.incrementAndGet();
+            release.await();
+            if (topic.equals("unknown")) {
+                throw new IllegalArgumentException("Unknown topic: " + topic);
+            }
+            return new String(topic);
+        }
+
+        @McpResource(uri = "resource://slow/{topic}/lines", name = "Slow lines", description = "Blocks until released",
+            mimeType = "text/plain")
+        public List<String> lines(@McpResourceParam(description = "The topic") String topic) throws InterruptedException {
+            reads.incrementAndGet();
+            release.await();
+            return new ArrayList<>(List.of(topic, "done"));
+        }
+
+        @McpResource(uri = "resource://slow/{topic}/later", name = "Later lines",
+            description = "Completes once ready", mimeType = "text/plain")
+        public Mono<List<String>> later(@McpResourceParam(description = "The topic") String topic) {
+            reads.incrementAndGet();
+            return Mono.defer(() -> {
+                subscriptions.incrementAndGet();
+                return ready.asMono();
+            }).map(value -> new ArrayList<>(List.of(topic, value)));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for transcoding JSON-RPC payloads between JSON, CBOR and MessagePack.
+ */
+class McpPayloadTranscoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final McpPayloadTranscoder transcoder = new McpPayloadTranscoder();
+
+    private ObjectNode numericResponse() {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0").put("id", 7);
+        ArrayNode values = response.putObject("result").putArray("values");
+        for (int i = 0; i < 1000; i++) {
+            values.add(i * 1.5);
+        }
+        return response;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = McpPayloadFormat.class, names = {"CBOR", "MSGPACK"})
+    void testRoundTripPreservesPayload(McpPayloadFormat format) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(numericResponse());
+
+        byte[] binary = transcoder.transcode(json, McpPayloadFormat.JSON, format);
+        byte[] back = transcoder.transcode(binary, format, McpPayloadFormat.JSON);
+
+        JsonNode decoded = objectMapper.readTree(back);
+        assertThat(decoded).isEqualTo(numericResponse());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = McpPayloadFormat.class, names = {"CBOR", "MSGPACK"})
+    void testBinaryEncodingIsSmallerForNumericArrays(McpPayloadFormat format) throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(numericResponse());
+
+        assertThat(transcoder.transcode(json, McpPayloadFormat.JSON, format)).hasSizeLessThan(json.length);
+    }
+
+    @Test
+    void testFormatNegotiation() {
+        assertThat(McpPayloadFormat.fromContentType(MediaType.parseMediaType("application/cbor")))
+            .isEqualTo(McpPayloadFormat.CBOR);
+        assertThat(McpPayloadFormat.fromContentType(MediaType.APPLICATION_JSON)).isEqualTo(McpPayloadFormat.JSON);
+        assertThat(McpPayloadFormat.fromContentType(null)).isEqualTo(McpPayloadFormat.JSON);
+
+        assertThat(McpPayloadFormat.fromAccept(List.of(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)))
+            .isEqualTo(McpPayloadFormat.JSON);
+        assertThat(McpPayloadFormat.fromAccept(List.of(MediaType.ALL))).isEqualTo(McpPayloadFormat.JSON);
+        assertThat(McpPayloadFormat.fromAccept(List.of(MediaType.parseMediaType("application/x-msgpack"), MediaType.APPLICATION_JSON)))
+            .isEqualTo(McpPayloadFormat.MSGPACK);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = McpPayloadFormat.class, names = {"CBOR", "MSGPACK"})
+    void testBlobsAreNativeByteStrings(McpPayloadFormat format) throws Exception {
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0").put("id", 1);
+        response.putObject("result").putArray("contents").addObject()
+            .put("uri", "resource://image").put("blob", Base64.getEncoder().encodeToString(data));
+        byte[] json = objectMapper.writeValueAsBytes(response);
+
+        byte[] transcoded = transcoder.transcode(json, McpPayloadFormat.JSON, format);
+        ObjectMapper binary = format.createObjectMapper(new Jackson2ObjectMapperBuilder());
+        byte[] serialized = binary.writeValueAsBytes(new Contents("resource://image", Base64.getEncoder().encodeToString(data)));
+
+        assertThat(binary.readTree(transcoded).at("/result/contents/0/blob").binaryValue()).isEqualTo(data);
+        assertThat(binary.readTree(serialized).path("blob").binaryValue()).isEqualTo(data);
+        assertThat(transcoded.length).isLessThan(data.length + 200);
+        assertThat(objectMapper.readTree(transcoder.transcode(transcoded, format, McpPayloadFormat.JSON)))
+            .isEqualTo(response);
+    }
+
+    record Contents(String uri, String blob) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.mcpserver.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.luben.zstd.ZstdInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for gzip and zstd response compression, including cached result segments.
+ */
+class McpResponseCompressorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final McpResponseCompressor compressor = new McpResponseCompressor(new McpCompressionProperties(
+        true, DataSize.ofKilobytes(2), List.of(McpContentEncoding.ZSTD, McpContentEncoding.GZIP), 6, 3,
+        Map.of(), Map.of(), DataSize.ofKilobytes(8), DataSize.ofMegabytes(1)));
+
+    private byte[] readResponse(int id) throws IOException {
+        ObjectNode response = objectMapper.createObjectNode().put("jsonrpc", "2.0").put("id", id);
+        ObjectNode content = response.putObject("result").putArray("contents").addObject();
+        content.put("uri", "resource://api/reference").put("mimeType", "text/markdown");
+        content.put("text", "## add\nAdds two numbers.\n".repeat(2000));
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    private static byte[] decompress(byte[] compressed, McpContentEncoding encoding) throws IOException {
+        try (InputStream in = encoding == McpContentEncoding.GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(compressed))
+                : new ZstdInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpContentEncoding.class)
+    void testRoundTrip(McpContentEncoding encoding) throws IOException {
+        byte[] body = readResponse(1);
+
+        byte[] compressed = compressor.compress(body, true, encoding, 6);
+
+        assertThat(compressed).hasSizeLessThan(body.length / 10);
+        assertThat(decompress(compressed, encoding)).isEqualTo(body);
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpContentEncoding.class)
+    void testRepeatedReadsReuseCachedResult(McpContentEncoding encoding) throws IOException {
+        byte[] first = readResponse(1);
+        byte[] second = readResponse(2);
+
+        compressor.compress(first, true, encoding, 6);
+        byte[] compressed = compressor.compress(second, true, encoding, 6);
+
+        assertThat(compressor.cachedResults()).isEqualTo(1);
+        assertThat(decompress(compressed, encoding)).isEqualTo(second);
+    }
+
+    @Test
+    void testSmallResultsAreNotCached() throws IOException {
+        byte[] body = objectMapper.writeValueAsBytes(Map.of("jsonrpc", "2.0", "id", 1, "result", Map.of("value", 42)));
+
+        byte[] compressed = compressor.compress(body, true, McpContentEncoding.GZIP, 6);
+
+        assertThat(compressor.cachedResults()).isZero();
+        assertThat(decompress(compressed, McpContentEncoding.GZIP)).isEqualTo(body);
+    }
+
+    @Test
+    void testNegotiation() {
+        List<McpContentEncoding> preferences = List.of(McpContentEncoding.ZSTD, McpContentEncoding.GZIP);
+
+        assertThat(McpContentEncoding.negotiate(List.of("gzip, deflate, br"), preferences)).isEqualTo(McpContentEncoding.GZIP);
+        assertThat(McpContentEncoding.negotiate(List.of("gzip, zstd"), preferences)).isEqualTo(McpContentEncoding.ZSTD);
+        assertThat(McpContentEncoding.negotiate(List.of("zstd;q=0.5, gzip"), preferences)).isEqualTo(McpContentEncoding.GZIP);
+        assertThat(McpContentEncoding.negotiate(List.of("*"), preferences)).isEqualTo(McpContentEncoding.ZSTD);
+        assertThat(McpContentEncoding.negotiate(List.of("identity"), preferences)).isNull();
+        assertThat(McpContentEncoding.negotiate(List.of(), preferences)).isNull();
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.mcpserver.idempotency;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the idempotency result store and the replay of keyed tool calls.
+ */
+class McpIdempotencyTest {
+
+    private static final String CLIENT = "ip:192.0.2.1";
+
+    private static final JsonNode ARGUMENTS = JsonNodeFactory.instance.objectNode().put("message", "hello");
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private McpResultStore store(int maxEntries, DataSize storeSize) {
+        return new McpResultStore(properties(maxEntries, storeSize), nanos::get);
+    }
+
+    private static McpIdempotencyProperties properties(int maxEntries, DataSize storeSize) {
+        return new McpIdempotencyProperties(true, "idempotencyKey", Duration.ofMinutes(1), maxEntries, storeSize,
+            false, DataSize.ofBytes(storeSize.toBytes() / 4));
+    }
+
+    @Nullable
+    private static byte[] result(McpResultStore store, String tool, String key) {
+        McpResultStore.Entry entry = store.get(CLIENT, tool, key);
+        return entry != null ? entry.result() : null;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testStoredResultIsFoundByToolAndKey() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+
+        assertThat(store.put(CLIENT, "echo", "key-1", 0, bytes("{\"isError\":false}"))).isTrue();
+
+        assertThat(result(store, "echo", "key-1")).isEqualTo(bytes("{\"isError\":false}"));
+        assertThat(result(store, "echo", "key-2")).isNull();
+        assertThat(result(store, "get_current_time", "key-1")).as("keys are scoped per tool").isNull();
+        assertThat(store.get("ip:192.0.2.2", "echo", "key-1")).as("keys are scoped per client").isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testResultExpiresAfterTtl() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        store.put(CLIENT, "echo", "key", 0, bytes("result"));
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertThat(result(store, "echo", "key")).isNotNull();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThat(result(store, "echo", "key")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void testOldestResultsAreOverwrittenWhenLogWrapsAround() {
+        McpResultStore store = store(100, DataSize.ofBytes(1024));
+        byte[] result = new byte[200];
+        for (int i = 0; i < 10; i++) {
+            store.put(CLIENT, "echo", "key-" + i, 0, result);
+        }
+
+        assertThat(result(store, "echo", "key-0")).isNull();
+        assertThat(result(store, "echo", "key-9")).isEqualTo(result);
+        assertThat(store.usedBytes()).isEqualTo(1024);
+    }
+
+    @Test
+    void testResultOverMaximumSizeIsNotStored() {
+        McpResultStore store = store(100, DataSize.ofBytes(1024));
+
+        assertThat(store.put(CLIENT, "echo", "key", 0, new byte[257])).isFalse();
+        assertThat(result(store, "echo", "key")).isNull();
+    }
+
+    @Test
+    void testIndexReplacesEntriesBeyondMaxEntries() {
+        McpResultStore store = store(16, DataSize.ofKilobytes(64));
+        for (int i = 0; i < 1000; i++) {
+            store.put(CLIENT, "echo", "key-" + i, 0, bytes("result-" + i));
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(16);
+        assertThat(store.evictions()).isPositive();
+        assertThat(result(store, "echo", "key-999")).isEqualTo(bytes("result-999"));
+    }
+
+    @Test
+    void testRetryIsReplayedWithoutExecuting() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        McpIdempotency idempotency = new McpIdempotency(store, properties(100, DataSize.ofKilobytes(64)));
+        AtomicInteger executions = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, () -> {
+                    executions.incrementAndGet();
+                    return Mono.just(bytes("result"));
+                }))
+                .assertNext(result -> assertThat(result).isEqualTo(bytes("result")))
+                .verifyComplete();
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(idempotency.executed()).isEqualTo(1);
+        assertThat(idempotency.replayed()).isEqualTo(2);
+    }
+
+    @Test
+    void testConcurrentDuplicateWaitsForCallInFlight() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        McpIdempotency idempotency = new McpIdempotency(store, properties(100, DataSize.ofKilobytes(64)));
+        Sinks.One<byte[]> leader = Sinks.one();
+        AtomicInteger executions = new AtomicInteger();
+
+        Mono<byte[]> first = idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, () -> {
+            executions.incrementAndGet();
+            return leader.asMono();
+        }).cache();
+        first.subscribe();
+        Mono<byte[]> duplicate = idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, () -> {
+            executions.incrementAndGet();
+            return Mono.just(bytes("other"));
+        });
+
+        StepVerifier.create(duplicate)
+            .then(() -> leader.tryEmitValue(bytes("result")))
+            .assertNext(result -> assertThat(result).isEqualTo(bytes("result")))
+            .verifyComplete();
+        assertThat(executions).hasValue(1);
+        assertThat(idempotency.joined()).isEqualTo(1);
+    }
+
+    @Test
+    void testDuplicateExecutesWhenCallInFlightFails() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        McpIdempotency idempotency = new McpIdempotency(store, properties(100, DataSize.ofKilobytes(64)));
+        Sinks.One<byte[]> leader = Sinks.one();
+
+        idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, leader::asMono).subscribe(result -> { }, error -> { });
+        Mono<byte[]> duplicate = idempotency.execute(CLIENT, "echo", "key", ARGUMENTS,
+            () -> Mono.just(bytes("retried")));
+
+        StepVerifier.create(duplicate)
+            .then(() -> leader.tryEmitError(new IllegalStateException("failed")))
+            .assertNext(result -> assertThat(result).isEqualTo(bytes("retried")))
+            .verifyComplete();
+        assertThat(idempotency.executed()).isEqualTo(2);
+        assertThat(result(store, "echo", "key")).isEqualTo(bytes("retried"));
+    }
+
+    @Test
+    void testKeyReusedWithOtherArgumentsIsRejected() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        McpIdempotency idempotency = new McpIdempotency(store, properties(100, DataSize.ofKilobytes(64)));
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<Mono<byte[]>> execution = () -> {
+            executions.incrementAndGet();
+            return Mono.just(bytes("result"));
+        };
+        ObjectNode reordered = JsonNodeFactory.instance.objectNode().put("count", 2).put("message", "hello");
+        ObjectNode sameMembers = JsonNodeFactory.instance.objectNode().put("message", "hello").put("count", 2);
+
+        StepVerifier.create(idempotency.execute(CLIENT, "echo", "key", reordered, execution))
+            .expectNextCount(1)
+            .verifyComplete();
+        StepVerifier.create(idempotency.execute(CLIENT, "echo", "key", sameMembers, execution))
+            .assertNext(result -> assertThat(result).isEqualTo(bytes("result")))
+            .verifyComplete();
+        StepVerifier.create(idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, execution))
+            .expectErrorSatisfies(ex -> assertThat(ex).isInstanceOfSatisfying(McpJsonRpcException.class,
+                error -> assertThat(error.getCode()).isEqualTo(McpJsonRpcException.INVALID_PARAMS)))
+            .verify();
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void testKeysOfOtherClientsAreNotReplayed() {
+        McpResultStore store = store(100, DataSize.ofKilobytes(64));
+        McpIdempotency idempotency = new McpIdempotency(store, properties(100, DataSize.ofKilobytes(64)));
+
+        idempotency.execute(CLIENT, "echo", "key", ARGUMENTS, () -> Mono.just(bytes("mine"))).block();
+
+        StepVerifier.create(idempotency.execute("ip:192.0.2.2", "echo", "key", ARGUMENTS,
+                () -> Mono.just(bytes("theirs"))))
+            .assertNext(result -> assertThat(result).isEqualTo(bytes("theirs")))
+            .verifyComplete();
+        assertThat(idempotency.executed()).isEqualTo(2);
+    }
+}
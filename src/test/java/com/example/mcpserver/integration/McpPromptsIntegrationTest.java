@@ -1,6 +1,8 @@
 package com.example.mcpserver.integration;
 
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.ai.mcp.client.McpClient;
 import org.springframework.ai.mcp.spec.McpSchema;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,8 +20,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 /**
  * Integration tests for MCP Prompts using Spring AI MCP Client.
  * Tests all prompt templates exposed by the MCP server.
+ * Every test runs over each {@link McpTestTransport}.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "mcp.transport.websocket.enabled=true")
 @ActiveProfiles("test")
 class McpPromptsIntegrationTest {
 
@@ -29,9 +33,26 @@ class McpPromptsIntegrationTest {
     @Autowired
     private McpClient mcpClient;
 
-    @Test
-    void testListPrompts() {
-        StepVerifier.create(mcpClient.listPrompts())
+    private McpTestClient client;
+
+    private McpTestClient client(McpTestTransport transport) {
+        if (client == null) {
+            client = transport.connect(mcpClient, port);
+        }
+        return client;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testListPrompts(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listPrompts())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.prompts()).isNotEmpty();
@@ -55,8 +76,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGreetingPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGreetingPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("greeting")
@@ -64,7 +86,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -80,8 +102,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGreetingPromptWithTimeOfDay() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGreetingPromptWithTimeOfDay(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("greeting")
@@ -89,7 +112,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -105,8 +128,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testCodeReviewPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testCodeReviewPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("code-review")
@@ -114,7 +138,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -131,8 +155,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testCodeReviewPromptWithFocusArea() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testCodeReviewPromptWithFocusArea(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("code-review")
@@ -140,7 +165,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -156,8 +181,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testAnalyzeDataPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testAnalyzeDataPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("analyze-data")
@@ -168,7 +194,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -185,8 +211,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testAnalyzeDataPromptWithContext() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testAnalyzeDataPromptWithContext(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("analyze-data")
@@ -198,7 +225,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -215,8 +242,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testMeetingSummaryPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testMeetingSummaryPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("meeting-summary")
@@ -224,7 +252,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -241,8 +269,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testMeetingSummaryPromptWithParticipants() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testMeetingSummaryPromptWithParticipants(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("meeting-summary")
@@ -253,7 +282,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -269,8 +298,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDebugHelperPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDebugHelperPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("debug-helper")
@@ -281,7 +311,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -298,8 +328,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDebugHelperPromptWithAttemptedSolutions() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDebugHelperPromptWithAttemptedSolutions(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("debug-helper")
@@ -311,7 +342,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -326,8 +357,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGenerateDocsPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGenerateDocsPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("generate-docs")
@@ -338,7 +370,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -356,8 +388,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGenerateDocsPromptWithFormat() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGenerateDocsPromptWithFormat(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("generate-docs")
@@ -369,7 +402,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -385,8 +418,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testSqlHelperPrompt() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testSqlHelperPrompt(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("sql-helper")
@@ -396,7 +430,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -412,8 +446,9 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testSqlHelperPromptWithDbType() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testSqlHelperPromptWithDbType(McpTestTransport transport) {
         var request = McpSchema.GetPromptRequest.builder()
             .params(McpSchema.GetPromptRequestParams.builder()
                 .name("sql-helper")
@@ -425,7 +460,7 @@ class McpPromptsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.getPrompt(request))
+        StepVerifier.create(client(transport).getPrompt(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.messages()).isNotEmpty();
@@ -441,9 +476,10 @@ class McpPromptsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testPromptMetadata() {
-        StepVerifier.create(mcpClient.listPrompts())
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testPromptMetadata(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listPrompts())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.prompts()).isNotEmpty();
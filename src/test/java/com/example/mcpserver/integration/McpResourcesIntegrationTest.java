@@ -1,6 +1,8 @@
 package com.example.mcpserver.integration;
 
-import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.ai.mcp.client.McpClient;
 import org.springframework.ai.mcp.spec.McpSchema;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,14 +13,17 @@ import reactor.test.StepVerifier;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Integration tests for MCP Resources using Spring AI MCP Client.
  * Tests all resources exposed by the MCP server including static and dynamic resources.
+ * Every test runs over each {@link McpTestTransport}.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "mcp.transport.websocket.enabled=true")
 @ActiveProfiles("test")
 class McpResourcesIntegrationTest {
 
@@ -28,9 +33,26 @@ class McpResourcesIntegrationTest {
     @Autowired
     private McpClient mcpClient;
 
-    @Test
-    void testListResources() {
-        StepVerifier.create(mcpClient.listResources())
+    private McpTestClient client;
+
+    private McpTestClient client(McpTestTransport transport) {
+        if (client == null) {
+            client = transport.connect(mcpClient, port);
+        }
+        return client;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testListResources(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listResources())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.resources()).isNotEmpty();
@@ -43,6 +65,7 @@ class McpResourcesIntegrationTest {
                 assertThat(resourceUris).containsExactlyInAnyOrder(
                     "resource://welcome",
                     "resource://system/info",
+                    "resource://system/cost",
                     "resource://config/server",
                     "resource://docs/{topic}",
                     "resource://api/reference"
@@ -52,15 +75,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testWelcomeResource() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testWelcomeResource(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://welcome")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -76,15 +100,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testSystemInfoResource() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testSystemInfoResource(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://system/info")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -107,15 +132,45 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testServerConfigResource() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testOperationCostResource(McpTestTransport transport) {
+        var callTool = McpSchema.CallToolRequest.builder()
+            .params(McpSchema.CallToolRequestParams.builder()
+                .name("multiply")
+                .arguments(Map.of("a", 6.0, "b", 7.0))
+                .build())
+            .build();
+        var request = McpSchema.ReadResourceRequest.builder()
+            .params(McpSchema.ReadResourceRequestParams.builder()
+                .uri("resource://system/cost")
+                .build())
+            .build();
+
+        StepVerifier.create(client(transport).callTool(callTool).then(client(transport).readResource(request)))
+            .assertNext(response -> {
+                McpSchema.TextResourceContents textContent = (McpSchema.TextResourceContents) response.contents().get(0);
+                assertThat(textContent.mimeType()).isEqualTo("application/json");
+
+                String json = textContent.text();
+                assertThat(json).contains("topByCpuTime");
+                assertThat(json).contains("topByAllocatedBytes");
+                assertThat(json).contains("multiply");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testServerConfigResource(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://config/server")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -139,15 +194,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDocumentationResourceTools() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDocumentationResourceTools(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://docs/tools")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -164,15 +220,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDocumentationResourceResources() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDocumentationResourceResources(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://docs/resources")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -189,15 +246,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDocumentationResourcePrompts() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDocumentationResourcePrompts(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://docs/prompts")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -213,15 +271,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDocumentationResourceGettingStarted() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDocumentationResourceGettingStarted(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://docs/getting-started")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -238,15 +297,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDocumentationResourceInvalidTopic() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDocumentationResourceInvalidTopic(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://docs/invalid-topic")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -262,15 +322,16 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testApiReferenceResource() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testApiReferenceResource(McpTestTransport transport) {
         var request = McpSchema.ReadResourceRequest.builder()
             .params(McpSchema.ReadResourceRequestParams.builder()
                 .uri("resource://api/reference")
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.readResource(request))
+        StepVerifier.create(client(transport).readResource(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.contents()).isNotEmpty();
@@ -289,9 +350,10 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testResourceMetadata() {
-        StepVerifier.create(mcpClient.listResources())
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testResourceMetadata(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listResources())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.resources()).isNotEmpty();
@@ -310,9 +372,10 @@ class McpResourcesIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testAllResourcesReadable() {
-        StepVerifier.create(mcpClient.listResources())
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testAllResourcesReadable(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listResources())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.resources()).isNotEmpty();
@@ -327,7 +390,7 @@ class McpResourcesIntegrationTest {
                                 .build())
                             .build();
 
-                        StepVerifier.create(mcpClient.readResource(request))
+                        StepVerifier.create(client(transport).readResource(request))
                             .assertNext(readResponse -> {
                                 assertThat(readResponse).isNotNull();
                                 assertThat(readResponse.contents()).isNotEmpty();
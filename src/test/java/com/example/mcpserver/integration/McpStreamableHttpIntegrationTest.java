@@ -0,0 +1,108 @@
+package com.example.mcpserver.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the Streamable HTTP transport over cleartext HTTP/2.
+ * Requests are plain JSON-RPC POSTs to {@code /mcp}; results come back directly
+ * in the POST response, without an SSE stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class McpStreamableHttpIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private WebClient webClient;
+
+    /** Physical connections opened by the client; HTTP/2 streams are not counted. */
+    private final Set<String> connections = ConcurrentHashMap.newKeySet();
+
+    /** Protocol versions of the responses received. */
+    private final Set<String> protocols = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        // A single connection forces all concurrent calls to be multiplexed as HTTP/2 streams
+        HttpClient httpClient = HttpClient.create(ConnectionProvider.create("mcp-h2c", 1))
+            .protocol(HttpProtocol.H2C)
+            .doOnChannelInit((observer, channel, remoteAddress) -> connections.add(channel.id().asLongText()))
+            .doOnResponse((response, connection) -> protocols.add(response.version().text()));
+
+        webClient = WebClient.builder()
+            .baseUrl("http://localhost:" + port)
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    private Mono<JsonNode> call(int id, String method, Map<String, Object> params) {
+        return webClient.post()
+            .uri("/mcp")
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+            .bodyValue(Map.of("jsonrpc", "2.0", "id", id, "method", method, "params", params))
+            .exchangeToMono(response -> {
+                assertThat(response.headers().contentType())
+                    .hasValueSatisfying(type -> assertThat(type.isCompatibleWith(MediaType.APPLICATION_JSON)).isTrue());
+                return response.bodyToMono(JsonNode.class);
+            });
+    }
+
+    @Test
+    @DisplayName("Tool calls over h2c should return the result in the POST response")
+    void testToolCallOverH2c() {
+        StepVerifier.create(call(1, "tools/call", Map.of("name", "add", "arguments", Map.of("a", 5.0, "b", 3.0))))
+            .assertNext(response -> {
+                assertThat(response.path("id").asInt()).isEqualTo(1);
+                assertThat(response.path("result").path("content").get(0).path("text").asText()).isEqualTo("8.0");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Concurrent calls should be multiplexed over one h2c connection")
+    void testConcurrentCallsShareOneConnection() {
+        Flux<JsonNode> responses = Flux.range(1, 200)
+            .flatMap(i -> call(i, "tools/call",
+                Map.of("name", "multiply", "arguments", Map.of("a", (double) i, "b", 2.0))), 200);
+
+        StepVerifier.create(responses.collectList())
+            .assertNext(list -> {
+                assertThat(list).hasSize(200);
+                assertThat(list).allSatisfy(response -> {
+                    double expected = response.path("id").asInt() * 2.0;
+                    assertThat(response.path("result").path("content").get(0).path("text").asText())
+                        .isEqualTo(String.valueOf(expected));
+                });
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+
+        assertThat(protocols).as("negotiated protocols").containsExactly("HTTP/2.0");
+        assertThat(connections).as("connections opened").hasSize(1);
+    }
+}
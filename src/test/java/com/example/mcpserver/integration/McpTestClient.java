@@ -0,0 +1,66 @@
+package com.example.mcpserver.integration;
+
+import org.springframework.ai.mcp.client.McpClient;
+import org.springframework.ai.mcp.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+/**
+ * The MCP operations the integration suites exercise, so that each suite can run
+ * against every transport, see {@link McpTestTransport}.
+ */
+interface McpTestClient extends AutoCloseable {
+
+    Mono<McpSchema.ListToolsResult> listTools();
+
+    Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request);
+
+    Mono<McpSchema.ListResourcesResult> listResources();
+
+    Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest request);
+
+    Mono<McpSchema.ListPromptsResult> listPrompts();
+
+    Mono<McpSchema.GetPromptResult> getPrompt(McpSchema.GetPromptRequest request);
+
+    @Override
+    default void close() {
+    }
+
+    /**
+     * A client delegating to the Spring AI MCP client.
+     */
+    static McpTestClient of(McpClient client) {
+        return new McpTestClient() {
+
+            @Override
+            public Mono<McpSchema.ListToolsResult> listTools() {
+                return client.listTools();
+            }
+
+            @Override
+            public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request) {
+                return client.callTool(request);
+            }
+
+            @Override
+            public Mono<McpSchema.ListResourcesResult> listResources() {
+                return client.listResources();
+            }
+
+            @Override
+            public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest request) {
+                return client.readResource(request);
+            }
+
+            @Override
+            public Mono<McpSchema.ListPromptsResult> listPrompts() {
+                return client.listPrompts();
+            }
+
+            @Override
+            public Mono<McpSchema.GetPromptResult> getPrompt(McpSchema.GetPromptRequest request) {
+                return client.getPrompt(request);
+            }
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.mcpserver.integration;
+
+import org.springframework.ai.mcp.client.McpClient;
+
+import java.net.URI;
+
+/**
+ * The transports the integration suites run over. Suites take the transport as a
+ * parameter, so every scenario is verified on each of them:
+ *
+ * <pre>
+ * &#64;ParameterizedTest
+ * &#64;EnumSource(McpTestTransport.class)
+ * void testAddTool(McpTestTransport transport) { ... }
+ * </pre>
+ *
+ * The WebSocket transport must be enabled with {@code mcp.transport.websocket.enabled=true}.
+ */
+enum McpTestTransport {
+
+    /** The Spring AI HTTP endpoint, through the Spring AI MCP client. */
+    SSE {
+        @Override
+        McpTestClient connect(McpClient mcpClient, int port) {
+            return McpTestClient.of(mcpClient);
+        }
+    },
+
+    /** The persistent WebSocket endpoint served by the MCP dispatcher. */
+    WEBSOCKET {
+        @Override
+        McpTestClient connect(McpClient mcpClient, int port) {
+            return new McpWebSocketTestClient(URI.create("ws://localhost:" + port + "/mcp/ws"));
+        }
+    };
+
+    /**
+     * Connect to the server listening on {@code port}.
+     */
+    abstract McpTestClient connect(McpClient mcpClient, int port);
+}
@@ -1,12 +1,19 @@
 package com.example.mcpserver.integration;
 
-import org.junit.jupiter.api.Test;
+import com.example.mcpserver.rpc.McpMethodRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.springframework.ai.mcp.client.McpClient;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
 import org.springframework.ai.mcp.spec.McpSchema;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Duration;
@@ -18,8 +25,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 /**
  * Integration tests for MCP Tools using Spring AI MCP Client.
  * Tests all calculator and utility tools exposed by the MCP server.
+ * Every test runs over each {@link McpTestTransport}.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "mcp.transport.websocket.enabled=true")
 @ActiveProfiles("test")
 class McpToolsIntegrationTest {
 
@@ -29,9 +38,29 @@ class McpToolsIntegrationTest {
     @Autowired
     private McpClient mcpClient;
 
-    @Test
-    void testListTools() {
-        StepVerifier.create(mcpClient.listTools())
+    @Autowired
+    private McpMethodRegistry registry;
+
+    private McpTestClient client;
+
+    private McpTestClient client(McpTestTransport transport) {
+        if (client == null) {
+            client = transport.connect(mcpClient, port);
+        }
+        return client;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testListTools(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listTools())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.tools()).isNotEmpty();
@@ -48,15 +77,17 @@ class McpToolsIntegrationTest {
                     "divide",
                     "echo",
                     "get_current_time",
-                    "random_number"
+                    "random_number",
+                    "pipeline"
                 );
             })
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testAddTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testAddTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("add")
@@ -64,7 +95,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -79,8 +110,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testSubtractTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testSubtractTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("subtract")
@@ -88,7 +120,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -103,8 +135,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testMultiplyTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testMultiplyTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("multiply")
@@ -112,7 +145,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -127,8 +160,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDivideTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDivideTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("divide")
@@ -136,7 +170,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -151,8 +185,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testDivideByZero() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testDivideByZero(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("divide")
@@ -160,7 +195,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 // Should contain error information
@@ -170,8 +205,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testEchoTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testEchoTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("echo")
@@ -179,7 +215,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -194,8 +230,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGetCurrentTimeTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGetCurrentTimeTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("get_current_time")
@@ -203,7 +240,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -218,8 +255,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testGetCurrentTimeWithTimezone() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testGetCurrentTimeWithTimezone(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("get_current_time")
@@ -227,7 +265,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -242,8 +280,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testRandomNumberTool() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testRandomNumberTool(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("random_number")
@@ -251,7 +290,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.content()).isNotEmpty();
@@ -267,8 +306,9 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testRandomNumberInvalidRange() {
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testRandomNumberInvalidRange(McpTestTransport transport) {
         var request = McpSchema.CallToolRequest.builder()
             .params(McpSchema.CallToolRequestParams.builder()
                 .name("random_number")
@@ -276,7 +316,7 @@ class McpToolsIntegrationTest {
                 .build())
             .build();
 
-        StepVerifier.create(mcpClient.callTool(request))
+        StepVerifier.create(client(transport).callTool(request))
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 // Should contain error information
@@ -286,9 +326,57 @@ class McpToolsIntegrationTest {
             .verify(Duration.ofSeconds(5));
     }
 
-    @Test
-    void testToolMetadata() {
-        StepVerifier.create(mcpClient.listTools())
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testPipelineTool(McpTestTransport transport) {
+        var request = McpSchema.CallToolRequest.builder()
+            .params(McpSchema.CallToolRequestParams.builder()
+                .name("pipeline")
+                .arguments(Map.of("steps", List.of(
+                    Map.of("id", "product", "tool", "multiply", "arguments", Map.of("a", 6.0, "b", 7.0)),
+                    Map.of("id", "sum", "tool", "add", "arguments", Map.of("a", 10.0, "b", 5.0)),
+                    Map.of("id", "ratio", "tool", "divide", "arguments",
+                        Map.of("a", Map.of("$ref", "product"), "b", Map.of("$ref", "sum"))))))
+                .build())
+            .build();
+
+        StepVerifier.create(client(transport).callTool(request))
+            .assertNext(response -> {
+                assertThat(response.isError()).isFalse();
+                McpSchema.TextContent textContent = (McpSchema.TextContent) response.content().get(0);
+                assertThat(textContent.text()).isEqualTo("2.8");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testPipelineStopsAtFailingStep(McpTestTransport transport) {
+        var request = McpSchema.CallToolRequest.builder()
+            .params(McpSchema.CallToolRequestParams.builder()
+                .name("pipeline")
+                .arguments(Map.of("steps", List.of(
+                    Map.of("id", "zero", "tool", "subtract", "arguments", Map.of("a", 1.0, "b", 1.0)),
+                    Map.of("id", "ratio", "tool", "divide", "arguments", Map.of("a", 1.0, "b", Map.of("$ref", "zero"))),
+                    Map.of("id", "echo", "tool", "echo", "arguments", Map.of("message", Map.of("$ref", "ratio"))))))
+                .build())
+            .build();
+
+        StepVerifier.create(client(transport).callTool(request))
+            .assertNext(response -> {
+                assertThat(response.isError()).isTrue();
+                McpSchema.TextContent textContent = (McpSchema.TextContent) response.content().get(0);
+                assertThat(textContent.text()).contains("Step 'ratio' (divide) failed");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testToolMetadata(McpTestTransport transport) {
+        StepVerifier.create(client(transport).listTools())
             .assertNext(response -> {
                 assertThat(response).isNotNull();
                 assertThat(response.tools()).isNotEmpty();
@@ -306,4 +394,50 @@ class McpToolsIntegrationTest {
             .expectComplete()
             .verify(Duration.ofSeconds(5));
     }
+
+    @ParameterizedTest
+    @EnumSource(McpTestTransport.class)
+    void testToolRegisteredAtRuntime(McpTestTransport transport) {
+        McpTestClient client = client(transport);
+        Disposable registration = registry.register(new TenantTools());
+        try {
+            // the Spring AI server applies registry changes asynchronously
+            StepVerifier.create(Mono.defer(client::listTools)
+                    .filter(response -> response.tools().stream().anyMatch(tool -> "tenant_greeting".equals(tool.name())))
+                    .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(100))))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+
+            var request = McpSchema.CallToolRequest.builder()
+                .params(McpSchema.CallToolRequestParams.builder()
+                    .name("tenant_greeting")
+                    .arguments(Map.of("name", "Ada"))
+                    .build())
+                .build();
+            StepVerifier.create(client.callTool(request))
+                .assertNext(response -> assertThat(((McpSchema.TextContent) response.content().get(0)).text())
+                    .isEqualTo("Welcome, Ada"))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+        }
+        finally {
+            registration.dispose();
+        }
+
+        StepVerifier.create(Mono.defer(client::listTools)
+                .filter(response -> response.tools().stream().noneMatch(tool -> "tenant_greeting".equals(tool.name())))
+                .repeatWhenEmpty(50, attempts -> attempts.delayElements(Duration.ofMillis(100))))
+            .expectNextCount(1)
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    static class TenantTools {
+
+        @McpTool(name = "tenant_greeting", description = "Greet the members of a tenant")
+        public String greeting(@McpToolParam(description = "Member name", required = true) String name) {
+            return "Welcome, " + name;
+        }
+    }
 }
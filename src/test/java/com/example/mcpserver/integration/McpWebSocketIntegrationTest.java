@@ -0,0 +1,130 @@
+package com.example.mcpserver.integration;
+
+import com.example.mcpserver.rpc.McpMethodRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for what is specific to the WebSocket transport. The tool,
+ * resource and prompt suites run over WebSocket as well, see {@link McpTestTransport}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "mcp.transport.websocket.enabled=true")
+@ActiveProfiles("test")
+class McpWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private McpMethodRegistry registry;
+
+    private McpWebSocketTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = new McpWebSocketTestClient(URI.create("ws://localhost:" + port + "/mcp/ws"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    @Test
+    @DisplayName("Initialize and ping should succeed over WebSocket")
+    void testInitializeAndPing() {
+        StepVerifier.create(client.request("initialize", Map.of("protocolVersion", "2025-06-18")))
+            .assertNext(response -> {
+                assertThat(response.path("result").path("serverInfo").path("name").asText()).isNotBlank();
+                assertThat(response.path("result").path("capabilities").has("tools")).isTrue();
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(client.request("ping", Map.of()))
+            .assertNext(response -> assertThat(response.has("result")).isTrue())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Missing or unconvertible arguments should be invalid params errors")
+    void testInvalidArguments() {
+        StepVerifier.create(client.request("tools/call", Map.of("name", "add", "arguments", Map.of("a", 1.0))))
+            .assertNext(response -> {
+                assertThat(response.path("error").path("code").asInt()).isEqualTo(-32602);
+                assertThat(response.path("error").path("message").asText()).contains("'b'");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        StepVerifier.create(client.request("tools/call", Map.of("name", "add", "arguments", Map.of("a", 1.0, "b", "three"))))
+            .assertNext(response -> assertThat(response.path("error").path("code").asInt()).isEqualTo(-32602))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Many pipelined requests should all be answered on one connection")
+    void testPipelinedRequests() {
+        StepVerifier.create(Flux.range(1, 100)
+                .flatMap(i -> client.request("tools/call", Map.of("name", "echo", "arguments", Map.of("message", "m" + i))))
+                .map(response -> response.path("result").path("content").get(0).path("text").asText())
+                .collectList())
+            .assertNext(texts -> assertThat(texts).hasSize(100).allSatisfy(text -> assertThat(text).startsWith("Echo: m")))
+            .expectComplete()
+            .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("A streamed result with more chunks than the outbound queue should reach the client")
+    void testPartialResultsBeyondOutboundQueue() {
+        Disposable registration = registry.register(new ChunkedTools());
+        try {
+            StepVerifier.create(client.request("tools/call", Map.of("name", "count_chunks",
+                    "arguments", Map.of("count", 1000),
+                    "_meta", Map.of("progressToken", "chunks-1", "partialResults", true))))
+                .assertNext(response -> {
+                    assertThat(response.path("result").path("isError").asBoolean()).isFalse();
+                    assertThat(response.path("result").path("_meta").path("partialResults").asLong()).isEqualTo(1000);
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(30));
+
+            assertThat(client.notifications)
+                .filteredOn(notification -> notification.path("method").asText().equals("notifications/partial_result"))
+                .extracting(notification -> notification.path("params").path("chunk").asLong())
+                .hasSize(1000)
+                .isSorted();
+        }
+        finally {
+            registration.dispose();
+        }
+    }
+
+    static class ChunkedTools {
+
+        @McpTool(name = "count_chunks", description = "Count in one chunk per number")
+        public Flux<String> countChunks(@McpToolParam(description = "Numbers to count", required = true) int count) {
+            return Flux.range(1, count).map(i -> "chunk " + i);
+        }
+    }
+}
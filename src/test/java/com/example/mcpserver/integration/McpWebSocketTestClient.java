@@ -0,0 +1,158 @@
+package com.example.mcpserver.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.mcp.spec.McpSchema;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.socket.WebSocketMessage;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal MCP client transport over WebSocket for integration tests.
+ * Sends JSON-RPC requests as text frames on one persistent connection and
+ * correlates responses by id. Results are converted to the Spring AI schema types,
+ * so the suites assert the same way as over the Spring AI client.
+ */
+class McpWebSocketTestClient implements McpTestClient {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Sinks.Many<String> outbound = Sinks.many().unicast().onBackpressureBuffer();
+
+    private final Map<Integer, Sinks.One<JsonNode>> pending = new ConcurrentHashMap<>();
+
+    /** Notifications received, in order. */
+    final Queue<JsonNode> notifications = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger ids = new AtomicInteger();
+
+    private final Sinks.One<Void> connected = Sinks.one();
+
+    private final Disposable connection;
+
+    McpWebSocketTestClient(URI uri) {
+        this.connection = new ReactorNettyWebSocketClient()
+            .execute(uri, session -> {
+                connected.tryEmitEmpty();
+                Mono<Void> input = session.receive()
+                    .filter(message -> message.getType() == WebSocketMessage.Type.TEXT)
+                    .map(WebSocketMessage::getPayloadAsText)
+                    .doOnNext(this::complete)
+                    .then();
+                Mono<Void> output = session.send(outbound.asFlux().map(session::textMessage));
+                return Mono.when(input, output);
+            })
+            .subscribe();
+        connected.asMono().block(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Send a request and wait for the response with the same id.
+     */
+    Mono<JsonNode> request(String method, Map<String, Object> params) {
+        int id = ids.incrementAndGet();
+        Sinks.One<JsonNode> response = Sinks.one();
+        pending.put(id, response);
+        try {
+            String frame = objectMapper.writeValueAsString(
+                Map.of("jsonrpc", "2.0", "id", id, "method", method, "params", params));
+            outbound.emitNext(frame, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+        catch (JsonProcessingException ex) {
+            return Mono.error(ex);
+        }
+        return response.asMono();
+    }
+
+    @Override
+    public Mono<McpSchema.ListToolsResult> listTools() {
+        return call("tools/list", Map.of(), McpSchema.ListToolsResult.class);
+    }
+
+    @Override
+    public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest request) {
+        return call("tools/call", Map.of("name", request.params().name(), "arguments", arguments(request.params().arguments())),
+            McpSchema.CallToolResult.class);
+    }
+
+    @Override
+    public Mono<McpSchema.ListResourcesResult> listResources() {
+        return call("resources/list", Map.of(), McpSchema.ListResourcesResult.class);
+    }
+
+    @Override
+    public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest request) {
+        return call("resources/read", Map.of("uri", request.params().uri()), McpSchema.ReadResourceResult.class);
+    }
+
+    @Override
+    public Mono<McpSchema.ListPromptsResult> listPrompts() {
+        return call("prompts/list", Map.of(), McpSchema.ListPromptsResult.class);
+    }
+
+    @Override
+    public Mono<McpSchema.GetPromptResult> getPrompt(McpSchema.GetPromptRequest request) {
+        return call("prompts/get", Map.of("name", request.params().name(), "arguments", arguments(request.params().arguments())),
+            McpSchema.GetPromptResult.class);
+    }
+
+    /**
+     * Send a request and convert the result of its response to {@code type}, failing
+     * with the message of a JSON-RPC error, as the Spring AI client does.
+     */
+    private <T> Mono<T> call(String method, Map<String, Object> params, Class<T> type) {
+        return request(method, params).handle((response, sink) -> {
+            if (response.has("error")) {
+                sink.error(new IllegalStateException(response.path("error").path("message").asText()));
+                return;
+            }
+            try {
+                sink.next(objectMapper.treeToValue(response.path("result"), type));
+            }
+            catch (JsonProcessingException ex) {
+                sink.error(ex);
+            }
+        });
+    }
+
+    private static Object arguments(@Nullable Map<String, ?> arguments) {
+        return arguments != null ? arguments : Map.of();
+    }
+
+    private void complete(String frame) {
+        try {
+            JsonNode response = objectMapper.readTree(frame);
+            if (!response.has("id")) {
+                notifications.add(response);
+                return;
+            }
+            Sinks.One<JsonNode> sink = pending.remove(response.path("id").asInt());
+            if (sink != null) {
+                sink.tryEmitValue(response);
+            }
+        }
+        catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Invalid frame: " + frame, ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        outbound.tryEmitComplete();
+        connection.dispose();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the adaptive concurrency limit, CoDel load shedding and priority lanes.
+ */
+class McpConcurrencyLimiterTest {
+
+    private final McpPriorityProperties priorities = new McpPriorityProperties(true, null, Map.of("echo", McpLane.DEFAULT),
+        null, 2);
+
+    private final McpConcurrencyLimiter limiter = new McpConcurrencyLimiter(new McpConcurrencyLimitProperties(
+        true, 1, 1, 10, 1.5, 0.2, 1, Duration.ofMillis(5), Duration.ofMillis(200), Set.of("initialize", "ping")),
+        priorities);
+
+    private Sinks.Empty<Void> occupy() {
+        Sinks.Empty<Void> running = Sinks.empty();
+        limiter.limit("tools/call", McpLane.HEAVY, running.asMono()).subscribe();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+        return running;
+    }
+
+    @Test
+    void testQueuedRequestRunsWhenPermitIsReleased() {
+        Sinks.Empty<Void> running = occupy();
+
+        StepVerifier.create(limiter.limit("resources/read", McpLane.DEFAULT, Mono.just("queued")))
+            .then(() -> {
+                assertThat(limiter.queueSize(McpLane.DEFAULT)).isEqualTo(1);
+                running.tryEmitEmpty();
+            })
+            .expectNext("queued")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void testFullQueueRejectsWithRetryableError() {
+        Sinks.Empty<Void> running = occupy();
+        limiter.limit("tools/call", McpLane.HEAVY, Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit("tools/call", McpLane.HEAVY, Mono.just("rejected")))
+            .expectErrorSatisfies(ex -> {
+                assertThat(ex).isInstanceOf(McpOverloadedException.class);
+                McpOverloadedException overloaded = (McpOverloadedException) ex;
+                assertThat(overloaded.getCode()).isEqualTo(McpJsonRpcException.SERVER_OVERLOADED);
+                assertThat(overloaded.getData()).containsEntry("retryable", true);
+            })
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(limiter.rejectedQueueFull(McpLane.HEAVY)).isEqualTo(1);
+        running.tryEmitEmpty();
+    }
+
+    @Test
+    void testQueuedRequestIsShedAfterTimeout() {
+        Sinks.Empty<Void> running = occupy();
+
+        StepVerifier.create(limiter.limit("prompts/get", McpLane.DEFAULT, Mono.just("late")))
+            .expectError(McpOverloadedException.class)
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(limiter.rejectedQueueTimeout(McpLane.DEFAULT)).isEqualTo(1);
+        assertThat(limiter.queueSize(McpLane.DEFAULT)).isZero();
+        running.tryEmitEmpty();
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void testExemptMethodsAreNeverLimited() {
+        Sinks.Empty<Void> running = occupy();
+        limiter.limit("tools/call", McpLane.HEAVY, Mono.never()).subscribe();
+
+        StepVerifier.create(limiter.limit("ping", McpLane.CONTROL, Mono.just("pong")))
+            .expectNext("pong")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+        StepVerifier.create(limiter.limit("initialize", McpLane.CONTROL, Mono.just("ok")))
+            .expectNext("ok")
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+        running.tryEmitEmpty();
+    }
+
+    @Test
+    void testControlLaneIsServedBeforeQueuedHeavyWork() {
+        McpConcurrencyLimiter wideQueue = new McpConcurrencyLimiter(new McpConcurrencyLimitProperties(
+            true, 1, 1, 1, 1.5, 0.2, 10, Duration.ofSeconds(5), Duration.ofSeconds(5), Set.of()), priorities);
+        Sinks.Empty<Void> running = Sinks.empty();
+        wideQueue.limit("tools/call", McpLane.HEAVY, running.asMono()).subscribe();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            wideQueue.limit("tools/call", McpLane.HEAVY, Mono.fromRunnable(() -> order.add("heavy"))).subscribe();
+        }
+        for (int i = 0; i < 3; i++) {
+            wideQueue.limit("tools/list", McpLane.CONTROL, Mono.fromRunnable(() -> order.add("control"))).subscribe();
+        }
+        running.tryEmitEmpty();
+
+        // control requests finish 1/8 apart in virtual time, heavy requests 1 apart
+        assertThat(order).containsExactly("control", "control", "control", "heavy", "heavy", "heavy");
+    }
+
+    @Test
+    void testClassification() {
+        McpRequestClassifier classifier = new McpRequestClassifier(priorities);
+
+        assertThat(classifier.classify("tools/list", null)).isEqualTo(McpLane.CONTROL);
+        assertThat(classifier.classify("ping", null)).isEqualTo(McpLane.CONTROL);
+        assertThat(classifier.classify("tools/call", "multiply")).isEqualTo(McpLane.HEAVY);
+        assertThat(classifier.classify("tools/call", "echo")).isEqualTo(McpLane.DEFAULT);
+        assertThat(classifier.classify("resources/read", null)).isEqualTo(McpLane.DEFAULT);
+        assertThat(classifier.classify("unknown/method", null)).isEqualTo(McpLane.DEFAULT);
+    }
+
+    @Test
+    void testGradientFollowsLatency() {
+        GradientLimit gradient = new GradientLimit(20, 4, 200, 1.5, 0.2);
+        long fast = TimeUnit.MILLISECONDS.toNanos(10);
+        long slow = TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int i = 0; i < 50; i++) {
+            gradient.update(fast, 1);
+        }
+        assertThat(gradient.limit()).as("idle server keeps its limit").isEqualTo(20);
+
+        for (int i = 0; i < 50; i++) {
+            gradient.update(fast, gradient.limit());
+        }
+        int grown = gradient.limit();
+        assertThat(grown).isGreaterThan(20);
+
+        for (int i = 0; i < 20; i++) {
+            gradient.update(slow, gradient.limit());
+        }
+        assertThat(gradient.limit()).isLessThan(grown);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.mcpserver.limit;
+
+import com.example.mcpserver.rpc.McpJsonRpcException;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for per-client token-bucket rate limiting.
+ */
+class McpRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(-1_000_000_000L);
+
+    private McpRateLimiter limiter(int maxClients) {
+        return new McpRateLimiter(new McpRateLimitProperties(true, List.of(McpRateLimitProperties.ClientIdentity.API_KEY),
+            "X-API-Key", new McpRateLimitProperties.Budget(10, 3), null, null, maxClients, Duration.ofMinutes(10), 100),
+            clock::get);
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void testBurstThenThrottledWithRetryHint() {
+        McpRateLimiter limiter = limiter(16);
+
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            McpRateLimiter.Decision decision = limiter.tryAcquire("key:a", McpOperationType.TOOL);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.limit()).isEqualTo(3);
+            assertThat(decision.remaining()).isEqualTo(remaining);
+        }
+        McpRateLimiter.Decision throttled = limiter.tryAcquire("key:a", McpOperationType.TOOL);
+
+        assertThat(throttled.allowed()).isFalse();
+        assertThat(throttled.retryAfter()).isEqualTo(Duration.ofMillis(100));
+        assertThat(throttled.reset()).isEqualTo(Duration.ofMillis(300));
+        assertThat(limiter.throttled(McpOperationType.TOOL)).isEqualTo(1);
+        assertThat(new McpRateLimitedException(throttled).getData())
+            .containsEntry("retryable", true)
+            .containsEntry("retryAfterMs", 100L)
+            .containsEntry("operation", "tool");
+        assertThat(new McpRateLimitedException(throttled).getCode()).isEqualTo(McpJsonRpcException.RATE_LIMITED);
+    }
+
+    @Test
+    void testPipelineTakesOneTokenPerStep() throws Exception {
+        McpRateLimiter limiter = limiter(16);
+        JsonNode pipeline = new ObjectMapper().readTree("""
+            {"name": "pipeline", "arguments": {"steps": [
+              {"id": "a", "tool": "add", "arguments": {"a": 1, "b": 2}},
+              {"id": "b", "tool": "add", "arguments": {"a": {"$ref": "a"}, "b": 3}}]}}""");
+        assertThat(McpRateLimiter.permits(McpOperationType.TOOL, pipeline)).isEqualTo(2);
+
+        McpRateLimiter.Decision decision = limiter.tryAcquire("key:a", McpOperationType.TOOL, 2);
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(1);
+
+        McpRateLimiter.Decision throttled = limiter.tryAcquire("key:a", McpOperationType.TOOL, 2);
+        assertThat(throttled.allowed()).as("fewer tokens left than steps").isFalse();
+        assertThat(throttled.retryAfter()).isEqualTo(Duration.ofMillis(100));
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL).allowed()).as("nothing taken").isTrue();
+    }
+
+    @Test
+    void testPipelineLargerThanBurstTakesFullBucket() {
+        McpRateLimiter limiter = limiter(16);
+
+        McpRateLimiter.Decision decision = limiter.tryAcquire("key:a", McpOperationType.TOOL, 5);
+        assertThat(decision.allowed()).as("more steps than the burst of 3").isTrue();
+        assertThat(decision.remaining()).isZero();
+
+        McpRateLimiter.Decision throttled = limiter.tryAcquire("key:a", McpOperationType.TOOL, 5);
+        assertThat(throttled.allowed()).isFalse();
+        assertThat(throttled.retryAfter()).isEqualTo(Duration.ofMillis(300));
+        advance(300);
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL, 5).allowed()).as("once the bucket is full").isTrue();
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        McpRateLimiter limiter = limiter(16);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key:a", McpOperationType.TOOL);
+        }
+
+        advance(99);
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL).allowed()).isFalse();
+        advance(1);
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL).allowed()).isTrue();
+        advance(1_000);
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL).remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void testBudgetsAreSeparatePerClientAndOperationType() {
+        McpRateLimiter limiter = limiter(16);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("key:a", McpOperationType.TOOL);
+        }
+
+        assertThat(limiter.tryAcquire("key:a", McpOperationType.TOOL).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("key:b", McpOperationType.TOOL).allowed()).isTrue();
+        McpRateLimiter.Decision read = limiter.tryAcquire("key:a", McpOperationType.RESOURCE);
+        assertThat(read.allowed()).isTrue();
+        assertThat(read.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void testClientTableStaysBounded() {
+        McpRateLimiter limiter = limiter(16);
+
+        for (int i = 0; i < 10_000; i++) {
+            limiter.tryAcquire("ip:10.0." + (i / 256) + "." + (i % 256), McpOperationType.PROMPT);
+            advance(1);
+        }
+
+        assertThat(limiter.activeClients()).isLessThanOrEqualTo(16);
+        assertThat(limiter.evictedClients()).isGreaterThan(9_000);
+    }
+
+    @Test
+    void testOperationTypes() {
+        assertThat(McpRateLimiter.operationType("tools/call")).isEqualTo(McpOperationType.TOOL);
+        assertThat(McpRateLimiter.operationType("resources/read")).isEqualTo(McpOperationType.RESOURCE);
+        assertThat(McpRateLimiter.operationType("prompts/get")).isEqualTo(McpOperationType.PROMPT);
+        assertThat(McpRateLimiter.operationType("tools/list")).isNull();
+        assertThat(McpRateLimiter.operationType(null)).isNull();
+    }
+}
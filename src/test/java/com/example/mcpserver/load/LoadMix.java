@@ -0,0 +1,87 @@
+package com.example.mcpserver.load;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Relative weights of the operations sent by the {@link McpLoadGenerator}, written
+ * as {@code tools/list=1,tools/call=6,resources/read=2,prompts/get=1}.
+ *
+ * <p>Operations are interleaved deterministically rather than drawn at random, so
+ * that every window of {@code total weight} requests has exactly the configured mix.
+ */
+public final class LoadMix {
+
+    /** The default mix, weighted towards tool calls. */
+    public static final String DEFAULT = "tools/list=1,tools/call=6,resources/read=2,prompts/get=1";
+
+    private final Map<LoadOperation, Integer> weights;
+
+    private final LoadOperation[] schedule;
+
+    private LoadMix(Map<LoadOperation, Integer> weights) {
+        this.weights = weights;
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.schedule = new LoadOperation[total];
+        // smooth weighted round robin, as used by nginx upstreams
+        Map<LoadOperation, Integer> current = new EnumMap<>(LoadOperation.class);
+        for (int i = 0; i < total; i++) {
+            LoadOperation selected = null;
+            for (Map.Entry<LoadOperation, Integer> weight : weights.entrySet()) {
+                int value = current.merge(weight.getKey(), weight.getValue(), Integer::sum);
+                if (selected == null || value > current.get(selected)) {
+                    selected = weight.getKey();
+                }
+            }
+            current.merge(selected, -total, Integer::sum);
+            schedule[i] = selected;
+        }
+    }
+
+    /**
+     * Parse a mix such as {@code tools/call=3,resources/read=1}.
+     */
+    public static LoadMix parse(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "', expected <method>=<weight>");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of '" + parts[0] + "' must not be negative");
+            }
+            if (weight > 0) {
+                weights.put(LoadOperation.of(parts[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix '" + mix + "' does not contain any operation");
+        }
+        return new LoadMix(weights);
+    }
+
+    /**
+     * The operation of the {@code sequence}-th request.
+     */
+    public LoadOperation operation(long sequence) {
+        return schedule[(int) (sequence % schedule.length)];
+    }
+
+    public Map<LoadOperation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder mix = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!mix.isEmpty()) {
+                mix.append(',');
+            }
+            mix.append(operation.method()).append('=').append(weight);
+        });
+        return mix.toString();
+    }
+}
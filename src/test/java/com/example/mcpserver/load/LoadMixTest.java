@@ -0,0 +1,48 @@
+package com.example.mcpserver.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for parsing and interleaving load mixes.
+ */
+class LoadMixTest {
+
+    @Test
+    void testEveryWindowHasTheConfiguredMix() {
+        LoadMix mix = LoadMix.parse("tools/list=1, tools/call=6, resources/read=2, prompts/get=1");
+
+        for (int window = 0; window < 3; window++) {
+            Map<LoadOperation, Integer> counts = new EnumMap<>(LoadOperation.class);
+            for (int i = 0; i < 10; i++) {
+                counts.merge(mix.operation(window * 10L + i), 1, Integer::sum);
+            }
+            assertThat(counts).isEqualTo(mix.weights());
+        }
+    }
+
+    @Test
+    void testOperationsAreInterleaved() {
+        LoadMix mix = LoadMix.parse("tools/call=2,resources/read=2");
+
+        assertThat(mix.operation(0)).isNotEqualTo(mix.operation(1));
+        assertThat(mix.operation(1)).isNotEqualTo(mix.operation(2));
+    }
+
+    @Test
+    void testInvalidMix() {
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadMix.parse("tools/call"));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadMix.parse("tools/delete=1"));
+        assertThatIllegalArgumentException().isThrownBy(() -> LoadMix.parse("tools/call=0"));
+    }
+
+    @Test
+    void testToString() {
+        assertThat(LoadMix.parse(LoadMix.DEFAULT)).hasToString(LoadMix.DEFAULT);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.mcpserver.load;
+
+import org.springframework.ai.mcp.client.McpClient;
+import org.springframework.ai.mcp.spec.McpSchema;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The MCP operations driven by the {@link McpLoadGenerator}. Each operation cycles
+ * through a few representative requests, so that a run exercises several tools,
+ * resources and prompts rather than a single cached path.
+ */
+public enum LoadOperation {
+
+    LIST_TOOLS("tools/list") {
+        @Override
+        Mono<?> execute(McpClient client, long sequence) {
+            return client.listTools();
+        }
+
+        @Override
+        Map<String, Object> params(long sequence) {
+            return Map.of();
+        }
+    },
+
+    CALL_TOOL("tools/call") {
+        @Override
+        Mono<?> execute(McpClient client, long sequence) {
+            NamedCall call = select(TOOL_CALLS, sequence);
+            return client.callTool(McpSchema.CallToolRequest.builder()
+                .params(McpSchema.CallToolRequestParams.builder().name(call.name()).arguments(call.arguments()).build())
+                .build());
+        }
+
+        @Override
+        Map<String, Object> params(long sequence) {
+            NamedCall call = select(TOOL_CALLS, sequence);
+            return Map.of("name", call.name(), "arguments", call.arguments());
+        }
+    },
+
+    READ_RESOURCE("resources/read") {
+        @Override
+        Mono<?> execute(McpClient client, long sequence) {
+            return client.readResource(McpSchema.ReadResourceRequest.builder()
+                .params(McpSchema.ReadResourceRequestParams.builder().uri(select(RESOURCE_URIS, sequence)).build())
+                .build());
+        }
+
+        @Override
+        Map<String, Object> params(long sequence) {
+            return Map.of("uri", select(RESOURCE_URIS, sequence));
+        }
+    },
+
+    GET_PROMPT("prompts/get") {
+        @Override
+        Mono<?> execute(McpClient client, long sequence) {
+            NamedCall prompt = select(PROMPTS, sequence);
+            return client.getPrompt(McpSchema.GetPromptRequest.builder()
+                .params(McpSchema.GetPromptRequestParams.builder().name(prompt.name()).arguments(prompt.arguments()).build())
+                .build());
+        }
+
+        @Override
+        Map<String, Object> params(long sequence) {
+            NamedCall prompt = select(PROMPTS, sequence);
+            return Map.of("name", prompt.name(), "arguments", prompt.arguments());
+        }
+    };
+
+    private static final List<NamedCall> TOOL_CALLS = List.of(
+        new NamedCall("add", Map.of("a", 40.0, "b", 2.0)),
+        new NamedCall("multiply", Map.of("a", 6.0, "b", 7.0)),
+        new NamedCall("echo", Map.of("message", "Hello, MCP!")),
+        new NamedCall("get_current_time", Map.of()),
+        new NamedCall("random_number", Map.of("min", 1, "max", 100)));
+
+    private static final List<String> RESOURCE_URIS = List.of(
+        "resource://welcome",
+        "resource://system/info",
+        "resource://config/server",
+        "resource://docs/getting-started",
+        "resource://api/reference");
+
+    private static final List<NamedCall> PROMPTS = List.of(
+        new NamedCall("greeting", Map.of("name", "Alice", "timeOfDay", "morning")),
+        new NamedCall("code-review", Map.of("language", "Java", "focusArea", "performance")),
+        new NamedCall("analyze-data", Map.of("dataType", "sales", "goal", "Find seasonal trends")),
+        new NamedCall("debug-helper", Map.of("issue", "NullPointerException", "stack", "Spring Boot")));
+
+    private final String method;
+
+    LoadOperation(String method) {
+        this.method = method;
+    }
+
+    /**
+     * The JSON-RPC method, also used to name the operation in mixes and reports.
+     */
+    public String method() {
+        return method;
+    }
+
+    /**
+     * Send the request for the {@code sequence}-th occurrence of this operation.
+     */
+    abstract Mono<?> execute(McpClient client, long sequence);
+
+    /**
+     * The JSON-RPC params of the {@code sequence}-th occurrence of this operation, for
+     * targets that send raw JSON-RPC rather than going through an {@link McpClient}.
+     */
+    abstract Map<String, Object> params(long sequence);
+
+    /**
+     * The operation for a JSON-RPC method name such as {@code tools/call}.
+     */
+    public static LoadOperation of(String method) {
+        for (LoadOperation operation : values()) {
+            if (operation.method.equals(method)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + method + "'");
+    }
+
+    private static <T> T select(List<T> requests, long sequence) {
+        return requests.get((int) (sequence % requests.size()));
+    }
+
+    /**
+     * A tool call or prompt get: the name and its arguments.
+     */
+    private record NamedCall(String name, Map<String, Object> arguments) {
+    }
+}
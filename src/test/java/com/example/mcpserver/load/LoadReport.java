@@ -0,0 +1,117 @@
+package com.example.mcpserver.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of a {@link McpLoadGenerator} run: throughput, errors and latency
+ * percentiles per operation and overall. Latencies are measured from the intended
+ * start of each request and so include any queueing caused by the server falling
+ * behind; service times are measured from the actual send.
+ */
+public class LoadReport {
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final McpLoadGenerator.Settings settings;
+
+    private final long elapsedNanos;
+
+    private final Map<String, McpLoadGenerator.OperationStats> stats = new LinkedHashMap<>();
+
+    LoadReport(McpLoadGenerator.Settings settings, long elapsedNanos,
+            Map<LoadOperation, McpLoadGenerator.OperationStats> stats) {
+        this.settings = settings;
+        this.elapsedNanos = elapsedNanos;
+        McpLoadGenerator.OperationStats total = new McpLoadGenerator.OperationStats();
+        stats.forEach((operation, operationStats) -> {
+            this.stats.put(operation.method(), operationStats);
+            total.latency.add(operationStats.latency);
+            total.serviceTime.add(operationStats.serviceTime);
+            total.errors.add(operationStats.errors.sum());
+        });
+        this.stats.put("all", total);
+    }
+
+    /**
+     * Latency histogram of an operation (or {@code all}), in nanoseconds.
+     */
+    public Histogram latency(String operation) {
+        return stats.get(operation).latency;
+    }
+
+    public long errors(String operation) {
+        return stats.get(operation).errors.sum();
+    }
+
+    /**
+     * Successful responses per second during the measured phase.
+     */
+    public double throughput() {
+        return latency("all").getTotalCount() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * The summary table, as logged at the end of a run and written to {@code summary.txt}.
+     */
+    public String summary() {
+        ByteArrayOutputStream summary = new ByteArrayOutputStream();
+        print(new PrintStream(summary, true, StandardCharsets.UTF_8));
+        return summary.toString(StandardCharsets.UTF_8);
+    }
+
+    private void print(PrintStream out) {
+        out.printf("Target rate %.1f req/s, mix %s, measured %s after %s warm-up%n",
+            settings.rate(), settings.mix(), settings.duration(), settings.warmup());
+        out.printf("Achieved %.1f req/s, %d errors%n%n", throughput(), errors("all"));
+
+        out.printf("%-16s %9s %7s", "operation", "count", "errors");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + format(percentile));
+        }
+        out.printf(" %9s %12s%n", "max", "service p99");
+        stats.forEach((operation, operationStats) -> {
+            Histogram latency = operationStats.latency;
+            out.printf("%-16s %9d %7d", operation, latency.getTotalCount(), operationStats.errors.sum());
+            for (double percentile : PERCENTILES) {
+                out.printf(" %9.3f", latency.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+            }
+            out.printf(" %9.3f %12.3f%n", latency.getMaxValue() / NANOS_PER_MILLI,
+                operationStats.serviceTime.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        });
+        out.println("(latencies in milliseconds, from the intended start of each request)");
+    }
+
+    /**
+     * Write the summary and, per operation, the latency percentile distribution in
+     * HdrHistogram's {@code .hgrm} format (milliseconds), which the HdrHistogram
+     * plotter can chart.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+            print(out);
+        }
+        for (Map.Entry<String, McpLoadGenerator.OperationStats> entry : stats.entrySet()) {
+            Path file = directory.resolve(entry.getKey().replace('/', '-') + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().latency.outputPercentileDistribution(out, NANOS_PER_MILLI);
+            }
+        }
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
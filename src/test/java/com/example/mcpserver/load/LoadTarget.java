@@ -0,0 +1,34 @@
+package com.example.mcpserver.load;
+
+import org.springframework.ai.mcp.client.McpClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Where the {@link McpLoadGenerator} sends its requests: one or more MCP clients, or
+ * raw JSON-RPC over a particular transport.
+ */
+@FunctionalInterface
+public interface LoadTarget {
+
+    /**
+     * Send the {@code sequence}-th request, completing when its response arrives and
+     * failing if it is an error.
+     */
+    Mono<?> execute(LoadOperation operation, long sequence);
+
+    /**
+     * Requests sent through {@code client}, i.e. over its transport.
+     */
+    static LoadTarget of(McpClient client) {
+        return (operation, sequence) -> operation.execute(client, sequence);
+    }
+
+    /**
+     * Requests spread over {@code targets} in turn, each standing for one client.
+     */
+    static LoadTarget roundRobin(List<? extends LoadTarget> targets) {
+        return (operation, sequence) -> targets.get((int) (sequence % targets.size())).execute(operation, sequence);
+    }
+}
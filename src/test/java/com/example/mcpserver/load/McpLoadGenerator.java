@@ -0,0 +1,172 @@
+package com.example.mcpserver.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.client.McpClient;
+import org.springframework.ai.mcp.client.McpSyncClient;
+import org.springframework.ai.mcp.client.transport.SseClientTransport;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for an MCP server.
+ *
+ * <p>Requests are started at a constant arrival rate, independently of how fast
+ * the server answers: the {@code n}-th request is due at {@code start + n / rate}.
+ * Latency is measured from that intended start time rather than from the moment
+ * the request was actually sent, so a stalled server or a lagging generator shows
+ * up in the percentiles instead of silently lowering the request rate (coordinated
+ * omission). The service time, measured from the actual send, is recorded
+ * separately for comparison.
+ *
+ * <p>Settings are read from system properties:
+ * <ul>
+ * <li>{@code mcp.load.url}: the server's MCP endpoint, {@code http://localhost:8080/mcp} by default</li>
+ * <li>{@code mcp.load.rate}: requests per second, 200 by default</li>
+ * <li>{@code mcp.load.duration}: measured duration, {@code PT30S} by default</li>
+ * <li>{@code mcp.load.warmup}: unmeasured warm-up before it, {@code PT10S} by default</li>
+ * <li>{@code mcp.load.mix}: operation weights, see {@link LoadMix}</li>
+ * <li>{@code mcp.load.timeout}: per request timeout, counted as an error, {@code PT10S} by default</li>
+ * <li>{@code mcp.load.report-dir}: where histograms are written, {@code target/mcp-load} by default</li>
+ * </ul>
+ */
+public class McpLoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpLoadGenerator.class);
+
+    /** Highest latency the histograms track; slower requests time out first. */
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final LoadTarget target;
+
+    private final Settings settings;
+
+    private final Map<LoadOperation, OperationStats> stats = new EnumMap<>(LoadOperation.class);
+
+    private final AtomicLong inFlight = new AtomicLong();
+
+    private volatile long measurementStart;
+
+    public McpLoadGenerator(McpClient client, Settings settings) {
+        this(LoadTarget.of(client), settings);
+    }
+
+    public McpLoadGenerator(LoadTarget target, Settings settings) {
+        this.target = target;
+        this.settings = settings;
+        settings.mix().weights().keySet().forEach(operation -> stats.put(operation, new OperationStats()));
+    }
+
+    /**
+     * Run the warm-up and the measured phase, then wait for outstanding requests.
+     */
+    public LoadReport run() throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / settings.rate());
+        long start = System.nanoTime();
+        measurementStart = start + settings.warmup().toNanos();
+        long end = measurementStart + settings.duration().toNanos();
+
+        long sequence = 0;
+        for (long intended = start; intended < end; intended = start + ++sequence * interval) {
+            long delay;
+            while ((delay = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            send(settings.mix().operation(sequence), sequence, intended);
+        }
+
+        // every request ends within its timeout, the margin covers slow error delivery
+        long deadline = System.nanoTime() + settings.timeout().toNanos() * 2;
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return new LoadReport(settings, System.nanoTime() - measurementStart, stats);
+    }
+
+    private void send(LoadOperation operation, long sequence, long intendedStart) {
+        inFlight.incrementAndGet();
+        long sent = System.nanoTime();
+        Mono.defer(() -> target.execute(operation, sequence))
+            .timeout(settings.timeout())
+            .subscribe(
+                response -> { },
+                error -> complete(operation, intendedStart, sent, false),
+                () -> complete(operation, intendedStart, sent, true));
+    }
+
+    private void complete(LoadOperation operation, long intendedStart, long sent, boolean success) {
+        long now = System.nanoTime();
+        if (intendedStart >= measurementStart) {
+            OperationStats operationStats = stats.get(operation);
+            if (success) {
+                operationStats.latency.recordValue(Math.min(now - intendedStart, HIGHEST_TRACKABLE_NANOS));
+                operationStats.serviceTime.recordValue(Math.min(now - sent, HIGHEST_TRACKABLE_NANOS));
+            }
+            else {
+                operationStats.errors.increment();
+            }
+        }
+        inFlight.decrementAndGet();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        McpClient client = new McpSyncClient(new SseClientTransport(System.getProperty("mcp.load.url", "http://localhost:8080/mcp")));
+        LoadReport report = new McpLoadGenerator(client, settings).run();
+        logger.info("Load test results:{}{}", System.lineSeparator(), report.summary());
+        report.write(settings.reportDir());
+        System.exit(0);
+    }
+
+    /**
+     * Settings of a load run.
+     *
+     * @param rate requests started per second
+     * @param duration length of the measured phase
+     * @param warmup length of the unmeasured phase before it
+     * @param mix operation weights
+     * @param timeout time after which a request counts as failed
+     * @param reportDir directory the histogram files are written to
+     */
+    public record Settings(double rate, Duration duration, Duration warmup, LoadMix mix, Duration timeout,
+            Path reportDir) {
+
+        public Settings {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("Rate must be positive");
+            }
+        }
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                Double.parseDouble(System.getProperty("mcp.load.rate", "200")),
+                Duration.parse(System.getProperty("mcp.load.duration", "PT30S")),
+                Duration.parse(System.getProperty("mcp.load.warmup", "PT10S")),
+                LoadMix.parse(System.getProperty("mcp.load.mix", LoadMix.DEFAULT)),
+                Duration.parse(System.getProperty("mcp.load.timeout", "PT10S")),
+                Path.of(System.getProperty("mcp.load.report-dir", "target/mcp-load")));
+        }
+    }
+
+    /**
+     * Histograms of one operation, recorded in nanoseconds from the completion threads.
+     */
+    static final class OperationStats {
+
+        final Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+        final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+
+        final LongAdder errors = new LongAdder();
+    }
+}
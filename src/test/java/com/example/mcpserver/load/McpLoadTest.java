@@ -0,0 +1,51 @@
+package com.example.mcpserver.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.client.McpSyncClient;
+import org.springframework.ai.mcp.client.transport.SseClientTransport;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@link McpLoadGenerator} against a locally started server. Skipped unless
+ * {@code -Dmcp.load.enabled=true} is given; the other {@code mcp.load.*} system
+ * properties configure the run:
+ *
+ * <pre>
+ * mvn test -Dtest=McpLoadTest -Dmcp.load.enabled=true -Dmcp.load.rate=500 -Dmcp.load.duration=PT60S
+ * </pre>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.com.example.mcpserver=INFO",
+    "logging.level.org.springframework.ai.mcp=INFO"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "mcp.load.enabled", matches = "true")
+@DisplayName("MCP Server Load Test")
+class McpLoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testLoad() throws Exception {
+        McpLoadGenerator.Settings settings = McpLoadGenerator.Settings.fromSystemProperties();
+        McpSyncClient client = new McpSyncClient(new SseClientTransport("http://localhost:" + port + "/mcp"));
+
+        LoadReport report = new McpLoadGenerator(client, settings).run();
+        logger.info("Load test results:{}{}", System.lineSeparator(), report.summary());
+        report.write(settings.reportDir());
+
+        assertThat(report.latency("all").getTotalCount()).isPositive();
+        assertThat(report.errors("all")).isZero();
+    }
+}
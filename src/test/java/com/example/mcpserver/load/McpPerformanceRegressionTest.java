@@ -0,0 +1,133 @@
+package com.example.mcpserver.load;
+
+import com.example.mcpserver.load.PerformanceBaseline.Check;
+import com.example.mcpserver.load.PerformanceBaseline.Metric;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.client.McpSyncClient;
+import org.springframework.ai.mcp.client.transport.SseClientTransport;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when latency, throughput or allocation of an MCP operation regresses beyond
+ * the budgets in {@code performance/baseline.properties}.
+ *
+ * <p>Each operation is driven alone by the {@link McpLoadGenerator} at a fixed rate
+ * against the embedded server, so that the allocated bytes of the whole JVM (server
+ * and client) can be attributed to it. Run with the {@code performance} profile:
+ *
+ * <pre>
+ * mvn test -Pperformance
+ * </pre>
+ *
+ * With {@code -Dmcp.performance.update-baseline=true} the measurements are written to
+ * {@code target/mcp-performance/baseline.properties} instead of being checked, ready
+ * to be reviewed and committed. Budgets are machine specific: regenerate them on the
+ * machine that runs the gate.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.com.example.mcpserver=INFO",
+    "logging.level.org.springframework.ai.mcp=INFO"
+})
+@ActiveProfiles("test")
+@Tag("performance")
+@DisplayName("MCP Server Performance Regression Test")
+class McpPerformanceRegressionTest {
+
+    private static final double RATE = 100;
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private static final Duration DURATION = Duration.ofSeconds(20);
+
+    private static final Logger logger = LoggerFactory.getLogger(McpPerformanceRegressionTest.class);
+
+    private static final Path REPORT_DIR = Path.of("target/mcp-performance");
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testOperationsStayWithinBudget() throws Exception {
+        PerformanceBaseline baseline;
+        try (InputStream in = getClass().getResourceAsStream("/performance/baseline.properties")) {
+            assertThat(in).as("performance/baseline.properties").isNotNull();
+            baseline = PerformanceBaseline.load(in);
+        }
+        McpSyncClient client = new McpSyncClient(new SseClientTransport("http://localhost:" + port + "/mcp"));
+
+        Map<String, Map<Metric, Double>> measurements = new LinkedHashMap<>();
+        for (LoadOperation operation : LoadOperation.values()) {
+            measurements.put(operation.method(), measure(client, operation));
+        }
+
+        if (Boolean.getBoolean("mcp.performance.update-baseline")) {
+            baseline.write(REPORT_DIR.resolve("baseline.properties"), measurements);
+            return;
+        }
+        List<Check> checks = new ArrayList<>();
+        measurements.forEach((operation, measured) -> checks.addAll(baseline.check(operation, measured)));
+        String table = PerformanceBaseline.format(checks);
+        logger.info("Performance budgets:{}{}", System.lineSeparator(), table);
+
+        assertThat(checks).as("Performance budgets exceeded:%n%s", table).noneMatch(Check::exceeded);
+    }
+
+    private Map<Metric, Double> measure(McpSyncClient client, LoadOperation operation) throws Exception {
+        LoadMix mix = LoadMix.parse(operation.method() + "=1");
+        Path reportDir = REPORT_DIR.resolve(operation.method().replace('/', '-'));
+        new McpLoadGenerator(client, new McpLoadGenerator.Settings(RATE, WARMUP, Duration.ZERO, mix,
+            Duration.ofSeconds(5), reportDir)).run();
+
+        long allocatedBefore = allocatedBytes();
+        LoadReport report = new McpLoadGenerator(client, new McpLoadGenerator.Settings(RATE, DURATION, Duration.ZERO,
+            mix, Duration.ofSeconds(5), reportDir)).run();
+        long allocated = allocatedBytes() - allocatedBefore;
+        report.write(reportDir);
+
+        assertThat(report.errors("all")).as("errors of %s", operation.method()).isZero();
+        Histogram latency = report.latency("all");
+        Map<Metric, Double> measured = new EnumMap<>(Metric.class);
+        measured.put(Metric.P50, latency.getValueAtPercentile(50) / NANOS_PER_MILLI);
+        measured.put(Metric.P99, latency.getValueAtPercentile(99) / NANOS_PER_MILLI);
+        measured.put(Metric.THROUGHPUT, report.throughput());
+        measured.put(Metric.ALLOCATED_BYTES, (double) allocated / Math.max(1, latency.getTotalCount()));
+        return measured;
+    }
+
+    /**
+     * Bytes allocated so far by the live threads of this JVM. Threads that ended are
+     * not counted, which is fine for the long-lived event loop and worker threads.
+     */
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mcpserver.load;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.mcp.client.McpSyncClient;
+import org.springframework.ai.mcp.client.transport.SseClientTransport;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the latency of the SSE transport with the Streamable HTTP transport (h2c)
+ * under the same open-loop load, spread over many concurrent clients. Skipped unless
+ * {@code -Dmcp.load.enabled=true} is given; {@code mcp.load.clients} sets the number
+ * of clients per transport (1000 by default) and the other {@code mcp.load.*}
+ * properties configure the runs as for {@link McpLoadTest}:
+ *
+ * <pre>
+ * mvn test -Dtest=McpTransportComparisonTest -Dmcp.load.enabled=true -Dmcp.load.rate=2000
+ * </pre>
+ *
+ * Each SSE client holds its event stream open and posts its requests on separate
+ * connections; each Streamable HTTP client multiplexes its requests over one h2c
+ * connection. The reports are written to {@code sse} and {@code streamable}
+ * subdirectories of the report directory.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "logging.level.com.example.mcpserver=INFO",
+    "logging.level.org.springframework.ai.mcp=INFO",
+    "mcp.concurrency-limit.enabled=false"
+})
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "mcp.load.enabled", matches = "true")
+@DisplayName("MCP Transport Latency Comparison")
+class McpTransportComparisonTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpTransportComparisonTest.class);
+
+    private static final double NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void testCompareSseWithStreamableHttp() throws Exception {
+        McpLoadGenerator.Settings settings = McpLoadGenerator.Settings.fromSystemProperties();
+        int clients = Integer.getInteger("mcp.load.clients", 1000);
+        String url = "http://localhost:" + port + "/mcp";
+
+        List<LoadTarget> sseClients = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            sseClients.add(LoadTarget.of(new McpSyncClient(new SseClientTransport(url))));
+        }
+        LoadReport sse = run(LoadTarget.roundRobin(sseClients), settings, "sse");
+
+        List<StreamableHttpTarget> streamableClients = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            streamableClients.add(new StreamableHttpTarget(url, "mcp-load-" + i));
+        }
+        LoadReport streamable;
+        try {
+            streamable = run(LoadTarget.roundRobin(streamableClients), settings, "streamable");
+        }
+        finally {
+            streamableClients.forEach(StreamableHttpTarget::close);
+        }
+
+        logger.info("SSE vs Streamable HTTP, {} clients each:{}{}", clients, System.lineSeparator(),
+            compare(sse, streamable));
+        assertThat(sse.errors("all")).isZero();
+        assertThat(streamable.errors("all")).isZero();
+    }
+
+    private static LoadReport run(LoadTarget target, McpLoadGenerator.Settings settings, String transport)
+            throws Exception {
+        LoadReport report = new McpLoadGenerator(target, settings).run();
+        report.write(settings.reportDir().resolve(transport));
+        return report;
+    }
+
+    private static String compare(LoadReport sse, LoadReport streamable) {
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(table, true, StandardCharsets.UTF_8);
+        out.printf("%-12s %10s %10s %8s%n", "percentile", "sse", "streamable", "ratio");
+        Histogram sseLatency = sse.latency("all");
+        Histogram streamableLatency = streamable.latency("all");
+        for (double percentile : PERCENTILES) {
+            double sseMillis = sseLatency.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+            double streamableMillis = streamableLatency.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+            out.printf("%-12s %10.3f %10.3f %8.2f%n", "p" + percentile, sseMillis, streamableMillis,
+                streamableMillis / Math.max(sseMillis, 0.001));
+        }
+        out.printf("%-12s %10.1f %10.1f%n", "req/s", sse.throughput(), streamable.throughput());
+        out.print("(latencies in milliseconds, from the intended start of each request)");
+        return table.toString(StandardCharsets.UTF_8);
+    }
+}
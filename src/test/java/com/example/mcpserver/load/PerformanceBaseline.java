@@ -0,0 +1,142 @@
+package com.example.mcpserver.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Committed performance budgets, read from a properties file with one entry per
+ * operation and metric ({@code tools/call.p99-ms=12}) and one tolerance per metric
+ * ({@code tolerance.p99-ms=0.5}, i.e. 50% above the baseline).
+ *
+ * <p>Latency and allocation budgets are upper limits, throughput budgets lower
+ * limits. For latencies a {@code floor.<metric>} in milliseconds is also allowed, so
+ * that sub-millisecond baselines do not fail on scheduling noise.
+ */
+final class PerformanceBaseline {
+
+    /**
+     * A measured quantity of one operation.
+     */
+    enum Metric {
+
+        P50("p50-ms", true),
+        P99("p99-ms", true),
+        THROUGHPUT("throughput", false),
+        ALLOCATED_BYTES("allocated-bytes", true);
+
+        private final String key;
+
+        private final boolean upperLimit;
+
+        Metric(String key, boolean upperLimit) {
+            this.key = key;
+            this.upperLimit = upperLimit;
+        }
+    }
+
+    private final Properties properties;
+
+    private PerformanceBaseline(Properties properties) {
+        this.properties = properties;
+    }
+
+    static PerformanceBaseline load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        properties.load(in);
+        return new PerformanceBaseline(properties);
+    }
+
+    /**
+     * Compare the measurements of {@code operation} with its budgets. Metrics without
+     * a baseline are reported but never fail.
+     */
+    List<Check> check(String operation, Map<Metric, Double> measurements) {
+        List<Check> checks = new ArrayList<>();
+        measurements.forEach((metric, measured) -> {
+            String baseline = properties.getProperty(operation + "." + metric.key);
+            if (baseline == null) {
+                checks.add(new Check(operation, metric, Double.NaN, measured, Double.NaN));
+                return;
+            }
+            double value = Double.parseDouble(baseline);
+            double tolerance = Double.parseDouble(properties.getProperty("tolerance." + metric.key, "0"));
+            double limit;
+            if (metric.upperLimit) {
+                double floor = Double.parseDouble(properties.getProperty("floor." + metric.key, "0"));
+                limit = Math.max(value * (1 + tolerance), value + floor);
+            }
+            else {
+                limit = value * (1 - tolerance);
+            }
+            checks.add(new Check(operation, metric, value, measured, limit));
+        });
+        return checks;
+    }
+
+    /**
+     * Write the measurements as a new baseline, keeping the tolerances of this one.
+     */
+    void write(Path file, Map<String, Map<Metric, Double>> measurements) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(file)) {
+            out.write("# Performance budgets of McpPerformanceRegressionTest\n");
+            for (String name : properties.stringPropertyNames().stream().sorted().toList()) {
+                if (name.startsWith("tolerance.") || name.startsWith("floor.")) {
+                    out.write(name + "=" + properties.getProperty(name) + "\n");
+                }
+            }
+            for (Map.Entry<String, Map<Metric, Double>> operation : measurements.entrySet()) {
+                out.write("\n");
+                for (Map.Entry<Metric, Double> measurement : operation.getValue().entrySet()) {
+                    out.write(String.format(Locale.ROOT, "%s.%s=%.1f%n",
+                        operation.getKey(), measurement.getKey().key, measurement.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Render the checks as a table, marking the budgets that were exceeded.
+     */
+    static String format(List<Check> checks) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-16s %-16s %12s %12s %12s  %s%n",
+            "operation", "metric", "baseline", "measured", "limit", "status"));
+        for (Check check : checks) {
+            table.append(String.format(Locale.ROOT, "%-16s %-16s %12.1f %12.1f %12.1f  %s%n", check.operation(),
+                check.metric().key, check.baseline(), check.measured(), check.limit(), check.status()));
+        }
+        return table.toString();
+    }
+
+    /**
+     * The comparison of one measurement with its budget.
+     */
+    record Check(String operation, Metric metric, double baseline, double measured, double limit) {
+
+        boolean exceeded() {
+            if (Double.isNaN(limit)) {
+                return false;
+            }
+            return metric.upperLimit ? measured > limit : measured < limit;
+        }
+
+        String status() {
+            if (Double.isNaN(limit)) {
+                return "no baseline";
+            }
+            if (!exceeded()) {
+                return "ok";
+            }
+            double change = (measured - baseline) * 100 / baseline;
+            return String.format(Locale.ROOT, "EXCEEDED (%+.0f%% vs baseline)", change);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.mcpserver.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+/**
+ * One client of the Streamable HTTP transport: JSON-RPC POSTs to {@code /mcp}, answered
+ * in the POST response, multiplexed over a single h2c connection of its own.
+ */
+final class StreamableHttpTarget implements LoadTarget {
+
+    private final ConnectionProvider connectionProvider;
+
+    private final WebClient webClient;
+
+    StreamableHttpTarget(String url, String name) {
+        this.connectionProvider = ConnectionProvider.create(name, 1);
+        this.webClient = WebClient.builder()
+            .baseUrl(url)
+            .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider).protocol(HttpProtocol.H2C)))
+            .build();
+    }
+
+    @Override
+    public Mono<?> execute(LoadOperation operation, long sequence) {
+        return webClient.post()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+            .bodyValue(Map.of("jsonrpc", "2.0", "id", sequence, "method", operation.method(),
+                "params", operation.params(sequence)))
+            .retrieve()
+            .bodyToMono(JsonNode.class)
+            .flatMap(response -> response.has("error")
+                ? Mono.error(new IllegalStateException(response.path("error").path("message").asText()))
+                : Mono.just(response));
+    }
+
+    void close() {
+        connectionProvider.dispose();
+    }
+}
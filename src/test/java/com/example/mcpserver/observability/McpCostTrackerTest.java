@@ -0,0 +1,59 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.rpc.McpOperation;
+import com.example.mcpserver.rpc.McpOperationType;
+import com.example.mcpserver.service.McpToolsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for per-operation CPU time and allocation accounting.
+ */
+class McpCostTrackerTest {
+
+    private final McpCostTracker tracker = new McpCostTracker(new McpCostProperties(true, 2));
+
+    @Test
+    void testRankingsAreLimitedAndOrdered() {
+        tracker.record(new McpOperation(McpOperationType.TOOL, "add"), 1_000, 500);
+        tracker.record(new McpOperation(McpOperationType.TOOL, "add"), 1_000, 500);
+        tracker.record(new McpOperation(McpOperationType.PROMPT, "code-review"), 50_000, 100);
+        tracker.record(new McpOperation(McpOperationType.RESOURCE, "resource://docs/{topic}"), 10_000, 90_000);
+
+        McpCostTracker.CostReport report = tracker.report();
+
+        assertThat(report.topByCpuTime()).extracting(McpCostTracker.OperationCost::name)
+            .containsExactly("code-review", "resource://docs/{topic}");
+        assertThat(report.topByAllocatedBytes()).extracting(McpCostTracker.OperationCost::name)
+            .containsExactly("resource://docs/{topic}", "add");
+        assertThat(report.topByAllocatedBytes().get(1)).satisfies(add -> {
+            assertThat(add.calls()).isEqualTo(2);
+            assertThat(add.avgCpuTimeNanos()).isEqualTo(1_000);
+        });
+    }
+
+    @Test
+    void testInterceptedCallsAreMeasured() {
+        ProxyFactory proxyFactory = new ProxyFactory(new McpToolsService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS,
+            new McpCostInterceptor(new StaticListableBeanFactory(Map.of("tracker", tracker))
+                .getBeanProvider(McpCostTracker.class))));
+        McpToolsService tools = (McpToolsService) proxyFactory.getProxy();
+
+        for (int i = 0; i < 100; i++) {
+            tools.echo("message " + i);
+        }
+
+        McpCostTracker.OperationCost echo = tracker.report().topByAllocatedBytes().get(0);
+        assertThat(echo.name()).isEqualTo("echo");
+        assertThat(echo.calls() + echo.unmeasuredCalls()).isEqualTo(100);
+        assertThat(echo.allocatedBytes()).isPositive();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.service.McpToolsService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for the MCP Flight Recorder events.
+ */
+class McpFlightRecorderInterceptorTest {
+
+    private static McpToolsService instrumentedTools() {
+        ProxyFactory proxyFactory = new ProxyFactory(new McpToolsService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS,
+            new McpFlightRecorderInterceptor()));
+        return (McpToolsService) proxyFactory.getProxy();
+    }
+
+    @Test
+    void testEventsAreDisabledByDefault() {
+        assertThat(new McpFlightEvents.Execute().isEnabled()).isFalse();
+        assertThat(new McpFlightEvents.Dispatch().isEnabled()).isFalse();
+    }
+
+    @Test
+    void testExecuteEventsAreRecorded(@TempDir Path directory) throws Exception {
+        McpToolsService tools = instrumentedTools();
+        Path file = directory.resolve("mcp.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(McpFlightEvents.Execute.class).withoutThreshold();
+            recording.start();
+            tools.add(1, 2);
+            assertThatIllegalArgumentException().isThrownBy(() -> tools.divide(1, 0));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals(McpFlightEvents.PREFIX + "Execute"))
+            .toList();
+        assertThat(events).extracting(event -> event.getString("name")).containsExactly("add", "divide");
+        assertThat(events).extracting(event -> event.getString("type")).containsOnly("tool");
+        assertThat(events.get(1).getString("error")).isEqualTo(IllegalArgumentException.class.getName());
+    }
+}
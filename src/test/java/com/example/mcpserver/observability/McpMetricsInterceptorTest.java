@@ -0,0 +1,106 @@
+package com.example.mcpserver.observability;
+
+import com.example.mcpserver.service.McpResourcesService;
+import com.example.mcpserver.service.McpToolsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for the per-operation MCP metrics.
+ */
+class McpMetricsInterceptorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @SuppressWarnings("unchecked")
+    private <T> T instrumented(T target) {
+        McpMetricsInterceptor interceptor = new McpMetricsInterceptor(
+            new StaticListableBeanFactory(Map.of("meterRegistry", registry)).getBeanProvider(MeterRegistry.class));
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS, interceptor));
+        return (T) proxyFactory.getProxy();
+    }
+
+    @Test
+    void testToolCallsAreTimed() {
+        McpToolsService tools = instrumented(new McpToolsService());
+
+        tools.add(1, 2);
+        tools.add(3, 4);
+
+        assertThat(registry.get(McpMetricsInterceptor.CALLS)
+            .tags("type", "tool", "name", "add", "outcome", "success").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailuresAreCountedByException() {
+        McpToolsService tools = instrumented(new McpToolsService());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> tools.divide(1, 0));
+
+        assertThat(registry.get(McpMetricsInterceptor.CALLS)
+            .tags("name", "divide", "outcome", "error").timer().count()).isEqualTo(1);
+        assertThat(registry.get(McpMetricsInterceptor.ERRORS)
+            .tags("name", "divide", "exception", "IllegalArgumentException").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testTemplatedResourcesUseTheTemplateAsName() {
+        McpResourcesService resources = instrumented(new McpResourcesService(new McpCostTracker(new McpCostProperties(true, 10))));
+
+        resources.getDocumentation("tools");
+        resources.getDocumentation("prompts");
+
+        assertThat(registry.get(McpMetricsInterceptor.CALLS).tag("type", "resource").timers()).hasSize(1);
+        assertThat(registry.get(McpMetricsInterceptor.RESPONSE_SIZE)
+            .tags("name", "resource://docs/{topic}").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testReactiveResultsAreTimedUntilTheyComplete() {
+        Sinks.One<String> sink = Sinks.one();
+        ReactiveTools tools = instrumented(new ReactiveTools(sink.asMono()));
+
+        Mono<String> result = tools.await("x");
+        StepVerifier.create(result)
+            .then(() -> assertThat(registry.find(McpMetricsInterceptor.CALLS).timers())
+                .allMatch(timer -> timer.count() == 0))
+            .then(() -> sink.tryEmitValue("done"))
+            .expectNext("done")
+            .verifyComplete();
+
+        assertThat(registry.get(McpMetricsInterceptor.CALLS)
+            .tags("name", "await", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get(McpMetricsInterceptor.RESPONSE_SIZE)
+            .tags("name", "await").summary().totalAmount()).isEqualTo(4);
+    }
+
+    static class ReactiveTools {
+
+        private final Mono<String> completion;
+
+        ReactiveTools(Mono<String> completion) {
+            this.completion = completion;
+        }
+
+        @McpTool(name = "await", description = "Completes when the test says so")
+        public Mono<String> await(@McpToolParam(description = "Ignored", required = true) String input) {
+            return completion;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.mcpserver.prompt;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for prompt argument truncation and chunked prompt encoding.
+ */
+class ArgumentTruncatorTest {
+
+    private static ArgumentTruncator truncator(PromptArgumentProperties.TruncationStrategy strategy) {
+        return new ArgumentTruncator(new PromptArgumentProperties(
+            DataSize.ofBytes(10), strategy, DataSize.ofBytes(4), DataSize.ofMegabytes(1)));
+    }
+
+    @Test
+    void testSmallArgumentIsKeptAsIs() {
+        PromptSegments segments = new PromptSegments();
+        truncator(PromptArgumentProperties.TruncationStrategy.HEAD_TAIL).append(segments, "short");
+
+        assertThat(segments.toString()).isEqualTo("short");
+    }
+
+    @Test
+    void testHeadKeepsBeginning() {
+        PromptSegments segments = new PromptSegments();
+        truncator(PromptArgumentProperties.TruncationStrategy.HEAD).append(segments, "0123456789abcdefghij");
+
+        assertThat(segments.toString()).startsWith("0123456789").contains("10 characters omitted");
+    }
+
+    @Test
+    void testTailKeepsEnd() {
+        PromptSegments segments = new PromptSegments();
+        truncator(PromptArgumentProperties.TruncationStrategy.TAIL).append(segments, "0123456789abcdefghij");
+
+        assertThat(segments.toString()).endsWith("abcdefghij").contains("10 characters omitted");
+    }
+
+    @Test
+    void testHeadTailKeepsBothEnds() {
+        PromptSegments segments = new PromptSegments();
+        truncator(PromptArgumentProperties.TruncationStrategy.HEAD_TAIL).append(segments, "0123456789abcdefghij");
+
+        assertThat(segments.toString()).startsWith("01234").endsWith("fghij").contains("10 characters omitted");
+    }
+
+    @Test
+    void testNoneKeepsOversizedArgument() {
+        PromptSegments segments = new PromptSegments();
+        truncator(PromptArgumentProperties.TruncationStrategy.NONE).append(segments, "0123456789abcdefghij");
+
+        assertThat(segments.toString()).isEqualTo("0123456789abcdefghij");
+    }
+
+    @Test
+    void testMultiByteCharactersCountAsUtf8Bytes() {
+        // each char is 3 bytes in UTF-8, so only 3 of them fit in 10 bytes
+        assertThat(ArgumentTruncator.headEnd("€€€€€", 10)).isEqualTo(3);
+        assertThat(ArgumentTruncator.exceeds("€€€€", 10)).isTrue();
+    }
+
+    @Test
+    void testSurrogatePairsAreNeverSplit() {
+        String emoji = "😀";
+        assertThat(ArgumentTruncator.headEnd("ab" + emoji, 4)).isEqualTo(2);
+        assertThat(ArgumentTruncator.tailStart(emoji + "ab", 4)).isEqualTo(2);
+    }
+
+    @Test
+    void testEncodeProducesChunksOfBoundedSize() {
+        PromptSegments segments = new PromptSegments()
+            .text("Issue: ")
+            .text("0123456789 \u00e9\u00e9\u2713\ud83d\ude00")
+            .text("\n");
+
+        StepVerifier.create(segments.encode(DefaultDataBufferFactory.sharedInstance, 4)
+                .map(buffer -> {
+                    assertThat(buffer.readableByteCount()).isLessThanOrEqualTo(4);
+                    String chunk = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return chunk;
+                })
+                .collectList())
+            .assertNext(chunks -> assertThat(String.join("", chunks)).isEqualTo(segments.toString()))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+}
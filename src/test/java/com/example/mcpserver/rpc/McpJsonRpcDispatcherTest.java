@@ -0,0 +1,186 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.codec.McpJsonMapper;
+import com.example.mcpserver.idempotency.McpIdempotency;
+import com.example.mcpserver.limit.McpConcurrencyLimiter;
+import com.example.mcpserver.limit.McpLaneSchedulers;
+import com.example.mcpserver.limit.McpRateLimiter;
+import com.example.mcpserver.limit.McpRequestClassifier;
+import com.example.mcpserver.pipeline.McpPipelineProperties;
+import com.example.mcpserver.pipeline.McpPipelineService;
+import com.example.mcpserver.service.McpToolsService;
+import com.example.mcpserver.tracing.McpTracer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the JSON-RPC dispatcher of the WebSocket and stdio transports.
+ */
+class McpJsonRpcDispatcherTest {
+
+    private final GenericApplicationContext applicationContext = new GenericApplicationContext();
+
+    private final McpJsonMapper jsonMapper = new McpJsonMapper(new Jackson2ObjectMapperBuilder());
+
+    private McpPipelineService pipelines;
+
+    private McpJsonRpcDispatcher dispatcher() {
+        applicationContext.registerBean(McpToolsService.class, McpToolsService::new);
+        applicationContext.refresh();
+        McpMethodRegistry registry = new McpMethodRegistry(applicationContext);
+        registry.afterSingletonsInstantiated();
+        registry.register(new AsyncTools());
+        pipelines = new McpPipelineService(registry, jsonMapper,
+            new McpPipelineProperties(true, 32, 2, Duration.ofSeconds(5)),
+            applicationContext.getBeanProvider(McpConcurrencyLimiter.class),
+            applicationContext.getBeanProvider(McpRequestClassifier.class));
+        registry.register(pipelines);
+        return new McpJsonRpcDispatcher(registry, jsonMapper, applicationContext.getBeanProvider(McpTracer.class),
+            applicationContext.getBeanProvider(McpConcurrencyLimiter.class),
+            applicationContext.getBeanProvider(McpRateLimiter.class),
+            applicationContext.getBeanProvider(McpRequestClassifier.class),
+            applicationContext.getBeanProvider(McpLaneSchedulers.class),
+            applicationContext.getBeanProvider(McpIdempotency.class), new McpProgressProperties(0, true),
+            "test-server", "1.0.0");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pipelines != null) {
+            pipelines.destroy();
+        }
+        applicationContext.close();
+    }
+
+    private Mono<ObjectNode> call(McpJsonRpcDispatcher dispatcher, String message) {
+        return dispatcher.dispatch(json(message), new McpCallContext("session-1", "test"));
+    }
+
+    private static String text(ObjectNode response) {
+        return response.path("result").path("content").path(0).path("text").asText();
+    }
+
+    private JsonNode json(String text) {
+        try {
+            return jsonMapper.mapper().readTree(text);
+        }
+        catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Test
+    void testMonoResultIsAwaited() {
+        McpJsonRpcDispatcher dispatcher = dispatcher();
+
+        StepVerifier.create(call(dispatcher, """
+                {"jsonrpc": "2.0", "id": 1, "method": "tools/call",
+                 "params": {"name": "later_sum", "arguments": {"a": 2, "b": 3}}}"""))
+            .assertNext(response -> {
+                assertThat(response.path("result").path("isError").asBoolean()).isFalse();
+                assertThat(text(response)).isEqualTo("5.0");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testCompletableFutureResultIsAwaited() {
+        McpJsonRpcDispatcher dispatcher = dispatcher();
+
+        StepVerifier.create(call(dispatcher, """
+                {"jsonrpc": "2.0", "id": 2, "method": "tools/call",
+                 "params": {"name": "future_greeting", "arguments": {"name": "Ada"}}}"""))
+            .assertNext(response -> assertThat(text(response)).isEqualTo("Hello, Ada"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testFluxItemsBecomeOneContentItemEach() {
+        McpJsonRpcDispatcher dispatcher = dispatcher();
+
+        StepVerifier.create(call(dispatcher, """
+                {"jsonrpc": "2.0", "id": 3, "method": "tools/call",
+                 "params": {"name": "count_to", "arguments": {"n": 3}}}"""))
+            .assertNext(response -> assertThat(response.path("result").path("content"))
+                .extracting(item -> item.path("text").asText())
+                .containsExactly("1", "2", "3"))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testPipelineStepsResolveAsyncResults() {
+        McpJsonRpcDispatcher dispatcher = dispatcher();
+
+        StepVerifier.create(call(dispatcher, """
+                {"jsonrpc": "2.0", "id": 4, "method": "tools/call",
+                 "params": {"name": "pipeline", "arguments": {"output": "all", "steps": [
+                   {"id": "sum", "tool": "later_sum", "arguments": {"a": 2, "b": 3}},
+                   {"id": "counted", "tool": "count_to", "arguments": {"n": 2}},
+                   {"id": "doubled", "tool": "multiply", "arguments": {"a": {"$ref": "sum"}, "b": 2}}]}}}"""))
+            .assertNext(response -> {
+                assertThat(response.path("result").path("isError").asBoolean()).isFalse();
+                JsonNode steps = json(text(response));
+                assertThat(steps.path("sum").asDouble()).isEqualTo(5.0);
+                assertThat(steps.path("counted")).extracting(JsonNode::asText).containsExactly("1", "2");
+                assertThat(steps.path("doubled").asDouble()).isEqualTo(10.0);
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testPipelinePassesTextResultsAsIs() {
+        McpJsonRpcDispatcher dispatcher = dispatcher();
+
+        StepVerifier.create(call(dispatcher, """
+                {"jsonrpc": "2.0", "id": 5, "method": "tools/call",
+                 "params": {"name": "pipeline", "arguments": {"steps": [
+                   {"id": "greeting", "tool": "future_greeting", "arguments": {"name": "Ada"}},
+                   {"id": "echoed", "tool": "echo", "arguments": {"message": {"$ref": "greeting"}}}]}}}"""))
+            .assertNext(response -> {
+                assertThat(response.path("result").path("isError").asBoolean()).isFalse();
+                assertThat(text(response)).isEqualTo("Echo: Hello, Ada");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    static class AsyncTools {
+
+        @McpTool(name = "later_sum", description = "Add two numbers once a timer fires")
+        public Mono<Double> laterSum(@McpToolParam(description = "First number", required = true) double a,
+                @McpToolParam(description = "Second number", required = true) double b) {
+            return Mono.delay(Duration.ofMillis(10)).map(tick -> a + b);
+        }
+
+        @McpTool(name = "future_greeting", description = "Greet someone from another thread")
+        public CompletableFuture<String> futureGreeting(
+                @McpToolParam(description = "Name", required = true) String name) {
+            return CompletableFuture.supplyAsync(() -> "Hello, " + name);
+        }
+
+        @McpTool(name = "count_to", description = "Count from one")
+        public Flux<String> countTo(@McpToolParam(description = "Last number", required = true) int n) {
+            return Flux.range(1, n).map(String::valueOf);
+        }
+    }
+}
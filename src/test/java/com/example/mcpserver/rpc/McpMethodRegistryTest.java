@@ -0,0 +1,130 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.service.McpToolsService;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.mcp.server.McpTool;
+import org.springframework.ai.mcp.server.McpToolParam;
+import org.springframework.context.support.GenericApplicationContext;
+import reactor.core.Disposable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for registering MCP methods at runtime.
+ */
+class McpMethodRegistryTest {
+
+    private final GenericApplicationContext applicationContext = new GenericApplicationContext();
+
+    private McpMethodRegistry registry() {
+        applicationContext.registerBean(McpToolsService.class, McpToolsService::new);
+        applicationContext.refresh();
+        McpMethodRegistry registry = new McpMethodRegistry(applicationContext);
+        registry.afterSingletonsInstantiated();
+        return registry;
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    void testRegisteredToolsCanBeLookedUpAndUnregistered() {
+        McpMethodRegistry registry = registry();
+        McpMethodRegistry.Snapshot before = registry.snapshot();
+
+        Disposable registration = registry.register(new TenantTools());
+
+        assertThat(registry.tool("tenant_greeting")).isPresent();
+        assertThat(registry.tool("add")).isPresent();
+        assertThat(before.tool("tenant_greeting")).as("earlier snapshot").isEmpty();
+
+        registration.dispose();
+
+        assertThat(registry.tool("tenant_greeting")).isEmpty();
+        assertThat(registry.tool("add")).isPresent();
+    }
+
+    @Test
+    void testDuplicateNamesAreRejected() {
+        McpMethodRegistry registry = registry();
+        McpMethodRegistry.Snapshot before = registry.snapshot();
+
+        assertThatIllegalStateException().isThrownBy(() -> registry.register(new McpToolsService()))
+            .withMessageContaining("Duplicate MCP tool");
+        assertThat(registry.snapshot()).isSameAs(before);
+        assertThatIllegalArgumentException().isThrownBy(() -> registry.register(new Object()));
+    }
+
+    @Test
+    void testUnregisterByName() {
+        McpMethodRegistry registry = registry();
+
+        assertThat(registry.unregister(McpOperationType.TOOL, "echo")).isTrue();
+        assertThat(registry.unregister(McpOperationType.TOOL, "echo")).isFalse();
+        assertThat(registry.tools()).extracting(McpMethod::name).doesNotContain("echo").contains("add");
+    }
+
+    @Test
+    void testChangedMethodsArePublishedInOrder() {
+        McpMethodRegistry registry = registry();
+        List<McpMethodRegistry.Change> changes = new CopyOnWriteArrayList<>();
+        Disposable subscription = registry.changedMethods().subscribe(changes::add);
+        try {
+            Disposable registration = registry.register(new TenantTools());
+            registry.unregister(McpOperationType.TOOL, "echo");
+            registration.dispose();
+
+            assertThat(changes).hasSize(3);
+            assertThat(changes.get(0).added()).extracting(McpMethod::name).containsExactly("tenant_greeting");
+            assertThat(changes.get(1).removed()).extracting(McpMethod::name).containsExactly("echo");
+            assertThat(changes.get(2).removed()).extracting(McpMethod::name).containsExactly("tenant_greeting");
+            assertThat(changes).allSatisfy(change -> assertThat(change.types()).containsExactly(McpOperationType.TOOL));
+        }
+        finally {
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    void testChangesAreAnnouncedOncePerBurst() throws InterruptedException {
+        McpMethodRegistry registry = registry();
+        McpListChangedNotifier notifier = new McpListChangedNotifier(registry,
+            new McpRegistryProperties(Duration.ofMillis(50)));
+        BlockingQueue<ObjectNode> sent = new LinkedBlockingQueue<>();
+        notifier.connect(sent::add);
+        try {
+            registry.register(new TenantTools());
+            registry.unregister(McpOperationType.TOOL, "echo");
+            registry.unregister(McpOperationType.TOOL, "add");
+
+            ObjectNode notification = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(notification).isNotNull();
+            assertThat(notification.path("method").asText()).isEqualTo("notifications/tools/list_changed");
+            assertThat(sent.poll(200, TimeUnit.MILLISECONDS)).isNull();
+        }
+        finally {
+            notifier.destroy();
+        }
+    }
+
+    static class TenantTools {
+
+        @McpTool(name = "tenant_greeting", description = "Greet the members of a tenant")
+        public String greeting(@McpToolParam(description = "Member name", required = true) String name) {
+            return "Welcome, " + name;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for progress reporting and partial results.
+ */
+class McpProgressTest {
+
+    private final List<ObjectNode> sent = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testReportsAreThrottledButTheLastOneIsSent() {
+        McpProgress progress = McpProgress.of(sent::add, IntNode.valueOf(7), 1, false);
+
+        for (int i = 1; i <= 100; i++) {
+            progress.report(i, 100);
+        }
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0).path("method").asText()).isEqualTo("notifications/progress");
+        assertThat(sent.get(0).path("params").path("progressToken").asInt()).isEqualTo(7);
+        assertThat(sent.get(0).path("params").path("progress").asDouble()).isEqualTo(1);
+        assertThat(sent.get(1).path("params").path("progress").asDouble()).isEqualTo(100);
+        assertThat(sent.get(1).path("params").path("total").asDouble()).isEqualTo(100);
+    }
+
+    @Test
+    void testProgressThatDoesNotIncreaseIsDropped() {
+        McpProgress progress = McpProgress.of(sent::add, IntNode.valueOf(1), 0, false);
+
+        assertThat(progress.report(5, null, "five")).isTrue();
+        assertThat(progress.report(5, null, "five again")).isFalse();
+        assertThat(progress.report(3, null, "back")).isFalse();
+        assertThat(progress.report(6, null, null)).isTrue();
+
+        assertThat(sent).extracting(notification -> notification.path("params").path("message").asText(null))
+            .containsExactly("five", null);
+    }
+
+    @Test
+    void testWithoutProgressTokenReportsAreNoOps() {
+        McpProgress progress = McpProgress.of(sent::add, null, 0, true);
+
+        assertThat(progress.isEnabled()).isFalse();
+        assertThat(progress.isPartialResults()).isFalse();
+        assertThat(progress.report(1, null, null)).isFalse();
+        assertThat(sent).isEmpty();
+        assertThatIllegalStateException().isThrownBy(() -> progress.partialResult(JsonNodeFactory.instance.arrayNode()));
+    }
+
+    @Test
+    void testPartialResultsAreNumberedAndNeverThrottled() {
+        McpProgress progress = McpProgress.of(sent::add, IntNode.valueOf(1), 1, true);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(progress.partialResult(JsonNodeFactory.instance.arrayNode().add(JsonNodeFactory.instance
+                .objectNode().put("type", "text").put("text", "chunk " + i))).block()).isEqualTo((long) i);
+        }
+
+        assertThat(sent).extracting(notification -> notification.path("method").asText())
+            .containsOnly("notifications/partial_result");
+        assertThat(sent).extracting(notification -> notification.path("params").path("chunk").asLong())
+            .containsExactly(0L, 1L, 2L);
+        assertThat(sent.get(2).path("params").path("content").path(0).path("text").asText()).isEqualTo("chunk 2");
+    }
+
+    @Test
+    void testCurrentWithoutContextIsANoOp() {
+        assertThat(McpProgress.current().isEnabled()).isFalse();
+    }
+}
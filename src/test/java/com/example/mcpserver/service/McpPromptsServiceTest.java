@@ -0,0 +1,42 @@
+package com.example.mcpserver.service;
+
+import com.example.mcpserver.prompt.ArgumentTruncator;
+import com.example.mcpserver.prompt.PromptArgumentProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for rendering prompts with absent arguments.
+ */
+class McpPromptsServiceTest {
+
+    private final McpPromptsService service = new McpPromptsService(new ArgumentTruncator(
+        new PromptArgumentProperties(DataSize.ofMegabytes(1), PromptArgumentProperties.TruncationStrategy.NONE,
+            DataSize.ofKilobytes(16), DataSize.ofMegabytes(16))));
+
+    @Test
+    void testDataAnalysisPromptWithoutOptionalArgument() {
+        String prompt = service.generateDataAnalysisPrompt("sales", "find trends", null);
+
+        assertThat(prompt).startsWith("Analyze the following sales data:\n\nAnalysis Goal: find trends\n\n")
+            .doesNotContain("Context:");
+    }
+
+    @Test
+    void testDebugPromptWithoutOptionalArgument() {
+        String prompt = service.generateDebugPrompt("NPE on startup", "Spring Boot", null);
+
+        assertThat(prompt).contains("**Issue:** NPE on startup\n\n**Stack:** Spring Boot\n\n")
+            .doesNotContain("Already Tried");
+    }
+
+    @Test
+    void testAbsentArgumentsRenderAsNull() {
+        assertThat(service.generateDataAnalysisPrompt(null, null, null))
+            .startsWith("Analyze the following null data:\n\nAnalysis Goal: null\n\n");
+        assertThat(service.generateDebugPrompt(null, null, null))
+            .contains("**Issue:** null\n\n**Stack:** null\n\n");
+    }
+}
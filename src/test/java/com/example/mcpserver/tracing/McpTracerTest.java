@@ -0,0 +1,88 @@
+package com.example.mcpserver.tracing;
+
+import com.example.mcpserver.observability.McpOperationAdvisingPostProcessor;
+import com.example.mcpserver.service.McpToolsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for trace context parsing, head sampling and method spans.
+ */
+class McpTracerTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter(16);
+
+    private final McpTracer tracer = new McpTracer(new McpTracingProperties(true, 0.0, 16), exporter);
+
+    @Test
+    void testParseTraceParent() {
+        TraceParent parent = TraceParent.parse("00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+
+        assertThat(parent).isEqualTo(new TraceParent(TRACE_ID, "00f067aa0ba902b7", true));
+        assertThat(parent.format()).isEqualTo("00-" + TRACE_ID + "-00f067aa0ba902b7-01");
+        assertThat(TraceParent.parse("00-" + TRACE_ID + "-00f067aa0ba902b7-00").sampled()).isFalse();
+        assertThat(TraceParent.parse("00-" + "0".repeat(32) + "-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceParent.parse("00-" + TRACE_ID.toUpperCase() + "-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceParent.parse("garbage")).isNull();
+        assertThat(TraceParent.parse(null)).isNull();
+    }
+
+    @Test
+    void testSamplingFollowsTheCaller() {
+        assertThat(tracer.sample(null)).isFalse();
+        assertThat(tracer.sample(new TraceParent(TRACE_ID, "00f067aa0ba902b7", true))).isTrue();
+        assertThat(tracer.startRequestSpan("mcp.request", null)).isNull();
+        assertThat(tracer.startRequestSpan("mcp.request", new TraceParent(TRACE_ID, "00f067aa0ba902b7", false))).isNull();
+
+        McpSpan span = tracer.startRequestSpan("mcp.request", new TraceParent(TRACE_ID, "00f067aa0ba902b7", true));
+
+        assertThat(span).isNotNull();
+        assertThat(span.traceId()).isEqualTo(TRACE_ID);
+    }
+
+    @Test
+    void testMethodSpansAreChildrenOfTheCurrentSpan() {
+        ProxyFactory proxyFactory = new ProxyFactory(new McpToolsService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(McpOperationAdvisingPostProcessor.MCP_METHODS,
+            new McpTracingInterceptor(new StaticListableBeanFactory(Map.of("tracer", tracer)).getBeanProvider(McpTracer.class))));
+        McpToolsService tools = (McpToolsService) proxyFactory.getProxy();
+
+        tools.add(1, 2);
+        assertThat(exporter.spans()).isEmpty();
+
+        McpSpan request = tracer.startRequestSpan("mcp.request", new TraceParent(TRACE_ID, "00f067aa0ba902b7", true));
+        McpSpan previous = request.makeCurrent();
+        try {
+            tools.add(1, 2);
+        }
+        finally {
+            McpSpan.restore(previous);
+            request.end();
+        }
+
+        List<SpanData> spans = exporter.trace(TRACE_ID);
+        assertThat(spans).extracting(SpanData::name).containsExactly("mcp.request", "tool add");
+        assertThat(spans.get(1).parentSpanId()).isEqualTo(request.spanId());
+        assertThat(spans.get(0).parentSpanId()).isEqualTo("00f067aa0ba902b7");
+    }
+
+    @Test
+    void testExporterKeepsTheMostRecentSpans() {
+        InMemorySpanExporter small = new InMemorySpanExporter(2);
+        for (int i = 0; i < 5; i++) {
+            small.accept(new SpanData(TRACE_ID, "span" + i, null, "s" + i, null, 0, null, Map.of()));
+        }
+
+        assertThat(small.spans()).extracting(SpanData::name).containsExactly("s4", "s3");
+    }
+}
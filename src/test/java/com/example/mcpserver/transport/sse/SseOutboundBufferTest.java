@@ -0,0 +1,169 @@
+package com.example.mcpserver.transport.sse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for bounded, batching SSE outbound buffers and the slow consumer policies.
+ */
+class SseOutboundBufferTest {
+
+    /** Ten bytes. */
+    private static final String EVENT = "data: 12\n\n";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private final McpSseStreams streams = new McpSseStreams();
+
+    private final Sinks.Many<DataBuffer> events = Sinks.many().unicast().onBackpressureBuffer();
+
+    private SseOutboundBuffer buffer(McpSseProperties.SlowConsumerPolicy policy) {
+        McpSseProperties properties = new McpSseProperties(true, DataSize.ofBytes(100), DataSize.ofBytes(50),
+            DataSize.ofBytes(10), Duration.ofSeconds(1), policy, DataSize.ofBytes(40));
+        return new SseOutboundBuffer("session-1", properties, DefaultDataBufferFactory.sharedInstance, streams, clock::get);
+    }
+
+    private void emit(int count) {
+        for (int i = 0; i < count; i++) {
+            events.tryEmitNext(DefaultDataBufferFactory.sharedInstance.wrap(EVENT.getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testQueuedEventsAreWrittenInBatches() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DISCONNECT);
+
+        StepVerifier.create(buffer.bound(events.asFlux()), 0)
+            .then(() -> {
+                emit(6);
+                events.tryEmitComplete();
+                assertThat(streams.bufferedBytes()).isEqualTo(60);
+            })
+            .thenRequest(1)
+            .assertNext(batch -> assertThat(text(batch)).isEqualTo(EVENT.repeat(4)))
+            .thenRequest(1)
+            .assertNext(batch -> assertThat(text(batch)).isEqualTo(EVENT.repeat(2)))
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(streams.size()).isZero();
+    }
+
+    @Test
+    void testConsumerStayingAboveHighWatermarkIsDisconnected() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DISCONNECT);
+
+        StepVerifier.create(buffer.bound(events.asFlux()), 0)
+            .then(() -> {
+                emit(6);
+                assertThat(buffer.stats().slow()).isTrue();
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+                emit(1);
+            })
+            .expectError(SseOutboundBuffer.SlowConsumerException.class)
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(streams.disconnects()).isEqualTo(1);
+        assertThat(streams.size()).isZero();
+        assertThat(streams.bufferedBytes()).isZero();
+    }
+
+    @Test
+    void testConsumerStayingAboveHighWatermarkMissesEventsUntilCaughtUp() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DROP);
+
+        StepVerifier.create(buffer.bound(events.asFlux()).map(SseOutboundBufferTest::text), 0)
+            .then(() -> {
+                emit(6);
+                clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+                emit(2);
+                assertThat(buffer.stats().droppedEvents()).isEqualTo(1);
+            })
+            .thenRequest(2)
+            .expectNextCount(2)
+            .then(() -> {
+                emit(1);
+                events.tryEmitComplete();
+            })
+            .thenRequest(1)
+            .expectNext(EVENT)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(streams.droppedEvents()).isEqualTo(1);
+    }
+
+    @Test
+    void testBufferNeverExceedsMaxBufferSize() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DROP);
+
+        StepVerifier.create(buffer.bound(events.asFlux()), 0)
+            .then(() -> emit(15))
+            .then(() -> {
+                assertThat(buffer.stats().bufferedBytes()).isEqualTo(100);
+                assertThat(buffer.stats().peakBytes()).isEqualTo(100);
+                assertThat(buffer.stats().droppedEvents()).isEqualTo(5);
+            })
+            .thenCancel()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(streams.size()).isZero();
+    }
+
+    @Test
+    void testEventsSplitAcrossBuffersAreDroppedWhole() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DROP);
+        // 18 bytes per event, written as three buffers flushed together
+        Flux<Flux<DataBuffer>> groups = Flux.range(0, 6)
+            .map(i -> Flux.just("event: m\n", "data: " + i, "\n\n")
+                .map(part -> DefaultDataBufferFactory.sharedInstance.wrap(part.getBytes(StandardCharsets.UTF_8))));
+
+        StepVerifier.create(buffer.boundGroups(groups).map(SseOutboundBufferTest::text), 0)
+            .then(() -> {
+                assertThat(buffer.stats().bufferedBytes()).isEqualTo(90);
+                assertThat(buffer.stats().droppedEvents()).isEqualTo(1);
+            })
+            .recordWith(ArrayList::new)
+            .thenRequest(Long.MAX_VALUE)
+            .thenConsumeWhile(batch -> true)
+            .consumeRecordedWith(batches -> {
+                String[] parsed = String.join("", batches).split("\n\n");
+                assertThat(parsed).containsExactly("event: m\ndata: 0", "event: m\ndata: 1", "event: m\ndata: 2",
+                    "event: m\ndata: 3", "event: m\ndata: 4");
+            })
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testEventsPassThroughWhenConsumerKeepsUp() {
+        SseOutboundBuffer buffer = buffer(McpSseProperties.SlowConsumerPolicy.DISCONNECT);
+
+        StepVerifier.create(buffer.bound(Flux.range(0, 100)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(("data: " + i + "\n\n").getBytes(StandardCharsets.UTF_8)))))
+            .expectNextCount(1)
+            .thenConsumeWhile(batch -> true)
+            .expectComplete()
+            .verify(Duration.ofSeconds(1));
+
+        assertThat(streams.disconnects()).isZero();
+        assertThat(streams.droppedEvents()).isZero();
+    }
+}